@@ -0,0 +1,146 @@
+package com.j256.ormlite.android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.concurrent.Callable;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.table.DatabaseTable;
+import com.j256.ormlite.table.TableUtils;
+
+/**
+ * Checks how the read connection pool hands out connections: round-robin in WAL mode, the single connection when WAL
+ * cannot be turned on, and the saved read-write connection inside of a transaction.
+ *
+ * 检查只读连接池的分配方式。
+ */
+@RunWith(AndroidJUnit4.class)
+public class AndroidConnectionSourceTest {
+
+	private static final String TABLE_NAME = "pooledrow";
+	private static final int POOL_SIZE = 2;
+
+	private SQLiteDatabase db;
+	private File dbFile;
+	private AndroidConnectionSource connectionSource;
+
+	@After
+	public void after() {
+		DaoManager.clearCache();
+		if (connectionSource != null) {
+			connectionSource.closeQuietly();
+		}
+		if (db != null) {
+			db.close();
+		}
+		if (dbFile != null) {
+			SQLiteDatabase.deleteDatabase(dbFile);
+		}
+	}
+
+	@Test
+	public void testRoundRobin() throws Exception {
+		openFileDatabase();
+		DatabaseConnection writeConn = connectionSource.getReadWriteConnection(TABLE_NAME);
+		assertTrue(connectionSource.isWriteAheadLogging());
+		assertFalse(connectionSource.isSingleConnection(TABLE_NAME));
+
+		DatabaseConnection[] readConns = new DatabaseConnection[POOL_SIZE * 2];
+		for (int i = 0; i < readConns.length; i++) {
+			readConns[i] = connectionSource.getReadOnlyConnection(TABLE_NAME);
+			assertNotSame(writeConn, readConns[i]);
+		}
+		assertNotSame(readConns[0], readConns[1]);
+		assertSame(readConns[0], readConns[2]);
+		assertSame(readConns[1], readConns[3]);
+	}
+
+	@Test
+	public void testReadsAfterWrites() throws Exception {
+		openFileDatabase();
+		TableUtils.createTable(connectionSource, PooledRow.class);
+		Dao<PooledRow, Integer> dao = DaoManager.createDao(connectionSource, PooledRow.class);
+		PooledRow row = new PooledRow();
+		row.name = "first";
+		assertEquals(1, dao.create(row));
+		// the query runs on a read connection and sees the committed row
+		PooledRow result = dao.queryForId(row.id);
+		assertNotNull(result);
+		assertEquals(row.name, result.name);
+	}
+
+	@Test
+	public void testNoWriteAheadLoggingFallback() throws Exception {
+		// an in-memory database cannot turn on WAL
+		db = SQLiteDatabase.create(null);
+		connectionSource = new AndroidConnectionSource(db);
+		connectionSource.setReadConnectionPoolSize(POOL_SIZE);
+		DatabaseConnection writeConn = connectionSource.getReadWriteConnection(TABLE_NAME);
+		assertFalse(connectionSource.isWriteAheadLogging());
+		assertTrue(connectionSource.isSingleConnection(TABLE_NAME));
+		for (int i = 0; i < POOL_SIZE * 2; i++) {
+			assertSame(writeConn, connectionSource.getReadOnlyConnection(TABLE_NAME));
+		}
+	}
+
+	@Test
+	public void testSavedConnectionInTransaction() throws Exception {
+		openFileDatabase();
+		TableUtils.createTable(connectionSource, PooledRow.class);
+		final Dao<PooledRow, Integer> dao = DaoManager.createDao(connectionSource, PooledRow.class);
+		final DatabaseConnection writeConn = connectionSource.getReadWriteConnection(TABLE_NAME);
+		TransactionManager.callInTransaction(connectionSource, new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				DatabaseConnection savedConn = connectionSource.getReadWriteConnection(TABLE_NAME);
+				assertSame(writeConn, savedConn);
+				// reads inside the transaction must not go to the pool
+				for (int i = 0; i < POOL_SIZE * 2; i++) {
+					assertSame(savedConn, connectionSource.getReadOnlyConnection(TABLE_NAME));
+				}
+				PooledRow row = new PooledRow();
+				row.name = "uncommitted";
+				assertEquals(1, dao.create(row));
+				// only the saved connection can see the uncommitted row
+				assertNotNull(dao.queryForId(row.id));
+				return null;
+			}
+		});
+		assertNotSame(writeConn, connectionSource.getReadOnlyConnection(TABLE_NAME));
+	}
+
+	private void openFileDatabase() throws Exception {
+		dbFile = File.createTempFile("pooled", ".db");
+		db = SQLiteDatabase.openDatabase(dbFile.getPath(), null, SQLiteDatabase.CREATE_IF_NECESSARY);
+		connectionSource = new AndroidConnectionSource(db);
+		connectionSource.setReadConnectionPoolSize(POOL_SIZE);
+	}
+
+	@DatabaseTable(tableName = TABLE_NAME)
+	protected static class PooledRow {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String name;
+
+		public PooledRow() {
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package com.j256.ormlite.android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+import com.j256.ormlite.table.GeneratedTableAccessors;
+import com.j256.ormlite.table.TableUtils;
+
+/**
+ * Compares mapping query rows into an entity with a generated accessor against the same entity mapped through
+ * reflection. The private class has no accessor because generated code cannot reach it. The timings are logged with the
+ * "OrmLiteBenchmark" tag.
+ *
+ * 比较生成访问器和反射映射查询结果的耗时。
+ */
+@RunWith(AndroidJUnit4.class)
+public class MapRowAccessorBenchmark {
+
+	private static final String TAG = "OrmLiteBenchmark";
+	private static final int ROW_COUNT = 10000;
+	private static final int QUERY_COUNT = 20;
+
+	private AndroidConnectionSource connectionSource;
+	private Dao<AccessorRow, Integer> accessorDao;
+	private Dao<ReflectionRow, Integer> reflectionDao;
+
+	@Before
+	public void before() throws Exception {
+		connectionSource = new AndroidConnectionSource(SQLiteDatabase.create(null));
+		TableUtils.createTable(connectionSource, AccessorRow.class);
+		TableUtils.createTable(connectionSource, ReflectionRow.class);
+		accessorDao = DaoManager.createDao(connectionSource, AccessorRow.class);
+		reflectionDao = DaoManager.createDao(connectionSource, ReflectionRow.class);
+		List<AccessorRow> accessorRows = new ArrayList<AccessorRow>(ROW_COUNT);
+		List<ReflectionRow> reflectionRows = new ArrayList<ReflectionRow>(ROW_COUNT);
+		for (int i = 0; i < ROW_COUNT; i++) {
+			AccessorRow accessorRow = new AccessorRow();
+			accessorRow.name = "row" + i;
+			accessorRow.count = i;
+			accessorRow.value = i / 2.0;
+			accessorRows.add(accessorRow);
+			ReflectionRow reflectionRow = new ReflectionRow();
+			reflectionRow.name = accessorRow.name;
+			reflectionRow.count = accessorRow.count;
+			reflectionRow.value = accessorRow.value;
+			reflectionRows.add(reflectionRow);
+		}
+		accessorDao.create(accessorRows);
+		reflectionDao.create(reflectionRows);
+	}
+
+	@After
+	public void after() {
+		DaoManager.clearCache();
+		connectionSource.closeQuietly();
+	}
+
+	@Test
+	public void testMapRow() throws Exception {
+		assertNotNull(GeneratedTableAccessors.lookup(AccessorRow.class));
+		assertNull(GeneratedTableAccessors.lookup(ReflectionRow.class));
+
+		// warm up both paths before timing them
+		queryAccessorRows(QUERY_COUNT / 4);
+		queryReflectionRows(QUERY_COUNT / 4);
+
+		long start = System.nanoTime();
+		long accessorSum = queryAccessorRows(QUERY_COUNT);
+		long accessorNanos = System.nanoTime() - start;
+		start = System.nanoTime();
+		long reflectionSum = queryReflectionRows(QUERY_COUNT);
+		long reflectionNanos = System.nanoTime() - start;
+
+		assertEquals(reflectionSum, accessorSum);
+		long rowCount = (long) ROW_COUNT * QUERY_COUNT;
+		Log.i(TAG, "mapRow x" + rowCount + ": generated accessor " + accessorNanos / rowCount + "ns/row, reflection "
+				+ reflectionNanos / rowCount + "ns/row");
+	}
+
+	private long queryAccessorRows(int queryCount) throws Exception {
+		long sum = 0;
+		for (int i = 0; i < queryCount; i++) {
+			for (AccessorRow row : accessorDao.queryForAll()) {
+				sum += row.count;
+			}
+		}
+		return sum;
+	}
+
+	private long queryReflectionRows(int queryCount) throws Exception {
+		long sum = 0;
+		for (int i = 0; i < queryCount; i++) {
+			for (ReflectionRow row : reflectionDao.queryForAll()) {
+				sum += row.count;
+			}
+		}
+		return sum;
+	}
+
+	@DatabaseTable(tableName = "accessorrow")
+	protected static class AccessorRow {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String name;
+		@DatabaseField
+		long count;
+		@DatabaseField
+		double value;
+	}
+
+	@DatabaseTable(tableName = "reflectionrow")
+	private static class ReflectionRow {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String name;
+		@DatabaseField
+		long count;
+		@DatabaseField
+		double value;
+	}
+}
@@ -0,0 +1,122 @@
+package com.j256.ormlite.android;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+import com.j256.ormlite.table.TableUtils;
+
+/**
+ * Compares creating rows one statement at a time inside of {@link Dao#callBatchTasks(Callable)} against
+ * {@link Dao#create(java.util.Collection)} which packs them into multi-row inserts. The timings are logged with the
+ * "OrmLiteBenchmark" tag.
+ *
+ * 比较逐行插入和多行INSERT批量插入的耗时。
+ */
+@RunWith(AndroidJUnit4.class)
+public class MultiRowInsertBenchmark {
+
+	private static final String TAG = "OrmLiteBenchmark";
+	private static final int[] ROW_COUNTS = new int[] { 1000, 10000, 100000 };
+
+	private SQLiteDatabase db;
+	private AndroidConnectionSource connectionSource;
+	private Dao<Row, Integer> dao;
+
+	@Before
+	public void before() throws Exception {
+		db = SQLiteDatabase.create(null);
+		connectionSource = new AndroidConnectionSource(db);
+		TableUtils.createTable(connectionSource, Row.class);
+		dao = DaoManager.createDao(connectionSource, Row.class);
+	}
+
+	@After
+	public void after() {
+		DaoManager.clearCache();
+		connectionSource.closeQuietly();
+	}
+
+	@Test
+	public void testInsert() throws Exception {
+		// warm up both paths before timing them
+		insertLooped(createRows(ROW_COUNTS[0]));
+		insertMultiRow(createRows(ROW_COUNTS[0]));
+
+		for (int rowCount : ROW_COUNTS) {
+			List<Row> loopedRows = createRows(rowCount);
+			List<Row> multiRows = createRows(rowCount);
+			TableUtils.clearTable(connectionSource, Row.class);
+			long start = System.nanoTime();
+			insertLooped(loopedRows);
+			long loopedNanos = System.nanoTime() - start;
+			TableUtils.clearTable(connectionSource, Row.class);
+			start = System.nanoTime();
+			insertMultiRow(multiRows);
+			long multiNanos = System.nanoTime() - start;
+
+			assertEquals(rowCount, dao.countOf());
+			// the ids must have been assigned back to the objects
+			assertEquals(multiRows.get(0).id + rowCount - 1, multiRows.get(rowCount - 1).id);
+			Log.i(TAG, "insert x" + rowCount + ": looped create " + loopedNanos / 1000000 + "ms, multi-row create "
+					+ multiNanos / 1000000 + "ms");
+		}
+	}
+
+	private void insertLooped(final List<Row> rows) throws Exception {
+		dao.callBatchTasks(new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				for (Row row : rows) {
+					dao.create(row);
+				}
+				return null;
+			}
+		});
+	}
+
+	private void insertMultiRow(List<Row> rows) throws Exception {
+		dao.create(rows);
+	}
+
+	private static List<Row> createRows(int rowCount) {
+		List<Row> rows = new ArrayList<Row>(rowCount);
+		for (int i = 0; i < rowCount; i++) {
+			rows.add(new Row("row" + i, i));
+		}
+		return rows;
+	}
+
+	@DatabaseTable(tableName = "row")
+	protected static class Row {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String name;
+		@DatabaseField
+		long value;
+
+		public Row() {
+		}
+
+		public Row(String name, long value) {
+			this.name = name;
+			this.value = value;
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package com.j256.ormlite.android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+import com.j256.ormlite.table.TableUtils;
+
+/**
+ * Runs a query which takes far longer than its timeout and checks that the watchdog cancels it, and that the same query
+ * runs to the end when no timeout is set.
+ *
+ * 检查查询超时后被看门狗取消。
+ */
+@RunWith(AndroidJUnit4.class)
+public class QueryTimeoutTest {
+
+	private static final long ROW_COUNT = 5000000;
+	private static final String SLOW_QUERY = "WITH RECURSIVE counter(x) AS (SELECT 1 UNION ALL SELECT x + 1 FROM counter"
+			+ " WHERE x < " + ROW_COUNT + ") SELECT COUNT(*) FROM counter";
+	private static final long TIMEOUT_MILLIS = 50;
+
+	private AndroidConnectionSource connectionSource;
+	private Dao<TimeoutRow, Integer> dao;
+
+	@Before
+	public void before() throws Exception {
+		connectionSource = new AndroidConnectionSource(SQLiteDatabase.create(null));
+		TableUtils.createTable(connectionSource, TimeoutRow.class);
+		dao = DaoManager.createDao(connectionSource, TimeoutRow.class);
+	}
+
+	@After
+	public void after() {
+		DaoManager.clearCache();
+		connectionSource.closeQuietly();
+	}
+
+	@Test
+	public void testTimeoutCancelsQuery() throws Exception {
+		dao.setQueryTimeout(TIMEOUT_MILLIS);
+		long start = System.currentTimeMillis();
+		try {
+			dao.queryRawValue(SLOW_QUERY);
+			fail("Should have thrown");
+		} catch (SQLException e) {
+			assertTrue(e.getCause() instanceof SQLTimeoutException);
+		}
+		long elapsedMillis = System.currentTimeMillis() - start;
+		assertTrue("query ran for " + elapsedMillis + "ms", elapsedMillis < ROW_COUNT / 1000);
+
+		// the connection is still usable after the cancel
+		TimeoutRow row = new TimeoutRow();
+		assertEquals(1, dao.create(row));
+		assertEquals(1, dao.countOf());
+	}
+
+	@Test
+	public void testNoTimeoutRunsToEnd() throws Exception {
+		// without a timeout no deadline is scheduled and the query is never canceled
+		assertEquals(0, dao.getQueryTimeout());
+		long start = System.currentTimeMillis();
+		assertEquals(ROW_COUNT, dao.queryRawValue(SLOW_QUERY));
+		long elapsedMillis = System.currentTimeMillis() - start;
+		assertTrue("query ran for " + elapsedMillis + "ms", elapsedMillis > TIMEOUT_MILLIS);
+	}
+
+	@DatabaseTable(tableName = "timeoutrow")
+	protected static class TimeoutRow {
+		@DatabaseField(generatedId = true)
+		int id;
+
+		public TimeoutRow() {
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package com.j256.ormlite.android;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+import com.j256.ormlite.table.TableUtils;
+
+/**
+ * Compares an indexed numeric range query with its arguments bound natively, as {@link AndroidCompiledStatement} now
+ * does through {@link TypedArgsCursorFactory}, against the old String arguments of {@link SQLiteDatabase#rawQuery}.
+ * The timings and query plans are logged with the "OrmLiteBenchmark" tag.
+ *
+ * 比较数值索引范围查询使用原生类型绑定和字符串绑定的耗时。
+ */
+@RunWith(AndroidJUnit4.class)
+public class TypedArgsBindingBenchmark {
+
+	private static final String TAG = "OrmLiteBenchmark";
+	private static final int ROW_COUNT = 20000;
+	private static final int QUERY_COUNT = 1000;
+	private static final int RANGE_WIDTH = 20;
+	private static final String RANGE_QUERY = "SELECT * FROM `stat` WHERE `attack` BETWEEN ? AND ?";
+
+	private SQLiteDatabase db;
+	private AndroidConnectionSource connectionSource;
+
+	@Before
+	public void before() throws Exception {
+		db = SQLiteDatabase.create(null);
+		connectionSource = new AndroidConnectionSource(db);
+		TableUtils.createTable(connectionSource, Stat.class);
+		Dao<Stat, Integer> dao = DaoManager.createDao(connectionSource, Stat.class);
+		List<Stat> stats = new ArrayList<Stat>(ROW_COUNT);
+		for (int i = 0; i < ROW_COUNT; i++) {
+			stats.add(new Stat(i * 7L % ROW_COUNT));
+		}
+		dao.create(stats);
+	}
+
+	@After
+	public void after() {
+		DaoManager.clearCache();
+		connectionSource.closeQuietly();
+	}
+
+	@Test
+	public void testIndexedRangeQuery() {
+		logQueryPlan("typed", new TypedArgsCursorFactory(new Object[] { 10L, 10L + RANGE_WIDTH }), null);
+		logQueryPlan("string", null, new String[] { "10", Integer.toString(10 + RANGE_WIDTH) });
+
+		// warm up both paths before timing them
+		runQueries(true, QUERY_COUNT / 10);
+		runQueries(false, QUERY_COUNT / 10);
+
+		long start = System.nanoTime();
+		long typedRows = runQueries(true, QUERY_COUNT);
+		long typedNanos = System.nanoTime() - start;
+		start = System.nanoTime();
+		long stringRows = runQueries(false, QUERY_COUNT);
+		long stringNanos = System.nanoTime() - start;
+
+		assertEquals(stringRows, typedRows);
+		Log.i(TAG, "indexed range query x" + QUERY_COUNT + ": typed args " + typedNanos / QUERY_COUNT
+				+ "ns/query, string args " + stringNanos / QUERY_COUNT + "ns/query");
+	}
+
+	private long runQueries(boolean typed, int queryCount) {
+		Random random = new Random(1);
+		long rowCount = 0;
+		for (int i = 0; i < queryCount; i++) {
+			long low = random.nextInt(ROW_COUNT - RANGE_WIDTH);
+			long high = low + RANGE_WIDTH;
+			Cursor cursor;
+			if (typed) {
+				cursor = db.rawQueryWithFactory(new TypedArgsCursorFactory(new Object[] { low, high }), RANGE_QUERY,
+						null, null);
+			} else {
+				cursor = db.rawQuery(RANGE_QUERY, new String[] { Long.toString(low), Long.toString(high) });
+			}
+			try {
+				while (cursor.moveToNext()) {
+					rowCount += cursor.getLong(1);
+				}
+			} finally {
+				cursor.close();
+			}
+		}
+		return rowCount;
+	}
+
+	private void logQueryPlan(String label, TypedArgsCursorFactory factory, String[] stringArgs) {
+		Cursor cursor = db.rawQueryWithFactory(factory, "EXPLAIN QUERY PLAN " + RANGE_QUERY, stringArgs, null);
+		try {
+			StringBuilder sb = new StringBuilder();
+			while (cursor.moveToNext()) {
+				sb.append(cursor.getString(cursor.getColumnCount() - 1)).append("; ");
+			}
+			Log.i(TAG, label + " args query plan: " + sb);
+		} finally {
+			cursor.close();
+		}
+	}
+
+	@DatabaseTable(tableName = "stat")
+	protected static class Stat {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(index = true)
+		long attack;
+
+		public Stat() {
+		}
+
+		public Stat(long attack) {
+			this.attack = attack;
+		}
+	}
+}
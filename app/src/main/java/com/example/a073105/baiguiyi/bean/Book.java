@@ -21,7 +21,7 @@ public class Book {
     @DatabaseField(columnName = "pages")
     public int pages;
 
-    @DatabaseField(foreign = true,foreignColumnName = "name")
+    @DatabaseField(foreign = true,foreignColumnName = "name",foreignAutoRefresh = true,foreignAutoRefreshBatch = true)
     private AuthorInfo authorInfo;
 
     public String getAuthor() {
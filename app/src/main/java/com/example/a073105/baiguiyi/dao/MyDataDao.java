@@ -22,6 +22,8 @@ public class MyDataDao implements MyDataImpl{
         try {
             mHelper = MyDatabaseHelper.getHelper(mContext);
             dao = mHelper.getDao(Book.class);
+            // update只写入修改过的列，比如只改了price就只更新price
+            dao.setDirtyTracking(true);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -76,9 +78,9 @@ public class MyDataDao implements MyDataImpl{
             if (list != null) {
                 for (Book bean : list) {
                     bean.setPrice(price);
-                    dao.update(bean);
-                    //dao.createOrUpdate(bean);//和上一行的方法效果一样
                 }
+                // 一次批量更新，只通知一次
+                dao.update(list);
 
             }
         } catch (SQLException e) {
@@ -144,19 +146,10 @@ public class MyDataDao implements MyDataImpl{
 
     @Override
     public ArrayList<String> queryPrice(String name) {
-        List<Book> list = null;
         ArrayList<String> strings = null;
         try {
-            list = dao.queryForEq("name", name);
-            if (list != null) {
-                strings = new ArrayList<>();
-                for (Book book : list) {
-                    strings.add(book.getPrice());
-                }
-                /*for (int i = 0; i < list.size(); i++) {
-                    strings.add(list.get(i).getPrice());
-                }*/
-            }
+            // 只查询价格列，不创建Book对象
+            strings = new ArrayList<>(dao.queryBuilder().where().eq("book_name", name).queryColumn("price", String.class));
         } catch (SQLException e) {
             e.printStackTrace();
         }
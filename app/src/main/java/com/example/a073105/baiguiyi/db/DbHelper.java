@@ -11,6 +11,9 @@ import android.support.annotation.Nullable;
 import android.text.TextUtils;
 import android.util.Log;
 
+import com.j256.ormlite.android.AndroidDatabaseResults;
+import com.j256.ormlite.dao.ColumnarResults;
+
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -134,6 +137,33 @@ public class DbHelper extends SQLiteOpenHelper {
         return results;
     }
 
+    /**
+     * 按列查询，每列读入一个基本类型数组，不为每行创建对象。用于统计整表数据，例如：
+     * queryColumnar("select attackNum, crit from GodFormula", ColumnType.LONG, ColumnType.DOUBLE)
+     * @param sql 查询sql
+     * @param columnTypes 每个查询列的存储类型
+     * @return 出错时返回null
+     */
+    public ColumnarResults queryColumnar(String sql, ColumnarResults.ColumnType... columnTypes){
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = null;
+        ColumnarResults results = null;
+        try {
+            cursor = db.rawQuery(sql, null);
+            results = ColumnarResults.read(new AndroidDatabaseResults(cursor, null, false), columnTypes);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } catch (java.sql.SQLException e) {
+            e.printStackTrace();
+        } finally {
+            if(cursor != null){
+                cursor.close();
+            }
+            db.close();
+        }
+        return results;
+    }
+
     /**
      * 设置成员变量的值
      */
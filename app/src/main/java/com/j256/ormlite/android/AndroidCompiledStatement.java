@@ -2,13 +2,16 @@ package com.j256.ormlite.android;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.util.ArrayList;
 import java.util.List;
 
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteProgram;
 import android.database.sqlite.SQLiteStatement;
 
+import com.j256.ormlite.android.QueryTimeoutWatchdog.Deadline;
 import com.j256.ormlite.android.compat.ApiCompatibility;
 import com.j256.ormlite.android.compat.ApiCompatibility.CancellationHook;
 import com.j256.ormlite.android.compat.ApiCompatibilityUtils;
@@ -42,7 +45,9 @@ public class AndroidCompiledStatement implements CompiledStatement {
 	private Cursor cursor;
 	private List<Object> args;
 	private Integer max;
+	private long queryTimeoutMillis;
 	private CancellationHook cancellationHook;
+	private AndroidDatabaseConnection schemaChangeConnection;
 
 	public AndroidCompiledStatement(String sql, SQLiteDatabase db, StatementType type, boolean cancelQueriesEnabled,
 			boolean cacheStore) {
@@ -91,7 +96,21 @@ public class AndroidCompiledStatement implements CompiledStatement {
 		if (!type.isOkForExecute()) {
 			throw new IllegalArgumentException("Cannot call execute on a " + type + " statement");
 		}
-		return execSql(db, "runExecute", sql, getArgArray());
+		try {
+			return execSql(db, "runExecute", sql, getArgArray());
+		} finally {
+			if (schemaChangeConnection != null) {
+				// cached statements may refer to tables or columns that no longer exist
+				schemaChangeConnection.clearStatementCache();
+			}
+		}
+	}
+
+	/**
+	 * Clear the statement cache of the connection after this statement is executed because it changes the schema.
+	 */
+	void setSchemaChangeConnection(AndroidDatabaseConnection schemaChangeConnection) {
+		this.schemaChangeConnection = schemaChangeConnection;
 	}
 
 	@Override
@@ -131,33 +150,7 @@ public class AndroidCompiledStatement implements CompiledStatement {
 			return;
 		}
 
-		switch (sqlType) {
-			case STRING:
-			case LONG_STRING:
-			case DATE:
-			case BOOLEAN:
-			case CHAR:
-			case BYTE:
-			case SHORT:
-			case INTEGER:
-			case LONG:
-			case FLOAT:
-			case DOUBLE:
-				args.add(parameterIndex, obj.toString());
-				break;
-			case BYTE_ARRAY:
-			case SERIALIZABLE:
-				args.add(parameterIndex, obj);
-				break;
-			case BLOB:
-				// this is only for derby serializable
-			case BIG_DECIMAL:
-				// this should be handled as a STRING
-				throw new SQLException("Invalid Android type: " + sqlType);
-			case UNKNOWN:
-			default:
-				throw new SQLException("Unknown sql argument type: " + sqlType);
-		}
+		args.add(parameterIndex, toSqlArg(obj, sqlType));
 	}
 
 	@Override
@@ -168,7 +161,11 @@ public class AndroidCompiledStatement implements CompiledStatement {
 
 	@Override
 	public void setQueryTimeout(long millis) {
-		// as far as I could tell this is not supported by Android API
+		/*
+		 * Android has no native query timeout so a shared watchdog cancels the query through the cancellation hook. This
+		 * needs Jelly Bean or later, before that the timeout is ignored.
+		 */
+		this.queryTimeoutMillis = millis;
 	}
 
 	/***
@@ -181,20 +178,49 @@ public class AndroidCompiledStatement implements CompiledStatement {
 	public Cursor getCursor() throws SQLException {
 		if (cursor == null) {
 			String finalSql = null;
+			Deadline deadline = null;
 			try {
 				if (max == null) {
 					finalSql = sql;
 				} else {
 					finalSql = sql + " LIMIT " + max;
 				}
-				if (cancelQueriesEnabled) {
+				if (cancelQueriesEnabled || queryTimeoutMillis > 0) {
 					cancellationHook = apiCompatibility.createCancellationHook();
 				}
-				cursor = apiCompatibility.rawQuery(db, finalSql, getStringArray(), cancellationHook);
+				if (queryTimeoutMillis > 0 && cancellationHook != null) {
+					deadline = QueryTimeoutWatchdog.getInstance().schedule(cancellationHook, queryTimeoutMillis);
+				}
+				if (args == null) {
+					cursor = apiCompatibility.rawQuery(db, finalSql, NO_STRING_ARGS, cancellationHook);
+				} else {
+					// bind the arguments with their native types instead of as strings
+					cursor = apiCompatibility.rawQueryWithFactory(db, new TypedArgsCursorFactory(getArgArray()),
+							finalSql, cancellationHook);
+				}
+				// this is where the query is actually run by Android
 				cursor.moveToFirst();
 				logger.trace("{}: started rawQuery cursor for: {}", this, finalSql);
 			} catch (android.database.SQLException e) {
 				throw SqlExceptionUtil.create("Problems executing Android query: " + finalSql, e);
+			} catch (RuntimeException e) {
+				/*
+				 * A canceled query throws android.os.OperationCanceledException which we cannot reference directly since it
+				 * does not exist on older API versions.
+				 */
+				if (deadline == null || !deadline.isExpired()) {
+					throw e;
+				}
+			} finally {
+				if (deadline != null) {
+					QueryTimeoutWatchdog.getInstance().cancel(deadline);
+				}
+			}
+			if (deadline != null && deadline.isExpired()) {
+				// even if the query just finished, the cursor's signal has fired so it can't fill any more windows
+				closeQuietly();
+				cursor = null;
+				throw new SQLTimeoutException("Android query timed out after " + queryTimeoutMillis + "ms: " + finalSql);
 			}
 		}
 
@@ -211,20 +237,15 @@ public class AndroidCompiledStatement implements CompiledStatement {
 	 * 在数据库上执行一些SQL并返回更改的行数。
 	 */
 	static int execSql(SQLiteDatabase db, String label, String finalSql, Object[] argArray) throws SQLException {
-		try {
-			db.execSQL(finalSql, argArray);
-		} catch (android.database.SQLException e) {
-			throw SqlExceptionUtil.create("Problems executing " + label + " Android statement: " + finalSql, e);
-		}
 		int result;
 		SQLiteStatement stmt = null;
 		try {
-			// ask sqlite how many rows were just changed 询问sqlite刚改变了多少行
-			stmt = db.compileStatement("SELECT CHANGES()");
-			result = (int) stmt.simpleQueryForLong();
+			stmt = db.compileStatement(finalSql);
+			bindArgs(stmt, argArray);
+			// ask sqlite how many rows were just changed, natively if the Android version supports it 询问sqlite刚改变了多少行
+			result = apiCompatibility.executeUpdateDelete(db, stmt);
 		} catch (android.database.SQLException e) {
-			// ignore the exception and just return 1 if it failed
-			result = 1;
+			throw SqlExceptionUtil.create("Problems executing " + label + " Android statement: " + finalSql, e);
 		} finally {
 			if (stmt != null) {
 				stmt.close();
@@ -234,6 +255,76 @@ public class AndroidCompiledStatement implements CompiledStatement {
 		return result;
 	}
 
+	/**
+	 * Convert an argument into the object that is bound natively for its SQL type: a String, Long, Double, or byte[].
+	 * 将参数转换为按其SQL类型绑定的对象。
+	 */
+	static Object toSqlArg(Object obj, SqlType sqlType) throws SQLException {
+		if (obj == null) {
+			return null;
+		}
+		switch (sqlType) {
+			case STRING:
+			case LONG_STRING:
+			case DATE:
+			case CHAR:
+				return obj.toString();
+			case BOOLEAN:
+			case BYTE:
+			case SHORT:
+			case INTEGER:
+			case LONG:
+				if (obj instanceof Boolean) {
+					// booleans are stored as numbers under Android
+					return ((Boolean) obj) ? 1L : 0L;
+				} else if (obj instanceof Number) {
+					return ((Number) obj).longValue();
+				} else {
+					return obj.toString();
+				}
+			case FLOAT:
+			case DOUBLE:
+				if (obj instanceof Number) {
+					return ((Number) obj).doubleValue();
+				} else {
+					return obj.toString();
+				}
+			case BYTE_ARRAY:
+			case SERIALIZABLE:
+				return obj;
+			case BLOB:
+				// this is only for derby serializable
+			case BIG_DECIMAL:
+				// this should be handled as a STRING
+				throw new SQLException("Invalid Android type: " + sqlType);
+			case UNKNOWN:
+			default:
+				throw new SQLException("Unknown sql argument type: " + sqlType);
+		}
+	}
+
+	/**
+	 * Bind the arguments the same way that {@link SQLiteDatabase#execSQL(String, Object[])} does.
+	 */
+	static void bindArgs(SQLiteProgram stmt, Object[] argArray) {
+		for (int i = 0; i < argArray.length; i++) {
+			Object arg = argArray[i];
+			if (arg == null) {
+				stmt.bindNull(i + 1);
+			} else if (arg instanceof byte[]) {
+				stmt.bindBlob(i + 1, (byte[]) arg);
+			} else if (arg instanceof Double || arg instanceof Float) {
+				stmt.bindDouble(i + 1, ((Number) arg).doubleValue());
+			} else if (arg instanceof Long || arg instanceof Integer || arg instanceof Short || arg instanceof Byte) {
+				stmt.bindLong(i + 1, ((Number) arg).longValue());
+			} else if (arg instanceof Boolean) {
+				stmt.bindLong(i + 1, ((Boolean) arg) ? 1 : 0);
+			} else {
+				stmt.bindString(i + 1, arg.toString());
+			}
+		}
+	}
+
 	private void isInPrep() throws SQLException {
 		if (cursor != null) {
 			throw new SQLException("Query already run. Cannot add argument values.");
@@ -249,12 +340,4 @@ public class AndroidCompiledStatement implements CompiledStatement {
 		}
 	}
 
-	private String[] getStringArray() {
-		if (args == null) {
-			return NO_STRING_ARGS;
-		} else {
-			// we assume we have Strings in args
-			return args.toArray(new String[args.size()]);
-		}
-	}
 }
@@ -1,11 +1,13 @@
 package com.j256.ormlite.android;
 
 import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
 
 import com.j256.ormlite.android.apptools.OrmLiteSqliteOpenHelper;
+import com.j256.ormlite.android.compat.ApiCompatibilityUtils;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.db.SqliteAndroidDatabaseType;
 import com.j256.ormlite.logger.Logger;
@@ -20,6 +22,12 @@ import com.j256.ormlite.support.DatabaseConnectionProxyFactory;
  * Android version of the connection source. Takes a standard Android {@link SQLiteOpenHelper}. For best results, use
  * {@link OrmLiteSqliteOpenHelper}. You can also construct with a {@link SQLiteDatabase}.
  * 
+ * <p>
+ * By default a single read-write connection is used for everything. If {@link #setReadConnectionPoolSize(int)} is
+ * called then write-ahead logging is turned on for the database and read-only queries are spread over a small pool of
+ * read connections so they can run while another thread is in the middle of a batch of writes.
+ * </p>
+ * 
  * @author kevingalligan, graywatson
  */
 public class AndroidConnectionSource extends BaseConnectionSource implements ConnectionSource {
@@ -28,11 +36,16 @@ public class AndroidConnectionSource extends BaseConnectionSource implements Con
 
 	private final SQLiteOpenHelper helper;
 	private final SQLiteDatabase sqliteDatabase;
-	private DatabaseConnection connection = null;
+	private volatile DatabaseConnection connection = null;
 	private volatile boolean isOpen = true;
 	private final DatabaseType databaseType = new SqliteAndroidDatabaseType();
 	private static DatabaseConnectionProxyFactory connectionProxyFactory;
 	private boolean cancelQueriesEnabled = false;
+	private int statementCacheSize = AndroidDatabaseConnection.DEFAULT_STATEMENT_CACHE_SIZE;
+	private int readConnectionPoolSize = 0;
+	private DatabaseConnection[] readConnections;
+	private final AtomicInteger readConnectionCounter = new AtomicInteger();
+	private volatile boolean writeAheadLogging = false;
 
 	public AndroidConnectionSource(SQLiteOpenHelper helper) {
 		this.helper = helper;
@@ -52,7 +65,21 @@ public class AndroidConnectionSource extends BaseConnectionSource implements Con
 		 * 
 		 * See android docs: http://developer.android.com/reference/android/database/sqlite/SQLiteOpenHelper.html
 		 */
-		return getReadWriteConnection(tableName);
+		DatabaseConnection conn = getSavedConnection();
+		if (conn != null) {
+			// we are inside of a transaction and must see our own changes
+			return conn;
+		}
+		conn = getReadWriteConnection(tableName);
+		if (!writeAheadLogging) {
+			return conn;
+		}
+		/*
+		 * The read connections share the writable database whose connection pool, in WAL mode, lets readers run
+		 * concurrently with the writer. We hand them out round-robin so each has its own statement cache.
+		 */
+		int index = (readConnectionCounter.getAndIncrement() & Integer.MAX_VALUE) % readConnections.length;
+		return readConnections[index];
 	}
 
 	@Override
@@ -61,6 +88,15 @@ public class AndroidConnectionSource extends BaseConnectionSource implements Con
 		if (conn != null) {
 			return conn;
 		}
+		if (connection == null) {
+			return createConnections();
+		} else {
+			logger.trace("{}: returning read-write connection {}, helper {}", this, connection, helper);
+		}
+		return connection;
+	}
+
+	private synchronized DatabaseConnection createConnections() throws SQLException {
 		if (connection == null) {
 			SQLiteDatabase db;
 			if (sqliteDatabase == null) {
@@ -72,17 +108,41 @@ public class AndroidConnectionSource extends BaseConnectionSource implements Con
 			} else {
 				db = sqliteDatabase;
 			}
-			connection = new AndroidDatabaseConnection(db, true, cancelQueriesEnabled);
+			DatabaseConnection conn = new AndroidDatabaseConnection(db, true, cancelQueriesEnabled, statementCacheSize);
 			if (connectionProxyFactory != null) {
-				connection = connectionProxyFactory.createProxy(connection);
+				conn = connectionProxyFactory.createProxy(conn);
+			}
+			if (readConnectionPoolSize > 0) {
+				createReadConnections(db);
 			}
+			// assigned last since it is checked outside of the lock
+			connection = conn;
 			logger.trace("created connection {} for db {}, helper {}", connection, db, helper);
-		} else {
-			logger.trace("{}: returning read-write connection {}, helper {}", this, connection, helper);
 		}
 		return connection;
 	}
 
+	private void createReadConnections(SQLiteDatabase db) throws SQLException {
+		try {
+			writeAheadLogging = ApiCompatibilityUtils.getCompatibility().enableWriteAheadLogging(db);
+		} catch (android.database.SQLException e) {
+			throw SqlExceptionUtil.create("Enabling write-ahead logging on database " + db + " failed", e);
+		}
+		if (!writeAheadLogging) {
+			logger.warn("write-ahead logging not supported for db {}, using a single connection", db);
+			return;
+		}
+		DatabaseConnection[] conns = new DatabaseConnection[readConnectionPoolSize];
+		for (int i = 0; i < conns.length; i++) {
+			conns[i] = new AndroidDatabaseConnection(db, false, cancelQueriesEnabled, statementCacheSize);
+			if (connectionProxyFactory != null) {
+				conns[i] = connectionProxyFactory.createProxy(conns[i]);
+			}
+		}
+		readConnections = conns;
+		logger.trace("created {} read connections in WAL mode for db {}", conns.length, db);
+	}
+
 	@Override
 	public void releaseConnection(DatabaseConnection connection) {
 		// noop since connection management is handled by AndroidOS
@@ -121,7 +181,8 @@ public class AndroidConnectionSource extends BaseConnectionSource implements Con
 
 	@Override
 	public boolean isSingleConnection(String tableName) {
-		return true;
+		// in WAL mode readers and the writer can run at the same time
+		return !writeAheadLogging;
 	}
 
 	/**
@@ -147,6 +208,47 @@ public class AndroidConnectionSource extends BaseConnectionSource implements Con
 		this.cancelQueriesEnabled = cancelQueriesEnabled;
 	}
 
+	public int getStatementCacheSize() {
+		return statementCacheSize;
+	}
+
+	/**
+	 * Set the number of compiled insert, update, and delete statements that the connection keeps around for reuse.
+	 * Set to 0 to disable the cache. This must be called before the connection is first used.
+	 * 设置连接缓存的已编译语句数量，0表示禁用。
+	 */
+	public void setStatementCacheSize(int statementCacheSize) {
+		this.statementCacheSize = statementCacheSize;
+	}
+
+	public int getReadConnectionPoolSize() {
+		return readConnectionPoolSize;
+	}
+
+	/**
+	 * Set to a positive number to turn on write-ahead logging for the database and keep that many read-only connections
+	 * alongside the single writer. Read queries from the DAOs will then run concurrently with batch writes. If the
+	 * database does not support WAL, such as an in-memory database, then the single connection is used as before. This
+	 * must be called before the connection is first used.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> A read made on another thread while a batch is in progress will not see the batch's changes until it
+	 * is committed.
+	 * </p>
+	 * 
+	 * 设置为正数以开启WAL模式，并在单个写连接旁保留多个只读连接。
+	 */
+	public void setReadConnectionPoolSize(int readConnectionPoolSize) {
+		this.readConnectionPoolSize = readConnectionPoolSize;
+	}
+
+	/**
+	 * Return true if write-ahead logging was enabled and reads are using the read connection pool.
+	 */
+	public boolean isWriteAheadLogging() {
+		return writeAheadLogging;
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName() + "@" + Integer.toHexString(super.hashCode());
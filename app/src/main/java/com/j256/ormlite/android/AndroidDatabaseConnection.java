@@ -6,8 +6,11 @@ import java.sql.Savepoint;
 
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteDoneException;
 import android.database.sqlite.SQLiteStatement;
 
+import com.j256.ormlite.android.compat.ApiCompatibility;
+import com.j256.ormlite.android.compat.ApiCompatibilityUtils;
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.SqlType;
@@ -33,10 +36,14 @@ public class AndroidDatabaseConnection implements DatabaseConnection {
 
 	private static Logger logger = LoggerFactory.getLogger(AndroidDatabaseConnection.class);
 	private static final String[] NO_STRING_ARGS = new String[0];
+	private static final ApiCompatibility apiCompatibility = ApiCompatibilityUtils.getCompatibility();
+	/** default number of compiled insert/update/delete statements cached per connection 每个连接缓存的已编译语句的默认数量 */
+	public static final int DEFAULT_STATEMENT_CACHE_SIZE = 16;
 
 	private final SQLiteDatabase db;
 	private final boolean readWrite;
 	private final boolean cancelQueriesEnabled; //取消查询是否可用
+	private final CompiledStatementCache statementCache;
 
 	static {
 		//检查core 的版本和 android的版本是否相同  VERSION__5.1-SNAPSHOT__
@@ -48,9 +55,19 @@ public class AndroidDatabaseConnection implements DatabaseConnection {
 	}
 
 	public AndroidDatabaseConnection(SQLiteDatabase db, boolean readWrite, boolean cancelQueriesEnabled) {
+		this(db, readWrite, cancelQueriesEnabled, DEFAULT_STATEMENT_CACHE_SIZE);
+	}
+
+	/**
+	 * @param statementCacheSize
+	 *            Maximum number of compiled statements to keep around for reuse. Set to 0 to disable the cache.
+	 */
+	public AndroidDatabaseConnection(SQLiteDatabase db, boolean readWrite, boolean cancelQueriesEnabled,
+			int statementCacheSize) {
 		this.db = db;
 		this.readWrite = readWrite;
 		this.cancelQueriesEnabled = cancelQueriesEnabled;
+		this.statementCache = new CompiledStatementCache(statementCacheSize);
 		logger.trace("{}: db {} opened, read-write = {}", this, db, readWrite);
 	}
 
@@ -155,14 +172,26 @@ public class AndroidDatabaseConnection implements DatabaseConnection {
 
 	@Override
 	public int executeStatement(String statementStr, int resultFlags) throws SQLException {
-		return AndroidCompiledStatement.execSql(db, statementStr, statementStr, NO_STRING_ARGS);
+		try {
+			return AndroidCompiledStatement.execSql(db, statementStr, statementStr, NO_STRING_ARGS);
+		} finally {
+			if (isSchemaChange(statementStr)) {
+				// cached statements may refer to tables or columns that no longer exist
+				clearStatementCache();
+			}
+		}
 	}
 
 	@Override
 	public CompiledStatement compileStatement(String statement, StatementType type, FieldType[] argFieldTypes,
 			int resultFlags, boolean cacheStore) {
 		// resultFlags argument is not used in Android-land since the {@link Cursor} is bi-directional. 由于{@link Cursor}是双向的，因此在Android-land中不使用resultFlags参数。
-		CompiledStatement stmt = new AndroidCompiledStatement(statement, db, type, cancelQueriesEnabled, cacheStore);
+		AndroidCompiledStatement stmt =
+				new AndroidCompiledStatement(statement, db, type, cancelQueriesEnabled, cacheStore);
+		if (type == StatementType.EXECUTE && isSchemaChange(statement)) {
+			// TableUtils runs its CREATE and DROP statements this way instead of through executeStatement
+			stmt.setSchemaChangeConnection(this);
+		}
 		logger.trace("{}: compiled statement got {}: {}", this, stmt, statement);
 		return stmt;
 	}
@@ -171,26 +200,34 @@ public class AndroidDatabaseConnection implements DatabaseConnection {
 	public int insert(String statement, Object[] args, FieldType[] argFieldTypes, GeneratedKeyHolder keyHolder)
 			throws SQLException {
 		SQLiteStatement stmt = null;
+		boolean reusable = false;
 		try {
-			stmt = db.compileStatement(statement);//为什么不使用execSql/ long insert(String table, String nullColumnHack, ContentValues values) {
+			stmt = statementCache.acquire(db, statement);//为什么不使用execSql/ long insert(String table, String nullColumnHack, ContentValues values) {
 			bindArgs(stmt, args, argFieldTypes);
 			long rowId = stmt.executeInsert();
-			if (keyHolder != null) {
-				keyHolder.addKey(rowId);
-			}
+			reusable = true;
 			/*
 			 * I've decided to not do the CHANGES() statement here like we do down below in UPDATE because we know that
 			 * it worked (since it didn't throw) so we know that 1 is right.
 			 * 我决定不在这里做CHANGES（）声明，就像我们在UPDATE下面做的那样，因为我们知道这一点
 				它工作（因为它没有扔）所以我们知道1是对的。
+			 * The exception is an INSERT OR IGNORE which skipped the row, in which case Android returns -1.
 			 */
-			int result = 1;
+			int result;
+			if (rowId == -1) {
+				result = 0;
+			} else {
+				result = 1;
+				if (keyHolder != null) {
+					keyHolder.addKey(rowId);
+				}
+			}
 			logger.trace("{}: insert statement is compiled and executed, changed {}: {}", this, result, statement);
 			return result;
 		} catch (android.database.SQLException e) {
 			throw SqlExceptionUtil.create("inserting to database failed: " + statement, e);
 		} finally {
-			closeQuietly(stmt);
+			statementCache.release(statement, stmt, reusable);
 		}
 	}
 
@@ -211,7 +248,7 @@ public class AndroidDatabaseConnection implements DatabaseConnection {
 		Cursor cursor = null;
 		AndroidDatabaseResults results = null;
 		try {
-			cursor = db.rawQuery(statement, toStrings(args));
+			cursor = rawQuery(statement, args, argFieldTypes);
 			results = new AndroidDatabaseResults(cursor, objectCache, true);
 			logger.trace("{}: queried for one result: {}", this, statement);
 			if (!results.first()) {
@@ -235,44 +272,52 @@ public class AndroidDatabaseConnection implements DatabaseConnection {
 	@Override
 	public long queryForLong(String statement) throws SQLException {
 		SQLiteStatement stmt = null;
+		boolean reusable = false;
 		try {
-			stmt = db.compileStatement(statement);
+			stmt = statementCache.acquire(db, statement);
 			long result = stmt.simpleQueryForLong();
+			reusable = true;
 			logger.trace("{}: query for long simple query returned {}: {}", this, result, statement);
 			return result;
 		} catch (android.database.SQLException e) {
 			throw SqlExceptionUtil.create("queryForLong from database failed: " + statement, e);
 		} finally {
-			closeQuietly(stmt);
+			statementCache.release(statement, stmt, reusable);
 		}
 	}
 
 	@Override
 	public long queryForLong(String statement, Object[] args, FieldType[] argFieldTypes) throws SQLException {
-		Cursor cursor = null;
-		AndroidDatabaseResults results = null;
+		/*
+		 * We don't need a cursor and results object just to read a single number so we use a cached compiled statement
+		 * with the arguments bound using their SQL types.
+		 */
+		SQLiteStatement stmt = null;
+		boolean reusable = false;
 		try {
-			cursor = db.rawQuery(statement, toStrings(args));
-			results = new AndroidDatabaseResults(cursor, null, false);
+			stmt = statementCache.acquire(db, statement);
+			bindArgs(stmt, args, argFieldTypes);
 			long result;
-			if (results.first()) {
-				result = results.getLong(0);
-			} else {
+			try {
+				result = stmt.simpleQueryForLong();
+			} catch (SQLiteDoneException e) {
+				// no rows returned
 				result = 0L;
 			}
-			logger.trace("{}: query for long raw query returned {}: {}", this, result, statement);
+			reusable = true;
+			logger.trace("{}: query for long compiled query returned {}: {}", this, result, statement);
 			return result;
 		} catch (android.database.SQLException e) {
 			throw SqlExceptionUtil.create("queryForLong from database failed: " + statement, e);
 		} finally {
-			closeQuietly(cursor);
-			IOUtils.closeQuietly(results);
+			statementCache.release(statement, stmt, reusable);
 		}
 	}
 
 	@Override
 	public void close() throws IOException {
 		try {
+			statementCache.close();
 			db.close();
 			logger.trace("{}: db {} closed", this, db);
 		} catch (android.database.SQLException e) {
@@ -316,25 +361,18 @@ public class AndroidDatabaseConnection implements DatabaseConnection {
 
 	private int update(String statement, Object[] args, FieldType[] argFieldTypes, String label) throws SQLException {
 		SQLiteStatement stmt = null;
+		boolean reusable = false;
+		int result;
 		try {
-			stmt = db.compileStatement(statement);
+			stmt = statementCache.acquire(db, statement);
 			bindArgs(stmt, args, argFieldTypes);
-			stmt.execute();
+			// uses the native changed row count if the Android version supports it
+			result = apiCompatibility.executeUpdateDelete(db, stmt);
+			reusable = true;
 		} catch (android.database.SQLException e) {
 			throw SqlExceptionUtil.create("updating database failed: " + statement, e);
 		} finally {
-			closeQuietly(stmt);
-			stmt = null;
-		}
-		int result;
-		try {
-			stmt = db.compileStatement("SELECT CHANGES()");
-			result = (int) stmt.simpleQueryForLong();
-		} catch (android.database.SQLException e) {
-			// ignore the exception and just return 1
-			result = 1;
-		} finally {
-			closeQuietly(stmt);
+			statementCache.release(statement, stmt, reusable);
 		}
 		logger.trace("{} statement is compiled and executed, changed {}: {}", label, result, statement);
 		return result;
@@ -357,6 +395,13 @@ public class AndroidDatabaseConnection implements DatabaseConnection {
 						stmt.bindString(i + 1, arg.toString());
 						break;
 					case BOOLEAN:
+						if (arg instanceof Boolean) {
+							// booleans are stored as numbers under Android
+							stmt.bindLong(i + 1, ((Boolean) arg) ? 1 : 0);
+						} else {
+							stmt.bindLong(i + 1, ((Number) arg).longValue());
+						}
+						break;
 					case BYTE:
 					case SHORT:
 					case INTEGER:
@@ -386,21 +431,50 @@ public class AndroidDatabaseConnection implements DatabaseConnection {
 		}
 	}
 
-	private String[] toStrings(Object[] args) {
+	/**
+	 * Run a raw query with the arguments bound using their real SQL types instead of as strings.
+	 */
+	private Cursor rawQuery(String statement, Object[] args, FieldType[] argFieldTypes) throws SQLException {
 		if (args == null || args.length == 0) {
-			return null;
+			return db.rawQuery(statement, null);
 		}
-		String[] strings = new String[args.length];
+		Object[] sqlArgs = new Object[args.length];
 		for (int i = 0; i < args.length; i++) {
-			Object arg = args[i];
-			if (arg == null) {
-				strings[i] = null;
-			} else {
-				strings[i] = arg.toString();
-			}
+			sqlArgs[i] = AndroidCompiledStatement.toSqlArg(args[i], argFieldTypes[i].getSqlType());
 		}
+		return db.rawQueryWithFactory(new TypedArgsCursorFactory(sqlArgs), statement, null, null);
+	}
 
-		return strings;
+	/**
+	 * Close and forget all of the compiled statements cached by this connection. This is called automatically when a
+	 * CREATE, DROP, or ALTER is run through {@link #executeStatement(String, int)} or a compiled EXECUTE statement but
+	 * should also be called if the schema is changed behind our back.
+	 * 关闭并清除此连接缓存的所有已编译语句。
+	 */
+	public void clearStatementCache() {
+		statementCache.clear();
+		logger.trace("{}: statement cache cleared", this);
+	}
+
+	/**
+	 * Return the number of times a compiled statement was found in the statement cache.
+	 */
+	public long getStatementCacheHitCount() {
+		return statementCache.getHitCount();
+	}
+
+	/**
+	 * Return the number of times a statement had to be compiled because it was not in the statement cache.
+	 */
+	public long getStatementCacheMissCount() {
+		return statementCache.getMissCount();
+	}
+
+	/**
+	 * Return the number of compiled statements currently held in the statement cache.
+	 */
+	public int getStatementCacheSize() {
+		return statementCache.size();
 	}
 
 	@Override
@@ -408,22 +482,22 @@ public class AndroidDatabaseConnection implements DatabaseConnection {
 		return getClass().getSimpleName() + "@" + Integer.toHexString(super.hashCode());
 	}
 
-	/**
-	 * We can't use IOUtils here because older versions didn't implement Closeable.
-	 */
-	private void closeQuietly(Cursor cursor) {
-		if (cursor != null) {
-			cursor.close();
+	private boolean isSchemaChange(String statement) {
+		int start = 0;
+		while (start < statement.length() && Character.isWhitespace(statement.charAt(start))) {
+			start++;
 		}
+		return statement.regionMatches(true, start, "CREATE", 0, 6)
+				|| statement.regionMatches(true, start, "DROP", 0, 4)
+				|| statement.regionMatches(true, start, "ALTER", 0, 5);
 	}
 
 	/**
 	 * We can't use IOUtils here because older versions didn't implement Closeable.
-	 * 我们不能在这里使用IOUtils，因为旧版本没有实现Closeable。
 	 */
-	private void closeQuietly(SQLiteStatement statement) {
-		if (statement != null) {
-			statement.close();
+	private void closeQuietly(Cursor cursor) {
+		if (cursor != null) {
+			cursor.close();
 		}
 	}
 
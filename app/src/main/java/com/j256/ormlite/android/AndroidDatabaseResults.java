@@ -26,24 +26,15 @@ public class AndroidDatabaseResults implements DatabaseResults {
 	private static final int MIN_NUM_COLUMN_NAMES_MAP = 8;
 
 	private final Cursor cursor;
-	private final String[] columnNames;
-	private final Map<String, Integer> columnNameMap;
+	// built lazily since the mapped queries only look their columns up once
+	private String[] columnNames;
+	private Map<String, Integer> columnNameMap;
 	private final ObjectCache objectCache;
 	private final boolean cacheStore;
 	private static final DatabaseType databaseType = new SqliteAndroidDatabaseType();
 
 	public AndroidDatabaseResults(Cursor cursor, ObjectCache objectCache, boolean cacheStore) {
 		this.cursor = cursor;
-		this.columnNames = cursor.getColumnNames();
-		if (this.columnNames.length >= MIN_NUM_COLUMN_NAMES_MAP) {
-			this.columnNameMap = new HashMap<String, Integer>();
-			for (int i = 0; i < this.columnNames.length; i++) {
-				// NOTE: this is case sensitive
-				this.columnNameMap.put(this.columnNames[i], i);
-			}
-		} else {
-			columnNameMap = null;
-		}
 		this.objectCache = objectCache;
 		this.cacheStore = cacheStore;
 	}
@@ -255,6 +246,16 @@ public class AndroidDatabaseResults implements DatabaseResults {
 	}
 
 	private int lookupColumn(String columnName) {
+		if (columnNames == null) {
+			columnNames = cursor.getColumnNames();
+			if (columnNames.length >= MIN_NUM_COLUMN_NAMES_MAP) {
+				columnNameMap = new HashMap<String, Integer>();
+				for (int i = 0; i < columnNames.length; i++) {
+					// NOTE: this is case sensitive
+					columnNameMap.put(columnNames[i], i);
+				}
+			}
+		}
 		// we either use linear search or our name map
 		if (columnNameMap == null) {
 			for (int i = 0; i < columnNames.length; i++) {
@@ -0,0 +1,122 @@
+package com.j256.ormlite.android;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+/**
+ * Bounded least-recently-used cache of compiled {@link SQLiteStatement}s keyed by their SQL text. It is owned by a
+ * single {@link AndroidDatabaseConnection} so that repeated inserts, updates, and deletes do not have to re-compile
+ * the same SQL over and over.
+ *
+ * <p>
+ * A statement is removed from the cache while it is in use and put back when the caller is done with it. This means
+ * that two threads sharing the connection will never bind arguments on the same statement at the same time.
+ * </p>
+ *
+ * 已编译语句的LRU缓存，按SQL文本索引。
+ */
+class CompiledStatementCache {
+
+	private final int capacity;
+	private final LinkedHashMap<String, SQLiteStatement> statementMap;
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private boolean closed;
+
+	public CompiledStatementCache(int capacity) {
+		this.capacity = capacity;
+		this.statementMap = new LinkedHashMap<String, SQLiteStatement>(capacity + 1, 0.75F, true);
+	}
+
+	/**
+	 * Return a compiled statement for the SQL, either from the cache or freshly compiled from the database. The caller
+	 * must hand it back with {@link #release(String, SQLiteStatement, boolean)} when done.
+	 */
+	public SQLiteStatement acquire(SQLiteDatabase db, String sql) {
+		if (capacity > 0) {
+			SQLiteStatement stmt;
+			synchronized (this) {
+				stmt = statementMap.remove(sql);
+			}
+			if (stmt != null) {
+				hitCount.incrementAndGet();
+				return stmt;
+			}
+		}
+		missCount.incrementAndGet();
+		return db.compileStatement(sql);
+	}
+
+	/**
+	 * Return the statement to the cache. If reusable is false, because say the statement threw, or if the cache is
+	 * disabled or closed then the statement is closed instead.
+	 */
+	public void release(String sql, SQLiteStatement stmt, boolean reusable) {
+		if (stmt == null) {
+			return;
+		}
+		if (!reusable || capacity <= 0) {
+			stmt.close();
+			return;
+		}
+		stmt.clearBindings();
+		SQLiteStatement previous;
+		synchronized (this) {
+			if (closed) {
+				previous = stmt;
+			} else {
+				previous = statementMap.put(sql, stmt);
+				if (statementMap.size() > capacity) {
+					// remove the least-recently-used entry which is the first one in access-order
+					Iterator<Entry<String, SQLiteStatement>> iterator = statementMap.entrySet().iterator();
+					Entry<String, SQLiteStatement> eldest = iterator.next();
+					iterator.remove();
+					eldest.getValue().close();
+				}
+			}
+		}
+		// another thread may have released a statement for the same SQL while we were using ours
+		if (previous != null) {
+			previous.close();
+		}
+	}
+
+	/**
+	 * Close and remove all of the cached statements. This should be called when the schema changes.
+	 */
+	public synchronized void clear() {
+		for (SQLiteStatement stmt : statementMap.values()) {
+			stmt.close();
+		}
+		statementMap.clear();
+	}
+
+	/**
+	 * Clear the cache and stop caching any statements that are released afterwards.
+	 */
+	public synchronized void close() {
+		clear();
+		closed = true;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public synchronized int size() {
+		return statementMap.size();
+	}
+
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	public long getMissCount() {
+		return missCount.get();
+	}
+}
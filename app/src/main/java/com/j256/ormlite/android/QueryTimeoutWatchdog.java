@@ -0,0 +1,126 @@
+package com.j256.ormlite.android;
+
+import java.util.PriorityQueue;
+
+import com.j256.ormlite.android.compat.ApiCompatibility.CancellationHook;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+
+/**
+ * Shared watchdog which cancels queries through their {@link CancellationHook} once their deadline passes. A single
+ * daemon thread is started the first time a deadline is scheduled.
+ *
+ * 共享的看门狗线程，在查询超时时通过CancellationHook取消查询。
+ */
+class QueryTimeoutWatchdog implements Runnable {
+
+	private static final Logger logger = LoggerFactory.getLogger(QueryTimeoutWatchdog.class);
+	private static final QueryTimeoutWatchdog instance = new QueryTimeoutWatchdog();
+
+	private final PriorityQueue<Deadline> deadlines = new PriorityQueue<Deadline>();
+	private Thread thread;
+
+	private QueryTimeoutWatchdog() {
+		// singleton
+	}
+
+	public static QueryTimeoutWatchdog getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Schedule the hook to be canceled after a certain number of milliseconds. The returned deadline must be passed
+	 * to {@link #cancel(Deadline)} when the query finishes.
+	 */
+	public synchronized Deadline schedule(CancellationHook cancellationHook, long timeoutMillis) {
+		Deadline deadline = new Deadline(cancellationHook, System.nanoTime() + timeoutMillis * 1000000L);
+		deadlines.add(deadline);
+		if (thread == null) {
+			thread = new Thread(this, getClass().getSimpleName());
+			thread.setDaemon(true);
+			thread.start();
+		} else if (deadlines.peek() == deadline) {
+			// we are the new earliest deadline so wake the thread up
+			notifyAll();
+		}
+		return deadline;
+	}
+
+	/**
+	 * Remove the deadline since the query has finished.
+	 */
+	public synchronized void cancel(Deadline deadline) {
+		deadlines.remove(deadline);
+	}
+
+	@Override
+	public void run() {
+		while (true) {
+			Deadline expired;
+			synchronized (this) {
+				Deadline first = deadlines.peek();
+				if (first == null) {
+					waitQuietly(0);
+					continue;
+				}
+				long waitNanos = first.expireNanos - System.nanoTime();
+				if (waitNanos > 0) {
+					// round up so we do not spin when less than a milli is left
+					waitQuietly((waitNanos + 999999L) / 1000000L);
+					continue;
+				}
+				expired = deadlines.poll();
+				expired.expired = true;
+			}
+			// cancel outside of the lock since it may block on the database
+			try {
+				expired.cancellationHook.cancel();
+				logger.debug("query timed out and was canceled by watchdog");
+			} catch (RuntimeException e) {
+				logger.warn(e, "canceling timed out query threw");
+			}
+		}
+	}
+
+	private void waitQuietly(long millis) {
+		try {
+			wait(millis);
+		} catch (InterruptedException e) {
+			// ignored, we are a daemon thread that lives forever
+		}
+	}
+
+	/**
+	 * A query deadline which has been scheduled with the watchdog.
+	 */
+	public static class Deadline implements Comparable<Deadline> {
+
+		private final CancellationHook cancellationHook;
+		private final long expireNanos;
+		private volatile boolean expired;
+
+		private Deadline(CancellationHook cancellationHook, long expireNanos) {
+			this.cancellationHook = cancellationHook;
+			this.expireNanos = expireNanos;
+		}
+
+		/**
+		 * Return true if the deadline passed and the query was canceled by the watchdog.
+		 */
+		public boolean isExpired() {
+			return expired;
+		}
+
+		@Override
+		public int compareTo(Deadline other) {
+			long diff = expireNanos - other.expireNanos;
+			if (diff < 0) {
+				return -1;
+			} else if (diff > 0) {
+				return 1;
+			} else {
+				return 0;
+			}
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package com.j256.ormlite.android;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteCursor;
+import android.database.sqlite.SQLiteCursorDriver;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteDatabase.CursorFactory;
+import android.database.sqlite.SQLiteQuery;
+
+/**
+ * Cursor factory which binds the query arguments with their real SQL types. {@link SQLiteDatabase#rawQuery} only
+ * takes String arguments which makes sqlite compare numbers through type affinity and can stop it from using an index
+ * on a numeric column.
+ * 
+ * <p>
+ * <b>NOTE:</b> The query must be run with null selection arguments so the driver does not bind them as strings first.
+ * </p>
+ * 
+ * 使用真实SQL类型绑定查询参数的Cursor工厂。
+ */
+class TypedArgsCursorFactory implements CursorFactory {
+
+	private final Object[] args;
+
+	public TypedArgsCursorFactory(Object[] args) {
+		this.args = args;
+	}
+
+	@Override
+	public Cursor newCursor(SQLiteDatabase db, SQLiteCursorDriver masterQuery, String editTable, SQLiteQuery query) {
+		AndroidCompiledStatement.bindArgs(query, args);
+		return new SQLiteCursor(masterQuery, editTable, query);
+	}
+}
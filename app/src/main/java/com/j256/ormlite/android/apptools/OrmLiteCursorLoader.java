@@ -12,7 +12,9 @@ import com.j256.ormlite.android.AndroidCompiledStatement;
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.Dao.DaoObserver;
 import com.j256.ormlite.stmt.PreparedQuery;
+import com.j256.ormlite.support.CompiledStatement;
 import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.support.InstrumentingDatabaseConnectionProxy;
 
 /**
  * Cursor loader supported by later Android APIs that allows asynchronous content loading.
@@ -41,7 +43,10 @@ public class OrmLiteCursorLoader<T> extends AsyncTaskLoader<Cursor> implements D
 		Cursor cursor;
 		try {
 			DatabaseConnection connection = dao.getConnectionSource().getReadOnlyConnection(dao.getTableName());
-			AndroidCompiledStatement statement = (AndroidCompiledStatement) query.compile(connection, SELECT);
+			CompiledStatement compiledStatement = query.compile(connection, SELECT);
+			// the connection may be instrumented and wrap the statement
+			AndroidCompiledStatement statement =
+					(AndroidCompiledStatement) InstrumentingDatabaseConnectionProxy.unwrap(compiledStatement);
 			cursor = statement.getCursor();
 		} catch (SQLException e) {
 			throw new RuntimeException(e);
@@ -2,6 +2,8 @@ package com.j256.ormlite.android.compat;
 
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteDatabase.CursorFactory;
+import android.database.sqlite.SQLiteStatement;
 
 /**
  * Compatibility interface to support various different versions of the Android API.
@@ -15,6 +17,26 @@ public interface ApiCompatibility {
 	 */
 	public Cursor rawQuery(SQLiteDatabase db, String sql, String[] selectionArgs, CancellationHook cancellationHook);
 
+	/**
+	 * Perform a raw query on a database through a cursor factory, which is able to bind the query arguments itself, with
+	 * an optional cancellation-hook.
+	 */
+	public Cursor rawQueryWithFactory(SQLiteDatabase db, CursorFactory cursorFactory, String sql,
+			CancellationHook cancellationHook);
+
+	/**
+	 * Execute an UPDATE, DELETE, or other non-query statement and return the number of rows that it changed. Older
+	 * versions of Android have to ask sqlite with a separate "SELECT CHANGES()" statement.
+	 */
+	public int executeUpdateDelete(SQLiteDatabase db, SQLiteStatement stmt);
+
+	/**
+	 * Turn on write-ahead logging for the database so that readers can run concurrently with a writer.
+	 * 
+	 * @return True if write-ahead logging is now enabled or false if it is not supported.
+	 */
+	public boolean enableWriteAheadLogging(SQLiteDatabase db);
+
 	/**
 	 * Return a cancellation hook object that will be passed to the
 	 * {@link #rawQuery(SQLiteDatabase, String, String[], CancellationHook)}. If not supported then this will return
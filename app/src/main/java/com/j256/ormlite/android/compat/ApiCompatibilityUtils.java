@@ -38,6 +38,8 @@ public class ApiCompatibilityUtils {
 	static {
 		if (Build.VERSION.SDK_INT >= JELLY_BEAN) {
 			compatibility = new JellyBeanApiCompatibility();
+		} else if (Build.VERSION.SDK_INT >= HONEYCOMB) {
+			compatibility = new HoneycombApiCompatibility();
 		} else {
 			compatibility = new BasicApiCompatibility();
 		}
@@ -2,6 +2,8 @@ package com.j256.ormlite.android.compat;
 
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteDatabase.CursorFactory;
+import android.database.sqlite.SQLiteStatement;
 
 /**
  * Basic class which provides no-op methods for all Android version.
@@ -16,6 +18,37 @@ public class BasicApiCompatibility implements ApiCompatibility {
 		return db.rawQuery(sql, selectionArgs);
 	}
 
+	@Override
+	public Cursor rawQueryWithFactory(SQLiteDatabase db, CursorFactory cursorFactory, String sql,
+			CancellationHook cancellationHook) {
+		// NOTE: cancellationHook will always be null
+		return db.rawQueryWithFactory(cursorFactory, sql, null, null);
+	}
+
+	@Override
+	public int executeUpdateDelete(SQLiteDatabase db, SQLiteStatement stmt) {
+		stmt.execute();
+		SQLiteStatement changesStmt = null;
+		try {
+			// ask sqlite how many rows were just changed
+			changesStmt = db.compileStatement("SELECT CHANGES()");
+			return (int) changesStmt.simpleQueryForLong();
+		} catch (android.database.SQLException e) {
+			// ignore the exception and just return 1 if it failed
+			return 1;
+		} finally {
+			if (changesStmt != null) {
+				changesStmt.close();
+			}
+		}
+	}
+
+	@Override
+	public boolean enableWriteAheadLogging(SQLiteDatabase db) {
+		// not supported before Honeycomb
+		return false;
+	}
+
 	@Override
 	public CancellationHook createCancellationHook() {
 		return null;
@@ -0,0 +1,26 @@
+package com.j256.ormlite.android.compat;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+/**
+ * Class which uses the native update/delete row count that was added to {@link SQLiteStatement} in Honeycomb as well
+ * as write-ahead logging.
+ * 
+ * <p>
+ * <b>NOTE:</b> Will show as in error if compiled with previous Android versions.
+ * </p>
+ */
+public class HoneycombApiCompatibility extends BasicApiCompatibility {
+
+	@Override
+	public int executeUpdateDelete(SQLiteDatabase db, SQLiteStatement stmt) {
+		return stmt.executeUpdateDelete();
+	}
+
+	@Override
+	public boolean enableWriteAheadLogging(SQLiteDatabase db) {
+		// this returns false for in-memory databases
+		return db.enableWriteAheadLogging();
+	}
+}
@@ -17,6 +17,9 @@ import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.misc.BaseDaoEnabled;
 import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.stmt.ArgumentHolder;
+import com.j256.ormlite.stmt.ColumnArg;
 import com.j256.ormlite.stmt.DeleteBuilder;
 import com.j256.ormlite.stmt.GenericRowMapper;
 import com.j256.ormlite.stmt.PreparedDelete;
@@ -29,10 +32,12 @@ import com.j256.ormlite.stmt.StatementBuilder.StatementType;
 import com.j256.ormlite.stmt.StatementExecutor;
 import com.j256.ormlite.stmt.UpdateBuilder;
 import com.j256.ormlite.stmt.Where;
+import com.j256.ormlite.stmt.mapped.MappedDeleteCollection;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.support.DatabaseResults;
 import com.j256.ormlite.table.DatabaseTableConfig;
+import com.j256.ormlite.table.DirtyTracker;
 import com.j256.ormlite.table.ObjectFactory;
 import com.j256.ormlite.table.TableInfo;
 
@@ -67,6 +72,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 			};
 	private static ReferenceObjectCache defaultObjectCache;
 	private static final Object constantObject = new Object();
+	private static final int MAX_EQ_QUERY_CACHE_SIZE = 64;
 
 	protected StatementExecutor<T, ID> statementExecutor;
 	protected DatabaseType databaseType;
@@ -81,6 +87,8 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	// NOTE: package perms to removed synthetic accessor
 	ObjectCache objectCache;
 	private Map<DaoObserver, Object> daoObserverMap;
+	// queries for the queryForEq type methods keyed by their columns
+	private final ConcurrentHashMap<String, EqQuery<T>> eqQueryCache = new ConcurrentHashMap<String, EqQuery<T>>();
 
 	/**
 	 * Construct our base DAO using Spring type wiring. The {@link ConnectionSource} must be set with the
@@ -239,7 +247,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		checkForInitialized();
 		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
 		try {
-			return statementExecutor.queryForId(connection, id, objectCache);
+			return statementExecutor.queryForId(connection, id, statementObjectCache());
 		} finally {
 			connectionSource.releaseConnection(connection);
 		}
@@ -250,7 +258,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		checkForInitialized();
 		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
 		try {
-			return statementExecutor.queryForFirst(connection, preparedQuery, objectCache);
+			return statementExecutor.queryForFirst(connection, preparedQuery, statementObjectCache());
 		} finally {
 			connectionSource.releaseConnection(connection);
 		}
@@ -259,11 +267,14 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public List<T> queryForAll() throws SQLException {
 		checkForInitialized();
-		return statementExecutor.queryForAll(connectionSource, objectCache);
+		return statementExecutor.queryForAll(connectionSource, statementObjectCache());
 	}
 
 	@Override
 	public List<T> queryForEq(String fieldName, Object value) throws SQLException {
+		if (isCacheableEqValue(value)) {
+			return queryForColumnValues(new String[] { fieldName }, new Object[] { value });
+		}
 		return queryBuilder().where().eq(fieldName, value).query();
 	}
 
@@ -288,7 +299,14 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	@Override
 	public List<T> query(PreparedQuery<T> preparedQuery) throws SQLException {
 		checkForInitialized();
-		return statementExecutor.query(connectionSource, preparedQuery, objectCache);
+		return statementExecutor.query(connectionSource, preparedQuery, statementObjectCache());
+	}
+
+	@Override
+	public <UO> List<UO> queryMapped(PreparedQuery<T> preparedQuery, GenericRowMapper<UO> mapper)
+			throws SQLException {
+		checkForInitialized();
+		return statementExecutor.queryMapped(connectionSource, preparedQuery, mapper);
 	}
 
 	@Override
@@ -339,7 +357,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
 		try {
-			return statementExecutor.create(connection, data, objectCache);
+			return statementExecutor.create(connection, data, statementObjectCache());
 		} finally {
 			connectionSource.releaseConnection(connection);
 		}
@@ -364,11 +382,8 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 			return callBatchTasks(new Callable<Integer>() {
 				@Override
 				public Integer call() throws SQLException {
-					int modCount = 0;
-					for (T data : datas) {
-						modCount += statementExecutor.create(connection, data, objectCache);
-					}
-					return modCount;
+					// packs the objects into multi-row inserts where possible
+					return statementExecutor.create(connection, datas, statementObjectCache());
 				}
 			});
 		} finally {
@@ -377,32 +392,102 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	}
 
 	@Override
-	public synchronized T createIfNotExists(T data) throws SQLException {
+	public T createIfNotExists(T data) throws SQLException {
 		if (data == null) {
 			return null;
 		}
+		checkForInitialized();
+		if (!statementExecutor.isInsertOrIgnoreSupported(data)) {
+			// the query and create are two statements so we keep other callers of this DAO out in between
+			synchronized (this) {
+				T existing = queryForSameId(data);
+				if (existing == null) {
+					create(data);
+					return data;
+				} else {
+					return existing;
+				}
+			}
+		}
+		if (data instanceof BaseDaoEnabled) {
+			@SuppressWarnings("unchecked")
+			BaseDaoEnabled<T, ID> daoEnabled = (BaseDaoEnabled<T, ID>) data;
+			daoEnabled.setDao(this);
+		}
+		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
+		try {
+			// the database skips the insert if the id already exists so we only query when we need the existing row
+			if (statementExecutor.createIfNotExists(connection, data, statementObjectCache()) > 0) {
+				return data;
+			}
+		} finally {
+			connectionSource.releaseConnection(connection);
+		}
 		T existing = queryForSameId(data);
 		if (existing == null) {
-			create(data);
-			return data;
-		} else {
-			return existing;
+			throw new SQLException("Could not create " + data + " because it violated a constraint other than its id");
 		}
+		return existing;
 	}
 
 	@Override
-	public synchronized CreateOrUpdateStatus createOrUpdate(T data) throws SQLException {
+	public CreateOrUpdateStatus createOrUpdate(T data) throws SQLException {
 		if (data == null) {
 			return new CreateOrUpdateStatus(false, false, 0);
 		}
-		ID id = extractId(data);
-		// assume we need to create it if there is no id
-		if (id == null || !idExists(id)) {
-			int numRows = create(data);
-			return new CreateOrUpdateStatus(true, false, numRows);
-		} else {
-			int numRows = update(data);
+		checkForInitialized();
+		/*
+		 * An update of a stale version changes no rows which the update-first path can't tell apart from a missing row
+		 * so tables with a version field query for the id first.
+		 */
+		if (tableInfo.hasVersionField() || !statementExecutor.isInsertOrIgnoreSupported(data)) {
+			synchronized (this) {
+				ID id = extractId(data);
+				// assume we need to create it if there is no id
+				if (id == null || !idExists(id)) {
+					int numRows = create(data);
+					return new CreateOrUpdateStatus(true, false, numRows);
+				} else {
+					int numRows = update(data);
+					return new CreateOrUpdateStatus(false, true, numRows);
+				}
+			}
+		}
+		if (data instanceof BaseDaoEnabled) {
+			@SuppressWarnings("unchecked")
+			BaseDaoEnabled<T, ID> daoEnabled = (BaseDaoEnabled<T, ID>) data;
+			daoEnabled.setDao(this);
+		}
+		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
+		try {
+			/*
+			 * We try the update first so we can tell the caller whether the row was created or updated without a
+			 * RETURNING clause. If nothing was updated then the insert either creates the row or, if another thread
+			 * created it in the meantime, updates it for us.
+			 */
+			ObjectCache objectCache = statementObjectCache();
+			// the update must run even if dirty tracking finds no changes so we know whether the row exists
+			int numRows = statementExecutor.updateExisting(connection, data, objectCache);
+			if (numRows > 0) {
+				return new CreateOrUpdateStatus(false, true, numRows);
+			}
+			if (statementExecutor.isUpsertSupported(data)) {
+				numRows = statementExecutor.upsert(connection, data, objectCache);
+				return new CreateOrUpdateStatus(true, false, numRows);
+			}
+			numRows = statementExecutor.createIfNotExists(connection, data, objectCache);
+			if (numRows > 0) {
+				return new CreateOrUpdateStatus(true, false, numRows);
+			}
+			// someone else created the row since our update
+			numRows = statementExecutor.updateExisting(connection, data, objectCache);
+			if (numRows == 0) {
+				throw new SQLException("Could not create or update " + data
+						+ " because it violated a constraint other than its id");
+			}
 			return new CreateOrUpdateStatus(false, true, numRows);
+		} finally {
+			connectionSource.releaseConnection(connection);
 		}
 	}
 
@@ -420,7 +505,34 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
 		try {
-			return statementExecutor.update(connection, data, objectCache);
+			return statementExecutor.update(connection, data, statementObjectCache());
+		} finally {
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
+	@Override
+	public int update(final Collection<T> datas) throws SQLException {
+		checkForInitialized();
+		if (datas == null || datas.isEmpty()) {
+			return 0;
+		}
+		for (T data : datas) {
+			if (data instanceof BaseDaoEnabled) {
+				@SuppressWarnings("unchecked")
+				BaseDaoEnabled<T, ID> daoEnabled = (BaseDaoEnabled<T, ID>) data;
+				daoEnabled.setDao(this);
+			}
+		}
+		final DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
+		try {
+			return callBatchTasks(new Callable<Integer>() {
+				@Override
+				public Integer call() throws SQLException {
+					// one connection and one change notification for all of the updates
+					return statementExecutor.update(connection, datas, statementObjectCache());
+				}
+			});
 		} finally {
 			connectionSource.releaseConnection(connection);
 		}
@@ -435,7 +547,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		} else {
 			DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
 			try {
-				return statementExecutor.updateId(connection, data, newId, objectCache);
+				return statementExecutor.updateId(connection, data, newId, statementObjectCache());
 			} finally {
 				connectionSource.releaseConnection(connection);
 			}
@@ -447,6 +559,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		checkForInitialized();
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
 		try {
+			clearTransactionObjects(false);
 			return statementExecutor.update(connection, preparedUpdate);
 		} finally {
 			connectionSource.releaseConnection(connection);
@@ -467,7 +580,34 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
 		try {
-			return statementExecutor.refresh(connection, data, objectCache);
+			return statementExecutor.refresh(connection, data, statementObjectCache());
+		} finally {
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
+	@Override
+	public int refresh(final Collection<T> datas) throws SQLException {
+		checkForInitialized();
+		if (datas == null || datas.isEmpty()) {
+			return 0;
+		}
+		for (T data : datas) {
+			if (data instanceof BaseDaoEnabled) {
+				@SuppressWarnings("unchecked")
+				BaseDaoEnabled<T, ID> daoEnabled = (BaseDaoEnabled<T, ID>) data;
+				daoEnabled.setDao(this);
+			}
+		}
+		final DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
+		try {
+			return callBatchTasks(new Callable<Integer>() {
+				@Override
+				public Integer call() throws SQLException {
+					// reads the rows with chunked IN queries
+					return statementExecutor.refresh(connection, datas, statementObjectCache());
+				}
+			});
 		} finally {
 			connectionSource.releaseConnection(connection);
 		}
@@ -482,7 +622,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		} else {
 			DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
 			try {
-				return statementExecutor.delete(connection, data, objectCache);
+				return statementExecutor.delete(connection, data, statementObjectCache());
 			} finally {
 				connectionSource.releaseConnection(connection);
 			}
@@ -498,7 +638,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		} else {
 			DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
 			try {
-				return statementExecutor.deleteById(connection, id, objectCache);
+				return statementExecutor.deleteById(connection, id, statementObjectCache());
 			} finally {
 				connectionSource.releaseConnection(connection);
 			}
@@ -506,34 +646,50 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	}
 
 	@Override
-	public int delete(Collection<T> datas) throws SQLException {
+	public int delete(final Collection<T> datas) throws SQLException {
 		checkForInitialized();
 		// ignore deleting a null object
 		if (datas == null || datas.isEmpty()) {
 			return 0;
-		} else {
-			DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
-			try {
-				return statementExecutor.deleteObjects(connection, datas, objectCache);
-			} finally {
-				connectionSource.releaseConnection(connection);
+		}
+		final DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
+		try {
+			if (datas.size() <= MappedDeleteCollection.getMaxBucketSize(databaseType)) {
+				return statementExecutor.deleteObjects(connection, datas, statementObjectCache());
 			}
+			// the chunks are all deleted or none are
+			return callBatchTasks(new Callable<Integer>() {
+				@Override
+				public Integer call() throws SQLException {
+					return statementExecutor.deleteObjects(connection, datas, statementObjectCache());
+				}
+			});
+		} finally {
+			connectionSource.releaseConnection(connection);
 		}
 	}
 
 	@Override
-	public int deleteIds(Collection<ID> ids) throws SQLException {
+	public int deleteIds(final Collection<ID> ids) throws SQLException {
 		checkForInitialized();
 		// ignore deleting a null object
 		if (ids == null || ids.isEmpty()) {
 			return 0;
-		} else {
-			DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
-			try {
-				return statementExecutor.deleteIds(connection, ids, objectCache);
-			} finally {
-				connectionSource.releaseConnection(connection);
+		}
+		final DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
+		try {
+			if (ids.size() <= MappedDeleteCollection.getMaxBucketSize(databaseType)) {
+				return statementExecutor.deleteIds(connection, ids, statementObjectCache());
 			}
+			// the chunks are all deleted or none are
+			return callBatchTasks(new Callable<Integer>() {
+				@Override
+				public Integer call() throws SQLException {
+					return statementExecutor.deleteIds(connection, ids, statementObjectCache());
+				}
+			});
+		} finally {
+			connectionSource.releaseConnection(connection);
 		}
 	}
 
@@ -542,6 +698,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		checkForInitialized();
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
 		try {
+			clearTransactionObjects(false);
 			return statementExecutor.delete(connection, preparedDelete);
 		} finally {
 			connectionSource.releaseConnection(connection);
@@ -679,6 +836,24 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	@Override
+	public ColumnarResults queryColumnar(String query, ColumnarResults.ColumnType[] columnTypes, String... arguments)
+			throws SQLException {
+		checkForInitialized();
+		try {
+			return statementExecutor.queryColumnar(connectionSource, query, columnTypes, arguments);
+		} catch (SQLException e) {
+			throw SqlExceptionUtil.create("Could not perform columnar query for " + query, e);
+		}
+	}
+
+	@Override
+	public ColumnarResults queryColumnar(PreparedQuery<T> preparedQuery, ColumnarResults.ColumnType[] columnTypes)
+			throws SQLException {
+		checkForInitialized();
+		return statementExecutor.queryColumnar(connectionSource, preparedQuery, columnTypes);
+	}
+
 	@Override
 	public long queryRawValue(String query, String... arguments) throws SQLException {
 		checkForInitialized();
@@ -697,6 +872,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		checkForInitialized();
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
 		try {
+			clearTransactionObjects(true);
 			return statementExecutor.executeRaw(connection, statement, arguments);
 		} catch (SQLException e) {
 			throw SqlExceptionUtil.create("Could not run raw execute statement " + statement, e);
@@ -710,6 +886,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		checkForInitialized();
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
 		try {
+			clearTransactionObjects(true);
 			return statementExecutor.executeRawNoArgs(connection, statement);
 		} catch (SQLException e) {
 			throw SqlExceptionUtil.create("Could not run raw execute statement " + statement, e);
@@ -723,6 +900,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		checkForInitialized();
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
 		try {
+			clearTransactionObjects(true);
 			return statementExecutor.updateRaw(connection, statement, arguments);
 		} catch (SQLException e) {
 			throw SqlExceptionUtil.create("Could not run raw update statement " + statement, e);
@@ -887,6 +1065,72 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		return objectCache;
 	}
 
+	/**
+	 * Return our object cache if it is enabled, otherwise the identity map of the transaction running in this thread if
+	 * any, see {@link TransactionManager#getTransactionObjectCache()}.
+	 */
+	private ObjectCache statementObjectCache() {
+		if (objectCache != null) {
+			return objectCache;
+		} else if (tableInfo.getIdField() == null) {
+			// objects without ids can't be mapped by id
+			return null;
+		} else {
+			return TransactionManager.getTransactionObjectCache();
+		}
+	}
+
+	/**
+	 * Forget the objects of our class in the identity map of the transaction running in this thread, if any, before a
+	 * statement that can change rows without going through the map. Raw statements can change any table so with
+	 * allClasses set all of the objects are forgotten.
+	 */
+	private void clearTransactionObjects(boolean allClasses) {
+		if (objectCache != null) {
+			// our own cache is managed by the caller as before
+			return;
+		}
+		ObjectCache transactionCache = TransactionManager.getTransactionObjectCache();
+		if (transactionCache == null) {
+			return;
+		}
+		if (allClasses) {
+			transactionCache.clearAll();
+		} else {
+			transactionCache.clear(dataClass);
+		}
+	}
+
+	@Override
+	public void setQueryTimeout(long queryTimeoutMillis) {
+		statementExecutor.setQueryTimeout(queryTimeoutMillis);
+	}
+
+	@Override
+	public long getQueryTimeout() {
+		return statementExecutor.getQueryTimeout();
+	}
+
+	@Override
+	public void setDirtyTracking(boolean enabled) throws SQLException {
+		checkForInitialized();
+		if (enabled) {
+			if (tableInfo.getDirtyTracker() == null) {
+				if (tableInfo.getIdField() == null) {
+					throw new SQLException("Class " + dataClass + " must have an id field to enable dirty tracking");
+				}
+				tableInfo.setDirtyTracker(new DirtyTracker<T, ID>(tableInfo));
+			}
+		} else {
+			tableInfo.setDirtyTracker(null);
+		}
+	}
+
+	@Override
+	public boolean isDirtyTracking() {
+		return (tableInfo != null && tableInfo.getDirtyTracker() != null);
+	}
+
 	@Override
 	public void clearObjectCache() {
 		if (objectCache != null) {
@@ -1105,7 +1349,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	CloseableIterator<T> createIterator(int resultFlags) {
 		try {
 			SelectIterator<T, ID> iterator =
-					statementExecutor.buildIterator(this, connectionSource, resultFlags, objectCache);
+					statementExecutor.buildIterator(this, connectionSource, resultFlags, statementObjectCache());
 			return iterator;
 		} catch (Exception e) {
 			throw new IllegalStateException("Could not build iterator for " + dataClass, e);
@@ -1118,7 +1362,8 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	CloseableIterator<T> createIterator(PreparedQuery<T> preparedQuery, int resultFlags) throws SQLException {
 		try {
 			SelectIterator<T, ID> iterator =
-					statementExecutor.buildIterator(this, connectionSource, preparedQuery, objectCache, resultFlags);
+					statementExecutor.buildIterator(this, connectionSource, preparedQuery, statementObjectCache(),
+							resultFlags);
 			return iterator;
 		} catch (SQLException e) {
 			throw SqlExceptionUtil.create("Could not build prepared-query iterator for " + dataClass, e);
@@ -1127,43 +1372,129 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 
 	private List<T> queryForMatching(T matchObj, boolean useArgs) throws SQLException {
 		checkForInitialized();
-		QueryBuilder<T, ID> qb = queryBuilder();
-		Where<T, ID> where = qb.where();
-		int fieldC = 0;
+		List<String> columnNames = new ArrayList<String>();
+		List<Object> values = new ArrayList<Object>();
+		boolean cacheable = true;
 		for (FieldType fieldType : tableInfo.getFieldTypes()) {
 			Object fieldValue = fieldType.getFieldValueIfNotDefault(matchObj);
 			if (fieldValue != null) {
-				if (useArgs) {
-					fieldValue = new SelectArg(fieldValue);
+				columnNames.add(fieldType.getColumnName());
+				values.add(fieldValue);
+				if (!isCacheableEqValue(fieldValue)) {
+					cacheable = false;
 				}
-				where.eq(fieldType.getColumnName(), fieldValue);
-				fieldC++;
 			}
 		}
-		if (fieldC == 0) {
+		if (columnNames.isEmpty()) {
 			return Collections.emptyList();
-		} else {
-			where.and(fieldC);
-			return qb.query();
+		} else if (cacheable) {
+			return queryForColumnValues(columnNames.toArray(new String[columnNames.size()]), values.toArray());
 		}
+		QueryBuilder<T, ID> qb = queryBuilder();
+		Where<T, ID> where = qb.where();
+		for (int i = 0; i < columnNames.size(); i++) {
+			Object fieldValue = values.get(i);
+			if (useArgs) {
+				fieldValue = new SelectArg(fieldValue);
+			}
+			where.eq(columnNames.get(i), fieldValue);
+		}
+		where.and(columnNames.size());
+		return qb.query();
 	}
 
 	private List<T> queryForFieldValues(Map<String, Object> fieldValues, boolean useArgs) throws SQLException {
 		checkForInitialized();
+		if (fieldValues.size() == 0) {
+			return Collections.emptyList();
+		}
+		String[] columnNames = new String[fieldValues.size()];
+		Object[] values = new Object[columnNames.length];
+		boolean cacheable = true;
+		int fieldC = 0;
+		for (Map.Entry<String, Object> entry : fieldValues.entrySet()) {
+			columnNames[fieldC] = entry.getKey();
+			values[fieldC] = entry.getValue();
+			if (!isCacheableEqValue(entry.getValue())) {
+				cacheable = false;
+			}
+			fieldC++;
+		}
+		if (cacheable) {
+			return queryForColumnValues(columnNames, values);
+		}
 		QueryBuilder<T, ID> qb = queryBuilder();
 		Where<T, ID> where = qb.where();
-		for (Map.Entry<String, Object> entry : fieldValues.entrySet()) {
-			Object fieldValue = entry.getValue();
+		for (int i = 0; i < columnNames.length; i++) {
+			Object fieldValue = values[i];
 			if (useArgs) {
 				fieldValue = new SelectArg(fieldValue);
 			}
-			where.eq(entry.getKey(), fieldValue);
+			where.eq(columnNames[i], fieldValue);
 		}
-		if (fieldValues.size() == 0) {
-			return Collections.emptyList();
-		} else {
-			where.and(fieldValues.size());
-			return qb.query();
+		where.and(columnNames.length);
+		return qb.query();
+	}
+
+	/**
+	 * Null, argument-holders, and column arguments are handled by building the query each time.
+	 */
+	private boolean isCacheableEqValue(Object value) {
+		return value != null && !(value instanceof ArgumentHolder) && !(value instanceof ColumnArg);
+	}
+
+	/**
+	 * Query for the rows whose columns are equal to the values using a prepared query that is cached by the column
+	 * names so that only the {@link SelectArg} values have to be assigned on each call. A cached query is removed
+	 * from the cache while it is being used so two threads never assign the arguments of the same one.
+	 */
+	private List<T> queryForColumnValues(String[] columnNames, Object[] values) throws SQLException {
+		checkForInitialized();
+		StringBuilder sb = new StringBuilder(32);
+		for (String columnName : columnNames) {
+			sb.append(columnName).append('\0');
+		}
+		String key = sb.toString();
+		EqQuery<T> eqQuery = eqQueryCache.remove(key);
+		if (eqQuery == null) {
+			QueryBuilder<T, ID> qb = queryBuilder();
+			Where<T, ID> where = qb.where();
+			SelectArg[] args = new SelectArg[columnNames.length];
+			for (int i = 0; i < columnNames.length; i++) {
+				args[i] = new SelectArg();
+				where.eq(columnNames[i], args[i]);
+			}
+			if (columnNames.length > 1) {
+				where.and(columnNames.length);
+			}
+			eqQuery = new EqQuery<T>(qb.prepare(), args);
+		}
+		try {
+			for (int i = 0; i < values.length; i++) {
+				eqQuery.args[i].setValue(values[i]);
+			}
+			return query(eqQuery.preparedQuery);
+		} finally {
+			// don't hold on to the caller's values
+			for (SelectArg arg : eqQuery.args) {
+				arg.setValue(null);
+			}
+			if (eqQueryCache.size() < MAX_EQ_QUERY_CACHE_SIZE) {
+				eqQueryCache.put(key, eqQuery);
+			}
+		}
+	}
+
+	/**
+	 * Prepared query for some columns being equal to argument values.
+	 */
+	private static class EqQuery<T> {
+		final PreparedQuery<T> preparedQuery;
+		final SelectArg[] args;
+
+		EqQuery(PreparedQuery<T> preparedQuery, SelectArg[] args) {
+			this.preparedQuery = preparedQuery;
+			this.args = args;
 		}
 	}
 }
@@ -10,6 +10,7 @@ import com.j256.ormlite.misc.IOUtils;
 import com.j256.ormlite.stmt.PreparedQuery;
 import com.j256.ormlite.stmt.QueryBuilder;
 import com.j256.ormlite.stmt.SelectArg;
+import com.j256.ormlite.stmt.Where;
 import com.j256.ormlite.stmt.mapped.MappedPreparedStmt;
 
 /**
@@ -170,13 +171,11 @@ public abstract class BaseForeignCollection<T, ID> implements ForeignCollection<
 			return null;
 		}
 		if (preparedQuery == null) {
-			SelectArg fieldArg = new SelectArg();
-			fieldArg.setValue(parentId);
 			QueryBuilder<T, ID> qb = dao.queryBuilder();
 			if (orderColumn != null) {
 				qb.orderBy(orderColumn, orderAscending);
 			}
-			preparedQuery = qb.where().eq(foreignFieldType.getColumnName(), fieldArg).prepare();
+			preparedQuery = parentWhere(qb).prepare();
 			if (preparedQuery instanceof MappedPreparedStmt) {
 				@SuppressWarnings("unchecked")
 				MappedPreparedStmt<T, Object> mappedStmt = ((MappedPreparedStmt<T, Object>) preparedQuery);
@@ -186,6 +185,23 @@ public abstract class BaseForeignCollection<T, ID> implements ForeignCollection<
 		return preparedQuery;
 	}
 
+	/**
+	 * Restrict the query builder to the items whose foreign field is the parent's id and return the where so more
+	 * conditions can be added.
+	 */
+	protected Where<T, ID> parentWhere(QueryBuilder<T, ID> qb) throws SQLException {
+		SelectArg fieldArg = new SelectArg();
+		fieldArg.setValue(parentId);
+		return qb.where().eq(foreignFieldType.getColumnName(), fieldArg);
+	}
+
+	/**
+	 * Return the name of the column in the items' table which holds the parent's id.
+	 */
+	protected String getForeignColumnName() {
+		return foreignFieldType.getColumnName();
+	}
+
 	private boolean addElement(T data) throws SQLException {
 		if (dao == null) {
 			return false;
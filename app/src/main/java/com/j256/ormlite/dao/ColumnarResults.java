@@ -0,0 +1,509 @@
+package com.j256.ormlite.dao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Column-oriented results returned by {@link Dao#queryColumnar(String, ColumnType[], String...)},
+ * {@link Dao#queryColumnar(com.j256.ormlite.stmt.PreparedQuery, ColumnType[])}, and
+ * {@link com.j256.ormlite.stmt.QueryBuilder#queryColumnar(String...)}. Unlike {@link GenericRawResults}, which
+ * hands back a String[] or object per row, all of the rows are read from the {@link DatabaseResults} in a single pass
+ * into one primitive array per column: a long[] for {@link ColumnType#LONG}, a double[] for {@link ColumnType#DOUBLE}, and for
+ * {@link ColumnType#STRING} an int[] of codes into a dictionary of the distinct strings. This costs a few words per row
+ * instead of an object with its boxed fields, which is what you want when computing statistics over a whole table.
+ *
+ * <p>
+ * Rows are addressed by their index in the results. The filter and sort methods return arrays of row indexes which can
+ * be passed back in to narrow or order further. For example:
+ * </p>
+ *
+ * <pre>
+ * ColumnarResults results = qb.queryColumnar("name", "attackNum", "crit");
+ * long[] attack = results.getLongColumn(1);
+ * int[] rows = results.filterBetween(2, 0.5, 1.0, null);
+ * rows = results.sortRows(1, false, rows);
+ * for (int row : rows) {
+ * 	System.out.println(results.getString(row, 0) + " " + attack[row]);
+ * }
+ * </pre>
+ *
+ * 按列存储的查询结果，每列一个基本类型数组。
+ */
+public class ColumnarResults {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * How the values of a column are read and stored.
+	 */
+	public enum ColumnType {
+		/** read with {@link DatabaseResults#getLong(int)} into a long[] */
+		LONG,
+		/** read with {@link DatabaseResults#getDouble(int)} into a double[] */
+		DOUBLE,
+		/** read with {@link DatabaseResults#getString(int)} and stored as codes into a dictionary */
+		STRING,
+		// end
+		;
+	}
+
+	private final String[] columnNames;
+	private final ColumnType[] columnTypes;
+	private final int rowCount;
+	private final long[][] longColumns;
+	private final double[][] doubleColumns;
+	private final int[][] stringCodes;
+	private final String[][] stringDictionaries;
+	/** rows with null values for the numeric columns, null if the column has no nulls */
+	private final BitSet[] nullRows;
+	/** sort rank of each dictionary code, built the first time a string column is sorted */
+	private final int[][] stringRanks;
+
+	private ColumnarResults(String[] columnNames, ColumnType[] columnTypes, int rowCount, long[][] longColumns,
+			double[][] doubleColumns, int[][] stringCodes, String[][] stringDictionaries, BitSet[] nullRows) {
+		this.columnNames = columnNames;
+		this.columnTypes = columnTypes;
+		this.rowCount = rowCount;
+		this.longColumns = longColumns;
+		this.doubleColumns = doubleColumns;
+		this.stringCodes = stringCodes;
+		this.stringDictionaries = stringDictionaries;
+		this.nullRows = nullRows;
+		this.stringRanks = new int[columnTypes.length][];
+	}
+
+	/**
+	 * Read all of the remaining rows from the results into columns of the specified types. The results are not closed.
+	 */
+	public static ColumnarResults read(DatabaseResults results, ColumnType[] columnTypes) throws SQLException {
+		int columnCount = results.getColumnCount();
+		// before reading the rows since some results cannot return their metadata once they are exhausted
+		String[] columnNames = results.getColumnNames();
+		if (columnTypes.length != columnCount) {
+			throw new SQLException("Results have " + columnCount + " columns but " + columnTypes.length
+					+ " column types were specified");
+		}
+		long[][] longColumns = new long[columnCount][];
+		double[][] doubleColumns = new double[columnCount][];
+		int[][] stringCodes = new int[columnCount][];
+		List<Map<String, Integer>> codeMaps = new ArrayList<Map<String, Integer>>(columnCount);
+		List<List<String>> dictionaries = new ArrayList<List<String>>(columnCount);
+		BitSet[] nullRows = new BitSet[columnCount];
+		for (int col = 0; col < columnCount; col++) {
+			switch (columnTypes[col]) {
+				case LONG :
+					longColumns[col] = new long[INITIAL_CAPACITY];
+					break;
+				case DOUBLE :
+					doubleColumns[col] = new double[INITIAL_CAPACITY];
+					break;
+				case STRING :
+					stringCodes[col] = new int[INITIAL_CAPACITY];
+					break;
+				default :
+					throw new IllegalArgumentException("Unknown column type: " + columnTypes[col]);
+			}
+			if (columnTypes[col] == ColumnType.STRING) {
+				codeMaps.add(new HashMap<String, Integer>());
+				dictionaries.add(new ArrayList<String>());
+			} else {
+				codeMaps.add(null);
+				dictionaries.add(null);
+			}
+		}
+
+		int rowCount = 0;
+		int capacity = INITIAL_CAPACITY;
+		for (boolean more = results.first(); more; more = results.next()) {
+			if (rowCount == capacity) {
+				capacity *= 2;
+				for (int col = 0; col < columnCount; col++) {
+					if (longColumns[col] != null) {
+						longColumns[col] = Arrays.copyOf(longColumns[col], capacity);
+					} else if (doubleColumns[col] != null) {
+						doubleColumns[col] = Arrays.copyOf(doubleColumns[col], capacity);
+					} else {
+						stringCodes[col] = Arrays.copyOf(stringCodes[col], capacity);
+					}
+				}
+			}
+			for (int col = 0; col < columnCount; col++) {
+				if (longColumns[col] != null) {
+					longColumns[col][rowCount] = results.getLong(col);
+				} else if (doubleColumns[col] != null) {
+					doubleColumns[col][rowCount] = results.getDouble(col);
+				} else {
+					stringCodes[col][rowCount] =
+							encode(results.getString(col), codeMaps.get(col), dictionaries.get(col));
+					continue;
+				}
+				if (results.wasNull(col)) {
+					if (nullRows[col] == null) {
+						nullRows[col] = new BitSet();
+					}
+					nullRows[col].set(rowCount);
+				}
+			}
+			rowCount++;
+		}
+
+		String[][] stringDictionaries = new String[columnCount][];
+		for (int col = 0; col < columnCount; col++) {
+			if (longColumns[col] != null) {
+				longColumns[col] = Arrays.copyOf(longColumns[col], rowCount);
+			} else if (doubleColumns[col] != null) {
+				doubleColumns[col] = Arrays.copyOf(doubleColumns[col], rowCount);
+			} else {
+				stringCodes[col] = Arrays.copyOf(stringCodes[col], rowCount);
+				List<String> dictionary = dictionaries.get(col);
+				stringDictionaries[col] = dictionary.toArray(new String[dictionary.size()]);
+			}
+		}
+		return new ColumnarResults(columnNames, columnTypes.clone(), rowCount, longColumns,
+				doubleColumns, stringCodes, stringDictionaries, nullRows);
+	}
+
+	/**
+	 * Return the number of rows in the results.
+	 */
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * Return the number of columns in the results.
+	 */
+	public int getColumnCount() {
+		return columnTypes.length;
+	}
+
+	/**
+	 * Return the array of column names.
+	 */
+	public String[] getColumnNames() {
+		return columnNames;
+	}
+
+	/**
+	 * Return the type that the column was read as.
+	 */
+	public ColumnType getColumnType(int column) {
+		return columnTypes[column];
+	}
+
+	/**
+	 * Return the index of the column with the name, ignoring case, or throw an IllegalArgumentException if there is
+	 * none.
+	 */
+	public int findColumn(String columnName) {
+		for (int col = 0; col < columnNames.length; col++) {
+			if (columnNames[col].equalsIgnoreCase(columnName)) {
+				return col;
+			}
+		}
+		throw new IllegalArgumentException(
+				"Unknown column name '" + columnName + "' in " + Arrays.toString(columnNames));
+	}
+
+	/**
+	 * Return the values of a {@link ColumnType#LONG} column indexed by row. Null values are stored as 0. The array is
+	 * not copied so it must not be modified.
+	 */
+	public long[] getLongColumn(int column) {
+		checkColumnType(column, ColumnType.LONG);
+		return longColumns[column];
+	}
+
+	/**
+	 * Return the values of a {@link ColumnType#DOUBLE} column indexed by row. Null values are stored as 0. The array is
+	 * not copied so it must not be modified.
+	 */
+	public double[] getDoubleColumn(int column) {
+		checkColumnType(column, ColumnType.DOUBLE);
+		return doubleColumns[column];
+	}
+
+	/**
+	 * Return the dictionary codes of a {@link ColumnType#STRING} column indexed by row. A null value has the code -1,
+	 * otherwise the code is an index into {@link #getStringDictionary(int)}. Equal strings have equal codes. The array
+	 * is not copied so it must not be modified.
+	 */
+	public int[] getStringCodes(int column) {
+		checkColumnType(column, ColumnType.STRING);
+		return stringCodes[column];
+	}
+
+	/**
+	 * Return the distinct non-null strings of a {@link ColumnType#STRING} column in the order they were first seen. The
+	 * array is not copied so it must not be modified.
+	 */
+	public String[] getStringDictionary(int column) {
+		checkColumnType(column, ColumnType.STRING);
+		return stringDictionaries[column];
+	}
+
+	/**
+	 * Return the value of a {@link ColumnType#LONG} column at the row.
+	 */
+	public long getLong(int row, int column) {
+		return getLongColumn(column)[row];
+	}
+
+	/**
+	 * Return the value of a {@link ColumnType#DOUBLE} or {@link ColumnType#LONG} column at the row.
+	 */
+	public double getDouble(int row, int column) {
+		if (columnTypes[column] == ColumnType.LONG) {
+			return longColumns[column][row];
+		} else {
+			return getDoubleColumn(column)[row];
+		}
+	}
+
+	/**
+	 * Return the value of a {@link ColumnType#STRING} column at the row.
+	 */
+	public String getString(int row, int column) {
+		int code = getStringCodes(column)[row];
+		if (code < 0) {
+			return null;
+		} else {
+			return stringDictionaries[column][code];
+		}
+	}
+
+	/**
+	 * Return true if the column was null at the row.
+	 */
+	public boolean isNull(int row, int column) {
+		if (columnTypes[column] == ColumnType.STRING) {
+			return stringCodes[column][row] < 0;
+		} else {
+			return nullRows[column] != null && nullRows[column].get(row);
+		}
+	}
+
+	/**
+	 * Return the indexes of the rows whose {@link ColumnType#LONG} column value is non-null and between min and max
+	 * inclusive.
+	 *
+	 * @param rows
+	 *            Rows to consider or null for all of them.
+	 */
+	public int[] filterBetween(int column, long min, long max, int[] rows) {
+		long[] values = getLongColumn(column);
+		BitSet nulls = nullRows[column];
+		int count = (rows == null ? rowCount : rows.length);
+		int[] matches = new int[count];
+		int matchCount = 0;
+		for (int i = 0; i < count; i++) {
+			int row = (rows == null ? i : rows[i]);
+			long value = values[row];
+			if (value >= min && value <= max && (nulls == null || !nulls.get(row))) {
+				matches[matchCount++] = row;
+			}
+		}
+		return Arrays.copyOf(matches, matchCount);
+	}
+
+	/**
+	 * Return the indexes of the rows whose {@link ColumnType#DOUBLE} or {@link ColumnType#LONG} column value is
+	 * non-null and between min and max inclusive.
+	 *
+	 * @param rows
+	 *            Rows to consider or null for all of them.
+	 */
+	public int[] filterBetween(int column, double min, double max, int[] rows) {
+		BitSet nulls = nullRows[column];
+		int count = (rows == null ? rowCount : rows.length);
+		int[] matches = new int[count];
+		int matchCount = 0;
+		for (int i = 0; i < count; i++) {
+			int row = (rows == null ? i : rows[i]);
+			double value = getDouble(row, column);
+			if (value >= min && value <= max && (nulls == null || !nulls.get(row))) {
+				matches[matchCount++] = row;
+			}
+		}
+		return Arrays.copyOf(matches, matchCount);
+	}
+
+	/**
+	 * Return the indexes of the rows whose {@link ColumnType#STRING} column is equal to the value, which may be null.
+	 * The value is looked up in the dictionary once so the rows are matched by comparing codes.
+	 *
+	 * @param rows
+	 *            Rows to consider or null for all of them.
+	 */
+	public int[] filterEquals(int column, String value, int[] rows) {
+		int[] codes = getStringCodes(column);
+		int code;
+		if (value == null) {
+			code = -1;
+		} else {
+			code = Arrays.asList(stringDictionaries[column]).indexOf(value);
+			if (code < 0) {
+				return new int[0];
+			}
+		}
+		int count = (rows == null ? rowCount : rows.length);
+		int[] matches = new int[count];
+		int matchCount = 0;
+		for (int i = 0; i < count; i++) {
+			int row = (rows == null ? i : rows[i]);
+			if (codes[row] == code) {
+				matches[matchCount++] = row;
+			}
+		}
+		return Arrays.copyOf(matches, matchCount);
+	}
+
+	/**
+	 * Return the indexes of the rows ordered by the column. Nulls sort before all other values when ascending. The sort
+	 * is stable so sorting by one column and then another orders by the second column then the first.
+	 *
+	 * @param rows
+	 *            Rows to sort or null for all of them. This array is not modified.
+	 */
+	public int[] sortRows(int column, boolean ascending, int[] rows) {
+		int[] sorted;
+		if (rows == null) {
+			sorted = new int[rowCount];
+			for (int i = 0; i < rowCount; i++) {
+				sorted[i] = i;
+			}
+		} else {
+			sorted = rows.clone();
+		}
+		if (columnTypes[column] == ColumnType.STRING && stringRanks[column] == null) {
+			stringRanks[column] = buildRanks(stringDictionaries[column]);
+		}
+		int[] work = sorted.clone();
+		mergeSort(work, sorted, 0, sorted.length, column, ascending);
+		return sorted;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[columns=" + Arrays.toString(columnNames) + ", rows=" + rowCount + "]";
+	}
+
+	private static int encode(String value, Map<String, Integer> codeMap, List<String> dictionary) {
+		if (value == null) {
+			return -1;
+		}
+		Integer code = codeMap.get(value);
+		if (code == null) {
+			code = dictionary.size();
+			dictionary.add(value);
+			codeMap.put(value, code);
+		}
+		return code;
+	}
+
+	private static int[] buildRanks(final String[] dictionary) {
+		Integer[] order = new Integer[dictionary.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer code1, Integer code2) {
+				return dictionary[code1].compareTo(dictionary[code2]);
+			}
+		});
+		int[] ranks = new int[dictionary.length];
+		for (int rank = 0; rank < order.length; rank++) {
+			ranks[order[rank]] = rank;
+		}
+		return ranks;
+	}
+
+	/**
+	 * Sort dest[low, high) using src as scratch space holding the same values.
+	 */
+	private void mergeSort(int[] src, int[] dest, int low, int high, int column, boolean ascending) {
+		int length = high - low;
+		if (length < 8) {
+			// insertion sort is faster on the small ranges
+			for (int i = low + 1; i < high; i++) {
+				for (int j = i; j > low && compareRows(dest[j - 1], dest[j], column, ascending) > 0; j--) {
+					int swap = dest[j];
+					dest[j] = dest[j - 1];
+					dest[j - 1] = swap;
+				}
+			}
+			return;
+		}
+		int mid = (low + high) >>> 1;
+		mergeSort(dest, src, low, mid, column, ascending);
+		mergeSort(dest, src, mid, high, column, ascending);
+		for (int i = low, p = low, q = mid; i < high; i++) {
+			if (q >= high || (p < mid && compareRows(src[p], src[q], column, ascending) <= 0)) {
+				dest[i] = src[p++];
+			} else {
+				dest[i] = src[q++];
+			}
+		}
+	}
+
+	private int compareRows(int row1, int row2, int column, boolean ascending) {
+		int result;
+		switch (columnTypes[column]) {
+			case LONG :
+				result = compareNulls(row1, row2, column);
+				if (result == 0) {
+					long value1 = longColumns[column][row1];
+					long value2 = longColumns[column][row2];
+					result = (value1 < value2 ? -1 : (value1 == value2 ? 0 : 1));
+				}
+				break;
+			case DOUBLE :
+				result = compareNulls(row1, row2, column);
+				if (result == 0) {
+					result = Double.compare(doubleColumns[column][row1], doubleColumns[column][row2]);
+				}
+				break;
+			case STRING :
+				int code1 = stringCodes[column][row1];
+				int code2 = stringCodes[column][row2];
+				// null codes are -1 so sort first
+				int rank1 = (code1 < 0 ? -1 : stringRanks[column][code1]);
+				int rank2 = (code2 < 0 ? -1 : stringRanks[column][code2]);
+				result = (rank1 < rank2 ? -1 : (rank1 == rank2 ? 0 : 1));
+				break;
+			default :
+				throw new IllegalStateException("Unknown column type: " + columnTypes[column]);
+		}
+		return (ascending ? result : -result);
+	}
+
+	private int compareNulls(int row1, int row2, int column) {
+		BitSet nulls = nullRows[column];
+		if (nulls == null) {
+			return 0;
+		}
+		boolean null1 = nulls.get(row1);
+		boolean null2 = nulls.get(row2);
+		if (null1 == null2) {
+			return 0;
+		} else {
+			return (null1 ? -1 : 1);
+		}
+	}
+
+	private void checkColumnType(int column, ColumnType expected) {
+		if (columnTypes[column] != expected) {
+			throw new IllegalArgumentException("Column " + column + " '" + columnNames[column] + "' is "
+					+ columnTypes[column] + " not " + expected);
+		}
+	}
+}
@@ -151,6 +151,23 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public List<T> query(PreparedQuery<T> preparedQuery) throws SQLException;
 
+	/**
+	 * Query for the rows that match the prepared query and return whatever the mapper builds from each of them. Unlike
+	 * {@link #query(PreparedQuery)}, no entity objects are constructed, the object cache is not used, and foreign
+	 * fields are not refreshed. This is what {@link QueryBuilder#queryColumn(String, Class)} and
+	 * {@link QueryBuilder#queryProjection(Class, String...)} use.
+	 * 
+	 * @param preparedQuery
+	 *            Query used to match the rows in the database.
+	 * @param mapper
+	 *            Mapper which is called with the results positioned at each row.
+	 * @return A list of the mapped results.
+	 * @throws SQLException
+	 *             on any SQL problems.
+	 */
+	public <UO> List<UO> queryMapped(PreparedQuery<T> preparedQuery, GenericRowMapper<UO> mapper)
+			throws SQLException;
+
 	/**
 	 * Create a new row in the database from an object. If the object being created uses
 	 * {@link DatabaseField#generatedId()} then the data parameter will be modified and set with the corresponding id
@@ -178,8 +195,10 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 * exists. If it does not exist {@link #create(Object)} will be called with the parameter.
 	 * 
 	 * <p>
-	 * <b>NOTE:</b> This method is synchronized because otherwise race conditions would be encountered if this is used
-	 * by multiple threads.
+	 * <b>NOTE:</b> If the database supports {@code INSERT OR IGNORE} and the insert would use the id from the data
+	 * parameter then the insert is tried first and the query is only made if a row with the id already existed. This
+	 * makes the method safe to use from multiple threads without locking the DAO. Otherwise the query and the create
+	 * are made while synchronized on the DAO, as before, which only protects against other callers of the same DAO.
 	 * </p>
 	 * 
 	 * @return Either the data parameter if it was inserted (now with the ID field set via the create method) or the
@@ -195,8 +214,16 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 * database. This also means that your data item <i>must</i> have an id field defined.
 	 * 
 	 * <p>
-	 * <b>NOTE:</b> This method is synchronized because otherwise race conditions would be encountered if this is used
-	 * by multiple threads.
+	 * <b>NOTE:</b> If the database supports {@code INSERT OR IGNORE} or {@code INSERT ... ON CONFLICT DO UPDATE} and
+	 * the insert would use the id from the data parameter then an update is tried first and the insert is only made
+	 * if no row was updated, without the query-by-id. This makes the method safe to use from multiple threads without
+	 * locking the DAO.
+	 * </p>
+	 * 
+	 * <p>
+	 * Otherwise, which includes tables with a {@link DatabaseField#version()} field, the id check and the create or
+	 * update that follows it are made while synchronized on the DAO, as before. Writes from another DAO or process can
+	 * still come in between so use a transaction if that matters.
 	 * </p>
 	 * 
 	 * @return Status object with the number of rows changed and whether an insert or update was performed.
@@ -222,6 +249,18 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public int update(T data) throws SQLException;
 
+	/**
+	 * Just like {@link #update(Object)} but with a collection of objects. The updates are all done on one connection
+	 * using the same mechanism as {@link #callBatchTasks(Callable)} so the DAO observers are notified once at the end.
+	 * 
+	 * @param datas
+	 *            The collection of data items that we are updating in the database.
+	 * @return The number of rows updated in the database.
+	 * @throws SQLException
+	 *             on any SQL problems.
+	 */
+	public int update(Collection<T> datas) throws SQLException;
+
 	/**
 	 * Update the data parameter in the database to change its id to the newId parameter. The data <i>must</i> have its
 	 * current (old) id set. If the id field has already changed then it cannot be updated. After the id has been
@@ -271,6 +310,20 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public int refresh(T data) throws SQLException;
 
+	/**
+	 * Just like {@link #refresh(Object)} but with a collection of objects. Instead of a query per object, the rows are
+	 * read with a few WHERE id IN (...) queries inside of {@link #callBatchTasks(Callable)} and each one is copied into
+	 * the object with the same id. Objects whose rows are not found are left as they are. Foreign collection fields are
+	 * not rebuilt.
+	 * 
+	 * @param datas
+	 *            The collection of data items that we are refreshing with fields from the database.
+	 * @return The number of objects that were found in the database and refreshed.
+	 * @throws SQLException
+	 *             on any SQL problems.
+	 */
+	public int refresh(Collection<T> datas) throws SQLException;
+
 	/**
 	 * Delete the database row corresponding to the id from the data parameter.
 	 * 
@@ -401,6 +454,14 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	/**
 	 * Same as {@link #iterator(PreparedQuery)} but while specifying flags for the results. This is necessary with
 	 * certain database types.
+	 * 
+	 * <p>
+	 * If the flags include {@link DatabaseConnection#REUSE_INSTANCE_RESULT_FLAG} then every call to next() returns
+	 * the same instance with its fields assigned from the new row. This avoids creating an object per row when
+	 * streaming through a large number of rows. <b>WARNING:</b> the returned object is only valid until the iterator
+	 * is moved again and must not be stored or put in a collection. Fields that are not selected by the query are not
+	 * reset between rows.
+	 * </p>
 	 */
 	public CloseableIterator<T> iterator(PreparedQuery<T> preparedQuery, int resultFlags) throws SQLException;
 
@@ -513,6 +574,25 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	public <UO> GenericRawResults<UO> queryRaw(String query, DatabaseResultsMapper<UO> mapper, String... arguments)
 			throws SQLException;
 
+	/**
+	 * Similar to the {@link #queryRaw(String, DataType[], String...)} but instead of returning an iterator over the
+	 * rows, all of the rows are read in a single pass into one primitive array per column. This is much smaller than
+	 * a row object per result and is suited to computing statistics over large tables. The arguments are optional but
+	 * can be set with strings to expand ? type of SQL.
+	 * 
+	 * @param columnTypes
+	 *            How each of the selected columns is stored. There must be one per selected column.
+	 */
+	public ColumnarResults queryColumnar(String query, ColumnarResults.ColumnType[] columnTypes, String... arguments)
+			throws SQLException;
+
+	/**
+	 * Same as {@link #queryColumnar(String, ColumnarResults.ColumnType[], String...)} but for a prepared query. See
+	 * {@link QueryBuilder#queryColumnar(String...)}.
+	 */
+	public ColumnarResults queryColumnar(PreparedQuery<T> preparedQuery, ColumnarResults.ColumnType[] columnTypes)
+			throws SQLException;
+
 	/**
 	 * Perform a raw query that returns a single value (usually an aggregate function like MAX or COUNT). If the query
 	 * does not return a single long value then it will throw a SQLException.
@@ -697,6 +777,44 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public ObjectCache getObjectCache();
 
+	/**
+	 * Set the default timeout in milliseconds for the queries run through this DAO. If a query runs longer than this
+	 * then it is canceled and a {@link java.sql.SQLTimeoutException} is thrown. Set to 0, the default, to disable. Not
+	 * all database types support this.
+	 * 设置此DAO查询的默认超时（毫秒），0表示禁用。
+	 */
+	public void setQueryTimeout(long queryTimeoutMillis);
+
+	/**
+	 * Returns the default query timeout in milliseconds or 0 if none.
+	 */
+	public long getQueryTimeout();
+
+	/**
+	 * Call this with true to keep a snapshot of the columns of each object as it is read from or written to the
+	 * database so {@link #update(Object)} only writes the columns that have changed since, with an UPDATE statement
+	 * cached for each set of changed columns. If nothing has changed then no statement is run and 1 is returned,
+	 * except by {@link #createOrUpdate(Object)} which always runs the update to find out if the row exists. Objects
+	 * without a snapshot, such as those created by hand, are updated in full. Deleting an object or changing its id
+	 * through the DAO forgets its snapshot. Set to false, the default, to disable.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> Changes made to a row with an update-builder or a raw statement are not seen by the snapshots of
+	 * the objects already read so a column that has not changed in the object is not written back over them.
+	 * </p>
+	 * 
+	 * 开启脏检查后update只写入修改过的列。
+	 * 
+	 * @throws SQLException
+	 *             If the DAO's class does not have an id field which is required to update.
+	 */
+	public void setDirtyTracking(boolean enabled) throws SQLException;
+
+	/**
+	 * Returns true if dirty tracking is enabled for the DAO.
+	 */
+	public boolean isDirtyTracking();
+
 	/**
 	 * Flush the object cache if it has been enabled. This will remove an objects that are in the cache to reclaim
 	 * memory. Any future queries will re-request them from the database.
@@ -14,6 +14,7 @@ import com.j256.ormlite.misc.SqlExceptionUtil;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.table.DatabaseTable;
 import com.j256.ormlite.table.DatabaseTableConfig;
+import com.j256.ormlite.table.GeneratedTableAccessors;
 
 /**
  * Class which caches created DAOs. Sometimes internal DAOs are used to support such features as auto-refreshing of
@@ -63,9 +64,13 @@ public class DaoManager {
 		DatabaseTable databaseTable = clazz.getAnnotation(DatabaseTable.class);
 		if (databaseTable == null || databaseTable.daoClass() == Void.class
 				|| databaseTable.daoClass() == BaseDaoImpl.class) {
-			// see if the database type has some special table config extract method (Android)
-			DatabaseType databaseType = connectionSource.getDatabaseType();
-			DatabaseTableConfig<T> config = databaseType.extractDatabaseTableConfig(connectionSource, clazz);
+			// use the configuration generated at compile time, if any, so we don't have to read the annotations
+			DatabaseTableConfig<T> config = GeneratedTableAccessors.lookupTableConfig(clazz);
+			if (config == null) {
+				// see if the database type has some special table config extract method (Android)
+				DatabaseType databaseType = connectionSource.getDatabaseType();
+				config = databaseType.extractDatabaseTableConfig(connectionSource, clazz);
+			}
 			Dao<T, ?> daoTmp;
 			if (config == null) {
 				daoTmp = BaseDaoImpl.createDao(connectionSource, clazz);
@@ -44,6 +44,16 @@ public class EagerForeignCollection<T, ID> extends BaseForeignCollection<T, ID>
 		}
 	}
 
+	/**
+	 * WARNING: The user should not be calling this constructor. It is used to create a collection whose results have
+	 * already been loaded along with those of other parents.
+	 */
+	public EagerForeignCollection(Dao<T, ID> dao, Object parent, Object parentId, FieldType foreignFieldType,
+			String orderColumn, boolean orderAscending, List<T> results) {
+		super(dao, parent, parentId, foreignFieldType, orderColumn, orderAscending);
+		this.results = results;
+	}
+
 	@Override
 	public CloseableIterator<T> iterator() {
 		return iteratorThrow(DatabaseConnection.DEFAULT_RESULT_FLAGS);
@@ -2,6 +2,7 @@ package com.j256.ormlite.dao;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.lang.ref.WeakReference;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -9,16 +10,23 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import com.j256.ormlite.dao.Dao.DaoObserver;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.ForeignCollectionField;
 import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.stmt.GenericRowMapper;
+import com.j256.ormlite.stmt.PreparedQuery;
+import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.stmt.SelectArg;
 import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.support.DatabaseResults;
 
 /**
  * Collection that is set on a field that as been marked with the {@link ForeignCollectionField} annotation when an
  * object is refreshed or queried (i.e. not created). Most of the methods here require a pass through the database.
- * Operations such as size() therefore should most likely not be used because of their expense. Chances are you only
- * want to use the {@link #iterator()}, {@link #toArray()}, and {@link #toArray(Object[])} methods.
+ * The {@link #size()}, {@link #isEmpty()}, and {@link #contains(Object)} methods run a single COUNT or LIMIT 1 query
+ * but the others iterate across the items so chances are you only want to use the {@link #iterator()},
+ * {@link #toArray()}, and {@link #toArray(Object[])} methods.
  * 
  * <p>
  * <b>WARNING:</b> Most likely for(;;) loops should not be used here since we need to be careful about closing the
@@ -31,7 +39,22 @@ public class LazyForeignCollection<T, ID> extends BaseForeignCollection<T, ID> i
 
 	private static final long serialVersionUID = -5460708106909626233L;
 
+	private static final GenericRowMapper<Boolean> existsRowMapper = new GenericRowMapper<Boolean>() {
+		@Override
+		public Boolean mapRow(DatabaseResults results) {
+			return Boolean.TRUE;
+		}
+	};
+
 	private transient CloseableIterator<T> lastIterator;
+	private transient final boolean countCached;
+	private transient volatile int cachedCount = -1;
+	private transient int countGeneration;
+	private transient DaoObserver countObserver;
+	private transient PreparedQuery<T> countQuery;
+	private transient PreparedQuery<T> existsQuery;
+	private transient PreparedQuery<T> containsQuery;
+	private transient SelectArg containsIdArg;
 
 	/**
 	 * WARNING: The user should not be calling this constructor. You should be using the
@@ -40,7 +63,16 @@ public class LazyForeignCollection<T, ID> extends BaseForeignCollection<T, ID> i
 	 */
 	public LazyForeignCollection(Dao<T, ID> dao, Object parent, Object parentId, FieldType foreignFieldType,
 			String orderColumn, boolean orderAscending) {
+		this(dao, parent, parentId, foreignFieldType, orderColumn, orderAscending, false);
+	}
+
+	/**
+	 * WARNING: The user should not be calling this constructor. See {@link ForeignCollectionField#countCached()}.
+	 */
+	public LazyForeignCollection(Dao<T, ID> dao, Object parent, Object parentId, FieldType foreignFieldType,
+			String orderColumn, boolean orderAscending, boolean countCached) {
 		super(dao, parent, parentId, foreignFieldType, orderColumn, orderAscending);
+		this.countCached = countCached;
 	}
 
 	/**
@@ -120,43 +152,70 @@ public class LazyForeignCollection<T, ID> extends BaseForeignCollection<T, ID> i
 		return false;
 	}
 
+	/**
+	 * Returns the number of items in the collection using a SELECT COUNT(*) query on the foreign DAO. If
+	 * {@link ForeignCollectionField#countCached()} is set then the count is remembered until the DAO reports a change.
+	 */
 	@Override
 	public int size() {
-		CloseableIterator<T> iterator = iterator();
+		int count = cachedCount;
+		if (count >= 0) {
+			return count;
+		}
+		// watch for changes before we count so one made while the query runs is not lost
+		int generation = (countCached ? watchCount() : 0);
 		try {
-			int sizeC;
-			for (sizeC = 0; iterator.hasNext(); sizeC++) {
-				// move to next without constructing the object
-				iterator.moveToNext();
-			}
-			return sizeC;
-		} finally {
-			IOUtils.closeQuietly(iterator);
+			count = (int) dao.countOf(getCountQuery());
+		} catch (SQLException e) {
+			throw new IllegalStateException("Could not count the items in the collection for " + dao.getDataClass(), e);
+		}
+		if (countCached) {
+			cacheCount(count, generation);
 		}
+		return count;
 	}
 
+	/**
+	 * Returns whether the collection has any items using a query that selects at most one row.
+	 */
 	@Override
 	public boolean isEmpty() {
-		CloseableIterator<T> iterator = iterator();
+		int count = cachedCount;
+		if (count >= 0) {
+			return count == 0;
+		}
 		try {
-			return !iterator.hasNext();
-		} finally {
-			IOUtils.closeQuietly(iterator);
+			return dao.queryMapped(getExistsQuery(), existsRowMapper).isEmpty();
+		} catch (SQLException e) {
+			throw new IllegalStateException("Could not query the collection for " + dao.getDataClass(), e);
 		}
 	}
 
+	/**
+	 * Returns whether an item with the same id as the argument is in the collection using a query on the parent and id
+	 * columns. If the items have no id field then this iterates across the collection and calls
+	 * {@link Object#equals(Object)}.
+	 */
 	@Override
 	public boolean contains(Object obj) {
-		CloseableIterator<T> iterator = iterator();
+		checkDao();
+		if (!dao.getDataClass().isInstance(obj)) {
+			return false;
+		}
+		FieldType idField = findIdField();
+		if (idField == null) {
+			return iteratorContains(obj);
+		}
 		try {
-			while (iterator.hasNext()) {
-				if (iterator.next().equals(obj)) {
-					return true;
-				}
+			Object id = idField.extractJavaFieldValue(obj);
+			if (id == null) {
+				return false;
 			}
-			return false;
-		} finally {
-			IOUtils.closeQuietly(iterator);
+			PreparedQuery<T> query = getContainsQuery(idField);
+			containsIdArg.setValue(id);
+			return dao.countOf(query) > 0;
+		} catch (SQLException e) {
+			throw new IllegalStateException("Could not query the collection for " + dao.getDataClass(), e);
 		}
 	}
 
@@ -303,13 +362,126 @@ public class LazyForeignCollection<T, ID> extends BaseForeignCollection<T, ID> i
 	 * NOTE: package perms to removed synthetic accessor
 	 */
 	CloseableIterator<T> seperateIteratorThrow(int flags) throws SQLException {
+		checkDao();
+		return dao.iterator(getPreparedQuery(), flags);
+	}
+
+	private void checkDao() {
 		// check state to make sure we have a DAO in case we have a deserialized collection
 		if (dao == null) {
 			throw new IllegalStateException(
 					"Internal DAO object is null.  Maybe the collection was deserialized or otherwise constructed wrongly.  "
 							+ "Use dao.assignEmptyForeignCollection(...) or dao.getEmptyForeignCollection(...) instead");
+		}
+	}
+
+	private boolean iteratorContains(Object obj) {
+		CloseableIterator<T> iterator = iterator();
+		try {
+			while (iterator.hasNext()) {
+				if (iterator.next().equals(obj)) {
+					return true;
+				}
+			}
+			return false;
+		} finally {
+			IOUtils.closeQuietly(iterator);
+		}
+	}
+
+	private FieldType findIdField() {
+		if (dao instanceof BaseDaoImpl<?, ?>) {
+			return ((BaseDaoImpl<?, ?>) dao).getTableInfo().getIdField();
 		} else {
-			return dao.iterator(getPreparedQuery(), flags);
+			return null;
+		}
+	}
+
+	private PreparedQuery<T> getCountQuery() throws SQLException {
+		checkDao();
+		if (countQuery == null) {
+			QueryBuilder<T, ID> qb = dao.queryBuilder();
+			qb.setCountOf(true);
+			countQuery = parentWhere(qb).prepare();
+		}
+		return countQuery;
+	}
+
+	private PreparedQuery<T> getExistsQuery() throws SQLException {
+		checkDao();
+		if (existsQuery == null) {
+			QueryBuilder<T, ID> qb = dao.queryBuilder();
+			qb.selectColumns(getForeignColumnName()).limit(1L);
+			existsQuery = parentWhere(qb).prepare();
+		}
+		return existsQuery;
+	}
+
+	private PreparedQuery<T> getContainsQuery(FieldType idField) throws SQLException {
+		if (containsQuery == null) {
+			QueryBuilder<T, ID> qb = dao.queryBuilder();
+			qb.setCountOf(true);
+			containsIdArg = new SelectArg();
+			containsQuery = parentWhere(qb).and().eq(idField.getColumnName(), containsIdArg).prepare();
+		}
+		return containsQuery;
+	}
+
+	/**
+	 * Register an observer, if not already done, which forgets the cached count and removes itself the next time the DAO
+	 * reports that its data may have changed. Returns the generation to pass to {@link #cacheCount(int, int)}.
+	 */
+	private synchronized int watchCount() {
+		checkDao();
+		if (countObserver == null) {
+			countObserver = new CountObserver(this, dao);
+			dao.registerObserver(countObserver);
+		}
+		return countGeneration;
+	}
+
+	private synchronized void cacheCount(int count, int generation) {
+		// don't cache the count if the DAO changed after we started counting
+		if (countObserver != null && generation == countGeneration) {
+			cachedCount = count;
+		}
+	}
+
+	/**
+	 * NOTE: package perms to removed synthetic accessor
+	 */
+	synchronized void invalidateCount(DaoObserver observer) {
+		cachedCount = -1;
+		countGeneration++;
+		if (countObserver == observer) {
+			dao.unregisterObserver(observer);
+			countObserver = null;
+		}
+	}
+
+	/**
+	 * Observer registered with the DAO while a count is cached. It only holds the collection weakly so the DAO does not
+	 * keep the collection and its parent object around. If the collection has been collected, it removes itself the
+	 * next time the DAO changes.
+	 */
+	private static class CountObserver implements DaoObserver {
+
+		private final WeakReference<LazyForeignCollection<?, ?>> collectionRef;
+		private final Dao<?, ?> dao;
+
+		public CountObserver(LazyForeignCollection<?, ?> collection, Dao<?, ?> dao) {
+			this.collectionRef = new WeakReference<LazyForeignCollection<?, ?>>(collection);
+			this.dao = dao;
+		}
+
+		@Override
+		public void onChange() {
+			LazyForeignCollection<?, ?> collection = collectionRef.get();
+			if (collection == null) {
+				dao.unregisterObserver(this);
+			} else {
+				collection.invalidateCount(this);
+			}
 		}
 	}
 }
@@ -226,6 +226,19 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * @see Dao#queryMapped(PreparedQuery, GenericRowMapper)
+	 */
+	@Override
+	public <UO> List<UO> queryMapped(PreparedQuery<T> preparedQuery, GenericRowMapper<UO> mapper) {
+		try {
+			return dao.queryMapped(preparedQuery, mapper);
+		} catch (SQLException e) {
+			logMessage(e, "queryMapped threw exception on: " + preparedQuery);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#create(Object)
 	 */
@@ -291,6 +304,19 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * @see Dao#update(Collection)
+	 */
+	@Override
+	public int update(Collection<T> datas) {
+		try {
+			return dao.update(datas);
+		} catch (SQLException e) {
+			logMessage(e, "update threw exception on: " + datas);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#updateId(Object, Object)
 	 */
@@ -330,6 +356,19 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * @see Dao#refresh(Collection)
+	 */
+	@Override
+	public int refresh(Collection<T> datas) {
+		try {
+			return dao.refresh(datas);
+		} catch (SQLException e) {
+			logMessage(e, "refresh threw exception on: " + datas);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#delete(Object)
 	 */
@@ -550,6 +589,32 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * @see Dao#queryColumnar(String, ColumnarResults.ColumnType[], String...)
+	 */
+	@Override
+	public ColumnarResults queryColumnar(String query, ColumnarResults.ColumnType[] columnTypes, String... arguments) {
+		try {
+			return dao.queryColumnar(query, columnTypes, arguments);
+		} catch (SQLException e) {
+			logMessage(e, "queryColumnar threw exception on: " + query);
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * @see Dao#queryColumnar(PreparedQuery, ColumnarResults.ColumnType[])
+	 */
+	@Override
+	public ColumnarResults queryColumnar(PreparedQuery<T> preparedQuery, ColumnarResults.ColumnType[] columnTypes) {
+		try {
+			return dao.queryColumnar(preparedQuery, columnTypes);
+		} catch (SQLException e) {
+			logMessage(e, "queryColumnar threw exception on: " + preparedQuery);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#executeRaw(String, String...)
 	 */
@@ -759,6 +824,43 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * @see Dao#setQueryTimeout(long)
+	 */
+	@Override
+	public void setQueryTimeout(long queryTimeoutMillis) {
+		dao.setQueryTimeout(queryTimeoutMillis);
+	}
+
+	/**
+	 * @see Dao#getQueryTimeout()
+	 */
+	@Override
+	public long getQueryTimeout() {
+		return dao.getQueryTimeout();
+	}
+
+	/**
+	 * @see Dao#setDirtyTracking(boolean)
+	 */
+	@Override
+	public void setDirtyTracking(boolean enabled) {
+		try {
+			dao.setDirtyTracking(enabled);
+		} catch (SQLException e) {
+			logMessage(e, "setDirtyTracking(" + enabled + ") threw exception");
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * @see Dao#isDirtyTracking()
+	 */
+	@Override
+	public boolean isDirtyTracking() {
+		return dao.isDirtyTracking();
+	}
+
 	/**
 	 * @see Dao#clearObjectCache()
 	 */
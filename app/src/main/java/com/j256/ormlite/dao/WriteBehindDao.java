@@ -0,0 +1,310 @@
+package com.j256.ormlite.dao;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+
+/**
+ * Opt-in write-behind layer on top of a {@link Dao}. Creates, updates, and deletes are queued and then written in a
+ * single {@link Dao#callBatchTasks(Callable)} transaction once the queue reaches a maximum size or the oldest queued
+ * write has waited a maximum delay. This turns thousands of small writes, each of which would otherwise be its own
+ * implicit transaction with its own journal sync, into a handful of transactions.
+ *
+ * <p>
+ * <b>Durability:</b> A queued write is <i>not</i> in the database when the method returns. It is only durable once its
+ * {@link Future} completes successfully. Writes still in the queue are lost if the process dies before they are
+ * flushed. Call {@link #flush()} at points where the data must be on disk and always {@link #close()} the DAO which
+ * flushes whatever is left.
+ * </p>
+ *
+ * <p>
+ * <b>Consistency:</b> Queries made through the underlying DAO do not see queued writes until they are flushed. All of
+ * the writes in a flush share one transaction so if any of them throws then the whole batch is rolled back and every
+ * future in the batch fails with that exception. Writes are applied in the order they were queued. A queued write can
+ * be dropped with {@link Future#cancel(boolean)} until its batch starts to be written.
+ * </p>
+ *
+ * 可选的延迟写入层：将写操作排队，并在达到批量大小或时间阈值时在一个事务中刷新。
+ */
+public class WriteBehindDao<T, ID> implements Closeable {
+
+	public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+	public static final long DEFAULT_MAX_DELAY_MILLIS = 100;
+
+	private static final Logger logger = LoggerFactory.getLogger(WriteBehindDao.class);
+	private static final Callable<Integer> NOOP_CALLABLE = new Callable<Integer>() {
+		@Override
+		public Integer call() {
+			return 0;
+		}
+	};
+
+	private final Dao<T, ID> dao;
+	private final int maxBatchSize;
+	private final long maxDelayMillis;
+	private final ScheduledThreadPoolExecutor executor;
+	private final Runnable flushTask = new Runnable() {
+		@Override
+		public void run() {
+			try {
+				flushPending();
+			} catch (SQLException e) {
+				// already logged, the next flush() reports it
+				synchronized (WriteBehindDao.this) {
+					if (unreportedFailure == null) {
+						unreportedFailure = e;
+					}
+				}
+			}
+		}
+	};
+	private final Callable<Void> flushCallable = new Callable<Void>() {
+		@Override
+		public Void call() throws SQLException {
+			flushPending();
+			SQLException failure;
+			synchronized (WriteBehindDao.this) {
+				failure = unreportedFailure;
+				unreportedFailure = null;
+			}
+			if (failure != null) {
+				throw failure;
+			}
+			return null;
+		}
+	};
+	private List<PendingWrite> pending = new ArrayList<PendingWrite>();
+	private SQLException unreportedFailure;
+	private boolean closed;
+
+	public WriteBehindDao(Dao<T, ID> dao) {
+		this(dao, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY_MILLIS);
+	}
+
+	/**
+	 * @param maxBatchSize
+	 *            Number of queued writes which triggers an immediate flush.
+	 * @param maxDelayMillis
+	 *            Maximum time in milliseconds that a write waits in the queue before it is flushed.
+	 */
+	public WriteBehindDao(Dao<T, ID> dao, int maxBatchSize, long maxDelayMillis) {
+		if (maxBatchSize <= 0) {
+			throw new IllegalArgumentException("maxBatchSize must be > 0: " + maxBatchSize);
+		}
+		this.dao = dao;
+		this.maxBatchSize = maxBatchSize;
+		this.maxDelayMillis = maxDelayMillis;
+		// a single thread so the flushes, and the writes inside of them, stay in order
+		this.executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "WriteBehindDao-" + WriteBehindDao.this.dao.getDataClass()
+						.getSimpleName());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Queue the creation of the object. The future returns the number of rows created.
+	 *
+	 * @see Dao#create(Object)
+	 */
+	public Future<Integer> create(T data) {
+		return enqueue(WriteType.CREATE, data);
+	}
+
+	/**
+	 * Queue the update of the object. The future returns the number of rows updated.
+	 *
+	 * @see Dao#update(Object)
+	 */
+	public Future<Integer> update(T data) {
+		return enqueue(WriteType.UPDATE, data);
+	}
+
+	/**
+	 * Queue the deletion of the object. The future returns the number of rows deleted.
+	 *
+	 * @see Dao#delete(Object)
+	 */
+	public Future<Integer> delete(T data) {
+		return enqueue(WriteType.DELETE, data);
+	}
+
+	/**
+	 * Write all of the queued writes to the database and wait for them to finish.
+	 *
+	 * @throws SQLException
+	 *             If the batch failed and was rolled back, or if a batch flushed in the background since the last
+	 *             flush failed.
+	 */
+	public void flush() throws SQLException {
+		waitFor(executor.submit(flushCallable));
+	}
+
+	/**
+	 * Return the number of writes which are waiting to be flushed.
+	 */
+	public synchronized int getPendingCount() {
+		return pending.size();
+	}
+
+	public Dao<T, ID> getDao() {
+		return dao;
+	}
+
+	/**
+	 * Flush any queued writes and stop the background thread. No more writes may be queued afterwards.
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+		}
+		try {
+			flush();
+		} catch (SQLException e) {
+			throw new IOException("Problems flushing the write-behind queue", e);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private synchronized Future<Integer> enqueue(WriteType writeType, T data) {
+		if (closed) {
+			throw new IllegalStateException("WriteBehindDao has already been closed");
+		}
+		PendingWrite write = new PendingWrite(writeType, data);
+		pending.add(write);
+		if (pending.size() >= maxBatchSize) {
+			executor.execute(flushTask);
+		} else if (pending.size() == 1) {
+			// first write in a new batch starts the clock
+			executor.schedule(flushTask, maxDelayMillis, TimeUnit.MILLISECONDS);
+		}
+		return write;
+	}
+
+	private void flushPending() throws SQLException {
+		final List<PendingWrite> batch;
+		synchronized (this) {
+			if (pending.isEmpty()) {
+				return;
+			}
+			batch = pending;
+			pending = new ArrayList<PendingWrite>();
+		}
+		final int[] results = new int[batch.size()];
+		try {
+			dao.callBatchTasks(new Callable<Void>() {
+				@Override
+				public Void call() throws SQLException {
+					for (int i = 0; i < results.length; i++) {
+						results[i] = batch.get(i).write(dao);
+					}
+					return null;
+				}
+			});
+		} catch (Exception e) {
+			logger.error(e, "write-behind batch of {} writes for {} failed and was rolled back", batch.size(),
+					dao.getDataClass());
+			for (PendingWrite write : batch) {
+				write.failed(e);
+			}
+			throw SqlExceptionUtil.create("Write-behind batch of " + batch.size() + " writes failed", e);
+		}
+		logger.debug("write-behind batch of {} writes for {} flushed", batch.size(), dao.getDataClass());
+		for (int i = 0; i < results.length; i++) {
+			batch.get(i).succeeded(results[i]);
+		}
+	}
+
+	private void waitFor(Future<?> future) throws SQLException {
+		try {
+			future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw SqlExceptionUtil.create("Interrupted while flushing the write-behind queue", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof SQLException) {
+				throw (SQLException) cause;
+			}
+			throw SqlExceptionUtil.create("Flushing the write-behind queue failed", cause);
+		}
+	}
+
+	private enum WriteType {
+		CREATE,
+		UPDATE,
+		DELETE,
+	}
+
+	/**
+	 * A queued write which is also the future handed back to the caller.
+	 */
+	private class PendingWrite extends FutureTask<Integer> {
+
+		private final WriteType writeType;
+		private final T data;
+
+		public PendingWrite(WriteType writeType, T data) {
+			// we never run the task, we set its outcome ourselves
+			super(NOOP_CALLABLE);
+			this.writeType = writeType;
+			this.data = data;
+		}
+
+		/**
+		 * Cancelling removes the write from the queue. Once its batch has been taken it can no longer be cancelled.
+		 */
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			synchronized (WriteBehindDao.this) {
+				if (!pending.remove(this)) {
+					return false;
+				}
+			}
+			return super.cancel(mayInterruptIfRunning);
+		}
+
+		public int write(Dao<T, ?> dao) throws SQLException {
+			switch (writeType) {
+				case CREATE:
+					return dao.create(data);
+				case UPDATE:
+					return dao.update(data);
+				case DELETE:
+					return dao.delete(data);
+				default:
+					throw new IllegalStateException("Unknown write type: " + writeType);
+			}
+		}
+
+		public void succeeded(int result) {
+			set(result);
+		}
+
+		public void failed(Throwable throwable) {
+			setException(throwable);
+		}
+	}
+}
@@ -576,6 +576,26 @@ public abstract class BaseDatabaseType implements DatabaseType {
 		return true;
 	}
 
+	@Override
+	public boolean isMultiRowInsertSupported() {
+		return false;
+	}
+
+	@Override
+	public int getMaxBoundArguments() {
+		return Integer.MAX_VALUE;
+	}
+
+	@Override
+	public boolean isInsertOrIgnoreSupported() {
+		return false;
+	}
+
+	@Override
+	public boolean isUpsertSupported() {
+		return false;
+	}
+
 	/**
 	 * @throws SQLException
 	 *             for sub classes.
@@ -71,6 +71,29 @@ public abstract class BaseSqliteDatabaseType extends BaseDatabaseType {
 		return true;
 	}
 
+	@Override
+	public boolean isMultiRowInsertSupported() {
+		// added in sqlite 3.7.11
+		return true;
+	}
+
+	@Override
+	public int getMaxBoundArguments() {
+		// SQLITE_MAX_VARIABLE_NUMBER default before sqlite 3.32
+		return 999;
+	}
+
+	@Override
+	public boolean isInsertOrIgnoreSupported() {
+		return true;
+	}
+
+	@Override
+	public boolean isUpsertSupported() {
+		// added in sqlite 3.24
+		return true;
+	}
+
 	@Override
 	public FieldConverter getFieldConverter(DataPersister dataPersister, FieldType fieldType) {
 		// we are only overriding certain types
@@ -278,6 +278,28 @@ public interface DatabaseType {
 	 */
 	public boolean isAllowGeneratedIdInsertSupported();
 
+	/**
+	 * Returns true if a single INSERT statement can add multiple rows with the {@code VALUES (...),(...)} syntax.
+	 */
+	public boolean isMultiRowInsertSupported();
+
+	/**
+	 * Return the maximum number of '?' arguments that can be bound to a single statement.
+	 */
+	public int getMaxBoundArguments();
+
+	/**
+	 * Returns true if the database supports {@code INSERT OR IGNORE INTO ...} which skips a row that would violate a
+	 * constraint instead of failing.
+	 */
+	public boolean isInsertOrIgnoreSupported();
+
+	/**
+	 * Returns true if the database supports {@code INSERT ... ON CONFLICT (column) DO UPDATE SET column = excluded.column}
+	 * to insert a row or update the existing one in a single statement.
+	 */
+	public boolean isUpsertSupported();
+
 	/**
 	 * Return the name of the database for logging purposes.
 	 */
@@ -2,6 +2,8 @@ package com.j256.ormlite.db;
 
 import java.sql.SQLException;
 
+import android.os.Build;
+
 import com.j256.ormlite.android.DatabaseTableConfigUtil;
 import com.j256.ormlite.field.DataPersister;
 import com.j256.ormlite.field.FieldType;
@@ -23,6 +25,10 @@ import com.j256.ormlite.table.DatabaseTableConfig;
  */
 public class SqliteAndroidDatabaseType extends BaseSqliteDatabaseType {
 
+	/** copied from {@link Build.VERSION_CODES} so we compile against older Android versions */
+	private static final int JELLY_BEAN = 16;
+	private static final int R = 30;
+
 	@Override
 	public void loadDriver() {
 		// noop
@@ -100,6 +106,18 @@ public class SqliteAndroidDatabaseType extends BaseSqliteDatabaseType {
 		return true;
 	}
 
+	@Override
+	public boolean isMultiRowInsertSupported() {
+		// sqlite 3.7.11 was first shipped with Jelly Bean
+		return Build.VERSION.SDK_INT >= JELLY_BEAN;
+	}
+
+	@Override
+	public boolean isUpsertSupported() {
+		// sqlite 3.24 was first shipped with R, Q still has 3.22
+		return Build.VERSION.SDK_INT >= R;
+	}
+
 	@Override
 	public <T> DatabaseTableConfig<T> extractDatabaseTableConfig(ConnectionSource connectionSource, Class<T> clazz)
 			throws SQLException {
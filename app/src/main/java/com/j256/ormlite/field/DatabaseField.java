@@ -314,6 +314,17 @@ public @interface DatabaseField {
 	 */
 	int maxForeignAutoRefreshLevel() default DEFAULT_MAX_FOREIGN_AUTO_REFRESH_LEVEL;
 
+	/**
+	 * Set this to be true (default false) to have the {@link #foreignAutoRefresh()} of this field done in batches when
+	 * a list of objects is queried. Instead of a separate database call for each row, the foreign ids are collected
+	 * while the results are read and the foreign objects are then loaded with a few IN (...) queries. The
+	 * {@link #maxForeignAutoRefreshLevel()} still applies. Iterators and single object queries refresh as before.
+	 * {@link #foreignAutoRefresh()} must also be set to true.
+	 *
+	 * 将此属性设置为true，查询列表时外部对象通过批量IN查询加载，而不是每行查询一次。
+	 */
+	boolean foreignAutoRefreshBatch() default false;
+
 	/**
 	 * Allows you to set a custom persister class to handle this field. This class must have a getSingleton() static
 	 * method defined which will return the singleton persister.
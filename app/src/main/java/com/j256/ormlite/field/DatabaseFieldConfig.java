@@ -55,6 +55,7 @@ public class DatabaseFieldConfig {
 	private String uniqueIndexName;// 索引 。。。。。。
 	private boolean foreignAutoRefresh;
 	private int maxForeignAutoRefreshLevel = NO_MAX_FOREIGN_AUTO_REFRESH_LEVEL_SPECIFIED;
+	private boolean foreignAutoRefreshBatch;
 	private Class<? extends DataPersister> persisterClass = DEFAULT_PERSISTER_CLASS; //数据解析class类型
 	private boolean allowGeneratedIdInsert;//允许自己创建id 插入
 	private String columnDefinition;
@@ -65,6 +66,8 @@ public class DatabaseFieldConfig {
 	// foreign collection field information
 	private boolean foreignCollection;
 	private boolean foreignCollectionEager;
+	private boolean foreignCollectionEagerBatch;
+	private boolean foreignCollectionCountCached;
 	private int foreignCollectionMaxEagerLevel = DEFAULT_MAX_EAGER_FOREIGN_COLLECTION_LEVEL;
 	private String foreignCollectionColumnName;
 	private String foreignCollectionOrderColumnName;
@@ -385,6 +388,14 @@ public class DatabaseFieldConfig {
 		this.maxForeignAutoRefreshLevel = maxForeignLevel;
 	}
 
+	public boolean isForeignAutoRefreshBatch() {
+		return foreignAutoRefreshBatch;
+	}
+
+	public void setForeignAutoRefreshBatch(boolean foreignAutoRefreshBatch) {
+		this.foreignAutoRefreshBatch = foreignAutoRefreshBatch;
+	}
+
 	/*
 	 * Foreign collection field configurations
 	 */
@@ -405,6 +416,22 @@ public class DatabaseFieldConfig {
 		this.foreignCollectionEager = foreignCollectionEager;
 	}
 
+	public boolean isForeignCollectionEagerBatch() {
+		return foreignCollectionEagerBatch;
+	}
+
+	public void setForeignCollectionEagerBatch(boolean foreignCollectionEagerBatch) {
+		this.foreignCollectionEagerBatch = foreignCollectionEagerBatch;
+	}
+
+	public boolean isForeignCollectionCountCached() {
+		return foreignCollectionCountCached;
+	}
+
+	public void setForeignCollectionCountCached(boolean foreignCollectionCountCached) {
+		this.foreignCollectionCountCached = foreignCollectionCountCached;
+	}
+
 	public int getForeignCollectionMaxEagerLevel() {
 		return foreignCollectionMaxEagerLevel;
 	}
@@ -629,6 +656,7 @@ public class DatabaseFieldConfig {
 		} else {
 			config.maxForeignAutoRefreshLevel = NO_MAX_FOREIGN_AUTO_REFRESH_LEVEL_SPECIFIED;
 		}
+		config.foreignAutoRefreshBatch = databaseField.foreignAutoRefreshBatch();
 		config.persisterClass = databaseField.persisterClass();
 		config.allowGeneratedIdInsert = databaseField.allowGeneratedIdInsert();
 		config.columnDefinition = valueIfNotBlank(databaseField.columnDefinition());
@@ -682,6 +710,8 @@ public class DatabaseFieldConfig {
 		}
 		config.foreignCollection = true;
 		config.foreignCollectionEager = foreignCollection.eager();
+		config.foreignCollectionEagerBatch = foreignCollection.eagerBatch();
+		config.foreignCollectionCountCached = foreignCollection.countCached();
 		config.foreignCollectionMaxEagerLevel = foreignCollection.maxEagerLevel();
 		config.foreignCollectionOrderColumnName = valueIfNotBlank(foreignCollection.orderColumnName());
 		config.foreignCollectionOrderAscending = foreignCollection.orderAscending();
@@ -97,6 +97,7 @@ public class DatabaseFieldConfigLoader {
 	private static final String FIELD_NAME_UNIQUE_INDEX_NAME = "uniqueIndexName";
 	private static final String FIELD_NAME_FOREIGN_AUTO_REFRESH = "foreignAutoRefresh";
 	private static final String FIELD_NAME_MAX_FOREIGN_AUTO_REFRESH_LEVEL = "maxForeignAutoRefreshLevel";
+	private static final String FIELD_NAME_FOREIGN_AUTO_REFRESH_BATCH = "foreignAutoRefreshBatch";
 	private static final String FIELD_NAME_PERSISTER_CLASS = "persisterClass";
 	private static final String FIELD_NAME_ALLOW_GENERATED_ID_INSERT = "allowGeneratedIdInsert";
 	private static final String FIELD_NAME_COLUMN_DEFINITION = "columnDefinition";
@@ -108,6 +109,8 @@ public class DatabaseFieldConfigLoader {
 
 	private static final String FIELD_NAME_FOREIGN_COLLECTION = "foreignCollection";
 	private static final String FIELD_NAME_FOREIGN_COLLECTION_EAGER = "foreignCollectionEager";
+	private static final String FIELD_NAME_FOREIGN_COLLECTION_EAGER_BATCH = "foreignCollectionEagerBatch";
+	private static final String FIELD_NAME_FOREIGN_COLLECTION_COUNT_CACHED = "foreignCollectionCountCached";
 	private static final String FIELD_NAME_MAX_EAGER_FOREIGN_COLLECTION_LEVEL_OLD = "maxEagerForeignCollectionLevel";
 	private static final String FIELD_NAME_MAX_EAGER_FOREIGN_COLLECTION_LEVEL = "foreignCollectionMaxEagerLevel";
 	private static final String FIELD_NAME_FOREIGN_COLLECTION_COLUMN_NAME = "foreignCollectionColumnName";
@@ -227,6 +230,10 @@ public class DatabaseFieldConfigLoader {
 					.append(Integer.toString(config.getMaxForeignAutoRefreshLevel()));
 			writer.newLine();
 		}
+		if (config.isForeignAutoRefreshBatch()) {
+			writer.append(FIELD_NAME_FOREIGN_AUTO_REFRESH_BATCH).append('=').append("true");
+			writer.newLine();
+		}
 		if (config.getPersisterClass() != DatabaseFieldConfig.DEFAULT_PERSISTER_CLASS) {
 			writer.append(FIELD_NAME_PERSISTER_CLASS).append('=').append(config.getPersisterClass().getName());
 			writer.newLine();
@@ -272,6 +279,14 @@ public class DatabaseFieldConfigLoader {
 			writer.append(FIELD_NAME_FOREIGN_COLLECTION_EAGER).append('=').append("true");
 			writer.newLine();
 		}
+		if (config.isForeignCollectionEagerBatch()) {
+			writer.append(FIELD_NAME_FOREIGN_COLLECTION_EAGER_BATCH).append('=').append("true");
+			writer.newLine();
+		}
+		if (config.isForeignCollectionCountCached()) {
+			writer.append(FIELD_NAME_FOREIGN_COLLECTION_COUNT_CACHED).append('=').append("true");
+			writer.newLine();
+		}
 		if (config.getForeignCollectionMaxEagerLevel() != DEFAULT_MAX_EAGER_FOREIGN_COLLECTION_LEVEL) {
 			writer.append(FIELD_NAME_MAX_EAGER_FOREIGN_COLLECTION_LEVEL)
 					.append('=')
@@ -383,6 +398,8 @@ public class DatabaseFieldConfigLoader {
 			config.setForeignAutoRefresh(Boolean.parseBoolean(value));
 		} else if (field.equals(FIELD_NAME_MAX_FOREIGN_AUTO_REFRESH_LEVEL)) {
 			config.setMaxForeignAutoRefreshLevel(Integer.parseInt(value));
+		} else if (field.equals(FIELD_NAME_FOREIGN_AUTO_REFRESH_BATCH)) {
+			config.setForeignAutoRefreshBatch(Boolean.parseBoolean(value));
 		} else if (field.equals(FIELD_NAME_PERSISTER_CLASS)) {
 			try {
 				@SuppressWarnings("unchecked")
@@ -413,6 +430,10 @@ public class DatabaseFieldConfigLoader {
 			config.setForeignCollection(Boolean.parseBoolean(value));
 		} else if (field.equals(FIELD_NAME_FOREIGN_COLLECTION_EAGER)) {
 			config.setForeignCollectionEager(Boolean.parseBoolean(value));
+		} else if (field.equals(FIELD_NAME_FOREIGN_COLLECTION_EAGER_BATCH)) {
+			config.setForeignCollectionEagerBatch(Boolean.parseBoolean(value));
+		} else if (field.equals(FIELD_NAME_FOREIGN_COLLECTION_COUNT_CACHED)) {
+			config.setForeignCollectionCountCached(Boolean.parseBoolean(value));
 		} else if (field.equals(FIELD_NAME_MAX_EAGER_FOREIGN_COLLECTION_LEVEL_OLD)) {
 			config.setForeignCollectionMaxEagerLevel(Integer.parseInt(value));
 		} else if (field.equals(FIELD_NAME_MAX_EAGER_FOREIGN_COLLECTION_LEVEL)) {
@@ -0,0 +1,54 @@
+package com.j256.ormlite.field;
+
+/**
+ * Reflection-free access to a single field of an entity. Implementations are generated at compile time by the
+ * ormlite-processor annotation processor and are used by {@link FieldType} instead of {@link java.lang.reflect.Field}
+ * or the get/set {@link java.lang.reflect.Method}s when they are available.
+ *
+ * 由注解处理器生成的字段访问器，用于替代反射。
+ */
+public interface FieldAccessor {
+
+	/**
+	 * Return the value of the field from the data object.
+	 */
+	public Object get(Object data);
+
+	/**
+	 * Assign the value to the field of the data object.
+	 *
+	 * @throws RuntimeException
+	 *             ClassCastException or NullPointerException if the value does not fit the field.
+	 */
+	public void set(Object data, Object val);
+
+	/**
+	 * Assign the primitive value to an int field without boxing it.
+	 */
+	public void setInt(Object data, int val);
+
+	/**
+	 * Assign the primitive value to a long field without boxing it.
+	 */
+	public void setLong(Object data, long val);
+
+	/**
+	 * Assign the primitive value to a short field without boxing it.
+	 */
+	public void setShort(Object data, short val);
+
+	/**
+	 * Assign the primitive value to a byte field without boxing it.
+	 */
+	public void setByte(Object data, byte val);
+
+	/**
+	 * Assign the primitive value to a float field without boxing it.
+	 */
+	public void setFloat(Object data, float val);
+
+	/**
+	 * Assign the primitive value to a double field without boxing it.
+	 */
+	public void setDouble(Object data, double val);
+}
@@ -8,7 +8,12 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 
 import com.j256.ormlite.dao.BaseDaoImpl;
@@ -20,16 +25,26 @@ import com.j256.ormlite.dao.ForeignCollection;
 import com.j256.ormlite.dao.LazyForeignCollection;
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.types.ByteType;
+import com.j256.ormlite.field.types.DoubleType;
+import com.j256.ormlite.field.types.FloatType;
+import com.j256.ormlite.field.types.IntType;
+import com.j256.ormlite.field.types.LongType;
+import com.j256.ormlite.field.types.ShortType;
 import com.j256.ormlite.field.types.VoidType;
 import com.j256.ormlite.logger.Log.Level;
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.logger.LoggerFactory;
 import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.stmt.PreparedQuery;
+import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.stmt.mapped.MappedPreparedStmt;
 import com.j256.ormlite.stmt.mapped.MappedQueryForFieldEq;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.support.DatabaseResults;
 import com.j256.ormlite.table.DatabaseTableConfig;
+import com.j256.ormlite.table.GeneratedTableAccessors;
 import com.j256.ormlite.table.TableInfo;
 
 /**
@@ -42,6 +57,8 @@ public class FieldType {
 
 	/** default suffix added to fields that are id fields of foreign objects */
 	public static final String FOREIGN_ID_FIELD_SUFFIX = "_id";
+	/** maximum number of ids in each IN (...) query when batch refreshing foreign fields */
+	public static final int FOREIGN_REFRESH_BATCH_SIZE = 500;
 
 	/*
 	 * Default values.
@@ -67,9 +84,11 @@ public class FieldType {
 	private final String generatedIdSequence;
 	private final Method fieldGetMethod;
 	private final Method fieldSetMethod;
+	private final FieldAccessor fieldAccessor;
 	private final Class<?> parentClass;
 
 	private DataPersister dataPersister;
+	private Class<?> primitiveResultClass;
 	private Object defaultValue;
 	private Object dataTypeConfigObj;
 
@@ -253,6 +272,8 @@ public class FieldType {
 			this.fieldGetMethod = null;
 			this.fieldSetMethod = null;
 		}
+		// use the generated accessor, if any, instead of reflection
+		this.fieldAccessor = GeneratedTableAccessors.lookupField(field.getDeclaringClass(), field.getName());
 		if (fieldConfig.isAllowGeneratedIdInsert() && !fieldConfig.isGeneratedId()) {
 			throw new IllegalArgumentException(
 					"Field " + field.getName() + " must be a generated-id if allowGeneratedIdInsert = true");
@@ -261,6 +282,10 @@ public class FieldType {
 			throw new IllegalArgumentException(
 					"Field " + field.getName() + " must have foreign = true if foreignAutoRefresh = true");
 		}
+		if (fieldConfig.isForeignAutoRefreshBatch() && !fieldConfig.isForeignAutoRefresh()) {
+			throw new IllegalArgumentException("Field " + field.getName()
+					+ " must have foreignAutoRefresh = true if foreignAutoRefreshBatch = true");
+		}
 		if (fieldConfig.isForeignAutoCreate() && !fieldConfig.isForeign()) {
 			throw new IllegalArgumentException(
 					"Field " + field.getName() + " must have foreign = true if foreignAutoCreate = true");
@@ -556,11 +581,23 @@ public class FieldType {
 				val = cachedVal;
 			} else if (!parentObject) {
 				// the value we are to assign to our field is now the foreign object itself
-				val = createForeignObject(val, objectCache);
+				val = createForeignObject(data, val, objectCache);
 			}
 		}
+		setFieldValue(data, val);
+	}
 
-		if (fieldSetMethod == null) {
+	/**
+	 * Assign the value to the field without any of the foreign object handling.
+	 */
+	private void setFieldValue(Object data, Object val) throws SQLException {
+		if (fieldAccessor != null) {
+			try {
+				fieldAccessor.set(data, val);
+			} catch (RuntimeException e) {
+				throw SqlExceptionUtil.create("Could not assign object '" + val + "' to field " + this, e);
+			}
+		} else if (fieldSetMethod == null) {
 			try {
 				field.set(data, val);
 			} catch (IllegalArgumentException e) {
@@ -602,7 +639,13 @@ public class FieldType {
 	 */
 	public <FV> FV extractRawJavaFieldValue(Object object) throws SQLException {
 		Object val;
-		if (fieldGetMethod == null) {
+		if (fieldAccessor != null) {
+			try {
+				val = fieldAccessor.get(object);
+			} catch (RuntimeException e) {
+				throw SqlExceptionUtil.create("Could not get field value for " + this, e);
+			}
+		} else if (fieldGetMethod == null) {
 			try {
 				// field object may not be a T yet
 				val = field.get(object);
@@ -789,8 +832,7 @@ public class FieldType {
 		Dao<FT, FID> castDao = (Dao<FT, FID>) foreignDao;
 		if (!fieldConfig.isForeignCollectionEager()) {
 			// we know this won't go recursive so no need for the counters
-			return new LazyForeignCollection<FT, FID>(castDao, parent, id, foreignFieldType,
-					fieldConfig.getForeignCollectionOrderColumnName(), fieldConfig.isForeignCollectionOrderAscending());
+			return buildLazyForeignCollection(castDao, parent, id);
 		}
 
 		// try not to create level counter objects unless we have to
@@ -798,9 +840,7 @@ public class FieldType {
 		if (levelCounters == null) {
 			if (fieldConfig.getForeignCollectionMaxEagerLevel() == 0) {
 				// then return a lazy collection instead
-				return new LazyForeignCollection<FT, FID>(castDao, parent, id, foreignFieldType,
-						fieldConfig.getForeignCollectionOrderColumnName(),
-						fieldConfig.isForeignCollectionOrderAscending());
+				return buildLazyForeignCollection(castDao, parent, id);
 			}
 			levelCounters = new LevelCounters();
 			threadLevelCounters.set(levelCounters);
@@ -812,8 +852,16 @@ public class FieldType {
 		// are we over our level limit?
 		if (levelCounters.foreignCollectionLevel >= levelCounters.foreignCollectionLevelMax) {
 			// then return a lazy collection instead
-			return new LazyForeignCollection<FT, FID>(castDao, parent, id, foreignFieldType,
-					fieldConfig.getForeignCollectionOrderColumnName(), fieldConfig.isForeignCollectionOrderAscending());
+			return buildLazyForeignCollection(castDao, parent, id);
+		}
+		if (fieldConfig.isForeignCollectionEagerBatch() && id != null) {
+			ForeignRefreshBatch batch = ForeignRefreshBatch.current();
+			if (batch != null) {
+				// the batch loads the collections of all of the parents later and assigns them
+				batch.defer(this, parent, id, levelCounters.foreignCollectionLevel + 1,
+						levelCounters.foreignCollectionLevelMax);
+				return null;
+			}
 		}
 		levelCounters.foreignCollectionLevel++;
 		try {
@@ -824,6 +872,13 @@ public class FieldType {
 		}
 	}
 
+	private <FT, FID> LazyForeignCollection<FT, FID> buildLazyForeignCollection(Dao<FT, FID> castDao, Object parent,
+			FID id) {
+		return new LazyForeignCollection<FT, FID>(castDao, parent, id, foreignFieldType,
+				fieldConfig.getForeignCollectionOrderColumnName(), fieldConfig.isForeignCollectionOrderAscending(),
+				fieldConfig.isForeignCollectionCountCached());
+	}
+
 	/**
 	 * Get the result object from the results. A call through to {@link FieldConverter#resultToJava}.
 	 */
@@ -833,7 +888,14 @@ public class FieldType {
 			dbColumnPos = results.findColumn(columnName);
 			columnPositions.put(columnName, dbColumnPos);
 		}
+		return resultToJava(results, dbColumnPos.intValue());
+	}
 
+	/**
+	 * Get the result object from the results at a column position that the caller has already looked up. A call
+	 * through to {@link FieldConverter#resultToJava}.
+	 */
+	public <T> T resultToJava(DatabaseResults results, int dbColumnPos) throws SQLException {
 		/*
 		 * Subtle problem here. If the field is a foreign-field and/or a primitive and the value was null then we get 0
 		 * from results.getInt() which mirrors the ResultSet. We have to specifically test to see if we have a null
@@ -867,6 +929,80 @@ public class FieldType {
 		return converted;
 	}
 
+	/**
+	 * Return true if this is a primitive numeric field which can be copied from the results into the object by
+	 * {@link #assignPrimitiveResult(Object, DatabaseResults, int)} without boxing the value. This is not true for id
+	 * or foreign fields, for custom persisters, or if the field is set with a set method.
+	 */
+	public boolean isPrimitiveResult() {
+		return (primitiveResultClass != null && (fieldAccessor != null || fieldSetMethod == null));
+	}
+
+	/**
+	 * Read the primitive value from the results and assign it to the field without boxing. This has the same
+	 * null-handling as {@link #resultToJava(DatabaseResults, int)} so a null becomes 0 unless throwIfNull is set. Only
+	 * call this if {@link #isPrimitiveResult()} returns true.
+	 */
+	public void assignPrimitiveResult(Object data, DatabaseResults results, int dbColumnPos) throws SQLException {
+		try {
+			if (primitiveResultClass == int.class) {
+				int val = results.getInt(dbColumnPos);
+				checkPrimitiveNull(results, dbColumnPos);
+				if (fieldAccessor == null) {
+					field.setInt(data, val);
+				} else {
+					fieldAccessor.setInt(data, val);
+				}
+			} else if (primitiveResultClass == long.class) {
+				long val = results.getLong(dbColumnPos);
+				checkPrimitiveNull(results, dbColumnPos);
+				if (fieldAccessor == null) {
+					field.setLong(data, val);
+				} else {
+					fieldAccessor.setLong(data, val);
+				}
+			} else if (primitiveResultClass == double.class) {
+				double val = results.getDouble(dbColumnPos);
+				checkPrimitiveNull(results, dbColumnPos);
+				if (fieldAccessor == null) {
+					field.setDouble(data, val);
+				} else {
+					fieldAccessor.setDouble(data, val);
+				}
+			} else if (primitiveResultClass == float.class) {
+				float val = results.getFloat(dbColumnPos);
+				checkPrimitiveNull(results, dbColumnPos);
+				if (fieldAccessor == null) {
+					field.setFloat(data, val);
+				} else {
+					fieldAccessor.setFloat(data, val);
+				}
+			} else if (primitiveResultClass == short.class) {
+				short val = results.getShort(dbColumnPos);
+				checkPrimitiveNull(results, dbColumnPos);
+				if (fieldAccessor == null) {
+					field.setShort(data, val);
+				} else {
+					fieldAccessor.setShort(data, val);
+				}
+			} else if (primitiveResultClass == byte.class) {
+				byte val = results.getByte(dbColumnPos);
+				checkPrimitiveNull(results, dbColumnPos);
+				if (fieldAccessor == null) {
+					field.setByte(data, val);
+				} else {
+					fieldAccessor.setByte(data, val);
+				}
+			} else {
+				throw new IllegalStateException("Field " + this + " is not a primitive result field");
+			}
+		} catch (IllegalAccessException e) {
+			throw SqlExceptionUtil.create("Could not assign primitive result to field " + this, e);
+		} catch (RuntimeException e) {
+			throw SqlExceptionUtil.create("Could not assign primitive result to field " + this, e);
+		}
+	}
+
 	/**
 	 * Call through to {@link DataPersister#isSelfGeneratedId()}
 	 */
@@ -1008,7 +1144,121 @@ public class FieldType {
 				+ field.getDeclaringClass().getSimpleName();
 	}
 
-	private Object createForeignObject(Object val, ObjectCache objectCache) throws SQLException {
+	/**
+	 * Load the foreign objects with the ids, using IN (...) queries of at most {@link #FOREIGN_REFRESH_BATCH_SIZE}
+	 * values, and assign them to the field in the corresponding parents. The level arguments are the auto-refresh
+	 * level and maximum that the row by row refresh would have run at so the foreign objects' own foreign fields are
+	 * refreshed to the same depth.
+	 */
+	void refreshForeignBatch(List<Object> parents, List<Object> ids, int level, int levelMax) throws SQLException {
+		@SuppressWarnings("unchecked")
+		BaseDaoImpl<Object, Object> castDao = (BaseDaoImpl<Object, Object>) foreignDao;
+		List<Object> distinctIds = new ArrayList<Object>(new LinkedHashSet<Object>(ids));
+		Map<Object, Object> foreignObjects = new HashMap<Object, Object>();
+
+		LevelCounters levelCounters = threadLevelCounters.get();
+		if (levelCounters == null) {
+			levelCounters = new LevelCounters();
+			threadLevelCounters.set(levelCounters);
+		}
+		int levelSave = levelCounters.autoRefreshLevel;
+		int levelMaxSave = levelCounters.autoRefreshLevelMax;
+		levelCounters.autoRefreshLevel = level;
+		levelCounters.autoRefreshLevelMax = levelMax;
+		try {
+			for (int start = 0; start < distinctIds.size(); start += FOREIGN_REFRESH_BATCH_SIZE) {
+				List<Object> chunk =
+						distinctIds.subList(start, Math.min(start + FOREIGN_REFRESH_BATCH_SIZE, distinctIds.size()));
+				QueryBuilder<Object, Object> qb = castDao.queryBuilder();
+				qb.where().in(foreignRefField.getColumnName(), chunk);
+				// duplicates and objects already loaded come back out of the foreign DAO's object cache if it has one
+				for (Object foreignObject : castDao.query(qb.prepare())) {
+					foreignObjects.put(foreignRefField.extractJavaFieldValue(foreignObject), foreignObject);
+				}
+			}
+		} finally {
+			levelCounters.autoRefreshLevel = levelSave;
+			levelCounters.autoRefreshLevelMax = levelMaxSave;
+			if (levelSave <= 0) {
+				threadLevelCounters.remove();
+			}
+		}
+		logger.debug("batch refreshed {} foreign objects for {} rows of {}", foreignObjects.size(), ids.size(), this);
+
+		for (int i = 0; i < parents.size(); i++) {
+			setFieldValue(parents.get(i), foreignObjects.get(ids.get(i)));
+		}
+	}
+
+	/**
+	 * Load the items of the eager foreign collections of the parents with the ids, using WHERE foreign-id IN (...)
+	 * queries of at most {@link #FOREIGN_REFRESH_BATCH_SIZE} values, and assign a collection of the matching items to
+	 * the field in each parent. The level arguments are the eager level and maximum that the per parent query would
+	 * have run at.
+	 */
+	void loadForeignCollectionBatch(List<Object> parents, List<Object> ids, int level, int levelMax)
+			throws SQLException {
+		@SuppressWarnings("unchecked")
+		BaseDaoImpl<Object, Object> castDao = (BaseDaoImpl<Object, Object>) foreignDao;
+		Map<Object, Object> parentsById = new LinkedHashMap<Object, Object>();
+		Map<Object, List<Object>> itemsById = new HashMap<Object, List<Object>>();
+		for (int i = 0; i < parents.size(); i++) {
+			parentsById.put(ids.get(i), parents.get(i));
+			itemsById.put(ids.get(i), new ArrayList<Object>());
+		}
+		List<Object> distinctIds = new ArrayList<Object>(parentsById.keySet());
+		String orderColumn = fieldConfig.getForeignCollectionOrderColumnName();
+		boolean orderAscending = fieldConfig.isForeignCollectionOrderAscending();
+
+		LevelCounters levelCounters = threadLevelCounters.get();
+		if (levelCounters == null) {
+			levelCounters = new LevelCounters();
+			threadLevelCounters.set(levelCounters);
+		}
+		int levelSave = levelCounters.foreignCollectionLevel;
+		int levelMaxSave = levelCounters.foreignCollectionLevelMax;
+		levelCounters.foreignCollectionLevel = level;
+		levelCounters.foreignCollectionLevelMax = levelMax;
+		int itemCount = 0;
+		try {
+			for (int start = 0; start < distinctIds.size(); start += FOREIGN_REFRESH_BATCH_SIZE) {
+				List<Object> chunk =
+						distinctIds.subList(start, Math.min(start + FOREIGN_REFRESH_BATCH_SIZE, distinctIds.size()));
+				QueryBuilder<Object, Object> qb = castDao.queryBuilder();
+				if (orderColumn != null) {
+					qb.orderBy(orderColumn, orderAscending);
+				}
+				qb.where().in(foreignFieldType.getColumnName(), chunk);
+				PreparedQuery<Object> preparedQuery = qb.prepare();
+				if (preparedQuery instanceof MappedPreparedStmt) {
+					// so each item is assigned its parent instead of a new foreign object
+					@SuppressWarnings("unchecked")
+					MappedPreparedStmt<Object, Object> mappedStmt = (MappedPreparedStmt<Object, Object>) preparedQuery;
+					mappedStmt.setParentInformation(parentsById);
+				}
+				for (Object item : castDao.query(preparedQuery)) {
+					List<Object> items = itemsById.get(foreignFieldType.extractJavaFieldValue(item));
+					if (items != null) {
+						items.add(item);
+						itemCount++;
+					}
+				}
+			}
+		} finally {
+			levelCounters.foreignCollectionLevel = levelSave;
+			levelCounters.foreignCollectionLevelMax = levelMaxSave;
+		}
+		logger.debug("batch loaded {} collection items for {} parents of {}", itemCount, parentsById.size(), this);
+
+		for (int i = 0; i < parents.size(); i++) {
+			Object id = ids.get(i);
+			EagerForeignCollection<Object, Object> collection = new EagerForeignCollection<Object, Object>(castDao,
+					parents.get(i), id, foreignFieldType, orderColumn, orderAscending, itemsById.get(id));
+			setFieldValue(parents.get(i), collection);
+		}
+	}
+
+	private Object createForeignObject(Object data, Object val, ObjectCache objectCache) throws SQLException {
 
 		// try to stop the level counters objects from being created
 		LevelCounters levelCounters = threadLevelCounters.get();
@@ -1033,6 +1283,17 @@ public class FieldType {
 		if (levelCounters.autoRefreshLevel >= levelCounters.autoRefreshLevelMax) {
 			return createForeignShell(val, objectCache);
 		}
+		if (fieldConfig.isForeignAutoRefreshBatch()) {
+			ForeignRefreshBatch batch = ForeignRefreshBatch.current();
+			if (batch != null) {
+				// the batch loads the foreign object later at the level we would have used
+				batch.defer(this, data, val, levelCounters.autoRefreshLevel + 1, levelCounters.autoRefreshLevelMax);
+				if (levelCounters.autoRefreshLevel <= 0) {
+					threadLevelCounters.remove();
+				}
+				return createForeignShell(val, objectCache);
+			}
+		}
 
 		/*
 		 * We may not have a mapped query for id because we aren't auto-refreshing ourselves. But a parent class may be
@@ -1064,11 +1325,11 @@ public class FieldType {
 	}
 
 	/**
-	 * Create a shell object and assign its id field.
+	 * Create a shell object and assign the field we reference, which is its id field unless foreignColumnName is set.
 	 */
 	private Object createForeignShell(Object val, ObjectCache objectCache) throws SQLException {
 		Object foreignObject = foreignTableInfo.createObject();
-		foreignIdField.assignField(foreignObject, val, false, objectCache);
+		foreignRefField.assignField(foreignObject, val, false, objectCache);
 		return foreignObject;
 	}
 
@@ -1154,6 +1415,7 @@ public class FieldType {
 					+ " which cannot be the ID field");
 		}
 		this.dataTypeConfigObj = dataPersister.makeConfigObject(this);
+		this.primitiveResultClass = findPrimitiveResultClass();
 		String defaultStr = fieldConfig.getDefaultValue();
 		if (defaultStr == null) {
 			this.defaultValue = null;
@@ -1165,6 +1427,39 @@ public class FieldType {
 		}
 	}
 
+	private void checkPrimitiveNull(DatabaseResults results, int dbColumnPos) throws SQLException {
+		if (fieldConfig.isThrowIfNull() && results.wasNull(dbColumnPos)) {
+			throw new SQLException(
+					"Results value for primitive field '" + field.getName() + "' was an invalid null value");
+		}
+	}
+
+	/**
+	 * Return the primitive class if the field can use {@link #assignPrimitiveResult(Object, DatabaseResults, int)}
+	 * otherwise null. We only do this for the stock primitive persisters whose conversion is just a results getXxx().
+	 */
+	private Class<?> findPrimitiveResultClass() {
+		if (fieldConverter != dataPersister || isId || isGeneratedId || generatedIdSequence != null
+				|| fieldConfig.isForeign()) {
+			return null;
+		}
+		if (dataPersister == IntType.getSingleton()) {
+			return int.class;
+		} else if (dataPersister == LongType.getSingleton()) {
+			return long.class;
+		} else if (dataPersister == DoubleType.getSingleton()) {
+			return double.class;
+		} else if (dataPersister == FloatType.getSingleton()) {
+			return float.class;
+		} else if (dataPersister == ShortType.getSingleton()) {
+			return short.class;
+		} else if (dataPersister == ByteType.getSingleton()) {
+			return byte.class;
+		} else {
+			return null;
+		}
+	}
+
 	private static class LevelCounters {
 
 		LevelCounters() {
@@ -68,6 +68,26 @@ public @interface ForeignCollectionField {
 	 */
 	int maxEagerLevel() default DEFAULT_MAX_EAGER_LEVEL;
 
+	/**
+	 * Set this to be true (default false) to have an {@link #eager()} collection loaded in batches when a list of the
+	 * objects holding it is queried. Instead of a separate query for each parent's collection, the parent ids are
+	 * collected while the results are read and the items of all of the collections are then loaded with a few
+	 * WHERE foreign-id IN (...) queries and grouped by parent. The {@link #maxEagerLevel()} still applies.
+	 *
+	 * 将此属性设置为true，查询列表时所有父对象的集合通过批量IN查询一起加载。
+	 */
+	boolean eagerBatch() default false;
+
+	/**
+	 * Set this to be true (default false) to have a lazy collection remember the result of
+	 * {@link LazyForeignCollection#size()} until the DAO of the items reports a change through its
+	 * {@link Dao#notifyChanges()}. Changes made with the raw methods are not seen unless notifyChanges() is called. Has
+	 * no effect on {@link #eager()} collections.
+	 *
+	 * 将此属性设置为true，缓存懒加载集合的数量，直到DAO通知数据变化。
+	 */
+	boolean countCached() default false;
+
 	/**
 	 * The name of the column. This is only used when you want to match the string passed to
 	 * {@link Dao#getEmptyForeignCollection(String)} or when you want to specify it in
@@ -0,0 +1,121 @@
+package com.j256.ormlite.field;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the foreign fields marked with {@link DatabaseField#foreignAutoRefreshBatch()} and the eager foreign
+ * collections marked with {@link ForeignCollectionField#eagerBatch()} while the rows of a query are being mapped so
+ * they can be loaded afterwards with a few IN (...) queries instead of one query per row. Each deferred foreign field
+ * is assigned a shell object with just its id set and each deferred collection is left unset until {@link #refresh()}
+ * is called. Batches nest: a batch started while another is active on the same thread hides it until {@link #end()}
+ * is called.
+ *
+ * <pre>
+ * ForeignRefreshBatch batch = ForeignRefreshBatch.start();
+ * try {
+ * 	// map the rows
+ * 	batch.refresh();
+ * } finally {
+ * 	batch.end();
+ * }
+ * </pre>
+ *
+ * 批量刷新外部对象，避免每行一次查询。
+ */
+public class ForeignRefreshBatch {
+
+	private static final ThreadLocal<ForeignRefreshBatch> threadBatch = new ThreadLocal<ForeignRefreshBatch>();
+
+	private final ForeignRefreshBatch previous;
+	private Map<FieldType, Deferred> deferredMap;
+
+	private ForeignRefreshBatch(ForeignRefreshBatch previous) {
+		this.previous = previous;
+	}
+
+	/**
+	 * Start collecting the batched foreign fields mapped by this thread.
+	 */
+	public static ForeignRefreshBatch start() {
+		ForeignRefreshBatch batch = new ForeignRefreshBatch(threadBatch.get());
+		threadBatch.set(batch);
+		return batch;
+	}
+
+	/**
+	 * Load the foreign objects and collections for all of the fields deferred so far and assign them to their parent
+	 * objects. Foreign objects that are not found in the database are assigned null just like the row by row refresh.
+	 */
+	public void refresh() throws SQLException {
+		while (deferredMap != null) {
+			// the refresh may map more rows into this batch if a foreign class refers back to the parent
+			Map<FieldType, Deferred> working = deferredMap;
+			deferredMap = null;
+			for (Map.Entry<FieldType, Deferred> entry : working.entrySet()) {
+				FieldType fieldType = entry.getKey();
+				Deferred deferred = entry.getValue();
+				if (fieldType.isForeignCollection()) {
+					fieldType.loadForeignCollectionBatch(deferred.parents, deferred.ids, deferred.level,
+							deferred.levelMax);
+				} else {
+					fieldType.refreshForeignBatch(deferred.parents, deferred.ids, deferred.level, deferred.levelMax);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stop collecting and restore any batch that was active when this one was started. Anything not refreshed is left
+	 * as the id-only shell.
+	 */
+	public void end() {
+		if (previous == null) {
+			threadBatch.remove();
+		} else {
+			threadBatch.set(previous);
+		}
+	}
+
+	/**
+	 * Return the batch active for this thread or null if none.
+	 */
+	static ForeignRefreshBatch current() {
+		return threadBatch.get();
+	}
+
+	/**
+	 * Record that the field in the parent object should be refreshed with the foreign object whose id is the value or,
+	 * for a foreign collection, with the items whose foreign field is the parent's id.
+	 */
+	void defer(FieldType fieldType, Object parent, Object id, int level, int levelMax) {
+		if (deferredMap == null) {
+			deferredMap = new LinkedHashMap<FieldType, Deferred>();
+		}
+		Deferred deferred = deferredMap.get(fieldType);
+		if (deferred == null) {
+			deferred = new Deferred(level, levelMax);
+			deferredMap.put(fieldType, deferred);
+		}
+		deferred.parents.add(parent);
+		deferred.ids.add(id);
+	}
+
+	/**
+	 * The fields deferred for one field-type along with the auto-refresh or eager level they would have been loaded at.
+	 */
+	private static class Deferred {
+		final int level;
+		final int levelMax;
+		final List<Object> parents = new ArrayList<Object>();
+		final List<Object> ids = new ArrayList<Object>();
+
+		Deferred(int level, int levelMax) {
+			this.level = level;
+			this.levelMax = levelMax;
+		}
+	}
+}
@@ -1,10 +1,14 @@
 package com.j256.ormlite.misc;
 
+import java.lang.ref.WeakReference;
 import java.sql.SQLException;
 import java.sql.Savepoint;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.logger.LoggerFactory;
@@ -59,6 +63,13 @@ import com.j256.ormlite.support.DatabaseConnection;
  * exist with multiple threads working on the same connection.
  * </p>
  * 
+ * <p>
+ * A transaction can turn on an identity map by calling {@link #enableTransactionObjectCache()} from inside of its
+ * callable. The objects then queried by id or mapped from query results on its thread are kept in the map, see
+ * {@link #getTransactionObjectCache()}, so the same row is only read once. The map is discarded when the outermost
+ * transaction commits or any level rolls back.
+ * </p>
+ * 
  * @author graywatson
  */
 public class TransactionManager {
@@ -69,13 +80,7 @@ public class TransactionManager {
 	private ConnectionSource connectionSource;
 	private static final AtomicInteger savePointCounter = new AtomicInteger();
 	/** used to track our transaction level so we know when we are in the commit-able outer transaction */
-	private static final ThreadLocal<TransactionLevel> transactionLevelThreadLocal =
-			new ThreadLocal<TransactionLevel>() {
-				@Override
-				protected TransactionLevel initialValue() {
-					return new TransactionLevel();
-				}
-			};
+	private static final ThreadLocal<TransactionLevel> transactionLevelThreadLocal = new ThreadLocal<TransactionLevel>();
 
 	/**
 	 * Constructor for Spring type wiring if you are using the set methods.
@@ -212,6 +217,10 @@ public class TransactionManager {
 
 		boolean restoreAutoCommit = false;
 		TransactionLevel levelCount = transactionLevelThreadLocal.get();
+		if (levelCount == null) {
+			levelCount = new TransactionLevel();
+			transactionLevelThreadLocal.set(levelCount);
+		}
 		try {
 			boolean hasSavePoint = false;
 			Savepoint savePoint = null;
@@ -235,11 +244,18 @@ public class TransactionManager {
 			try {
 				levelCount.incrementAndGet();
 				T result = callable.call();
+				int level = levelCount.decrementAndGet();
+				if (level <= 0) {
+					// the identity map must not outlive the outer transaction even if we have no save-point
+					transactionLevelThreadLocal.remove();
+					levelCount.discardObjects();
+				}
+				// the level has ended so a failed commit or release must not decrement it again
+				levelCount = null;
 				if (hasSavePoint) {
 					// only commit if we have reached the end of our transaction stack
-					if (levelCount.decrementAndGet() <= 0) {
+					if (level <= 0) {
 						commit(connection, savePoint);
-						transactionLevelThreadLocal.remove();
 					} else {
 						// otherwise we just release the savepoint
 						release(connection, savePoint);
@@ -247,7 +263,7 @@ public class TransactionManager {
 				}
 				return result;
 			} catch (SQLException e) {
-				levelCount.decrementAndGet();
+				endAfterException(levelCount);
 				if (hasSavePoint) {
 					try {
 						rollBack(connection, savePoint);
@@ -258,7 +274,7 @@ public class TransactionManager {
 				}
 				throw e;
 			} catch (Exception e) {
-				levelCount.decrementAndGet();
+				endAfterException(levelCount);
 				if (hasSavePoint) {
 					try {
 						rollBack(connection, savePoint);
@@ -268,6 +284,17 @@ public class TransactionManager {
 					}
 				}
 				throw SqlExceptionUtil.create("Transaction callable threw non-SQL exception", e);
+			} catch (Error e) {
+				// end the level so the thread is not left inside of the transaction
+				endAfterException(levelCount);
+				if (hasSavePoint) {
+					try {
+						rollBack(connection, savePoint);
+					} catch (SQLException e2) {
+						logger.error(e, "after commit exception, rolling back to save-point also threw exception");
+					}
+				}
+				throw e;
 			}
 		} finally {
 			if (restoreAutoCommit) {
@@ -278,10 +305,62 @@ public class TransactionManager {
 		}
 	}
 
+	/**
+	 * Turn on the identity map for the transaction that this thread is running inside of until the outermost
+	 * transaction ends. It is off by default. Returns false if this thread is not inside of a transaction.
+	 * 
+	 * <p>
+	 * The map only holds weak references so the objects that the callable no longer uses can still be collected in a
+	 * long transaction. Updates and deletes through a {@link com.j256.ormlite.stmt.PreparedUpdate} or
+	 * {@link com.j256.ormlite.stmt.PreparedDelete} forget the objects of their class and raw statements forget all of
+	 * them. Changes made to the database in other ways are not seen by the map.
+	 * </p>
+	 */
+	public static boolean enableTransactionObjectCache() {
+		TransactionLevel levelCount = transactionLevelThreadLocal.get();
+		if (levelCount == null || levelCount.counter <= 0) {
+			return false;
+		}
+		levelCount.objectCacheEnabled = true;
+		return true;
+	}
+
+	/**
+	 * Return the identity map of the transaction that this thread is running inside of or null if none or if it has not
+	 * been turned on with {@link #enableTransactionObjectCache()}. Objects mapped by the DAOs while the transaction runs
+	 * are stored in it by class and id so later queries for the same row get the same instance without going to the
+	 * database. A DAO with its own {@link ObjectCache} uses that instead.
+	 */
+	public static ObjectCache getTransactionObjectCache() {
+		TransactionLevel levelCount = transactionLevelThreadLocal.get();
+		if (levelCount == null || levelCount.counter <= 0 || !levelCount.objectCacheEnabled) {
+			return null;
+		}
+		if (levelCount.objectCache == null) {
+			levelCount.objectCache = new TransactionObjectCache();
+		}
+		return levelCount.objectCache;
+	}
+
 	public void setConnectionSource(ConnectionSource connectionSource) {
 		this.connectionSource = connectionSource;
 	}
 
+	/**
+	 * Called when the callable or the commit throws. The rows that were read may have been rolled back so the identity
+	 * map is thrown away even for a nested transaction. Null if the level was already ended before the commit or
+	 * release.
+	 */
+	private static void endAfterException(TransactionLevel levelCount) {
+		if (levelCount == null) {
+			return;
+		}
+		levelCount.discardObjects();
+		if (levelCount.decrementAndGet() <= 0) {
+			transactionLevelThreadLocal.remove();
+		}
+	}
+
 	private static void commit(DatabaseConnection connection, Savepoint savePoint) throws SQLException {
 		String name = (savePoint == null ? null : savePoint.getSavepointName());
 		connection.commit(savePoint);
@@ -313,10 +392,12 @@ public class TransactionManager {
 	}
 
 	/**
-	 * Mutable int for tracking transaction level.
+	 * Mutable int for tracking transaction level along with the transaction's identity map.
 	 */
 	private static class TransactionLevel {
 		int counter;
+		boolean objectCacheEnabled;
+		TransactionObjectCache objectCache;
 
 		int incrementAndGet() {
 			return ++counter;
@@ -325,5 +406,117 @@ public class TransactionManager {
 		int decrementAndGet() {
 			return --counter;
 		}
+
+		void discardObjects() {
+			if (objectCache != null) {
+				// clear it in case an open iterator still holds a reference
+				objectCache.clearAll();
+				objectCache = null;
+			}
+		}
+	}
+
+	/**
+	 * Identity map for a single transaction. It is only used by the thread that is running the transaction and holds
+	 * weak references so it doesn't keep every row read by a long transaction. Classes do not need to be registered.
+	 */
+	private static class TransactionObjectCache implements ObjectCache {
+
+		private final Map<Class<?>, Map<Object, WeakReference<Object>>> classMaps =
+				new HashMap<Class<?>, Map<Object, WeakReference<Object>>>();
+
+		@Override
+		public <T> void registerClass(Class<T> clazz) {
+			// the maps are created when the first object of the class is stored
+		}
+
+		@Override
+		public <T, ID> T get(Class<T> clazz, ID id) {
+			Map<Object, WeakReference<Object>> objectMap = classMaps.get(clazz);
+			if (objectMap == null) {
+				return null;
+			}
+			WeakReference<Object> ref = objectMap.get(id);
+			if (ref == null) {
+				return null;
+			}
+			Object obj = ref.get();
+			if (obj == null) {
+				// the object has been collected
+				objectMap.remove(id);
+				return null;
+			}
+			@SuppressWarnings("unchecked")
+			T castObj = (T) obj;
+			return castObj;
+		}
+
+		@Override
+		public <T, ID> void put(Class<T> clazz, ID id, T data) {
+			Map<Object, WeakReference<Object>> objectMap = classMaps.get(clazz);
+			if (objectMap == null) {
+				objectMap = new HashMap<Object, WeakReference<Object>>();
+				classMaps.put(clazz, objectMap);
+			}
+			objectMap.put(id, new WeakReference<Object>(data));
+		}
+
+		@Override
+		public <T, ID> void remove(Class<T> clazz, ID id) {
+			Map<Object, WeakReference<Object>> objectMap = classMaps.get(clazz);
+			if (objectMap != null) {
+				objectMap.remove(id);
+			}
+		}
+
+		@Override
+		public <T, ID> T updateId(Class<T> clazz, ID oldId, ID newId) {
+			Map<Object, WeakReference<Object>> objectMap = classMaps.get(clazz);
+			if (objectMap == null) {
+				return null;
+			}
+			WeakReference<Object> ref = objectMap.remove(oldId);
+			Object obj = (ref == null ? null : ref.get());
+			if (obj == null) {
+				return null;
+			}
+			objectMap.put(newId, ref);
+			@SuppressWarnings("unchecked")
+			T castObj = (T) obj;
+			return castObj;
+		}
+
+		@Override
+		public <T> void clear(Class<T> clazz) {
+			classMaps.remove(clazz);
+		}
+
+		@Override
+		public void clearAll() {
+			classMaps.clear();
+		}
+
+		/**
+		 * Returns the number of entries for the class including those whose objects have been collected but not yet
+		 * removed.
+		 */
+		@Override
+		public <T> int size(Class<T> clazz) {
+			Map<Object, WeakReference<Object>> objectMap = classMaps.get(clazz);
+			if (objectMap == null) {
+				return 0;
+			} else {
+				return objectMap.size();
+			}
+		}
+
+		@Override
+		public int sizeAll() {
+			int size = 0;
+			for (Map<Object, WeakReference<Object>> objectMap : classMaps.values()) {
+				size += objectMap.size();
+			}
+			return size;
+		}
 	}
 }
@@ -0,0 +1,143 @@
+package com.j256.ormlite.stmt;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.sql.SQLException;
+
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Maps the columns selected by {@link QueryBuilder#queryColumn(String, Class)} and
+ * {@link QueryBuilder#queryProjection(Class, String...)} without constructing the entity. Each column is converted with
+ * its {@link FieldType} so the values are the same as the entity fields would get except that foreign fields are left
+ * as their id value. The object cache is never consulted.
+ *
+ * 将选择的列直接映射为值或DTO，不创建实体对象。
+ *
+ * @param <P>
+ *            The type of the value or DTO returned for each row.
+ */
+class ProjectionRowMapper<P> implements GenericRowMapper<P> {
+
+	private final Class<P> resultClass;
+	private final FieldType[] fieldTypes;
+	/** null if we are returning the value of a single column */
+	private final Constructor<P> constructor;
+	private final Field[] resultFields;
+
+	private ProjectionRowMapper(Class<P> resultClass, FieldType[] fieldTypes, Constructor<P> constructor,
+			Field[] resultFields) {
+		this.resultClass = resultClass;
+		this.fieldTypes = fieldTypes;
+		this.constructor = constructor;
+		this.resultFields = resultFields;
+	}
+
+	/**
+	 * Return a mapper for a single column whose converted value is returned for every row.
+	 */
+	public static <V> ProjectionRowMapper<V> forColumn(FieldType fieldType, Class<V> valueClass) {
+		return new ProjectionRowMapper<V>(wrapperClass(valueClass), new FieldType[] { fieldType }, null, null);
+	}
+
+	/**
+	 * Return a mapper which assigns each column, in select order, to the field in the DTO class with the same name as
+	 * the entity field or, failing that, the same name as the column.
+	 */
+	public static <D> ProjectionRowMapper<D> forClass(Class<D> dtoClass, FieldType[] fieldTypes) {
+		Constructor<D> constructor;
+		try {
+			constructor = dtoClass.getDeclaredConstructor();
+		} catch (NoSuchMethodException e) {
+			throw new IllegalArgumentException("Projection class " + dtoClass + " must have a no-argument constructor");
+		}
+		constructor.setAccessible(true);
+		Field[] resultFields = new Field[fieldTypes.length];
+		for (int i = 0; i < fieldTypes.length; i++) {
+			Field field = findField(dtoClass, fieldTypes[i].getFieldName());
+			if (field == null) {
+				field = findField(dtoClass, fieldTypes[i].getColumnName());
+			}
+			if (field == null) {
+				throw new IllegalArgumentException("Projection class " + dtoClass + " has no field named '"
+						+ fieldTypes[i].getFieldName() + "' or '" + fieldTypes[i].getColumnName() + "'");
+			}
+			field.setAccessible(true);
+			resultFields[i] = field;
+		}
+		return new ProjectionRowMapper<D>(dtoClass, fieldTypes, constructor, resultFields);
+	}
+
+	@Override
+	public P mapRow(DatabaseResults results) throws SQLException {
+		if (constructor == null) {
+			Object val = fieldTypes[0].resultToJava(results, 0);
+			try {
+				return resultClass.cast(val);
+			} catch (ClassCastException e) {
+				throw SqlExceptionUtil.create("Column '" + fieldTypes[0].getColumnName() + "' value of "
+						+ val.getClass() + " cannot be returned as " + resultClass, e);
+			}
+		}
+		P result;
+		try {
+			result = constructor.newInstance();
+		} catch (Exception e) {
+			throw SqlExceptionUtil.create("Could not construct projection object " + resultClass, e);
+		}
+		for (int i = 0; i < fieldTypes.length; i++) {
+			Object val = fieldTypes[i].resultToJava(results, i);
+			Field field = resultFields[i];
+			if (val == null && field.getType().isPrimitive()) {
+				// leave the primitive with its default value
+				continue;
+			}
+			try {
+				field.set(result, val);
+			} catch (Exception e) {
+				throw SqlExceptionUtil.create("Could not assign column '" + fieldTypes[i].getColumnName()
+						+ "' value to projection field " + field, e);
+			}
+		}
+		return result;
+	}
+
+	private static Field findField(Class<?> clazz, String name) {
+		for (Class<?> working = clazz; working != null && working != Object.class; working =
+				working.getSuperclass()) {
+			try {
+				return working.getDeclaredField(name);
+			} catch (NoSuchFieldException e) {
+				// try the superclass
+			}
+		}
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <V> Class<V> wrapperClass(Class<V> clazz) {
+		if (!clazz.isPrimitive()) {
+			return clazz;
+		} else if (clazz == int.class) {
+			return (Class<V>) Integer.class;
+		} else if (clazz == long.class) {
+			return (Class<V>) Long.class;
+		} else if (clazz == boolean.class) {
+			return (Class<V>) Boolean.class;
+		} else if (clazz == double.class) {
+			return (Class<V>) Double.class;
+		} else if (clazz == float.class) {
+			return (Class<V>) Float.class;
+		} else if (clazz == short.class) {
+			return (Class<V>) Short.class;
+		} else if (clazz == byte.class) {
+			return (Class<V>) Byte.class;
+		} else if (clazz == char.class) {
+			return (Class<V>) Character.class;
+		} else {
+			return clazz;
+		}
+	}
+}
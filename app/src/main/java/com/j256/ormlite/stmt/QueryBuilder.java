@@ -6,11 +6,14 @@ import java.util.Collection;
 import java.util.List;
 
 import com.j256.ormlite.dao.CloseableIterator;
+import com.j256.ormlite.dao.ColumnarResults;
+import com.j256.ormlite.dao.ColumnarResults.ColumnType;
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.GenericRawResults;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.ForeignCollectionField;
+import com.j256.ormlite.field.SqlType;
 import com.j256.ormlite.stmt.query.ColumnNameOrRawSql;
 import com.j256.ormlite.stmt.query.OrderBy;
 import com.j256.ormlite.table.TableInfo;
@@ -394,6 +397,47 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		return dao.iterator(prepare());
 	}
 
+	/**
+	 * Select only the column and return its value from every matching row, converted the same way as the entity
+	 * field would be. Foreign fields return the foreign id instead of the foreign object. No entities are constructed
+	 * and the object cache is not used. It restores the previous select columns before returning. For example:
+	 * 
+	 * <pre>
+	 * List&lt;String&gt; prices =
+	 * 		bookDao.queryBuilder().where().eq("book_name", name).queryColumn("price", String.class);
+	 * </pre>
+	 */
+	public <V> List<V> queryColumn(String columnName, Class<V> valueClass) throws SQLException {
+		FieldType[] fieldTypes = verifyProjectionColumns(new String[] { columnName });
+		return queryMapped(fieldTypes, ProjectionRowMapper.forColumn(fieldTypes[0], valueClass));
+	}
+
+	/**
+	 * Select only the columns and assign their values to new instances of the DTO class instead of the entity. Each
+	 * column goes to the DTO field with the same name as the entity field or, if there is none, the same name as the
+	 * column. The DTO class needs a no-argument constructor. Foreign fields are assigned the foreign id. No entities
+	 * are constructed and the object cache is not used. It restores the previous select columns before returning.
+	 */
+	public <D> List<D> queryProjection(Class<D> dtoClass, String... columnNames) throws SQLException {
+		FieldType[] fieldTypes = verifyProjectionColumns(columnNames);
+		return queryMapped(fieldTypes, ProjectionRowMapper.forClass(dtoClass, fieldTypes));
+	}
+
+	/**
+	 * Select only the columns and read all of the matching rows into a {@link ColumnarResults} with one primitive array
+	 * per column instead of an entity per row. Boolean and integer columns become {@link ColumnType#LONG}, floating
+	 * point columns become {@link ColumnType#DOUBLE}, and everything else is read as a dictionary-encoded
+	 * {@link ColumnType#STRING}. Foreign fields are their id. It restores the previous select columns before returning.
+	 */
+	public ColumnarResults queryColumnar(String... columnNames) throws SQLException {
+		FieldType[] fieldTypes = verifyProjectionColumns(columnNames);
+		ColumnType[] columnTypes = new ColumnType[fieldTypes.length];
+		for (int i = 0; i < fieldTypes.length; i++) {
+			columnTypes[i] = columnTypeFor(fieldTypes[i]);
+		}
+		return dao.queryColumnar(prepareProjection(fieldTypes), columnTypes);
+	}
+
 	/**
 	 * Returns the count of the number of rows in the table. This uses {@link #setCountOf(boolean)} to true and then
 	 * calls {@link Dao#countOf(PreparedQuery)}. It restores the previous count-of value before returning.
@@ -632,6 +676,64 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 				+ joinedQueryBuilder.tableInfo.getDataClass() + " or vice versa");
 	}
 
+	private FieldType[] verifyProjectionColumns(String[] columnNames) {
+		if (columnNames.length == 0) {
+			throw new IllegalArgumentException("No columns specified for the projection");
+		}
+		FieldType[] fieldTypes = new FieldType[columnNames.length];
+		for (int i = 0; i < columnNames.length; i++) {
+			fieldTypes[i] = verifyColumnName(columnNames[i]);
+			if (fieldTypes[i].isForeignCollection()) {
+				throw new IllegalArgumentException(
+						"Foreign collection column '" + columnNames[i] + "' cannot be projected");
+			}
+		}
+		return fieldTypes;
+	}
+
+	private <UO> List<UO> queryMapped(FieldType[] fieldTypes, GenericRowMapper<UO> mapper) throws SQLException {
+		return dao.queryMapped(prepareProjection(fieldTypes), mapper);
+	}
+
+	private PreparedQuery<T> prepareProjection(FieldType[] fieldTypes) throws SQLException {
+		List<ColumnNameOrRawSql> selectListSave = this.selectList;
+		boolean isInnerQuerySave = this.isInnerQuery;
+		try {
+			// the selected columns must be exactly the projection so the id column is not added
+			selectList = null;
+			isInnerQuery = true;
+			for (FieldType fieldType : fieldTypes) {
+				addSelectToList(ColumnNameOrRawSql.withColumnName(fieldType.getColumnName()));
+			}
+			return prepare();
+		} finally {
+			selectList = selectListSave;
+			isInnerQuery = isInnerQuerySave;
+		}
+	}
+
+	private static ColumnType columnTypeFor(FieldType fieldType) {
+		SqlType sqlType = fieldType.getSqlType();
+		switch (sqlType) {
+			case BOOLEAN :
+			case BYTE :
+			case SHORT :
+			case INTEGER :
+			case LONG :
+				return ColumnType.LONG;
+			case FLOAT :
+			case DOUBLE :
+				return ColumnType.DOUBLE;
+			case BYTE_ARRAY :
+			case SERIALIZABLE :
+			case BLOB :
+				throw new IllegalArgumentException("Column '" + fieldType.getColumnName() + "' of type " + sqlType
+						+ " cannot be read into a primitive column");
+			default :
+				return ColumnType.STRING;
+		}
+	}
+
 	private void addSelectColumnToList(String columnName) {
 		verifyColumnName(columnName);
 		addSelectToList(ColumnNameOrRawSql.withColumnName(columnName));
@@ -2,11 +2,18 @@ package com.j256.ormlite.stmt;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.j256.ormlite.dao.BaseDaoImpl;
+import com.j256.ormlite.dao.ColumnarResults;
+import com.j256.ormlite.dao.ColumnarResults.ColumnType;
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DatabaseResultsMapper;
 import com.j256.ormlite.dao.GenericRawResults;
@@ -16,6 +23,7 @@ import com.j256.ormlite.dao.RawRowObjectMapper;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.ForeignRefreshBatch;
 import com.j256.ormlite.field.SqlType;
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.logger.LoggerFactory;
@@ -23,9 +31,11 @@ import com.j256.ormlite.misc.IOUtils;
 import com.j256.ormlite.misc.SqlExceptionUtil;
 import com.j256.ormlite.misc.TransactionManager;
 import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+import com.j256.ormlite.stmt.mapped.BaseMappedQuery;
 import com.j256.ormlite.stmt.mapped.MappedCreate;
 import com.j256.ormlite.stmt.mapped.MappedDelete;
 import com.j256.ormlite.stmt.mapped.MappedDeleteCollection;
+import com.j256.ormlite.stmt.mapped.MappedPreparedStmt;
 import com.j256.ormlite.stmt.mapped.MappedQueryForFieldEq;
 import com.j256.ormlite.stmt.mapped.MappedRefresh;
 import com.j256.ormlite.stmt.mapped.MappedUpdate;
@@ -34,6 +44,7 @@ import com.j256.ormlite.support.CompiledStatement;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.support.DatabaseResults;
+import com.j256.ormlite.table.DirtyTracker;
 import com.j256.ormlite.table.TableInfo;
 
 /**
@@ -51,6 +62,8 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 
 	private static Logger logger = LoggerFactory.getLogger(StatementExecutor.class);
 	private static final FieldType[] noFieldTypes = new FieldType[0];
+	/** limit on the number of different sets of dirty columns that we keep an update statement for */
+	private static final int MAX_DIRTY_UPDATE_CACHE_SIZE = 64;
 
 	private final DatabaseType databaseType;
 	private final TableInfo<T, ID> tableInfo;
@@ -58,14 +71,21 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	private MappedQueryForFieldEq<T, ID> mappedQueryForId;
 	private PreparedQuery<T> preparedQueryForAll;
 	private MappedCreate<T, ID> mappedInsert;
+	private MappedCreate<T, ID> mappedInsertOrIgnore;
+	private MappedCreate<T, ID> mappedUpsert;
+	private boolean mappedUpsertBuilt;
+	private final ConcurrentHashMap<BitSet, MappedUpdate<T, ID>> dirtyUpdateCache =
+			new ConcurrentHashMap<BitSet, MappedUpdate<T, ID>>();
 	private MappedUpdate<T, ID> mappedUpdate;
 	private MappedUpdateId<T, ID> mappedUpdateId;
 	private MappedDelete<T, ID> mappedDelete;
 	private MappedRefresh<T, ID> mappedRefresh;
+	private MappedDeleteCollection<T, ID>[] mappedDeleteCollections;
 	private String countStarQuery;
 	private String ifExistsQuery;
 	private FieldType[] ifExistsFieldTypes;
 	private RawRowMapper<T> rawRowMapper;
+	private long queryTimeoutMillis;
 
 	private final ThreadLocal<Boolean> localIsInBatchMode = new ThreadLocal<Boolean>() {
 		@Override
@@ -103,6 +123,7 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		CompiledStatement compiledStatement = preparedStmt.compile(databaseConnection, StatementType.SELECT);
 		DatabaseResults results = null;
 		try {
+			assignQueryTimeout(compiledStatement);
 			compiledStatement.setMaxRows(1);
 			results = compiledStatement.runQuery(objectCache);
 			if (results.first()) {
@@ -149,6 +170,7 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		CompiledStatement compiledStatement = preparedStmt.compile(databaseConnection, StatementType.SELECT_LONG);
 		DatabaseResults results = null;
 		try {
+			assignQueryTimeout(compiledStatement);
 			results = compiledStatement.runQuery(null);
 			if (results.first()) {
 				return results.getLong(0);
@@ -177,6 +199,7 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 			compiledStatement = databaseConnection.compileStatement(query, StatementType.SELECT, noFieldTypes,
 					DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
 			assignStatementArguments(compiledStatement, arguments);
+			assignQueryTimeout(compiledStatement);
 			results = compiledStatement.runQuery(null);
 			if (results.first()) {
 				return results.getLong(0);
@@ -195,17 +218,52 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	 */
 	public List<T> query(ConnectionSource connectionSource, PreparedStmt<T> preparedStmt, ObjectCache objectCache)
 			throws SQLException {
-		SelectIterator<T, ID> iterator = buildIterator(/* no dao specified because no removes */null, connectionSource,
-				preparedStmt, objectCache, DatabaseConnection.DEFAULT_RESULT_FLAGS);
+		// batched foreign auto-refresh fields are loaded after all of the rows have been read
+		ForeignRefreshBatch foreignRefreshBatch = ForeignRefreshBatch.start();
 		try {
 			List<T> results = new ArrayList<T>();
-			while (iterator.hasNextThrow()) {
-				results.add(iterator.nextThrow());
+			SelectIterator<T, ID> iterator = buildIterator(/* no dao specified because no removes */null,
+					connectionSource, preparedStmt, objectCache, DatabaseConnection.DEFAULT_RESULT_FLAGS);
+			try {
+				while (iterator.hasNextThrow()) {
+					results.add(iterator.nextThrow());
+				}
+			} finally {
+				IOUtils.closeThrowSqlException(iterator, "iterator");
 			}
+			foreignRefreshBatch.refresh();
 			logger.debug("query of '{}' returned {} results", preparedStmt.getStatement(), results.size());
 			return results;
 		} finally {
-			IOUtils.closeThrowSqlException(iterator, "iterator");
+			foreignRefreshBatch.end();
+		}
+	}
+
+	/**
+	 * Return a list of whatever the mapper builds from each row that matches the {@link PreparedStmt}. No entities are
+	 * constructed and the object cache is not used.
+	 */
+	public <UO> List<UO> queryMapped(ConnectionSource connectionSource, PreparedStmt<T> preparedStmt,
+			GenericRowMapper<UO> mapper) throws SQLException {
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
+		CompiledStatement compiledStatement = null;
+		DatabaseResults results = null;
+		try {
+			compiledStatement = preparedStmt.compile(connection, StatementType.SELECT);
+			assignQueryTimeout(compiledStatement);
+			results = compiledStatement.runQuery(null);
+			List<UO> mapped = new ArrayList<UO>();
+			if (results.first()) {
+				do {
+					mapped.add(mapper.mapRow(results));
+				} while (results.next());
+			}
+			logger.debug("mapped query of '{}' returned {} results", preparedStmt.getStatement(), mapped.size());
+			return mapped;
+		} finally {
+			IOUtils.closeThrowSqlException(results, "results");
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+			connectionSource.releaseConnection(connection);
 		}
 	}
 
@@ -241,11 +299,27 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	 */
 	public SelectIterator<T, ID> buildIterator(BaseDaoImpl<T, ID> classDao, ConnectionSource connectionSource,
 			PreparedStmt<T> preparedStmt, ObjectCache objectCache, int resultFlags) throws SQLException {
+		GenericRowMapper<T> rowMapper = preparedStmt;
+		if (resultFlags != DatabaseConnection.DEFAULT_RESULT_FLAGS
+				&& (resultFlags & DatabaseConnection.REUSE_INSTANCE_RESULT_FLAG) != 0) {
+			resultFlags &= ~DatabaseConnection.REUSE_INSTANCE_RESULT_FLAG;
+			if (resultFlags == 0) {
+				resultFlags = DatabaseConnection.DEFAULT_RESULT_FLAGS;
+			}
+			if (preparedStmt instanceof BaseMappedQuery) {
+				@SuppressWarnings("unchecked")
+				BaseMappedQuery<T, ID> mappedQuery = (BaseMappedQuery<T, ID>) preparedStmt;
+				rowMapper = new ReusingRowMapper<T, ID>(tableInfo, mappedQuery);
+				// the single instance must not end up in a cache
+				objectCache = null;
+			}
+		}
 		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
 		CompiledStatement compiledStatement = null;
 		try {
 			compiledStatement = preparedStmt.compile(connection, StatementType.SELECT, resultFlags);
-			SelectIterator<T, ID> iterator = new SelectIterator<T, ID>(tableInfo.getDataClass(), classDao, preparedStmt,
+			assignQueryTimeout(compiledStatement);
+			SelectIterator<T, ID> iterator = new SelectIterator<T, ID>(tableInfo.getDataClass(), classDao, rowMapper,
 					connectionSource, connection, compiledStatement, preparedStmt.getStatement(), objectCache);
 			connection = null;
 			compiledStatement = null;
@@ -274,6 +348,7 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 			compiledStatement = connection.compileStatement(query, StatementType.SELECT, noFieldTypes,
 					DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
 			assignStatementArguments(compiledStatement, arguments);
+			assignQueryTimeout(compiledStatement);
 			GenericRawResults<String[]> rawResults = new RawResultsImpl<String[]>(connectionSource, connection, query,
 					String[].class, compiledStatement, this, objectCache);
 			compiledStatement = null;
@@ -303,6 +378,7 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 			compiledStatement = connection.compileStatement(query, StatementType.SELECT, noFieldTypes,
 					DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
 			assignStatementArguments(compiledStatement, arguments);
+			assignQueryTimeout(compiledStatement);
 			RawResultsImpl<UO> rawResults = new RawResultsImpl<UO>(connectionSource, connection, query, String[].class,
 					compiledStatement, new UserRawRowMapper<UO>(rowMapper, this), objectCache);
 			compiledStatement = null;
@@ -332,6 +408,7 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 			compiledStatement = connection.compileStatement(query, StatementType.SELECT, noFieldTypes,
 					DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
 			assignStatementArguments(compiledStatement, arguments);
+			assignQueryTimeout(compiledStatement);
 			RawResultsImpl<UO> rawResults = new RawResultsImpl<UO>(connectionSource, connection, query, String[].class,
 					compiledStatement, new UserRawRowObjectMapper<UO>(rowMapper, columnTypes), objectCache);
 			compiledStatement = null;
@@ -361,6 +438,7 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 			compiledStatement = connection.compileStatement(query, StatementType.SELECT, noFieldTypes,
 					DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
 			assignStatementArguments(compiledStatement, arguments);
+			assignQueryTimeout(compiledStatement);
 			RawResultsImpl<Object[]> rawResults = new RawResultsImpl<Object[]>(connectionSource, connection, query,
 					Object[].class, compiledStatement, new ObjectArrayRowMapper(columnTypes), objectCache);
 			compiledStatement = null;
@@ -390,6 +468,7 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 			compiledStatement = connection.compileStatement(query, StatementType.SELECT, noFieldTypes,
 					DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
 			assignStatementArguments(compiledStatement, arguments);
+			assignQueryTimeout(compiledStatement);
 			RawResultsImpl<UO> rawResults = new RawResultsImpl<UO>(connectionSource, connection, query, Object[].class,
 					compiledStatement, new UserDatabaseResultsMapper<UO>(mapper), objectCache);
 			compiledStatement = null;
@@ -403,6 +482,59 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		}
 	}
 
+	/**
+	 * Return the results of a raw query read into columns of the specified types.
+	 */
+	public ColumnarResults queryColumnar(ConnectionSource connectionSource, String query, ColumnType[] columnTypes,
+			String[] arguments) throws SQLException {
+		logger.debug("executing columnar raw query for: {}", query);
+		if (arguments.length > 0) {
+			// need to do the (Object) cast to force args to be a single object
+			logger.trace("query arguments: {}", (Object) arguments);
+		}
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
+		CompiledStatement compiledStatement = null;
+		try {
+			compiledStatement = connection.compileStatement(query, StatementType.SELECT, noFieldTypes,
+					DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+			assignStatementArguments(compiledStatement, arguments);
+			return readColumnar(compiledStatement, query, columnTypes);
+		} finally {
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
+	/**
+	 * Return the results of a prepared query read into columns of the specified types.
+	 */
+	public ColumnarResults queryColumnar(ConnectionSource connectionSource, PreparedStmt<T> preparedStmt,
+			ColumnType[] columnTypes) throws SQLException {
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
+		CompiledStatement compiledStatement = null;
+		try {
+			compiledStatement = preparedStmt.compile(connection, StatementType.SELECT);
+			return readColumnar(compiledStatement, preparedStmt.getStatement(), columnTypes);
+		} finally {
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
+	/**
+	 * Return the query timeout in milliseconds that is applied to our SELECT statements or 0 if none.
+	 */
+	public long getQueryTimeout() {
+		return queryTimeoutMillis;
+	}
+
+	/**
+	 * Set the query timeout in milliseconds applied to our SELECT statements. Set to 0 to disable.
+	 */
+	public void setQueryTimeout(long queryTimeoutMillis) {
+		this.queryTimeoutMillis = queryTimeoutMillis;
+	}
+
 	/**
 	 * Return the number of rows affected.
 	 */
@@ -457,6 +589,105 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 			mappedInsert = MappedCreate.build(databaseType, tableInfo);
 		}
 		int result = mappedInsert.insert(databaseType, databaseConnection, data, objectCache);
+		if (result > 0) {
+			snapshotDirtyFields(data);
+		}
+		if (dao != null && !localIsInBatchMode.get()) {
+			dao.notifyChanges();
+		}
+		return result;
+	}
+
+	/**
+	 * Create a collection of objects in the database using multi-row inserts if the database supports them. This
+	 * should be called inside of a transaction.
+	 */
+	public int create(DatabaseConnection databaseConnection, Collection<T> datas, ObjectCache objectCache)
+			throws SQLException {
+		if (mappedInsert == null) {
+			mappedInsert = MappedCreate.build(databaseType, tableInfo);
+		}
+		int result = mappedInsert.insertBatch(databaseType, databaseConnection, datas, objectCache);
+		DirtyTracker<T, ID> dirtyTracker = tableInfo.getDirtyTracker();
+		if (dirtyTracker != null) {
+			for (T data : datas) {
+				dirtyTracker.snapshot(data);
+			}
+		}
+		if (dao != null && !localIsInBatchMode.get()) {
+			dao.notifyChanges();
+		}
+		return result;
+	}
+
+	/**
+	 * Return true if the database supports {@code INSERT OR IGNORE} and the object would be inserted with its own id so
+	 * {@link #createIfNotExists(DatabaseConnection, Object, ObjectCache)} can be used.
+	 */
+	public boolean isInsertOrIgnoreSupported(T data) throws SQLException {
+		if (!databaseType.isInsertOrIgnoreSupported()) {
+			return false;
+		}
+		if (mappedInsert == null) {
+			mappedInsert = MappedCreate.build(databaseType, tableInfo);
+		}
+		return mappedInsert.isIdInserted(data);
+	}
+
+	/**
+	 * Create an object in the database unless the insert would violate a constraint, such as a row with the same id
+	 * already existing, in which case nothing is changed.
+	 * 
+	 * @return The number of rows created which is 0 if the insert was ignored.
+	 */
+	public int createIfNotExists(DatabaseConnection databaseConnection, T data, ObjectCache objectCache)
+			throws SQLException {
+		if (mappedInsertOrIgnore == null) {
+			mappedInsertOrIgnore = MappedCreate.buildInsertOrIgnore(databaseType, tableInfo);
+		}
+		int result = mappedInsertOrIgnore.insert(databaseType, databaseConnection, data, objectCache);
+		if (result > 0) {
+			snapshotDirtyFields(data);
+			if (dao != null && !localIsInBatchMode.get()) {
+				dao.notifyChanges();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return true if the database supports {@code INSERT ... ON CONFLICT DO UPDATE} for this table and the object would
+	 * be inserted with its own id so {@link #upsert(DatabaseConnection, Object, ObjectCache)} can be used.
+	 */
+	public boolean isUpsertSupported(T data) throws SQLException {
+		if (!databaseType.isUpsertSupported()) {
+			return false;
+		}
+		if (!mappedUpsertBuilt) {
+			// null if the table has no columns to update or has a version field
+			mappedUpsert = MappedCreate.buildUpsert(databaseType, tableInfo);
+			mappedUpsertBuilt = true;
+		}
+		return (mappedUpsert != null && mappedUpsert.isIdInserted(data));
+	}
+
+	/**
+	 * Create an object in the database or, if a row with the same id already exists, update all of its columns with a
+	 * single statement.
+	 */
+	public int upsert(DatabaseConnection databaseConnection, T data, ObjectCache objectCache) throws SQLException {
+		if (!mappedUpsertBuilt) {
+			mappedUpsert = MappedCreate.buildUpsert(databaseType, tableInfo);
+			mappedUpsertBuilt = true;
+		}
+		if (mappedUpsert == null) {
+			throw new SQLException("Cannot upsert " + tableInfo.getDataClass()
+					+ " because it has no id, has a version field, or has no columns to update");
+		}
+		int result = mappedUpsert.insert(databaseType, databaseConnection, data, objectCache);
+		if (result > 0) {
+			snapshotDirtyFields(data);
+		}
 		if (dao != null && !localIsInBatchMode.get()) {
 			dao.notifyChanges();
 		}
@@ -464,19 +695,108 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	}
 
 	/**
-	 * Update an object in the database.
+	 * Update an object in the database. If dirty tracking is enabled and we have a snapshot of the object then only
+	 * the changed columns are written and, if nothing has changed, no statement is run and 1 is returned.
 	 */
 	public int update(DatabaseConnection databaseConnection, T data, ObjectCache objectCache) throws SQLException {
-		if (mappedUpdate == null) {
-			mappedUpdate = MappedUpdate.build(databaseType, tableInfo);
+		int result = updateObject(databaseConnection, data, objectCache, true);
+		if (dao != null && !localIsInBatchMode.get()) {
+			dao.notifyChanges();
 		}
-		int result = mappedUpdate.update(databaseConnection, data, objectCache);
+		return result;
+	}
+
+	/**
+	 * Same as {@link #update(DatabaseConnection, Object, ObjectCache)} but the statement is run even if no fields have
+	 * changed since the last snapshot so the result says whether the row exists. Used by create-or-update.
+	 */
+	public int updateExisting(DatabaseConnection databaseConnection, T data, ObjectCache objectCache)
+			throws SQLException {
+		int result = updateObject(databaseConnection, data, objectCache, false);
 		if (dao != null && !localIsInBatchMode.get()) {
 			dao.notifyChanges();
 		}
 		return result;
 	}
 
+	/**
+	 * Update a collection of objects in the database. This should be called inside of a transaction.
+	 */
+	public int update(DatabaseConnection databaseConnection, Collection<T> datas, ObjectCache objectCache)
+			throws SQLException {
+		int result = 0;
+		for (T data : datas) {
+			result += updateObject(databaseConnection, data, objectCache, true);
+		}
+		if (dao != null && !localIsInBatchMode.get()) {
+			dao.notifyChanges();
+		}
+		return result;
+	}
+
+	/**
+	 * Update the columns of the object that are dirty, or all of them if we have no snapshot of it. If skipUnchanged is
+	 * false then all of the columns are written when none have changed instead of skipping the statement.
+	 */
+	private int updateObject(DatabaseConnection databaseConnection, T data, ObjectCache objectCache,
+			boolean skipUnchanged) throws SQLException {
+		if (mappedUpdate == null) {
+			mappedUpdate = MappedUpdate.build(databaseType, tableInfo);
+		}
+		DirtyTracker<T, ID> dirtyTracker = tableInfo.getDirtyTracker();
+		if (dirtyTracker == null) {
+			return mappedUpdate.update(databaseConnection, data, objectCache);
+		}
+		BitSet dirtyFields = dirtyTracker.findDirtyFields(data);
+		MappedUpdate<T, ID> update;
+		if (dirtyFields == null || dirtyTracker.isAllFields(dirtyFields)
+				|| (dirtyFields.isEmpty() && !skipUnchanged)) {
+			update = mappedUpdate;
+		} else if (dirtyFields.isEmpty()) {
+			// nothing has changed since the row was read or written so we assume it still matches
+			logger.debug("update of {} skipped because no fields have changed", data);
+			return 1;
+		} else {
+			update = dirtyUpdateCache.get(dirtyFields);
+			if (update == null) {
+				update = MappedUpdate.build(databaseType, tableInfo, dirtyFields);
+				if (dirtyUpdateCache.size() < MAX_DIRTY_UPDATE_CACHE_SIZE) {
+					dirtyUpdateCache.putIfAbsent(dirtyFields, update);
+				}
+			}
+		}
+		int result = update.update(databaseConnection, data, objectCache);
+		if (result > 0) {
+			dirtyTracker.snapshot(data);
+		}
+		return result;
+	}
+
+	private void snapshotDirtyFields(T data) throws SQLException {
+		DirtyTracker<T, ID> dirtyTracker = tableInfo.getDirtyTracker();
+		if (dirtyTracker != null) {
+			dirtyTracker.snapshot(data);
+		}
+	}
+
+	/**
+	 * Forget the snapshot of the object after its row was deleted or its id changed so a later update does not skip
+	 * the statement, and report a row, because no fields have changed.
+	 */
+	private void forgetDirtyFields(T data) {
+		DirtyTracker<T, ID> dirtyTracker = tableInfo.getDirtyTracker();
+		if (dirtyTracker != null) {
+			dirtyTracker.forget(data);
+		}
+	}
+
+	private void forgetDirtyFieldsById(Collection<ID> ids) throws SQLException {
+		DirtyTracker<T, ID> dirtyTracker = tableInfo.getDirtyTracker();
+		if (dirtyTracker != null) {
+			dirtyTracker.forgetIds(ids);
+		}
+	}
+
 	/**
 	 * Update an object in the database to change its id to the newId parameter.
 	 */
@@ -486,6 +806,9 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 			mappedUpdateId = MappedUpdateId.build(databaseType, tableInfo);
 		}
 		int result = mappedUpdateId.execute(databaseConnection, data, newId, objectCache);
+		if (result > 0) {
+			forgetDirtyFields(data);
+		}
 		if (dao != null && !localIsInBatchMode.get()) {
 			dao.notifyChanges();
 		}
@@ -516,7 +839,46 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		if (mappedRefresh == null) {
 			mappedRefresh = MappedRefresh.build(databaseType, tableInfo);
 		}
-		return mappedRefresh.executeRefresh(databaseConnection, data, objectCache);
+		int result = mappedRefresh.executeRefresh(databaseConnection, data, objectCache);
+		if (result > 0) {
+			snapshotDirtyFields(data);
+		}
+		return result;
+	}
+
+	/**
+	 * Refresh a collection of objects from the database using WHERE id IN (...) queries of up to
+	 * {@link MappedDeleteCollection#getMaxBucketSize(DatabaseType)} ids. The columns of each row are assigned to the
+	 * object with the same id without creating a new one. Returns the number of objects that were found.
+	 */
+	public int refresh(DatabaseConnection databaseConnection, Collection<T> datas, ObjectCache objectCache)
+			throws SQLException {
+		FieldType idField = tableInfo.getIdField();
+		if (idField == null) {
+			throw new SQLException("Cannot refresh " + tableInfo.getDataClass()
+					+ " because it doesn't have an id field defined");
+		}
+		int chunkSize = MappedDeleteCollection.getMaxBucketSize(databaseType);
+		Map<Object, T> dataById = new HashMap<Object, T>();
+		int refreshC = 0;
+		for (T data : datas) {
+			Object id = idField.extractJavaFieldValue(data);
+			if (id == null) {
+				continue;
+			}
+			if (dataById.containsKey(id)) {
+				// the same id twice in the collection, refresh the other instance on its own
+				refreshC += refresh(databaseConnection, data, objectCache);
+				continue;
+			}
+			dataById.put(id, data);
+			if (dataById.size() >= chunkSize) {
+				refreshC += refreshChunk(databaseConnection, idField, dataById);
+				dataById.clear();
+			}
+		}
+		refreshC += refreshChunk(databaseConnection, idField, dataById);
+		return refreshC;
 	}
 
 	/**
@@ -527,6 +889,9 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 			mappedDelete = MappedDelete.build(databaseType, tableInfo);
 		}
 		int result = mappedDelete.delete(databaseConnection, data, objectCache);
+		if (result > 0) {
+			forgetDirtyFields(data);
+		}
 		if (dao != null && !localIsInBatchMode.get()) {
 			dao.notifyChanges();
 		}
@@ -541,6 +906,9 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 			mappedDelete = MappedDelete.build(databaseType, tableInfo);
 		}
 		int result = mappedDelete.deleteById(databaseConnection, id, objectCache);
+		if (result > 0) {
+			forgetDirtyFieldsById(Collections.singletonList(id));
+		}
 		if (dao != null && !localIsInBatchMode.get()) {
 			dao.notifyChanges();
 		}
@@ -548,13 +916,21 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	}
 
 	/**
-	 * Delete a collection of objects from the database.
+	 * Delete a collection of objects from the database in chunks of power-of-two size. This should be called inside of a
+	 * transaction if there may be more than {@link MappedDeleteCollection#getMaxBucketSize(DatabaseType)} of them.
 	 */
 	public int deleteObjects(DatabaseConnection databaseConnection, Collection<T> datas, ObjectCache objectCache)
 			throws SQLException {
-		// have to build this on the fly because the collection has variable number of args
-		int result =
-				MappedDeleteCollection.deleteObjects(databaseType, tableInfo, databaseConnection, datas, objectCache);
+		if (mappedDeleteCollections == null) {
+			mappedDeleteCollections = MappedDeleteCollection.newBuckets();
+		}
+		int result = MappedDeleteCollection.deleteObjects(databaseType, tableInfo, databaseConnection, datas,
+				mappedDeleteCollections, objectCache);
+		if (result > 0) {
+			for (T data : datas) {
+				forgetDirtyFields(data);
+			}
+		}
 		if (dao != null && !localIsInBatchMode.get()) {
 			dao.notifyChanges();
 		}
@@ -562,12 +938,19 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	}
 
 	/**
-	 * Delete a collection of objects from the database.
+	 * Delete a collection of ids from the database in chunks of power-of-two size. This should be called inside of a
+	 * transaction if there may be more than {@link MappedDeleteCollection#getMaxBucketSize(DatabaseType)} of them.
 	 */
 	public int deleteIds(DatabaseConnection databaseConnection, Collection<ID> ids, ObjectCache objectCache)
 			throws SQLException {
-		// have to build this on the fly because the collection has variable number of args
-		int result = MappedDeleteCollection.deleteIds(databaseType, tableInfo, databaseConnection, ids, objectCache);
+		if (mappedDeleteCollections == null) {
+			mappedDeleteCollections = MappedDeleteCollection.newBuckets();
+		}
+		int result = MappedDeleteCollection.deleteIds(databaseType, tableInfo, databaseConnection, ids,
+				mappedDeleteCollections, objectCache);
+		if (result > 0) {
+			forgetDirtyFieldsById(ids);
+		}
 		if (dao != null && !localIsInBatchMode.get()) {
 			dao.notifyChanges();
 		}
@@ -603,6 +986,47 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		}
 	}
 
+	private int refreshChunk(DatabaseConnection databaseConnection, FieldType idField, Map<Object, T> dataById)
+			throws SQLException {
+		if (dataById.isEmpty()) {
+			return 0;
+		}
+		QueryBuilder<T, ID> qb = new QueryBuilder<T, ID>(databaseType, tableInfo, dao);
+		qb.where().in(idField.getColumnName(), dataById.keySet());
+		@SuppressWarnings("unchecked")
+		MappedPreparedStmt<T, ID> mappedQuery = (MappedPreparedStmt<T, ID>) qb.prepare();
+		CompiledStatement compiledStatement = mappedQuery.compile(databaseConnection, StatementType.SELECT);
+		DatabaseResults results = null;
+		try {
+			assignQueryTimeout(compiledStatement);
+			// no object cache since we must read the rows from the database
+			results = compiledStatement.runQuery(null);
+			int refreshC = 0;
+			if (results.first()) {
+				int idColumn = results.findColumn(idField.getColumnName());
+				do {
+					T data = dataById.get(idField.resultToJava(results, idColumn));
+					if (data != null) {
+						mappedQuery.mapRowInto(results, data);
+						refreshC++;
+					}
+				} while (results.next());
+			}
+			logger.debug("refresh of {} objects in '{}' found {} rows", dataById.size(), tableInfo.getTableName(),
+					refreshC);
+			return refreshC;
+		} finally {
+			IOUtils.closeThrowSqlException(results, "results");
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+		}
+	}
+
+	private void assignQueryTimeout(CompiledStatement compiledStatement) throws SQLException {
+		if (queryTimeoutMillis > 0) {
+			compiledStatement.setQueryTimeout(queryTimeoutMillis);
+		}
+	}
+
 	private <CT> CT doCallBatchTasks(ConnectionSource connectionSource, Callable<CT> callable) throws SQLException {
 		boolean saved = false;
 		DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
@@ -695,6 +1119,20 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		return (count != 0);
 	}
 
+	private ColumnarResults readColumnar(CompiledStatement compiledStatement, String query, ColumnType[] columnTypes)
+			throws SQLException {
+		assignQueryTimeout(compiledStatement);
+		DatabaseResults results = null;
+		try {
+			results = compiledStatement.runQuery(null);
+			ColumnarResults columnarResults = ColumnarResults.read(results, columnTypes);
+			logger.debug("columnar query of '{}' returned {} results", query, columnarResults.getRowCount());
+			return columnarResults;
+		} finally {
+			IOUtils.closeThrowSqlException(results, "results");
+		}
+	}
+
 	private void assignStatementArguments(CompiledStatement compiledStatement, String[] arguments) throws SQLException {
 		for (int i = 0; i < arguments.length; i++) {
 			compiledStatement.setObject(i, arguments[i], SqlType.STRING);
@@ -817,4 +1255,27 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 			return mapper.mapRow(results);
 		}
 	}
+
+	/**
+	 * Mapper which assigns every row to the same instance for {@link DatabaseConnection#REUSE_INSTANCE_RESULT_FLAG}.
+	 */
+	private static class ReusingRowMapper<T, ID> implements GenericRowMapper<T> {
+
+		private final TableInfo<T, ID> tableInfo;
+		private final BaseMappedQuery<T, ID> mappedQuery;
+		private T instance;
+
+		private ReusingRowMapper(TableInfo<T, ID> tableInfo, BaseMappedQuery<T, ID> mappedQuery) {
+			this.tableInfo = tableInfo;
+			this.mappedQuery = mappedQuery;
+		}
+
+		@Override
+		public T mapRow(DatabaseResults results) throws SQLException {
+			if (instance == null) {
+				instance = tableInfo.createObject();
+			}
+			return mappedQuery.mapRowInto(results, instance);
+		}
+	}
 }
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.j256.ormlite.dao.CloseableIterator;
+import com.j256.ormlite.dao.ColumnarResults;
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.GenericRawResults;
 import com.j256.ormlite.db.DatabaseType;
@@ -501,6 +502,27 @@ public class Where<T, ID> {
 		return checkQueryBuilderMethod("queryRawFirst()").queryRawFirst();
 	}
 
+	/**
+	 * A short-cut for calling {@link QueryBuilder#queryColumn(String, Class)}.
+	 */
+	public <V> List<V> queryColumn(String columnName, Class<V> valueClass) throws SQLException {
+		return checkQueryBuilderMethod("queryColumn()").queryColumn(columnName, valueClass);
+	}
+
+	/**
+	 * A short-cut for calling {@link QueryBuilder#queryProjection(Class, String...)}.
+	 */
+	public <D> List<D> queryProjection(Class<D> dtoClass, String... columnNames) throws SQLException {
+		return checkQueryBuilderMethod("queryProjection()").queryProjection(dtoClass, columnNames);
+	}
+
+	/**
+	 * A short-cut for calling {@link QueryBuilder#queryColumnar(String...)}.
+	 */
+	public ColumnarResults queryColumnar(String... columnNames) throws SQLException {
+		return checkQueryBuilderMethod("queryColumnar()").queryColumnar(columnNames);
+	}
+
 	/**
 	 * A short-cut for calling {@link QueryBuilder#countOf()}.
 	 */
@@ -1,14 +1,16 @@
 package com.j256.ormlite.stmt.mapped;
 
 import java.sql.SQLException;
-import java.util.HashMap;
 import java.util.Map;
 
 import com.j256.ormlite.dao.BaseForeignCollection;
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.misc.TransactionManager;
 import com.j256.ormlite.stmt.GenericRowMapper;
+import com.j256.ormlite.stmt.SelectIterator;
 import com.j256.ormlite.support.DatabaseResults;
+import com.j256.ormlite.table.DirtyTracker;
 import com.j256.ormlite.table.TableInfo;
 
 /**
@@ -19,29 +21,48 @@ import com.j256.ormlite.table.TableInfo;
 public abstract class BaseMappedQuery<T, ID> extends BaseMappedStatement<T, ID> implements GenericRowMapper<T> {
 
 	protected final FieldType[] resultsFieldTypes;
-	// cache of column names to results position
-	private Map<String, Integer> columnPositions = null;
+	private final boolean foreignCollections;
+	// results position of each of the resultsFieldTypes, resolved on the first row we map
+	private int[] columnPositions = null;
+	private int idColumnPosition = -1;
 	private Object parent = null;
 	private Object parentId = null;
+	private Map<Object, Object> parentsById = null;
 
 	protected BaseMappedQuery(TableInfo<T, ID> tableInfo, String statement, FieldType[] argFieldTypes,
 			FieldType[] resultsFieldTypes) {
 		super(tableInfo, statement, argFieldTypes);
 		this.resultsFieldTypes = resultsFieldTypes;
+		boolean foreignCollections = false;
+		// null for count-of queries which do not map rows
+		if (resultsFieldTypes != null) {
+			for (FieldType fieldType : resultsFieldTypes) {
+				if (fieldType.isForeignCollection()) {
+					foreignCollections = true;
+				}
+			}
+		}
+		this.foreignCollections = foreignCollections;
 	}
 
 	@Override
 	public T mapRow(DatabaseResults results) throws SQLException {
-		Map<String, Integer> colPosMap;
-		if (columnPositions == null) {
-			colPosMap = new HashMap<String, Integer>();
-		} else {
-			colPosMap = columnPositions;
+		int[] colPositions = columnPositions;
+		if (colPositions == null) {
+			colPositions = resolveColumnPositions(results);
+			columnPositions = colPositions;
 		}
 
 		ObjectCache objectCache = results.getObjectCacheForRetrieve();
+		if (objectCache == null) {
+			// inside of a transaction we return the instance already mapped for the id, if any
+			objectCache = getTransactionObjectCache();
+		}
 		if (objectCache != null) {
-			Object id = idField.resultToJava(results, colPosMap);
+			if (idColumnPosition < 0) {
+				idColumnPosition = results.findColumn(idField.getColumnName());
+			}
+			Object id = idField.resultToJava(results, idColumnPosition);
 			T cachedInstance = objectCache.get(clazz, id);
 			if (cachedInstance != null) {
 				// if we have a cached instance for this id then return it
@@ -52,22 +73,82 @@ public abstract class BaseMappedQuery<T, ID> extends BaseMappedStatement<T, ID>
 		// create our instance
 		T instance = tableInfo.createObject();
 		// populate its fields
+		Object id = assignFields(results, colPositions, instance, objectCache);
+		if (foreignCollections) {
+			// go back and initialize any foreign collections
+			for (FieldType fieldType : resultsFieldTypes) {
+				if (fieldType.isForeignCollection()) {
+					BaseForeignCollection<?, ?> collection = fieldType.buildForeignCollection(instance, id);
+					if (collection != null) {
+						fieldType.assignField(instance, collection, false, objectCache);
+					}
+				}
+			}
+		}
+		DirtyTracker<T, ID> dirtyTracker = tableInfo.getDirtyTracker();
+		if (dirtyTracker != null) {
+			dirtyTracker.snapshot(instance);
+		}
+		// if we have a cache and we have an id then add it to the cache
+		ObjectCache storeCache = results.getObjectCacheForStore();
+		if (storeCache == null) {
+			storeCache = getTransactionObjectCache();
+		}
+		if (storeCache != null && id != null) {
+			storeCache.put(clazz, id, instance);
+		}
+		return instance;
+	}
+
+	/**
+	 * Same as {@link #mapRow(DatabaseResults)} but assigns the columns of the current row to the fields of an existing
+	 * instance instead of creating a new one. The object cache is not consulted or updated and the foreign collection
+	 * fields are not touched. Used by {@link SelectIterator} when the caller asks for the instance to be reused.
+	 */
+	public T mapRowInto(DatabaseResults results, T instance) throws SQLException {
+		int[] colPositions = columnPositions;
+		if (colPositions == null) {
+			colPositions = resolveColumnPositions(results);
+			columnPositions = colPositions;
+		}
+		assignFields(results, colPositions, instance, null);
+		DirtyTracker<T, ID> dirtyTracker = tableInfo.getDirtyTracker();
+		if (dirtyTracker != null) {
+			dirtyTracker.snapshot(instance);
+		}
+		return instance;
+	}
+
+	/**
+	 * Assign the columns of the current row to the fields of the instance, skipping foreign collections, and return
+	 * the id value or null if none.
+	 */
+	private Object assignFields(DatabaseResults results, int[] colPositions, T instance, ObjectCache objectCache)
+			throws SQLException {
 		Object id = null;
-		boolean foreignCollections = false;
-		for (FieldType fieldType : resultsFieldTypes) {
+		for (int i = 0; i < resultsFieldTypes.length; i++) {
+			FieldType fieldType = resultsFieldTypes[i];
 			if (fieldType.isForeignCollection()) {
-				foreignCollections = true;
+				// built by mapRow once the id is known
+				continue;
+			} else if (fieldType.isPrimitiveResult()) {
+				// int, long, etc. go straight from the results into the field without boxing
+				fieldType.assignPrimitiveResult(instance, results, colPositions[i]);
 			} else {
-				Object val = fieldType.resultToJava(results, colPosMap);
+				Object val = fieldType.resultToJava(results, colPositions[i]);
 				/*
 				 * This is pretty subtle. We introduced multiple foreign fields to the same type which use the {@link
 				 * ForeignCollectionField} foreignColumnName field. The bug that was created was that all the fields
 				 * were then set with the parent class. Only the fields that have a matching id value should be set to
 				 * the parent. We had to add the val.equals logic.
 				 */
+				Object rowParent;
 				if (val != null && parent != null && fieldType.getField().getType() == parent.getClass()
 						&& val.equals(parentId)) {
 					fieldType.assignField(instance, parent, true, objectCache);
+				} else if (val != null && parentsById != null && (rowParent = parentsById.get(val)) != null
+						&& fieldType.getField().getType() == rowParent.getClass()) {
+					fieldType.assignField(instance, rowParent, true, objectCache);
 				} else {
 					fieldType.assignField(instance, val, false, objectCache);
 				}
@@ -76,26 +157,39 @@ public abstract class BaseMappedQuery<T, ID> extends BaseMappedStatement<T, ID>
 				}
 			}
 		}
-		if (foreignCollections) {
-			// go back and initialize any foreign collections
-			for (FieldType fieldType : resultsFieldTypes) {
-				if (fieldType.isForeignCollection()) {
-					BaseForeignCollection<?, ?> collection = fieldType.buildForeignCollection(instance, id);
-					if (collection != null) {
-						fieldType.assignField(instance, collection, false, objectCache);
-					}
+		return id;
+	}
+
+	/**
+	 * Return the identity map of the transaction running in this thread or null if there is none. Queries that must
+	 * always read from the database override this to return null.
+	 */
+	protected ObjectCache getTransactionObjectCache() {
+		if (idField == null) {
+			return null;
+		} else {
+			return TransactionManager.getTransactionObjectCache();
+		}
+	}
+
+	/**
+	 * Look up the results position of each of our result fields once so the per-row loop can index into them directly.
+	 * Foreign collections have no column and get -1.
+	 */
+	private int[] resolveColumnPositions(DatabaseResults results) throws SQLException {
+		int[] positions = new int[resultsFieldTypes.length];
+		for (int i = 0; i < resultsFieldTypes.length; i++) {
+			FieldType fieldType = resultsFieldTypes[i];
+			if (fieldType.isForeignCollection()) {
+				positions[i] = -1;
+			} else {
+				positions[i] = results.findColumn(fieldType.getColumnName());
+				if (fieldType == idField) {
+					idColumnPosition = positions[i];
 				}
 			}
 		}
-		// if we have a cache and we have an id then add it to the cache
-		objectCache = results.getObjectCacheForStore();
-		if (objectCache != null && id != null) {
-			objectCache.put(clazz, id, instance);
-		}
-		if (columnPositions == null) {
-			columnPositions = colPosMap;
-		}
-		return instance;
+		return positions;
 	}
 
 	/**
@@ -105,4 +199,12 @@ public abstract class BaseMappedQuery<T, ID> extends BaseMappedStatement<T, ID>
 		this.parent = parent;
 		this.parentId = parentId;
 	}
+
+	/**
+	 * Same as {@link #setParentInformation(Object, Object)} but for a query of the foreign collections of a number of
+	 * parents at once.
+	 */
+	public void setParentInformation(Map<Object, Object> parentsById) {
+		this.parentsById = parentsById;
+	}
 }
@@ -1,6 +1,9 @@
 package com.j256.ormlite.stmt.mapped;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.db.DatabaseType;
@@ -18,9 +21,14 @@ import com.j256.ormlite.table.TableInfo;
  */
 public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 
+	/** older sqlite versions limit a multi-row VALUES to 500 rows (SQLITE_MAX_COMPOUND_SELECT) */
+	private static final int MAX_ROWS_PER_INSERT = 500;
+
 	private final String queryNextSequenceStmt;
 	private String dataClassName;
 	private int versionFieldTypeIndex;
+	// multi-row statement for a full chunk which is the size we use the most
+	private volatile MultiRowStatement fullMultiRowStatement;
 
 	private MappedCreate(TableInfo<T, ID> tableInfo, String statement, FieldType[] argFieldTypes,
 			String queryNextSequenceStmt, int versionFieldTypeIndex) {
@@ -63,18 +71,7 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 
 		try {
 			// implement {@link DatabaseField#foreignAutoCreate()}, need to do this _before_ getFieldObjects() below
-			if (tableInfo.isForeignAutoCreate()) {
-				for (FieldType fieldType : tableInfo.getFieldTypes()) {
-					if (!fieldType.isForeignAutoCreate()) {
-						continue;
-					}
-					// get the field value
-					Object foreignObj = fieldType.extractRawJavaFieldValue(data);
-					if (foreignObj != null && fieldType.getForeignIdField().isObjectsFieldValueDefault(foreignObj)) {
-						fieldType.createWithForeignDao(foreignObj);
-					}
-				}
-			}
+			createForeignObjects(data);
 
 			Object[] args = getFieldObjects(data);
 			Object versionDefaultValue = null;
@@ -139,9 +136,117 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 		}
 	}
 
+	/**
+	 * Create a number of objects in the database. If the database supports it then the rows are packed into
+	 * multi-row {@code INSERT ... VALUES (...),(...)} statements which stay under the bound argument limit. Generated
+	 * ids are assigned back to the objects from the range of rowids ending with the returned key. Objects that need
+	 * their own statement, such as those with an explicit value in a generated-id field, are inserted one at a time.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> This should be called inside of a transaction so the rowids of each statement are consecutive.
+	 * </p>
+	 * 
+	 * 使用多行INSERT语句批量创建对象。
+	 */
+	public int insertBatch(DatabaseType databaseType, DatabaseConnection databaseConnection, Collection<T> datas,
+			ObjectCache objectCache) throws SQLException {
+		int rowC = 0;
+		if (!databaseType.isMultiRowInsertSupported() || argFieldTypes.length == 0) {
+			for (T data : datas) {
+				rowC += insert(databaseType, databaseConnection, data, objectCache);
+			}
+			return rowC;
+		}
+		int maxRows = Math.min(MAX_ROWS_PER_INSERT, databaseType.getMaxBoundArguments() / argFieldTypes.length);
+		List<T> chunk = new ArrayList<T>(Math.min(maxRows, datas.size()));
+		for (T data : datas) {
+			if (isMultiRowInsertable(databaseType, data)) {
+				chunk.add(data);
+				if (chunk.size() >= maxRows) {
+					rowC += insertChunk(databaseType, databaseConnection, chunk, maxRows, objectCache);
+					chunk.clear();
+				}
+			} else {
+				// keep the objects in order
+				rowC += insertChunk(databaseType, databaseConnection, chunk, maxRows, objectCache);
+				chunk.clear();
+				rowC += insert(databaseType, databaseConnection, data, objectCache);
+			}
+		}
+		rowC += insertChunk(databaseType, databaseConnection, chunk, maxRows, objectCache);
+		return rowC;
+	}
+
+	/**
+	 * Return true if the insert will use the id value from the object instead of one generated for it so the row can
+	 * conflict with an existing row with the same id.
+	 */
+	public boolean isIdInserted(T data) throws SQLException {
+		if (idField == null) {
+			return false;
+		} else if (idField.isGeneratedId()) {
+			return idField.isAllowGeneratedIdInsert() && !idField.isObjectsFieldValueDefault(data);
+		} else {
+			return idField.extractJavaFieldValue(data) != null;
+		}
+	}
+
 	public static <T, ID> MappedCreate<T, ID> build(DatabaseType databaseType, TableInfo<T, ID> tableInfo) {
+		return build(databaseType, tableInfo, "INSERT INTO ", null);
+	}
+
+	/**
+	 * Build an {@code INSERT OR IGNORE} statement which inserts nothing, and returns 0 rows changed, if the row would
+	 * violate a constraint such as the id already existing. The database type must support
+	 * {@link DatabaseType#isInsertOrIgnoreSupported()}.
+	 */
+	public static <T, ID> MappedCreate<T, ID> buildInsertOrIgnore(DatabaseType databaseType,
+			TableInfo<T, ID> tableInfo) {
+		return build(databaseType, tableInfo, "INSERT OR IGNORE INTO ", null);
+	}
+
+	/**
+	 * Build an {@code INSERT ... ON CONFLICT (id) DO UPDATE} statement which updates all of the other columns of the row
+	 * if one with the same id already exists. The database type must support {@link DatabaseType#isUpsertSupported()}.
+	 * 
+	 * @return null if the table has no id, has a version field which the update would need to check, or has no other
+	 *         columns that could be updated.
+	 */
+	public static <T, ID> MappedCreate<T, ID> buildUpsert(DatabaseType databaseType, TableInfo<T, ID> tableInfo) {
+		FieldType idField = tableInfo.getIdField();
+		if (idField == null) {
+			return null;
+		}
 		StringBuilder sb = new StringBuilder(128);
-		appendTableName(databaseType, sb, "INSERT INTO ", tableInfo.getTableName());
+		sb.append("ON CONFLICT (");
+		databaseType.appendEscapedEntityName(sb, idField.getColumnName());
+		sb.append(") DO UPDATE SET ");
+		boolean first = true;
+		for (FieldType fieldType : tableInfo.getFieldTypes()) {
+			if (fieldType.isVersion()) {
+				return null;
+			} else if (fieldType == idField || !isFieldCreatable(databaseType, fieldType)) {
+				continue;
+			}
+			if (first) {
+				first = false;
+			} else {
+				sb.append(',');
+			}
+			appendFieldColumnName(databaseType, sb, fieldType, null);
+			sb.append("= excluded.");
+			databaseType.appendEscapedEntityName(sb, fieldType.getColumnName());
+		}
+		if (first) {
+			return null;
+		}
+		return build(databaseType, tableInfo, "INSERT INTO ", sb.toString());
+	}
+
+	private static <T, ID> MappedCreate<T, ID> build(DatabaseType databaseType, TableInfo<T, ID> tableInfo,
+			String insertPrefix, String conflictClause) {
+		StringBuilder sb = new StringBuilder(128);
+		appendTableName(databaseType, sb, insertPrefix, tableInfo.getTableName());
 		int argFieldC = 0;
 		int versionFieldTypeIndex = -1;
 		// first we count up how many arguments we are going to have
@@ -187,11 +292,134 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 			}
 			sb.append(')');
 		}
+		if (conflictClause != null) {
+			sb.append(' ').append(conflictClause);
+		}
 		FieldType idField = tableInfo.getIdField();
 		String queryNext = buildQueryNextSequence(databaseType, idField);
 		return new MappedCreate<T, ID>(tableInfo, sb.toString(), argFieldTypes, queryNext, versionFieldTypeIndex);
 	}
 
+	private int insertChunk(DatabaseType databaseType, DatabaseConnection databaseConnection, List<T> datas,
+			int maxRows, ObjectCache objectCache) throws SQLException {
+		int rowN = datas.size();
+		if (rowN == 0) {
+			return 0;
+		} else if (rowN == 1) {
+			return insert(databaseType, databaseConnection, datas.get(0), objectCache);
+		}
+
+		boolean keysFromDatabase = (idField != null && idField.isGeneratedId() && !idField.isSelfGeneratedId());
+		int argN = argFieldTypes.length;
+		Object[] args = new Object[rowN * argN];
+		Object[] versionDefaultValues = null;
+		try {
+			for (int rowC = 0; rowC < rowN; rowC++) {
+				T data = datas.get(rowC);
+				if (idField != null && idField.isSelfGeneratedId() && idField.isGeneratedId()
+						&& !(idField.isAllowGeneratedIdInsert() && !idField.isObjectsFieldValueDefault(data))) {
+					idField.assignField(data, idField.generateId(), false, objectCache);
+				}
+				createForeignObjects(data);
+				Object[] rowArgs = getFieldObjects(data);
+				if (versionFieldTypeIndex >= 0 && rowArgs[versionFieldTypeIndex] == null) {
+					FieldType versionFieldType = argFieldTypes[versionFieldTypeIndex];
+					if (versionDefaultValues == null) {
+						versionDefaultValues = new Object[rowN];
+					}
+					versionDefaultValues[rowC] = versionFieldType.moveToNextValue(null);
+					rowArgs[versionFieldTypeIndex] =
+							versionFieldType.convertJavaFieldToSqlArgValue(versionDefaultValues[rowC]);
+				}
+				System.arraycopy(rowArgs, 0, args, rowC * argN, argN);
+			}
+		} catch (SQLException e) {
+			throw SqlExceptionUtil.create("Unable to build multi-row insert of " + rowN + " objects: " + statement, e);
+		}
+
+		MultiRowStatement multiRowStatement = fullMultiRowStatement;
+		if (multiRowStatement == null || multiRowStatement.rowN != rowN) {
+			multiRowStatement = new MultiRowStatement(rowN);
+			if (rowN == maxRows) {
+				fullMultiRowStatement = multiRowStatement;
+			}
+		}
+		KeyHolder keyHolder = null;
+		if (keysFromDatabase) {
+			keyHolder = new KeyHolder();
+		}
+		try {
+			databaseConnection.insert(multiRowStatement.statement, args, multiRowStatement.argFieldTypes, keyHolder);
+		} catch (SQLException e) {
+			// NOTE: don't log full exception here
+			logger.debug("multi-row insert of {} rows with statement '{}' threw exception: {}", rowN, statement, e);
+			throw SqlExceptionUtil.create("Unable to run multi-row insert of " + rowN + " objects: " + statement, e);
+		}
+		logger.debug("multi-row insert of {} rows with statement '{}' and {} args", rowN, statement, args.length);
+
+		long firstKey = 0;
+		if (keyHolder != null) {
+			Number key = keyHolder.getKey();
+			if (key == null || key.longValue() == 0L) {
+				throw new SQLException(
+						"generated-id key was not set by the multi-row insert, maybe a schema mismatch between entity and database table?");
+			}
+			// the rows of a single insert get consecutive rowids ending with the last one
+			firstKey = key.longValue() - rowN + 1;
+		}
+		for (int rowC = 0; rowC < rowN; rowC++) {
+			T data = datas.get(rowC);
+			if (versionDefaultValues != null && versionDefaultValues[rowC] != null) {
+				argFieldTypes[versionFieldTypeIndex].assignField(data, versionDefaultValues[rowC], false, null);
+			}
+			if (keyHolder != null) {
+				assignIdValue(data, firstKey + rowC, "multi-row keyholder", objectCache);
+			}
+			if (objectCache != null && foreignCollectionsAreAssigned(tableInfo.getForeignCollections(), data)) {
+				Object id = idField.extractJavaFieldValue(data);
+				objectCache.put(clazz, id, data);
+			}
+		}
+		return rowN;
+	}
+
+	/**
+	 * Return true if the object can be inserted as part of a multi-row insert.
+	 */
+	private boolean isMultiRowInsertable(DatabaseType databaseType, T data) throws SQLException {
+		if (idField == null) {
+			return true;
+		} else if (idField.isGeneratedIdSequence() && databaseType.isSelectSequenceBeforeInsert()) {
+			// we need to query the sequence for each object
+			return false;
+		} else if (idField.isGeneratedId() && !idField.isSelfGeneratedId() && idField.isAllowGeneratedIdInsert()
+				&& !idField.isObjectsFieldValueDefault(data)) {
+			// an explicit id would break the consecutive range of generated ids
+			return false;
+		} else {
+			return true;
+		}
+	}
+
+	/**
+	 * Implement the foreignAutoCreate setting by creating any foreign objects that have no id yet.
+	 */
+	private void createForeignObjects(T data) throws SQLException {
+		if (!tableInfo.isForeignAutoCreate()) {
+			return;
+		}
+		for (FieldType fieldType : tableInfo.getFieldTypes()) {
+			if (!fieldType.isForeignAutoCreate()) {
+				continue;
+			}
+			// get the field value
+			Object foreignObj = fieldType.extractRawJavaFieldValue(data);
+			if (foreignObj != null && fieldType.getForeignIdField().isObjectsFieldValueDefault(foreignObj)) {
+				fieldType.createWithForeignDao(foreignObj);
+			}
+		}
+	}
+
 	private boolean foreignCollectionsAreAssigned(FieldType[] foreignCollections, Object data) throws SQLException {
 		for (FieldType fieldType : foreignCollections) {
 			if (fieldType.extractJavaFieldValue(data) == null) {
@@ -256,6 +484,33 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 		}
 	}
 
+	/**
+	 * Our insert statement with enough rows of arguments for a multi-row insert.
+	 */
+	private class MultiRowStatement {
+		final int rowN;
+		final String statement;
+		final FieldType[] argFieldTypes;
+
+		public MultiRowStatement(int rowN) {
+			FieldType[] rowFieldTypes = MappedCreate.this.argFieldTypes;
+			String singleStatement = MappedCreate.this.statement;
+			// our statement ends with "VALUES (?,?,...)" so we just add the other rows
+			String rowPlaceholders = singleStatement.substring(singleStatement.lastIndexOf('('));
+			StringBuilder sb = new StringBuilder(singleStatement.length() + (rowN - 1) * (rowPlaceholders.length() + 1));
+			sb.append(singleStatement);
+			FieldType[] fieldTypes = new FieldType[rowN * rowFieldTypes.length];
+			System.arraycopy(rowFieldTypes, 0, fieldTypes, 0, rowFieldTypes.length);
+			for (int rowC = 1; rowC < rowN; rowC++) {
+				sb.append(',').append(rowPlaceholders);
+				System.arraycopy(rowFieldTypes, 0, fieldTypes, rowC * rowFieldTypes.length, rowFieldTypes.length);
+			}
+			this.rowN = rowN;
+			this.statement = sb.toString();
+			this.argFieldTypes = fieldTypes;
+		}
+	}
+
 	private static class KeyHolder implements GeneratedKeyHolder {
 		Number key;
 
@@ -11,62 +11,112 @@ import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.table.TableInfo;
 
 /**
- * A mapped statement for deleting objects that correspond to a collection of IDs.
+ * A mapped statement for deleting objects that correspond to a collection of IDs. The ids are deleted in chunks with
+ * statements that have a power-of-two number of arguments, up to {@link #MAX_BUCKET_SIZE}, so that only a handful of
+ * statements are ever built for a table and they can be reused by every call. The last chunk is padded by repeating its
+ * final id which doesn't change the rows that are deleted.
  * 
  * @author graywatson
  */
 public class MappedDeleteCollection<T, ID> extends BaseMappedStatement<T, ID> {
 
+	/** largest number of ids that are deleted by a single statement */
+	public static final int MAX_BUCKET_SIZE = 512;
+	private static final int BUCKET_COUNT = Integer.numberOfTrailingZeros(MAX_BUCKET_SIZE) + 1;
+
 	private MappedDeleteCollection(TableInfo<T, ID> tableInfo, String statement, FieldType[] argFieldTypes) {
 		super(tableInfo, statement, argFieldTypes);
 	}
 
 	/**
-	 * Delete all of the objects in the collection. This builds a {@link MappedDeleteCollection} on the fly because the
-	 * datas could be variable sized.
+	 * Return a new array to hold the bucket statements for a table which is passed to the delete methods.
+	 */
+	public static <T, ID> MappedDeleteCollection<T, ID>[] newBuckets() {
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		MappedDeleteCollection<T, ID>[] buckets = new MappedDeleteCollection[BUCKET_COUNT];
+		return buckets;
+	}
+
+	/**
+	 * Return the largest number of ids that are deleted by one statement with this database type. Deleting more than
+	 * this takes more than one statement and should be done inside of a transaction.
+	 */
+	public static int getMaxBucketSize(DatabaseType databaseType) {
+		return Math.min(MAX_BUCKET_SIZE, Integer.highestOneBit(databaseType.getMaxBoundArguments()));
+	}
+
+	/**
+	 * Delete all of the objects in the collection using the bucket statements, building any that are missing.
 	 */
 	public static <T, ID> int deleteObjects(DatabaseType databaseType, TableInfo<T, ID> tableInfo,
-			DatabaseConnection databaseConnection, Collection<T> datas, ObjectCache objectCache) throws SQLException {
-		MappedDeleteCollection<T, ID> deleteCollection =
-				MappedDeleteCollection.build(databaseType, tableInfo, datas.size());
+			DatabaseConnection databaseConnection, Collection<T> datas, MappedDeleteCollection<T, ID>[] buckets,
+			ObjectCache objectCache) throws SQLException {
+		FieldType idField = getIdField(tableInfo);
 		Object[] fieldObjects = new Object[datas.size()];
-		FieldType idField = tableInfo.getIdField();
 		int objC = 0;
 		for (T data : datas) {
 			fieldObjects[objC] = idField.extractJavaFieldToSqlArgValue(data);
 			objC++;
 		}
-		return updateRows(databaseConnection, tableInfo.getDataClass(), deleteCollection, fieldObjects, objectCache);
+		return deleteInBuckets(databaseType, tableInfo, databaseConnection, fieldObjects, buckets, objectCache);
 	}
 
 	/**
-	 * Delete all of the objects in the collection. This builds a {@link MappedDeleteCollection} on the fly because the
-	 * ids could be variable sized.
+	 * Delete all of the objects with the ids using the bucket statements, building any that are missing.
 	 */
 	public static <T, ID> int deleteIds(DatabaseType databaseType, TableInfo<T, ID> tableInfo,
-			DatabaseConnection databaseConnection, Collection<ID> ids, ObjectCache objectCache) throws SQLException {
-		MappedDeleteCollection<T, ID> deleteCollection =
-				MappedDeleteCollection.build(databaseType, tableInfo, ids.size());
+			DatabaseConnection databaseConnection, Collection<ID> ids, MappedDeleteCollection<T, ID>[] buckets,
+			ObjectCache objectCache) throws SQLException {
+		FieldType idField = getIdField(tableInfo);
 		Object[] fieldObjects = new Object[ids.size()];
-		FieldType idField = tableInfo.getIdField();
 		int objC = 0;
 		for (ID id : ids) {
 			fieldObjects[objC] = idField.convertJavaFieldToSqlArgValue(id);
 			objC++;
 		}
-		return updateRows(databaseConnection, tableInfo.getDataClass(), deleteCollection, fieldObjects, objectCache);
+		return deleteInBuckets(databaseType, tableInfo, databaseConnection, fieldObjects, buckets, objectCache);
 	}
 
-	/**
-	 * This is private because the execute is the only method that should be called here.
-	 */
-	private static <T, ID> MappedDeleteCollection<T, ID> build(DatabaseType databaseType, TableInfo<T, ID> tableInfo,
-			int dataSize) throws SQLException {
+	private static <T, ID> int deleteInBuckets(DatabaseType databaseType, TableInfo<T, ID> tableInfo,
+			DatabaseConnection databaseConnection, Object[] fieldObjects, MappedDeleteCollection<T, ID>[] buckets,
+			ObjectCache objectCache) throws SQLException {
+		int maxBucketSize = getMaxBucketSize(databaseType);
+		int rowC = 0;
+		for (int offset = 0; offset < fieldObjects.length; offset += maxBucketSize) {
+			int chunkSize = Math.min(maxBucketSize, fieldObjects.length - offset);
+			// round up to the next power of two
+			int bucketSize = (chunkSize == 1 ? 1 : Integer.highestOneBit(chunkSize - 1) << 1);
+			int bucketIndex = Integer.numberOfTrailingZeros(bucketSize);
+			MappedDeleteCollection<T, ID> deleteCollection = buckets[bucketIndex];
+			if (deleteCollection == null) {
+				deleteCollection = build(databaseType, tableInfo, bucketSize);
+				buckets[bucketIndex] = deleteCollection;
+			}
+			Object[] args = new Object[bucketSize];
+			System.arraycopy(fieldObjects, offset, args, 0, chunkSize);
+			for (int i = chunkSize; i < bucketSize; i++) {
+				args[i] = fieldObjects[offset + chunkSize - 1];
+			}
+			rowC += updateRows(databaseConnection, tableInfo.getDataClass(), deleteCollection, args, objectCache);
+		}
+		return rowC;
+	}
+
+	private static <T, ID> FieldType getIdField(TableInfo<T, ID> tableInfo) throws SQLException {
 		FieldType idField = tableInfo.getIdField();
 		if (idField == null) {
 			throw new SQLException("Cannot delete " + tableInfo.getDataClass()
 					+ " because it doesn't have an id field defined");
 		}
+		return idField;
+	}
+
+	/**
+	 * This is private because the execute is the only method that should be called here.
+	 */
+	private static <T, ID> MappedDeleteCollection<T, ID> build(DatabaseType databaseType, TableInfo<T, ID> tableInfo,
+			int dataSize) throws SQLException {
+		FieldType idField = getIdField(tableInfo);
 		StringBuilder sb = new StringBuilder(128);
 		appendTableName(databaseType, sb, "DELETE FROM ", tableInfo.getTableName());
 		FieldType[] argFieldTypes = new FieldType[dataSize];
@@ -2,6 +2,7 @@ package com.j256.ormlite.stmt.mapped;
 
 import java.sql.SQLException;
 
+import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.SqlType;
 import com.j256.ormlite.logger.Log.Level;
@@ -40,6 +41,19 @@ public class MappedPreparedStmt<T, ID> extends BaseMappedQuery<T, ID>
 		this.cacheStore = cacheStore;
 	}
 
+	/**
+	 * A query that selects only some of the columns maps objects with the other fields unset so they must not be stored
+	 * in the transaction's identity map.
+	 */
+	@Override
+	protected ObjectCache getTransactionObjectCache() {
+		if (cacheStore) {
+			return super.getTransactionObjectCache();
+		} else {
+			return null;
+		}
+	}
+
 	@Override
 	public CompiledStatement compile(DatabaseConnection databaseConnection, StatementType type) throws SQLException {
 		return compile(databaseConnection, type, DatabaseConnection.DEFAULT_RESULT_FLAGS);
@@ -24,9 +24,13 @@ public class MappedQueryForFieldEq<T, ID> extends BaseMappedQuery<T, ID> {
 	}
 
 	/**
-	 * Query for an object in the database which matches the id argument.
+	 * Query for an object in the database which matches the id argument. If the object cache is null then the identity
+	 * map of the transaction running in this thread, if any, is used instead.
 	 */
 	public T execute(DatabaseConnection databaseConnection, ID id, ObjectCache objectCache) throws SQLException {
+		if (objectCache == null) {
+			objectCache = getTransactionObjectCache();
+		}
 		if (objectCache != null) {
 			T result = objectCache.get(clazz, id);
 			if (result != null) {
@@ -43,6 +43,14 @@ public class MappedRefresh<T, ID> extends MappedQueryForFieldEq<T, ID> {
 		return 1;
 	}
 
+	/**
+	 * A refresh must read the row even if the transaction's identity map has an instance for the id.
+	 */
+	@Override
+	protected ObjectCache getTransactionObjectCache() {
+		return null;
+	}
+
 	public static <T, ID> MappedRefresh<T, ID> build(DatabaseType databaseType, TableInfo<T, ID> tableInfo)
 			throws SQLException {
 		FieldType idField = tableInfo.getIdField();
@@ -1,12 +1,14 @@
 package com.j256.ormlite.stmt.mapped;
 
 import java.sql.SQLException;
+import java.util.BitSet;
 
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.misc.SqlExceptionUtil;
 import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.table.DirtyTracker;
 import com.j256.ormlite.table.TableInfo;
 
 /**
@@ -28,6 +30,18 @@ public class MappedUpdate<T, ID> extends BaseMappedStatement<T, ID> {
 
 	public static <T, ID> MappedUpdate<T, ID> build(DatabaseType databaseType, TableInfo<T, ID> tableInfo)
 			throws SQLException {
+		return build(databaseType, tableInfo, null);
+	}
+
+	/**
+	 * Build an update which only sets the columns of the fields whose index in {@link TableInfo#getFieldTypes()} is set
+	 * in the dirty fields, plus the version field if any. Used with {@link DirtyTracker}.
+	 * 
+	 * @param dirtyFields
+	 *            The fields to update or null to update all of them.
+	 */
+	public static <T, ID> MappedUpdate<T, ID> build(DatabaseType databaseType, TableInfo<T, ID> tableInfo,
+			BitSet dirtyFields) throws SQLException {
 		FieldType idField = tableInfo.getIdField();
 		if (idField == null) {
 			throw new SQLException("Cannot update " + tableInfo.getDataClass() + " because it doesn't have an id field");
@@ -38,9 +52,11 @@ public class MappedUpdate<T, ID> extends BaseMappedStatement<T, ID> {
 		int argFieldC = 0;
 		FieldType versionFieldType = null;
 		int versionFieldTypeIndex = -1;
+		FieldType[] fieldTypes = tableInfo.getFieldTypes();
 		// first we count up how many arguments we are going to have
-		for (FieldType fieldType : tableInfo.getFieldTypes()) {
-			if (isFieldUpdatable(fieldType, idField)) {
+		for (int i = 0; i < fieldTypes.length; i++) {
+			FieldType fieldType = fieldTypes[i];
+			if (isFieldUpdatable(fieldType, idField, dirtyFields, i)) {
 				if (fieldType.isVersion()) {
 					versionFieldType = fieldType;
 					versionFieldTypeIndex = argFieldC;
@@ -56,8 +72,9 @@ public class MappedUpdate<T, ID> extends BaseMappedStatement<T, ID> {
 		}
 		FieldType[] argFieldTypes = new FieldType[argFieldC];
 		argFieldC = 0;
-		for (FieldType fieldType : tableInfo.getFieldTypes()) {
-			if (!isFieldUpdatable(fieldType, idField)) {
+		for (int i = 0; i < fieldTypes.length; i++) {
+			FieldType fieldType = fieldTypes[i];
+			if (!isFieldUpdatable(fieldType, idField, dirtyFields, i)) {
 				continue;
 			}
 			if (first) {
@@ -130,11 +147,14 @@ public class MappedUpdate<T, ID> extends BaseMappedStatement<T, ID> {
 		}
 	}
 
-	private static boolean isFieldUpdatable(FieldType fieldType, FieldType idField) {
+	private static boolean isFieldUpdatable(FieldType fieldType, FieldType idField, BitSet dirtyFields,
+			int fieldIndex) {
 		if (fieldType == idField || fieldType.isForeignCollection() || fieldType.isReadOnly()) {
 			return false;
-		} else {
+		} else if (dirtyFields == null || fieldType.isVersion()) {
 			return true;
+		} else {
+			return dirtyFields.get(fieldIndex);
 		}
 	}
 }
@@ -19,6 +19,16 @@ public interface DatabaseConnection extends Closeable {
 	/** returned by {@link #queryForOne} if more than one result was found by the query 如果查询找到多个结果，则由{@link #queryForOne}返回*/
 	public final static Object MORE_THAN_ONE = new Object();
 	public final static int DEFAULT_RESULT_FLAGS = -1;
+	/**
+	 * Result flag for the {@link com.j256.ormlite.dao.Dao#iterator(int)} methods which has the iterator assign each row
+	 * to the same instance instead of creating a new one. It can be or-ed with the other flags. The object returned by
+	 * next() is only valid until the next call that moves the iterator so you must copy anything you want to keep. The
+	 * object cache is not used and foreign collection fields are not built. Fields left out of
+	 * {@link com.j256.ormlite.stmt.QueryBuilder#selectColumns(String...)} are never assigned so they keep whatever value
+	 * the instance already had, including any set by the caller on an earlier row.
+	 * 迭代器的每一行都重用同一个对象，对象只在下一次移动前有效。
+	 */
+	public final static int REUSE_INSTANCE_RESULT_FLAG = 0x40000000;
 
 	/**
 	 * Return if auto-commit is supported.
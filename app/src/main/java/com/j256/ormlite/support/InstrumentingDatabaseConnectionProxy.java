@@ -0,0 +1,256 @@
+package com.j256.ormlite.support;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.stmt.GenericRowMapper;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+
+/**
+ * Connection proxy which times every statement that goes through the connection and records it in a
+ * {@link SqlStatistics}. Compiled statements are wrapped as well so queries, iterators, and raw statements are
+ * measured. For queries only the time to run the statement and return the first results is measured, not the time
+ * spent iterating through them.
+ *
+ * <p>
+ * Use the {@link InstrumentingDatabaseConnectionProxyFactory} to install it on a connection source.
+ * </p>
+ *
+ * 记录每条语句耗时的连接代理。
+ */
+public class InstrumentingDatabaseConnectionProxy extends DatabaseConnectionProxy {
+
+	private final SqlStatistics statistics;
+
+	public InstrumentingDatabaseConnectionProxy(DatabaseConnection proxy, SqlStatistics statistics) {
+		super(proxy);
+		this.statistics = statistics;
+	}
+
+	@Override
+	public int executeStatement(String statementStr, int resultFlags) throws SQLException {
+		long start = System.nanoTime();
+		boolean error = true;
+		int rows = -1;
+		try {
+			rows = super.executeStatement(statementStr, resultFlags);
+			error = false;
+			return rows;
+		} finally {
+			statistics.record(statementStr, System.nanoTime() - start, rows, error);
+		}
+	}
+
+	@Override
+	public CompiledStatement compileStatement(String statement, StatementType type, FieldType[] argFieldTypes,
+			int resultFlags, boolean cacheStore) throws SQLException {
+		CompiledStatement compiledStatement =
+				super.compileStatement(statement, type, argFieldTypes, resultFlags, cacheStore);
+		if (compiledStatement == null) {
+			return null;
+		} else {
+			return new InstrumentingCompiledStatement(compiledStatement, statement, statistics);
+		}
+	}
+
+	@Override
+	public int insert(String statement, Object[] args, FieldType[] argfieldTypes, GeneratedKeyHolder keyHolder)
+			throws SQLException {
+		long start = System.nanoTime();
+		boolean error = true;
+		int rows = -1;
+		try {
+			rows = super.insert(statement, args, argfieldTypes, keyHolder);
+			error = false;
+			return rows;
+		} finally {
+			statistics.record(statement, System.nanoTime() - start, rows, error);
+		}
+	}
+
+	@Override
+	public int update(String statement, Object[] args, FieldType[] argfieldTypes) throws SQLException {
+		long start = System.nanoTime();
+		boolean error = true;
+		int rows = -1;
+		try {
+			rows = super.update(statement, args, argfieldTypes);
+			error = false;
+			return rows;
+		} finally {
+			statistics.record(statement, System.nanoTime() - start, rows, error);
+		}
+	}
+
+	@Override
+	public int delete(String statement, Object[] args, FieldType[] argfieldTypes) throws SQLException {
+		long start = System.nanoTime();
+		boolean error = true;
+		int rows = -1;
+		try {
+			rows = super.delete(statement, args, argfieldTypes);
+			error = false;
+			return rows;
+		} finally {
+			statistics.record(statement, System.nanoTime() - start, rows, error);
+		}
+	}
+
+	@Override
+	public <T> Object queryForOne(String statement, Object[] args, FieldType[] argfieldTypes,
+			GenericRowMapper<T> rowMapper, ObjectCache objectCache) throws SQLException {
+		long start = System.nanoTime();
+		boolean error = true;
+		try {
+			Object result = super.queryForOne(statement, args, argfieldTypes, rowMapper, objectCache);
+			error = false;
+			return result;
+		} finally {
+			statistics.record(statement, System.nanoTime() - start, -1, error);
+		}
+	}
+
+	@Override
+	public long queryForLong(String statement) throws SQLException {
+		long start = System.nanoTime();
+		boolean error = true;
+		try {
+			long result = super.queryForLong(statement);
+			error = false;
+			return result;
+		} finally {
+			statistics.record(statement, System.nanoTime() - start, -1, error);
+		}
+	}
+
+	@Override
+	public long queryForLong(String statement, Object[] args, FieldType[] argFieldTypes) throws SQLException {
+		long start = System.nanoTime();
+		boolean error = true;
+		try {
+			long result = super.queryForLong(statement, args, argFieldTypes);
+			error = false;
+			return result;
+		} finally {
+			statistics.record(statement, System.nanoTime() - start, -1, error);
+		}
+	}
+
+	public SqlStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Return the statement wrapped by the proxy or the statement itself if it was not wrapped. This is needed by code
+	 * which casts to the database specific statement, such as the cursor loaders. Statements run through the
+	 * unwrapped statement are not recorded.
+	 */
+	public static CompiledStatement unwrap(CompiledStatement compiledStatement) {
+		if (compiledStatement instanceof InstrumentingCompiledStatement) {
+			return ((InstrumentingCompiledStatement) compiledStatement).delegate;
+		} else {
+			return compiledStatement;
+		}
+	}
+
+	/**
+	 * Compiled statement wrapper which records the run methods.
+	 */
+	private static class InstrumentingCompiledStatement implements CompiledStatement {
+
+		private final CompiledStatement delegate;
+		private final String statement;
+		private final SqlStatistics statistics;
+
+		public InstrumentingCompiledStatement(CompiledStatement delegate, String statement,
+				SqlStatistics statistics) {
+			this.delegate = delegate;
+			this.statement = statement;
+			this.statistics = statistics;
+		}
+
+		@Override
+		public int getColumnCount() throws SQLException {
+			return delegate.getColumnCount();
+		}
+
+		@Override
+		public String getColumnName(int columnIndex) throws SQLException {
+			return delegate.getColumnName(columnIndex);
+		}
+
+		@Override
+		public int runUpdate() throws SQLException {
+			long start = System.nanoTime();
+			boolean error = true;
+			int rows = -1;
+			try {
+				rows = delegate.runUpdate();
+				error = false;
+				return rows;
+			} finally {
+				statistics.record(statement, System.nanoTime() - start, rows, error);
+			}
+		}
+
+		@Override
+		public DatabaseResults runQuery(ObjectCache objectCache) throws SQLException {
+			long start = System.nanoTime();
+			boolean error = true;
+			try {
+				DatabaseResults results = delegate.runQuery(objectCache);
+				error = false;
+				return results;
+			} finally {
+				statistics.record(statement, System.nanoTime() - start, -1, error);
+			}
+		}
+
+		@Override
+		public int runExecute() throws SQLException {
+			long start = System.nanoTime();
+			boolean error = true;
+			int rows = -1;
+			try {
+				rows = delegate.runExecute();
+				error = false;
+				return rows;
+			} finally {
+				statistics.record(statement, System.nanoTime() - start, rows, error);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			delegate.close();
+		}
+
+		@Override
+		public void closeQuietly() {
+			delegate.closeQuietly();
+		}
+
+		@Override
+		public void cancel() throws SQLException {
+			delegate.cancel();
+		}
+
+		@Override
+		public void setObject(int parameterIndex, Object obj, SqlType sqlType) throws SQLException {
+			delegate.setObject(parameterIndex, obj, sqlType);
+		}
+
+		@Override
+		public void setMaxRows(int max) throws SQLException {
+			delegate.setMaxRows(max);
+		}
+
+		@Override
+		public void setQueryTimeout(long millis) throws SQLException {
+			delegate.setQueryTimeout(millis);
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package com.j256.ormlite.support;
+
+import java.sql.SQLException;
+
+/**
+ * Factory which wraps every connection in an {@link InstrumentingDatabaseConnectionProxy} that records into a shared
+ * {@link SqlStatistics}. For example:
+ *
+ * <pre>
+ * InstrumentingDatabaseConnectionProxyFactory factory = new InstrumentingDatabaseConnectionProxyFactory();
+ * AndroidConnectionSource.setDatabaseConnectionProxyFactory(factory);
+ * factory.getStatistics().startPeriodicDump(60000, 10);
+ * ...
+ * for (SqlStatistics.Snapshot snapshot : factory.getStatistics().getStatementSnapshots()) {
+ * 	...
+ * }
+ * </pre>
+ */
+public class InstrumentingDatabaseConnectionProxyFactory implements DatabaseConnectionProxyFactory {
+
+	private final SqlStatistics statistics;
+
+	public InstrumentingDatabaseConnectionProxyFactory() {
+		this(new SqlStatistics());
+	}
+
+	public InstrumentingDatabaseConnectionProxyFactory(SqlStatistics statistics) {
+		this.statistics = statistics;
+	}
+
+	@Override
+	public DatabaseConnection createProxy(DatabaseConnection realConnection) throws SQLException {
+		return new InstrumentingDatabaseConnectionProxy(realConnection, statistics);
+	}
+
+	public SqlStatistics getStatistics() {
+		return statistics;
+	}
+}
@@ -0,0 +1,377 @@
+package com.j256.ormlite.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+
+/**
+ * Collects latency histograms, call counts, rows affected, and error counts per normalized SQL statement and per table.
+ * It is filled in by the {@link InstrumentingDatabaseConnectionProxy} and can be read at any time with
+ * {@link #getStatementSnapshots()} and {@link #getTableSnapshots()} or dumped to the log periodically with
+ * {@link #startPeriodicDump(long, int)}.
+ *
+ * <p>
+ * SQL is normalized by replacing literals with ?, collapsing repeated argument lists such as IN (?, ?, ?) or multi-row
+ * VALUES, and squeezing whitespace so that statements which only differ in their arguments are counted together.
+ * </p>
+ *
+ * 按规范化SQL和表统计延迟直方图、调用次数、影响行数和错误次数。
+ */
+public class SqlStatistics {
+
+	/** number of latency buckets, bucket N counts calls that took [2^(N-1), 2^N) microseconds */
+	public static final int NUM_BUCKETS = 32;
+	/** table name used when we could not figure out which table a statement touches */
+	public static final String UNKNOWN_TABLE = "<unknown>";
+
+	private static final Logger logger = LoggerFactory.getLogger(SqlStatistics.class);
+	private static final int MAX_NORMALIZED_CACHE_SIZE = 1024;
+
+	private static final Pattern STRING_LITERAL_PATTERN = Pattern.compile("'(?:[^']|'')*'");
+	private static final Pattern NUMBER_LITERAL_PATTERN = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+	private static final Pattern ARG_LIST_PATTERN = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+	private static final Pattern REPEATED_GROUP_PATTERN = Pattern.compile("(\\([^()]*\\))(?:\\s*,\\s*\\1)+");
+	private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+	private static final Pattern TABLE_PATTERN = Pattern.compile(
+			"\\b(?:FROM|INTO|UPDATE|JOIN|TABLE(?:\\s+IF\\s+(?:NOT\\s+)?EXISTS)?)\\s+[`\"\\[]?(\\w+)",
+			Pattern.CASE_INSENSITIVE);
+
+	private final ConcurrentMap<String, Collector> statementCollectors = new ConcurrentHashMap<String, Collector>();
+	private final ConcurrentMap<String, Collector> tableCollectors = new ConcurrentHashMap<String, Collector>();
+	private final ConcurrentMap<String, String[]> normalizedCache = new ConcurrentHashMap<String, String[]>();
+	private ScheduledThreadPoolExecutor dumpExecutor;
+	private ScheduledFuture<?> dumpFuture;
+
+	/**
+	 * Record a single call of the statement.
+	 *
+	 * @param sql
+	 *            Raw SQL that was run.
+	 * @param elapsedNanos
+	 *            How long the call took.
+	 * @param rows
+	 *            Rows affected by the call or -1 if unknown such as for queries.
+	 * @param error
+	 *            True if the call threw.
+	 */
+	public void record(String sql, long elapsedNanos, int rows, boolean error) {
+		String[] normalized = normalize(sql);
+		record(statementCollectors, normalized[0], elapsedNanos, rows, error);
+		record(tableCollectors, normalized[1], elapsedNanos, rows, error);
+	}
+
+	/**
+	 * Return a snapshot of the statistics for each normalized statement sorted by total time, highest first.
+	 */
+	public List<Snapshot> getStatementSnapshots() {
+		return snapshots(statementCollectors);
+	}
+
+	/**
+	 * Return a snapshot of the statistics for each table sorted by total time, highest first.
+	 */
+	public List<Snapshot> getTableSnapshots() {
+		return snapshots(tableCollectors);
+	}
+
+	/**
+	 * Return a snapshot of the statistics for the statement which is normalized before it is looked up or null if it
+	 * has not been run.
+	 */
+	public Snapshot getStatementSnapshot(String sql) {
+		Collector collector = statementCollectors.get(normalize(sql)[0]);
+		return (collector == null ? null : collector.snapshot());
+	}
+
+	/**
+	 * Return a snapshot of the statistics for the table or null if no statements have touched it.
+	 */
+	public Snapshot getTableSnapshot(String tableName) {
+		Collector collector = tableCollectors.get(tableName);
+		return (collector == null ? null : collector.snapshot());
+	}
+
+	/**
+	 * Forget all of the statistics gathered so far.
+	 */
+	public void reset() {
+		statementCollectors.clear();
+		tableCollectors.clear();
+	}
+
+	/**
+	 * Write the top statements and tables, by total time, to the log at info level.
+	 */
+	public void dump(int maxEntries) {
+		dump("statement", getStatementSnapshots(), maxEntries);
+		dump("table", getTableSnapshots(), maxEntries);
+	}
+
+	/**
+	 * Start a daemon thread which calls {@link #dump(int)} every period. Any previous periodic dump is stopped.
+	 */
+	public synchronized void startPeriodicDump(long periodMillis, final int maxEntries) {
+		stopPeriodicDump();
+		if (dumpExecutor == null) {
+			dumpExecutor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, SqlStatistics.class.getSimpleName());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		dumpFuture = dumpExecutor.scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				dump(maxEntries);
+			}
+		}, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stop the periodic dump if it was started.
+	 */
+	public synchronized void stopPeriodicDump() {
+		if (dumpFuture != null) {
+			dumpFuture.cancel(false);
+			dumpFuture = null;
+		}
+	}
+
+	/**
+	 * Return the normalized form of the SQL.
+	 */
+	public static String normalizeSql(String sql) {
+		String result = STRING_LITERAL_PATTERN.matcher(sql).replaceAll("?");
+		result = NUMBER_LITERAL_PATTERN.matcher(result).replaceAll("?");
+		result = ARG_LIST_PATTERN.matcher(result).replaceAll("?, ...");
+		result = REPEATED_GROUP_PATTERN.matcher(result).replaceAll("$1, ...");
+		return WHITESPACE_PATTERN.matcher(result).replaceAll(" ").trim();
+	}
+
+	/**
+	 * Return the first table name referenced by the SQL or {@link #UNKNOWN_TABLE} if none.
+	 */
+	public static String extractTableName(String sql) {
+		Matcher matcher = TABLE_PATTERN.matcher(sql);
+		if (matcher.find()) {
+			return matcher.group(1);
+		} else {
+			return UNKNOWN_TABLE;
+		}
+	}
+
+	private String[] normalize(String sql) {
+		String[] normalized = normalizedCache.get(sql);
+		if (normalized == null) {
+			normalized = new String[] { normalizeSql(sql), extractTableName(sql) };
+			// statements with inline literals can be endless so we stop caching at some point
+			if (normalizedCache.size() < MAX_NORMALIZED_CACHE_SIZE) {
+				normalizedCache.put(sql, normalized);
+			}
+		}
+		return normalized;
+	}
+
+	private void record(ConcurrentMap<String, Collector> collectors, String key, long elapsedNanos, int rows,
+			boolean error) {
+		Collector collector = collectors.get(key);
+		if (collector == null) {
+			Collector newCollector = new Collector(key);
+			collector = collectors.putIfAbsent(key, newCollector);
+			if (collector == null) {
+				collector = newCollector;
+			}
+		}
+		collector.record(elapsedNanos, rows, error);
+	}
+
+	private List<Snapshot> snapshots(ConcurrentMap<String, Collector> collectors) {
+		List<Snapshot> snapshots = new ArrayList<Snapshot>(collectors.size());
+		for (Collector collector : collectors.values()) {
+			snapshots.add(collector.snapshot());
+		}
+		Collections.sort(snapshots, new Comparator<Snapshot>() {
+			@Override
+			public int compare(Snapshot snapshot1, Snapshot snapshot2) {
+				long diff = snapshot2.totalNanos - snapshot1.totalNanos;
+				return (diff < 0 ? -1 : (diff > 0 ? 1 : 0));
+			}
+		});
+		return snapshots;
+	}
+
+	private void dump(String label, List<Snapshot> snapshots, int maxEntries) {
+		int count = Math.min(snapshots.size(), maxEntries);
+		for (int i = 0; i < count; i++) {
+			logger.info("sql stats by {}: {}", label, snapshots.get(i));
+		}
+	}
+
+	private static int bucketFor(long elapsedNanos) {
+		long micros = elapsedNanos / 1000;
+		if (micros <= 0) {
+			return 0;
+		}
+		int bucket = 64 - Long.numberOfLeadingZeros(micros);
+		return Math.min(bucket, NUM_BUCKETS - 1);
+	}
+
+	/**
+	 * Mutable counters for a single statement or table.
+	 */
+	private static class Collector {
+
+		private final String key;
+		private final AtomicLong callCount = new AtomicLong();
+		private final AtomicLong errorCount = new AtomicLong();
+		private final AtomicLong rowCount = new AtomicLong();
+		private final AtomicLong totalNanos = new AtomicLong();
+		private final AtomicLong maxNanos = new AtomicLong();
+		private final AtomicLongArray buckets = new AtomicLongArray(NUM_BUCKETS);
+
+		public Collector(String key) {
+			this.key = key;
+		}
+
+		public void record(long elapsedNanos, int rows, boolean error) {
+			callCount.incrementAndGet();
+			if (error) {
+				errorCount.incrementAndGet();
+			}
+			if (rows > 0) {
+				rowCount.addAndGet(rows);
+			}
+			totalNanos.addAndGet(elapsedNanos);
+			long max = maxNanos.get();
+			while (elapsedNanos > max && !maxNanos.compareAndSet(max, elapsedNanos)) {
+				max = maxNanos.get();
+			}
+			buckets.incrementAndGet(bucketFor(elapsedNanos));
+		}
+
+		public Snapshot snapshot() {
+			long[] bucketCounts = new long[NUM_BUCKETS];
+			for (int i = 0; i < NUM_BUCKETS; i++) {
+				bucketCounts[i] = buckets.get(i);
+			}
+			return new Snapshot(key, callCount.get(), errorCount.get(), rowCount.get(), totalNanos.get(),
+					maxNanos.get(), bucketCounts);
+		}
+	}
+
+	/**
+	 * Immutable point-in-time copy of the statistics for a single statement or table. The counters are read one after
+	 * another so they may be very slightly out of step with each other if calls are happening at the same time.
+	 */
+	public static class Snapshot {
+
+		private final String key;
+		private final long callCount;
+		private final long errorCount;
+		private final long rowCount;
+		private final long totalNanos;
+		private final long maxNanos;
+		private final long[] bucketCounts;
+
+		private Snapshot(String key, long callCount, long errorCount, long rowCount, long totalNanos, long maxNanos,
+				long[] bucketCounts) {
+			this.key = key;
+			this.callCount = callCount;
+			this.errorCount = errorCount;
+			this.rowCount = rowCount;
+			this.totalNanos = totalNanos;
+			this.maxNanos = maxNanos;
+			this.bucketCounts = bucketCounts;
+		}
+
+		/**
+		 * Return the normalized SQL or the table name.
+		 */
+		public String getKey() {
+			return key;
+		}
+
+		public long getCallCount() {
+			return callCount;
+		}
+
+		public long getErrorCount() {
+			return errorCount;
+		}
+
+		/**
+		 * Return the total rows affected by updates, inserts, and deletes.
+		 */
+		public long getRowCount() {
+			return rowCount;
+		}
+
+		public long getTotalNanos() {
+			return totalNanos;
+		}
+
+		public long getMaxNanos() {
+			return maxNanos;
+		}
+
+		public long getMeanNanos() {
+			return (callCount == 0 ? 0 : totalNanos / callCount);
+		}
+
+		/**
+		 * Return the latency histogram. Bucket 0 counts calls under 1 microsecond and bucket N counts calls that took
+		 * [2^(N-1), 2^N) microseconds.
+		 */
+		public long[] getBucketCounts() {
+			return bucketCounts.clone();
+		}
+
+		/**
+		 * Return an upper bound in microseconds of the latency percentile (0-100). The resolution is that of the
+		 * power-of-two buckets.
+		 */
+		public long getPercentileMicros(double percentile) {
+			long total = 0;
+			for (long count : bucketCounts) {
+				total += count;
+			}
+			if (total == 0) {
+				return 0;
+			}
+			long target = (long) Math.ceil(total * percentile / 100.0);
+			long seen = 0;
+			for (int i = 0; i < bucketCounts.length; i++) {
+				seen += bucketCounts[i];
+				if (seen >= target) {
+					return 1L << i;
+				}
+			}
+			return 1L << (bucketCounts.length - 1);
+		}
+
+		@Override
+		public String toString() {
+			return "calls=" + callCount + ", errors=" + errorCount + ", rows=" + rowCount + ", totalMs="
+					+ totalNanos / 1000000 + ", meanUs=" + getMeanNanos() / 1000 + ", p50Us<="
+					+ getPercentileMicros(50) + ", p99Us<=" + getPercentileMicros(99) + ", maxUs=" + maxNanos / 1000
+					+ ", key=" + key;
+		}
+	}
+}
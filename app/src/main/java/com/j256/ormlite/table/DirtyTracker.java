@@ -0,0 +1,215 @@
+package com.j256.ormlite.table;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import com.j256.ormlite.field.FieldType;
+
+/**
+ * Keeps a snapshot of the column values of each object as it was last read from or written to the database so an
+ * update can be limited to the columns that have changed since. The snapshots are held by object identity with weak
+ * references so they go away with the objects. Each snapshot holds the SQL argument values of the fields so foreign
+ * objects are compared by their id and byte arrays are copied so changes made in place are seen.
+ *
+ * <p>
+ * <b>NOTE:</b> Changes made to the row by other means, such as an update-builder or a raw statement, are not seen by
+ * the snapshot. A column that has not changed in the object is not written even if the row has changed underneath.
+ * </p>
+ *
+ * 记录已加载对象的列快照，更新时只写入修改过的列。
+ *
+ * @param <T>
+ *            The class that the code will be operating on.
+ * @param <ID>
+ *            The class of the ID column associated with the class.
+ */
+public class DirtyTracker<T, ID> {
+
+	private final FieldType[] fieldTypes;
+	private final FieldType idField;
+	private final int idFieldIndex;
+	private final int trackedFieldCount;
+	private final ReferenceQueue<Object> queue = new ReferenceQueue<Object>();
+	private final Map<IdentityReference, Object[]> snapshots = new HashMap<IdentityReference, Object[]>();
+
+	public DirtyTracker(TableInfo<T, ID> tableInfo) {
+		this.fieldTypes = tableInfo.getFieldTypes();
+		this.idField = tableInfo.getIdField();
+		int idFieldIndex = -1;
+		int trackedFieldCount = 0;
+		for (int i = 0; i < fieldTypes.length; i++) {
+			if (fieldTypes[i] == idField) {
+				idFieldIndex = i;
+			}
+			if (isFieldTracked(fieldTypes[i])) {
+				trackedFieldCount++;
+			}
+		}
+		this.idFieldIndex = idFieldIndex;
+		this.trackedFieldCount = trackedFieldCount;
+	}
+
+	/**
+	 * Record the current values of the object's fields as the values in its database row.
+	 */
+	public void snapshot(T data) throws SQLException {
+		Object[] values = extractValues(data);
+		synchronized (snapshots) {
+			expungeStaleReferences();
+			snapshots.put(new IdentityReference(data, queue), values);
+		}
+	}
+
+	/**
+	 * Forget the snapshot of the object so its next update writes all of the columns.
+	 */
+	public void forget(T data) {
+		synchronized (snapshots) {
+			expungeStaleReferences();
+			snapshots.remove(new IdentityReference(data, null));
+		}
+	}
+
+	/**
+	 * Forget the snapshots of the objects with the ids, for example after their rows were deleted by id. This has to
+	 * look through all of the snapshots so {@link #forget(Object)} should be used when the object is at hand.
+	 */
+	public void forgetIds(Collection<?> ids) throws SQLException {
+		if (idFieldIndex < 0 || ids.isEmpty()) {
+			return;
+		}
+		Set<Object> sqlIds = new HashSet<Object>();
+		for (Object id : ids) {
+			sqlIds.add(idField.convertJavaFieldToSqlArgValue(id));
+		}
+		synchronized (snapshots) {
+			expungeStaleReferences();
+			Iterator<Object[]> iterator = snapshots.values().iterator();
+			while (iterator.hasNext()) {
+				if (sqlIds.contains(iterator.next()[idFieldIndex])) {
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Return the fields that have changed since the last snapshot of the object. The bits are the index of the fields
+	 * in {@link TableInfo#getFieldTypes()}. The id, version, read-only, and foreign-collection fields are never set.
+	 *
+	 * @return The changed fields which may be empty, or null if there is no snapshot of the object.
+	 */
+	public BitSet findDirtyFields(T data) throws SQLException {
+		Object[] snapshot;
+		synchronized (snapshots) {
+			expungeStaleReferences();
+			snapshot = snapshots.get(new IdentityReference(data, null));
+		}
+		if (snapshot == null) {
+			return null;
+		}
+		BitSet dirtyFields = new BitSet(fieldTypes.length);
+		for (int i = 0; i < fieldTypes.length; i++) {
+			FieldType fieldType = fieldTypes[i];
+			if (isFieldTracked(fieldType) && !valueEquals(snapshot[i], fieldType.extractJavaFieldToSqlArgValue(data))) {
+				dirtyFields.set(i);
+			}
+		}
+		return dirtyFields;
+	}
+
+	/**
+	 * Return true if all of the fields that can be updated are set in the dirty fields.
+	 */
+	public boolean isAllFields(BitSet dirtyFields) {
+		return dirtyFields.cardinality() == trackedFieldCount;
+	}
+
+	/**
+	 * Return true if changes to the field are tracked. These are the fields that are set in an UPDATE statement other
+	 * than the version which is always moved to its next value. Like MappedUpdate, the id field is compared by identity
+	 * so generated ids are left out as well.
+	 */
+	private boolean isFieldTracked(FieldType fieldType) {
+		return !(fieldType == idField || fieldType.isVersion() || fieldType.isReadOnly()
+				|| fieldType.isForeignCollection());
+	}
+
+	private Object[] extractValues(T data) throws SQLException {
+		Object[] values = new Object[fieldTypes.length];
+		for (int i = 0; i < fieldTypes.length; i++) {
+			FieldType fieldType = fieldTypes[i];
+			if (i == idFieldIndex) {
+				// not compared but kept so the snapshot can be forgotten by id
+				values[i] = fieldType.extractJavaFieldToSqlArgValue(data);
+				continue;
+			} else if (!isFieldTracked(fieldType)) {
+				continue;
+			}
+			Object value = fieldType.extractJavaFieldToSqlArgValue(data);
+			if (value instanceof byte[]) {
+				// the field may be the same array and changed in place
+				value = ((byte[]) value).clone();
+			}
+			values[i] = value;
+		}
+		return values;
+	}
+
+	private static boolean valueEquals(Object snapshotValue, Object value) {
+		if (snapshotValue == null) {
+			return (value == null);
+		} else if (value == null) {
+			return false;
+		} else if (snapshotValue instanceof byte[] && value instanceof byte[]) {
+			return Arrays.equals((byte[]) snapshotValue, (byte[]) value);
+		} else {
+			return snapshotValue.equals(value);
+		}
+	}
+
+	private void expungeStaleReferences() {
+		Object reference;
+		while ((reference = queue.poll()) != null) {
+			snapshots.remove(reference);
+		}
+	}
+
+	/**
+	 * Weak reference which is equal to another only if they refer to the same object so that objects which override
+	 * equals, for example by id, still get their own snapshot.
+	 */
+	private static class IdentityReference extends WeakReference<Object> {
+		private final int hashCode;
+
+		public IdentityReference(Object referent, ReferenceQueue<Object> queue) {
+			super(referent, queue);
+			this.hashCode = System.identityHashCode(referent);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			} else if (!(other instanceof IdentityReference)) {
+				return false;
+			}
+			Object referent = get();
+			return (referent != null && referent == ((IdentityReference) other).get());
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package com.j256.ormlite.table;
+
+import com.j256.ormlite.field.FieldAccessor;
+
+/**
+ * Generated factory, field accessors, and table configuration for a {@link DatabaseTable} class. The
+ * ormlite-processor annotation processor writes an implementation named after the entity's binary name with
+ * {@link GeneratedTableAccessors#CLASS_SUFFIX} appended, in the entity's package. {@link TableInfo},
+ * {@link com.j256.ormlite.field.FieldType}, and {@link com.j256.ormlite.dao.DaoManager} use it when it is present and
+ * fall back to reflection otherwise.
+ *
+ * @param <T>
+ *            The entity class.
+ */
+public interface GeneratedTableAccessor<T> {
+
+	/**
+	 * Construct a new instance of the entity or return null if the entity has no accessible no-argument constructor in
+	 * which case reflection is used.
+	 */
+	public T newInstance();
+
+	/**
+	 * Return the accessor for the field declared in the entity with this name or null if there is none in which case
+	 * reflection is used.
+	 */
+	public FieldAccessor getFieldAccessor(String fieldName);
+
+	/**
+	 * Return a new table configuration built at compile time from the class and field annotations or null if the
+	 * class could not be fully described in which case the annotations are read at runtime.
+	 */
+	public DatabaseTableConfig<T> getTableConfig();
+}
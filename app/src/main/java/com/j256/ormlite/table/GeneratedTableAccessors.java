@@ -0,0 +1,109 @@
+package com.j256.ormlite.table;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.j256.ormlite.field.FieldAccessor;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+
+/**
+ * Finds the {@link GeneratedTableAccessor} for an entity class, if one was generated, and caches the answer.
+ *
+ * 查找并缓存实体类生成的访问器。
+ */
+public class GeneratedTableAccessors {
+
+	/**
+	 * Suffix appended to the binary name of the entity class to get the name of the generated class.
+	 */
+	public static final String CLASS_SUFFIX = "$$OrmLiteAccessor";
+
+	private static final Logger logger = LoggerFactory.getLogger(GeneratedTableAccessors.class);
+	/** marker so we remember which classes have no generated accessor */
+	private static final GeneratedTableAccessor<Object> NO_ACCESSOR = new GeneratedTableAccessor<Object>() {
+		@Override
+		public Object newInstance() {
+			return null;
+		}
+
+		@Override
+		public FieldAccessor getFieldAccessor(String fieldName) {
+			return null;
+		}
+
+		@Override
+		public DatabaseTableConfig<Object> getTableConfig() {
+			return null;
+		}
+	};
+	private static final ConcurrentMap<Class<?>, GeneratedTableAccessor<?>> accessorMap =
+			new ConcurrentHashMap<Class<?>, GeneratedTableAccessor<?>>();
+
+	private GeneratedTableAccessors() {
+		// only for static methods
+	}
+
+	/**
+	 * Return the generated accessor for the class or null if none was generated.
+	 */
+	public static <T> GeneratedTableAccessor<T> lookup(Class<T> dataClass) {
+		GeneratedTableAccessor<?> accessor = accessorMap.get(dataClass);
+		if (accessor == null) {
+			accessor = loadAccessor(dataClass);
+			accessorMap.putIfAbsent(dataClass, accessor);
+		}
+		if (accessor == NO_ACCESSOR) {
+			return null;
+		}
+		@SuppressWarnings("unchecked")
+		GeneratedTableAccessor<T> castAccessor = (GeneratedTableAccessor<T>) accessor;
+		return castAccessor;
+	}
+
+	/**
+	 * Return the generated accessor for the field or null if there is none.
+	 */
+	public static FieldAccessor lookupField(Class<?> declaringClass, String fieldName) {
+		GeneratedTableAccessor<?> accessor = lookup(declaringClass);
+		if (accessor == null) {
+			return null;
+		} else {
+			return accessor.getFieldAccessor(fieldName);
+		}
+	}
+
+	/**
+	 * Return the table configuration generated at compile time for the class or null if there is none.
+	 */
+	public static <T> DatabaseTableConfig<T> lookupTableConfig(Class<T> dataClass) {
+		GeneratedTableAccessor<T> accessor = lookup(dataClass);
+		if (accessor == null) {
+			return null;
+		} else {
+			return accessor.getTableConfig();
+		}
+	}
+
+	private static GeneratedTableAccessor<?> loadAccessor(Class<?> dataClass) {
+		String className = dataClass.getName() + CLASS_SUFFIX;
+		Class<?> accessorClass;
+		try {
+			accessorClass = Class.forName(className, true, dataClass.getClassLoader());
+		} catch (ClassNotFoundException e) {
+			return NO_ACCESSOR;
+		} catch (LinkageError e) {
+			logger.warn(e, "could not load generated accessor {}, using reflection", className);
+			return NO_ACCESSOR;
+		}
+		try {
+			GeneratedTableAccessor<?> accessor =
+					(GeneratedTableAccessor<?>) accessorClass.getDeclaredConstructor().newInstance();
+			logger.debug("using generated accessor {} for {}", className, dataClass);
+			return accessor;
+		} catch (Exception e) {
+			logger.warn(e, "could not construct generated accessor {}, using reflection", className);
+			return NO_ACCESSOR;
+		}
+	}
+}
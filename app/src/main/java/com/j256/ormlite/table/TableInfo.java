@@ -36,8 +36,11 @@ public class TableInfo<T, ID> {
 	private final FieldType[] foreignCollections;
 	private final FieldType idField;
 	private final Constructor<T> constructor;
+	private final GeneratedTableAccessor<T> generatedAccessor;
 	private final boolean foreignAutoCreate;
+	private final boolean hasVersionField;
 	private Map<String, FieldType> fieldNameMap;
+	private volatile DirtyTracker<T, ID> dirtyTracker;
 
 	/**
 	 * Creates a holder of information about a table/class.
@@ -75,6 +78,7 @@ public class TableInfo<T, ID> {
 		// find the id field
 		FieldType findIdFieldType = null;
 		boolean foreignAutoCreate = false;
+		boolean hasVersionField = false;
 		int foreignCollectionCount = 0;
 		for (FieldType fieldType : fieldTypes) {
 			if (fieldType.isId() || fieldType.isGeneratedId() || fieldType.isGeneratedIdSequence()) {
@@ -87,6 +91,9 @@ public class TableInfo<T, ID> {
 			if (fieldType.isForeignAutoCreate()) {
 				foreignAutoCreate = true;
 			}
+			if (fieldType.isVersion()) {
+				hasVersionField = true;
+			}
 			if (fieldType.isForeignCollection()) {
 				foreignCollectionCount++;
 			}
@@ -94,7 +101,9 @@ public class TableInfo<T, ID> {
 		// can be null if there is no id field
 		this.idField = findIdFieldType;
 		this.constructor = tableConfig.getConstructor();
+		this.generatedAccessor = GeneratedTableAccessors.lookup(dataClass);
 		this.foreignAutoCreate = foreignAutoCreate;
+		this.hasVersionField = hasVersionField;
 		if (foreignCollectionCount == 0) {
 			this.foreignCollections = NO_FOREIGN_COLLECTIONS;
 		} else {
@@ -186,7 +195,8 @@ public class TableInfo<T, ID> {
 	}
 
 	/**
-	 * Create and return an object of this type using our reflection constructor.
+	 * Create and return an object of this type using the object factory, the generated accessor, or our reflection
+	 * constructor.
 	 */
 	public T createObject() throws SQLException {
 		try {
@@ -195,10 +205,16 @@ public class TableInfo<T, ID> {
 			if (baseDaoImpl != null) {
 				factory = baseDaoImpl.getObjectFactory();
 			}
-			if (factory == null) {
-				instance = constructor.newInstance();
-			} else {
+			if (factory != null) {
 				instance = factory.createObject(constructor, baseDaoImpl.getDataClass());
+			} else if (generatedAccessor != null) {
+				instance = generatedAccessor.newInstance();
+				if (instance == null) {
+					// no accessible constructor was found at compile time
+					instance = constructor.newInstance();
+				}
+			} else {
+				instance = constructor.newInstance();
 			}
 			wireNewInstance(baseDaoImpl, instance);
 			return instance;
@@ -222,6 +238,13 @@ public class TableInfo<T, ID> {
 		return foreignAutoCreate;
 	}
 
+	/**
+	 * Return true if one of the fields has {@link DatabaseField#version()} enabled.
+	 */
+	public boolean hasVersionField() {
+		return hasVersionField;
+	}
+
 	/**
 	 * Return an array with the fields that are {@link ForeignCollection}s or a blank array if none.
 	 */
@@ -229,6 +252,20 @@ public class TableInfo<T, ID> {
 		return foreignCollections;
 	}
 
+	/**
+	 * Return the tracker of the objects' changed fields or null if dirty tracking is not enabled.
+	 */
+	public DirtyTracker<T, ID> getDirtyTracker() {
+		return dirtyTracker;
+	}
+
+	/**
+	 * Set the tracker of the objects' changed fields or null to disable dirty tracking.
+	 */
+	public void setDirtyTracker(DirtyTracker<T, ID> dirtyTracker) {
+		this.dirtyTracker = dirtyTracker;
+	}
+
 	/**
 	 * Return true if this table information has a field with this columnName as set by
 	 * {@link DatabaseField#columnName()} or the field name if not set.
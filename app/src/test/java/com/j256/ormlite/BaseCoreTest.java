@@ -0,0 +1,50 @@
+package com.j256.ormlite;
+
+import java.sql.SQLException;
+
+import org.junit.After;
+import org.junit.Before;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.j256.ormlite.jdbc.JdbcDatabaseConnection;
+import com.j256.ormlite.jdbc.SqliteJdbcDatabaseType;
+import com.j256.ormlite.table.TableUtils;
+
+/**
+ * Base class for the local unit tests which need a database. Each test gets its own in-memory sqlite database through
+ * the sqlite-jdbc driver.
+ */
+public abstract class BaseCoreTest {
+
+	protected DatabaseType databaseType;
+	protected JdbcConnectionSource connectionSource;
+
+	@Before
+	public void before() throws Exception {
+		databaseType = new SqliteJdbcDatabaseType();
+		connectionSource = new JdbcConnectionSource("jdbc:sqlite::memory:", databaseType);
+	}
+
+	@After
+	public void after() throws Exception {
+		DaoManager.clearCache();
+		connectionSource.close();
+	}
+
+	protected <T, ID> Dao<T, ID> createDao(Class<T> clazz, boolean createTable) throws SQLException {
+		if (createTable) {
+			TableUtils.createTable(connectionSource, clazz);
+		}
+		return DaoManager.createDao(connectionSource, clazz);
+	}
+
+	/**
+	 * Return the connection that records the SQL of the statements it runs.
+	 */
+	protected JdbcDatabaseConnection getConnection() {
+		return connectionSource.getConnection();
+	}
+}
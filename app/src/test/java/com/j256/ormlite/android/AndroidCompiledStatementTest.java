@@ -0,0 +1,71 @@
+package com.j256.ormlite.android;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.sql.SQLException;
+
+import org.junit.Test;
+
+import com.j256.ormlite.field.SqlType;
+
+public class AndroidCompiledStatementTest {
+
+	@Test
+	public void testIntegerTypesBindAsLong() throws Exception {
+		assertEquals(12L, AndroidCompiledStatement.toSqlArg(12, SqlType.INTEGER));
+		assertEquals(12L, AndroidCompiledStatement.toSqlArg((short) 12, SqlType.SHORT));
+		assertEquals(12L, AndroidCompiledStatement.toSqlArg((byte) 12, SqlType.BYTE));
+		assertEquals(Long.MAX_VALUE, AndroidCompiledStatement.toSqlArg(Long.MAX_VALUE, SqlType.LONG));
+	}
+
+	@Test
+	public void testBooleanBindsAsNumber() throws Exception {
+		assertEquals(1L, AndroidCompiledStatement.toSqlArg(true, SqlType.BOOLEAN));
+		assertEquals(0L, AndroidCompiledStatement.toSqlArg(false, SqlType.BOOLEAN));
+	}
+
+	@Test
+	public void testFloatTypesBindAsDouble() throws Exception {
+		assertEquals(1.5D, AndroidCompiledStatement.toSqlArg(1.5F, SqlType.FLOAT));
+		assertEquals(2.25D, AndroidCompiledStatement.toSqlArg(2.25D, SqlType.DOUBLE));
+	}
+
+	@Test
+	public void testNonNumberInNumericColumnBindsAsString() throws Exception {
+		// such as a select-arg with a string value compared to an integer column
+		assertEquals("12", AndroidCompiledStatement.toSqlArg("12", SqlType.INTEGER));
+		assertEquals("1.5", AndroidCompiledStatement.toSqlArg("1.5", SqlType.DOUBLE));
+	}
+
+	@Test
+	public void testStringTypes() throws Exception {
+		assertEquals("abc", AndroidCompiledStatement.toSqlArg("abc", SqlType.STRING));
+		assertEquals("12", AndroidCompiledStatement.toSqlArg(12, SqlType.LONG_STRING));
+		assertEquals("x", AndroidCompiledStatement.toSqlArg('x', SqlType.CHAR));
+	}
+
+	@Test
+	public void testBytesPassedThrough() throws Exception {
+		byte[] bytes = new byte[] { 1, 2, 3 };
+		assertSame(bytes, AndroidCompiledStatement.toSqlArg(bytes, SqlType.BYTE_ARRAY));
+		assertArrayEquals(bytes, (byte[]) AndroidCompiledStatement.toSqlArg(bytes, SqlType.SERIALIZABLE));
+	}
+
+	@Test
+	public void testNull() throws Exception {
+		assertNull(AndroidCompiledStatement.toSqlArg(null, SqlType.INTEGER));
+	}
+
+	@Test(expected = SQLException.class)
+	public void testBlobInvalid() throws Exception {
+		AndroidCompiledStatement.toSqlArg(new byte[0], SqlType.BLOB);
+	}
+
+	@Test(expected = SQLException.class)
+	public void testUnknownInvalid() throws Exception {
+		AndroidCompiledStatement.toSqlArg("x", SqlType.UNKNOWN);
+	}
+}
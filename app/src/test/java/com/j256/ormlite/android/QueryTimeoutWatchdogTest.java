@@ -0,0 +1,69 @@
+package com.j256.ormlite.android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.j256.ormlite.android.QueryTimeoutWatchdog.Deadline;
+import com.j256.ormlite.android.compat.ApiCompatibility.CancellationHook;
+
+public class QueryTimeoutWatchdogTest {
+
+	private final QueryTimeoutWatchdog watchdog = QueryTimeoutWatchdog.getInstance();
+
+	@Test
+	public void testExpiredDeadlineCancels() throws Exception {
+		LatchHook hook = new LatchHook();
+		Deadline deadline = watchdog.schedule(hook, 10);
+		assertTrue(hook.latch.await(5, TimeUnit.SECONDS));
+		assertTrue(deadline.isExpired());
+		assertEquals(1, hook.cancelCount.get());
+		watchdog.cancel(deadline);
+	}
+
+	@Test
+	public void testFinishedQueryNotCanceled() throws Exception {
+		LatchHook hook = new LatchHook();
+		Deadline deadline = watchdog.schedule(hook, 50);
+		// the query finished before its deadline
+		watchdog.cancel(deadline);
+		assertFalse(hook.latch.await(200, TimeUnit.MILLISECONDS));
+		assertFalse(deadline.isExpired());
+		assertEquals(0, hook.cancelCount.get());
+	}
+
+	@Test
+	public void testEarlierDeadlineWakesWatchdog() throws Exception {
+		LatchHook laterHook = new LatchHook();
+		Deadline laterDeadline = watchdog.schedule(laterHook, TimeUnit.MINUTES.toMillis(1));
+		LatchHook earlierHook = new LatchHook();
+		Deadline earlierDeadline = watchdog.schedule(earlierHook, 10);
+		try {
+			// the watchdog is waiting on the later deadline and must be woken up for the earlier one
+			assertTrue(earlierHook.latch.await(5, TimeUnit.SECONDS));
+			assertTrue(earlierDeadline.isExpired());
+			assertFalse(laterDeadline.isExpired());
+			assertEquals(0, laterHook.cancelCount.get());
+		} finally {
+			watchdog.cancel(laterDeadline);
+			watchdog.cancel(earlierDeadline);
+		}
+	}
+
+	private static class LatchHook implements CancellationHook {
+		final CountDownLatch latch = new CountDownLatch(1);
+		final AtomicInteger cancelCount = new AtomicInteger();
+
+		@Override
+		public void cancel() {
+			cancelCount.incrementAndGet();
+			latch.countDown();
+		}
+	}
+}
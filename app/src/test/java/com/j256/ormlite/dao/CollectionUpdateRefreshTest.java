@@ -0,0 +1,156 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao.DaoObserver;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.stmt.mapped.MappedDeleteCollection;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class CollectionUpdateRefreshTest extends BaseCoreTest {
+
+	@Test
+	public void testUpdate() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = createFoos(dao, 5);
+		final AtomicInteger changeCount = new AtomicInteger();
+		dao.registerObserver(new DaoObserver() {
+			@Override
+			public void onChange() {
+				changeCount.incrementAndGet();
+			}
+		});
+		for (Foo foo : foos) {
+			foo.name = "updated" + foo.id;
+		}
+		assertEquals(5, dao.update(foos));
+		// one notification for all of the updates
+		assertEquals(1, changeCount.get());
+		for (Foo foo : foos) {
+			assertEquals("updated" + foo.id, dao.queryForId(foo.id).name);
+		}
+		assertEquals(0, dao.update(Collections.<Foo> emptyList()));
+		assertEquals(1, changeCount.get());
+	}
+
+	@Test
+	public void testUpdateMissingRow() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = createFoos(dao, 2);
+		Foo missing = new Foo();
+		missing.id = 100;
+		missing.name = "missing";
+		List<Foo> updates = new ArrayList<Foo>(foos);
+		updates.add(missing);
+		assertEquals(2, dao.update(updates));
+		assertNull(dao.queryForId(missing.id));
+	}
+
+	@Test
+	public void testRefresh() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = createFoos(dao, 4);
+		dao.updateRaw("UPDATE collfoo SET name = 'raw' || id, val = id * 10");
+		Foo first = foos.get(0);
+
+		getConnection().clearStatements();
+		assertEquals(4, dao.refresh(foos));
+		assertEquals(1, countSelects());
+		// refreshed in place
+		assertSame(first, foos.get(0));
+		for (Foo foo : foos) {
+			assertEquals("raw" + foo.id, foo.name);
+			assertEquals(foo.id * 10, foo.val);
+		}
+	}
+
+	@Test
+	public void testRefreshMissingDuplicateAndNullIds() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = createFoos(dao, 2);
+		dao.updateRaw("UPDATE collfoo SET name = 'raw'");
+		Foo missing = new Foo();
+		missing.id = 100;
+		missing.name = "missing";
+		Foo noId = new Foo();
+		noId.name = "noId";
+		// another instance for the row of the first
+		Foo duplicate = new Foo();
+		duplicate.id = foos.get(0).id;
+
+		List<Foo> refreshes = Arrays.asList(foos.get(0), missing, duplicate, noId, foos.get(1));
+		assertEquals(3, dao.refresh(refreshes));
+		assertEquals("raw", foos.get(0).name);
+		assertEquals("raw", duplicate.name);
+		assertEquals("raw", foos.get(1).name);
+		// left as they were
+		assertEquals("missing", missing.name);
+		assertEquals("noId", noId.name);
+	}
+
+	@Test
+	public void testRefreshChunks() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		final int numFoos = MappedDeleteCollection.MAX_BUCKET_SIZE * 2 + 10;
+		List<Foo> foos = dao.callBatchTasks(new Callable<List<Foo>>() {
+			@Override
+			public List<Foo> call() throws Exception {
+				return createFoos(dao, numFoos);
+			}
+		});
+		dao.updateRaw("UPDATE collfoo SET val = id + 1");
+
+		getConnection().clearStatements();
+		assertEquals(numFoos, dao.refresh(foos));
+		// an IN query for each chunk of ids
+		assertEquals(3, countSelects());
+		for (Foo foo : foos) {
+			assertEquals(foo.id + 1, foo.val);
+		}
+	}
+
+	private List<Foo> createFoos(Dao<Foo, Integer> dao, int count) throws SQLException {
+		List<Foo> foos = new ArrayList<Foo>(count);
+		for (int i = 0; i < count; i++) {
+			Foo foo = new Foo();
+			foo.name = "foo" + i;
+			foo.val = i;
+			assertEquals(1, dao.create(foo));
+			foos.add(foo);
+		}
+		return foos;
+	}
+
+	private int countSelects() throws SQLException {
+		int count = 0;
+		for (String statement : getConnection().getStatements()) {
+			if (statement.startsWith("SELECT")) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@DatabaseTable(tableName = "collfoo")
+	protected static class Foo {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String name;
+		@DatabaseField
+		int val;
+	}
+}
@@ -0,0 +1,206 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.ColumnarResults.ColumnType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class ColumnarResultsTest extends BaseCoreTest {
+
+	private static final int NAME = 0;
+	private static final int COUNT = 1;
+	private static final int RATE = 2;
+
+	@Test
+	public void testRead() throws Exception {
+		ColumnarResults results = queryFoos(createDao());
+		assertEquals(5, results.getRowCount());
+		assertEquals(3, results.getColumnCount());
+		assertEquals(ColumnType.STRING, results.getColumnType(NAME));
+		assertEquals(ColumnType.LONG, results.getColumnType(COUNT));
+		assertEquals(ColumnType.DOUBLE, results.getColumnType(RATE));
+		assertEquals(COUNT, results.findColumn("COUNT"));
+		assertArrayEquals(new long[] { 3, 1, 0, 2, 1 }, results.getLongColumn(COUNT));
+		assertEquals(0.5, results.getDouble(1, RATE), 0.0);
+		// integer columns can be read as doubles
+		assertEquals(3.0, results.getDouble(0, COUNT), 0.0);
+
+		// equal strings share a code
+		assertArrayEquals(new String[] { "b", "a", "c" }, results.getStringDictionary(NAME));
+		assertArrayEquals(new int[] { 0, 1, -1, 0, 2 }, results.getStringCodes(NAME));
+		assertEquals("b", results.getString(3, NAME));
+		assertNull(results.getString(2, NAME));
+
+		assertTrue(results.isNull(2, NAME));
+		assertTrue(results.isNull(2, COUNT));
+		assertTrue(results.isNull(2, RATE));
+		assertFalse(results.isNull(1, COUNT));
+	}
+
+	@Test
+	public void testWrongColumnType() throws Exception {
+		ColumnarResults results = queryFoos(createDao());
+		try {
+			results.getLongColumn(NAME);
+			fail("should have thrown");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		try {
+			results.findColumn("unknown");
+			fail("should have thrown");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testColumnTypeCountMismatch() throws Exception {
+		Dao<Foo, Integer> dao = createDao();
+		try {
+			dao.queryColumnar("SELECT name, count FROM foo", new ColumnType[] { ColumnType.STRING });
+			fail("should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testFilterBetween() throws Exception {
+		ColumnarResults results = queryFoos(createDao());
+		// the null row is stored as 0 but never matches
+		assertArrayEquals(new int[] { 1, 3, 4 }, results.filterBetween(COUNT, 0L, 2L, null));
+		assertArrayEquals(new int[] { 1, 4 }, results.filterBetween(COUNT, 1L, 1L, null));
+		assertArrayEquals(new int[] { 0, 1 }, results.filterBetween(RATE, 0.5, 1.0, null));
+		// narrow an earlier filter
+		int[] rows = results.filterBetween(COUNT, 1L, 3L, null);
+		assertArrayEquals(new int[] { 0, 1, 3, 4 }, rows);
+		assertArrayEquals(new int[] { 0, 1 }, results.filterBetween(RATE, 0.5, 1.0, rows));
+		assertArrayEquals(new int[0], results.filterBetween(COUNT, 10L, 20L, rows));
+	}
+
+	@Test
+	public void testFilterEquals() throws Exception {
+		ColumnarResults results = queryFoos(createDao());
+		assertArrayEquals(new int[] { 0, 3 }, results.filterEquals(NAME, "b", null));
+		assertArrayEquals(new int[] { 2 }, results.filterEquals(NAME, null, null));
+		assertArrayEquals(new int[0], results.filterEquals(NAME, "unknown", null));
+		assertArrayEquals(new int[] { 3 }, results.filterEquals(NAME, "b", new int[] { 1, 2, 3 }));
+	}
+
+	@Test
+	public void testSortRows() throws Exception {
+		ColumnarResults results = queryFoos(createDao());
+		// nulls first when ascending
+		assertArrayEquals(new int[] { 2, 1, 4, 3, 0 }, results.sortRows(COUNT, true, null));
+		assertArrayEquals(new int[] { 0, 3, 1, 4, 2 }, results.sortRows(COUNT, false, null));
+		assertArrayEquals(new int[] { 2, 1, 0, 3, 4 }, results.sortRows(NAME, true, null));
+		assertArrayEquals(new int[] { 2, 1, 0, 3, 4 }, results.sortRows(RATE, true, null));
+
+		// the rows passed in are not modified
+		int[] rows = new int[] { 4, 3, 1 };
+		assertArrayEquals(new int[] { 4, 1, 3 }, results.sortRows(COUNT, true, rows));
+		assertArrayEquals(new int[] { 4, 3, 1 }, rows);
+	}
+
+	@Test
+	public void testSortStable() throws Exception {
+		ColumnarResults results = queryFoos(createDao());
+		// by name and then by count
+		int[] rows = results.sortRows(NAME, true, null);
+		rows = results.sortRows(COUNT, true, rows);
+		assertArrayEquals(new int[] { 2, 1, 4, 3, 0 }, rows);
+		// by count and then by name
+		rows = results.sortRows(COUNT, false, null);
+		rows = results.sortRows(NAME, true, rows);
+		assertArrayEquals(new int[] { 2, 1, 0, 3, 4 }, rows);
+	}
+
+	@Test
+	public void testManyRows() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Random random = new Random(1);
+		final List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < 1000; i++) {
+			foos.add(new Foo("name" + random.nextInt(50), (long) random.nextInt(100), random.nextDouble()));
+		}
+		dao.create(foos);
+		ColumnarResults results = queryFoos(dao);
+		assertEquals(foos.size(), results.getRowCount());
+		assertEquals(50, results.getStringDictionary(NAME).length, 5);
+
+		// same order as a stable sort of the objects
+		List<Integer> expected = new ArrayList<Integer>();
+		for (int i = 0; i < foos.size(); i++) {
+			expected.add(i);
+		}
+		Collections.sort(expected, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer row1, Integer row2) {
+				return foos.get(row2).count.compareTo(foos.get(row1).count);
+			}
+		});
+		int[] rows = results.sortRows(COUNT, false, null);
+		for (int i = 0; i < rows.length; i++) {
+			assertEquals(expected.get(i).intValue(), rows[i]);
+		}
+
+		for (int row : results.filterBetween(RATE, 0.25, 0.75, null)) {
+			double rate = foos.get(row).rate;
+			assertTrue(rate >= 0.25 && rate <= 0.75);
+		}
+		assertSame(results.getLongColumn(COUNT), results.getLongColumn(COUNT));
+	}
+
+	private Dao<Foo, Integer> createDao() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.create(new Foo("b", 3L, 0.75));
+		dao.create(new Foo("a", 1L, 0.5));
+		dao.create(new Foo(null, null, null));
+		dao.create(new Foo("b", 2L, 1.25));
+		dao.create(new Foo("c", 1L, 1.5));
+		return dao;
+	}
+
+	private ColumnarResults queryFoos(Dao<Foo, Integer> dao) throws Exception {
+		return dao.queryBuilder().orderBy("id", true).queryColumnar("name", "count", "rate");
+	}
+
+	@DatabaseTable(tableName = "foo")
+	protected static class Foo {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String name;
+		@DatabaseField
+		Long count;
+		@DatabaseField
+		Double rate;
+
+		public Foo() {
+		}
+
+		public Foo(String name, Long count, Double rate) {
+			this.name = name;
+			this.count = count;
+			this.rate = rate;
+		}
+	}
+}
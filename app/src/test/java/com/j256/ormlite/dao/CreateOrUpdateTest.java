@@ -0,0 +1,171 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao.CreateOrUpdateStatus;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.j256.ormlite.jdbc.SqliteJdbcDatabaseType;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class CreateOrUpdateTest extends BaseCoreTest {
+
+	@Test
+	public void testCreateIfNotExists() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo = newFoo(1, "first");
+		getConnection().clearStatements();
+		assertSame(foo, dao.createIfNotExists(foo));
+		// a single insert without the query
+		assertStatements("INSERT OR IGNORE ");
+
+		Foo other = newFoo(1, "second");
+		getConnection().clearStatements();
+		Foo existing = dao.createIfNotExists(other);
+		assertNotSame(other, existing);
+		assertEquals("first", existing.name);
+		assertStatements("INSERT OR IGNORE ", "SELECT ");
+		assertEquals(1, dao.countOf());
+	}
+
+	@Test
+	public void testCreateIfNotExistsOtherConstraint() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.create(newFoo(1, "unique"));
+		try {
+			dao.createIfNotExists(newFoo(2, "unique"));
+			fail("should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testCreateOrUpdate() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		getConnection().clearStatements();
+		assertStatus(true, false, 1, dao.createOrUpdate(newFoo(1, "first")));
+		// the update found no row so the upsert created it
+		assertStatements("UPDATE ", "INSERT ");
+		assertTrue(getConnection().getStatements().get(1).contains("ON CONFLICT"));
+
+		getConnection().clearStatements();
+		assertStatus(false, true, 1, dao.createOrUpdate(newFoo(1, "second")));
+		assertStatements("UPDATE ");
+		assertEquals("second", dao.queryForId(1).name);
+		assertEquals(1, dao.countOf());
+	}
+
+	@Test
+	public void testCreateOrUpdateGeneratedId() throws Exception {
+		Dao<GeneratedFoo, Integer> dao = createDao(GeneratedFoo.class, true);
+		GeneratedFoo foo = new GeneratedFoo();
+		foo.name = "first";
+		// no id yet so it is created
+		assertStatus(true, false, 1, dao.createOrUpdate(foo));
+		assertTrue(foo.id > 0);
+		foo.name = "second";
+		assertStatus(false, true, 1, dao.createOrUpdate(foo));
+		assertEquals("second", dao.queryForId(foo.id).name);
+	}
+
+	@Test
+	public void testCreateOrUpdateWithoutUpsert() throws Exception {
+		connectionSource.close();
+		databaseType = new NoUpsertDatabaseType();
+		connectionSource = new JdbcConnectionSource("jdbc:sqlite::memory:", databaseType);
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+
+		getConnection().clearStatements();
+		assertStatus(true, false, 1, dao.createOrUpdate(newFoo(1, "first")));
+		assertStatements("UPDATE ", "INSERT OR IGNORE ");
+		assertStatus(false, true, 1, dao.createOrUpdate(newFoo(1, "second")));
+		assertEquals("second", dao.queryForId(1).name);
+	}
+
+	@Test
+	public void testCreateOrUpdateVersion() throws Exception {
+		Dao<VersionFoo, Integer> dao = createDao(VersionFoo.class, true);
+		VersionFoo foo = new VersionFoo();
+		foo.id = 1;
+		foo.name = "first";
+		assertStatus(true, false, 1, dao.createOrUpdate(foo));
+		assertEquals(1, (int) foo.version);
+
+		VersionFoo stale = dao.queryForId(1);
+		foo.name = "second";
+		assertStatus(false, true, 1, dao.createOrUpdate(foo));
+		assertEquals(2, (int) foo.version);
+
+		// the version no longer matches so nothing is updated but it does not throw
+		stale.name = "stale";
+		assertStatus(false, true, 0, dao.createOrUpdate(stale));
+		assertEquals("second", dao.queryForId(1).name);
+	}
+
+	private void assertStatus(boolean created, boolean updated, int numLinesChanged, CreateOrUpdateStatus status) {
+		assertEquals(created, status.isCreated());
+		assertEquals(updated, status.isUpdated());
+		assertEquals(numLinesChanged, status.getNumLinesChanged());
+	}
+
+	private void assertStatements(String... prefixes) throws SQLException {
+		List<String> statements = getConnection().getStatements();
+		assertEquals(statements.toString(), prefixes.length, statements.size());
+		for (int i = 0; i < prefixes.length; i++) {
+			assertTrue(statements.get(i), statements.get(i).startsWith(prefixes[i]));
+		}
+	}
+
+	private Foo newFoo(int id, String name) {
+		Foo foo = new Foo();
+		foo.id = id;
+		foo.name = name;
+		return foo;
+	}
+
+	private static class NoUpsertDatabaseType extends SqliteJdbcDatabaseType {
+		@Override
+		public boolean isUpsertSupported() {
+			// like Android before R
+			return false;
+		}
+	}
+
+	@DatabaseTable(tableName = "upsertfoo")
+	protected static class Foo {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField(unique = true)
+		String name;
+	}
+
+	@DatabaseTable(tableName = "upsertgenfoo")
+	protected static class GeneratedFoo {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String name;
+	}
+
+	@DatabaseTable(tableName = "upsertversionfoo")
+	protected static class VersionFoo {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField
+		String name;
+		@DatabaseField(version = true)
+		Integer version;
+	}
+}
@@ -0,0 +1,73 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.table.DatabaseTable;
+import com.j256.ormlite.table.GeneratedTableAccessors;
+import com.j256.ormlite.table.TableUtils;
+
+public class DaoManagerTest extends BaseCoreTest {
+
+	@Test
+	public void testGeneratedConfig() throws Exception {
+		assertNotNull(GeneratedTableAccessors.lookupTableConfig(Plain.class));
+		Dao<Plain, Integer> dao = createDao(Plain.class, true);
+		assertSame(dao, DaoManager.createDao(connectionSource, Plain.class));
+		Plain plain = new Plain();
+		plain.name = "plain";
+		assertEquals(1, dao.create(plain));
+		assertEquals("plain", dao.queryForId(plain.id).name);
+	}
+
+	@Test
+	public void testCustomDaoClassWithGeneratedConfig() throws Exception {
+		// the generated config must not force the custom DAO to have a DatabaseTableConfig constructor
+		assertNotNull(GeneratedTableAccessors.lookupTableConfig(Custom.class));
+		TableUtils.createTable(connectionSource, Custom.class);
+		Dao<Custom, Integer> dao = DaoManager.createDao(connectionSource, Custom.class);
+		assertTrue(dao instanceof CustomDao);
+		assertSame(dao, DaoManager.createDao(connectionSource, Custom.class));
+		Custom custom = new Custom();
+		custom.name = "custom";
+		assertEquals(1, dao.create(custom));
+		assertEquals("custom", dao.queryForId(custom.id).name);
+	}
+
+	@DatabaseTable(tableName = "plain")
+	protected static class Plain {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String name;
+
+		public Plain() {
+		}
+	}
+
+	@DatabaseTable(tableName = "custom", daoClass = CustomDao.class)
+	protected static class Custom {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String name;
+
+		public Custom() {
+		}
+	}
+
+	public static class CustomDao extends BaseDaoImpl<Custom, Integer> {
+		public CustomDao(ConnectionSource connectionSource) throws SQLException {
+			super(connectionSource, Custom.class);
+		}
+	}
+}
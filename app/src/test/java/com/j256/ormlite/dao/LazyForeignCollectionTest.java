@@ -0,0 +1,97 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.field.ForeignCollectionField;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class LazyForeignCollectionTest extends BaseCoreTest {
+
+	@Test
+	public void testCountCachedUntilChange() throws Exception {
+		Dao<Parent, Integer> parentDao = createDao(Parent.class, true);
+		Dao<Child, Integer> childDao = createDao(Child.class, true);
+		Parent parent = createParent(parentDao, childDao, 2);
+
+		Parent result = parentDao.queryForId(parent.id);
+		assertEquals(2, result.children.size());
+		getConnection().clearStatements();
+		assertEquals(2, result.children.size());
+		assertEquals(0, getConnection().getStatements().size());
+
+		createChild(childDao, parent);
+		assertEquals(3, result.children.size());
+	}
+
+	@Test
+	public void testObserverDoesNotHoldCollection() throws Exception {
+		Dao<Parent, Integer> parentDao = createDao(Parent.class, true);
+		Dao<Child, Integer> childDao = createDao(Child.class, true);
+		Parent parent = createParent(parentDao, childDao, 1);
+
+		Parent result = parentDao.queryForId(parent.id);
+		assertEquals(1, result.children.size());
+		assertEquals(1, observerCount(childDao));
+
+		WeakReference<Parent> parentRef = new WeakReference<Parent>(result);
+		result = null;
+		for (int i = 0; i < 20 && parentRef.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		// the DAO still has the observer but it must not keep the collection and its parent alive
+		assertNull(parentRef.get());
+
+		// the next change removes the observer of the collected collection
+		createChild(childDao, parent);
+		assertEquals(0, observerCount(childDao));
+	}
+
+	private Parent createParent(Dao<Parent, Integer> parentDao, Dao<Child, Integer> childDao, int numChildren)
+			throws Exception {
+		Parent parent = new Parent();
+		parentDao.create(parent);
+		for (int i = 0; i < numChildren; i++) {
+			createChild(childDao, parent);
+		}
+		return parent;
+	}
+
+	private void createChild(Dao<Child, Integer> childDao, Parent parent) throws Exception {
+		Child child = new Child();
+		child.parent = parent;
+		assertEquals(1, childDao.create(child));
+	}
+
+	private int observerCount(Dao<?, ?> dao) throws Exception {
+		Field field = BaseDaoImpl.class.getDeclaredField("daoObserverMap");
+		field.setAccessible(true);
+		Map<?, ?> observerMap = (Map<?, ?>) field.get(dao);
+		return (observerMap == null ? 0 : observerMap.size());
+	}
+
+	@DatabaseTable(tableName = "lazyparent")
+	protected static class Parent {
+		@DatabaseField(generatedId = true)
+		int id;
+		@ForeignCollectionField(countCached = true)
+		ForeignCollection<Child> children;
+	}
+
+	@DatabaseTable(tableName = "lazychild")
+	protected static class Child {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(foreign = true)
+		Parent parent;
+	}
+}
@@ -0,0 +1,142 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class ReuseInstanceIteratorTest extends BaseCoreTest {
+
+	private static final int ROW_COUNT = 5;
+
+	@Test
+	public void testSameInstance() throws Exception {
+		Dao<Foo, Integer> dao = createFoos();
+		CloseableIterator<Foo> iterator = dao.iterator(dao.queryBuilder().orderBy("id", true).prepare(),
+				DatabaseConnection.REUSE_INSTANCE_RESULT_FLAG);
+		try {
+			Foo first = null;
+			for (int i = 1; i <= ROW_COUNT; i++) {
+				assertTrue(iterator.hasNext());
+				Foo foo = iterator.next();
+				if (first == null) {
+					first = foo;
+				} else {
+					assertSame(first, foo);
+				}
+				// the fields are those of the current row
+				assertEquals(i, foo.id);
+				assertEquals("foo" + i, foo.name);
+				assertEquals(i * 10, foo.val);
+			}
+			assertFalse(iterator.hasNext());
+		} finally {
+			iterator.close();
+		}
+	}
+
+	@Test
+	public void testObjectCacheBypassed() throws Exception {
+		Dao<Foo, Integer> dao = createFoos();
+		dao.setObjectCache(true);
+		ObjectCache objectCache = dao.getObjectCache();
+		objectCache.clearAll();
+
+		Foo cached = dao.queryForId(1);
+		assertEquals(1, objectCache.size(Foo.class));
+		CloseableIterator<Foo> iterator = dao.iterator(dao.queryBuilder().orderBy("id", true).prepare(),
+				DatabaseConnection.REUSE_INSTANCE_RESULT_FLAG);
+		try {
+			Foo foo = iterator.next();
+			assertEquals(1, foo.id);
+			// not the cached object and the reused instance was not stored
+			assertNotSame(cached, foo);
+			while (iterator.hasNext()) {
+				iterator.next();
+			}
+		} finally {
+			iterator.close();
+		}
+		assertEquals(1, objectCache.size(Foo.class));
+		assertSame(cached, dao.queryForId(1));
+	}
+
+	@Test
+	public void testFlagStrippedBeforeCompile() throws Exception {
+		Dao<Foo, Integer> dao = createFoos();
+		CloseableIterator<Foo> iterator = dao.iterator(dao.queryBuilder().prepare(),
+				DatabaseConnection.REUSE_INSTANCE_RESULT_FLAG);
+		iterator.close();
+		// only the reuse flag was passed so the database gets the default flags
+		assertEquals(DatabaseConnection.DEFAULT_RESULT_FLAGS, getConnection().getLastResultFlags());
+
+		int otherFlag = 0x1;
+		iterator = dao.iterator(dao.queryBuilder().prepare(),
+				otherFlag | DatabaseConnection.REUSE_INSTANCE_RESULT_FLAG);
+		iterator.close();
+		assertEquals(otherFlag, getConnection().getLastResultFlags());
+	}
+
+	@Test
+	public void testUnselectedColumnsKeepValues() throws Exception {
+		Dao<Foo, Integer> dao = createFoos();
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.selectColumns("id", "val").orderBy("id", true);
+		CloseableIterator<Foo> iterator = dao.iterator(qb.prepare(), DatabaseConnection.REUSE_INSTANCE_RESULT_FLAG);
+		try {
+			Foo foo = iterator.next();
+			assertEquals(1, foo.id);
+			assertNull(foo.name);
+			// the name is not assigned from the rows so it keeps whatever the instance had
+			foo.name = "stale";
+			foo = iterator.next();
+			assertEquals(2, foo.id);
+			assertEquals(20, foo.val);
+			assertEquals("stale", foo.name);
+		} finally {
+			iterator.close();
+		}
+	}
+
+	@Test
+	public void testCountOf() throws Exception {
+		Dao<Foo, Integer> dao = createFoos();
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.setCountOf(true);
+		assertEquals(ROW_COUNT, dao.countOf(qb.prepare()));
+		qb.where().gt("val", 20);
+		assertEquals(ROW_COUNT - 2, dao.countOf(qb.prepare()));
+	}
+
+	private Dao<Foo, Integer> createFoos() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		for (int i = 1; i <= ROW_COUNT; i++) {
+			Foo foo = new Foo();
+			foo.id = i;
+			foo.name = "foo" + i;
+			foo.val = i * 10;
+			assertEquals(1, dao.create(foo));
+		}
+		return dao;
+	}
+
+	@DatabaseTable(tableName = "foo")
+	protected static class Foo {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField
+		String name;
+		@DatabaseField
+		int val;
+	}
+}
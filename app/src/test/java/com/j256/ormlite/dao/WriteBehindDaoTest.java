@@ -0,0 +1,135 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class WriteBehindDaoTest extends BaseCoreTest {
+
+	private static final long NEVER_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+	@Test
+	public void testFlush() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		WriteBehindDao<Foo, Integer> writeBehindDao = new WriteBehindDao<Foo, Integer>(dao, 100, NEVER_MILLIS);
+		Future<Integer> future1 = writeBehindDao.create(new Foo(1));
+		Future<Integer> future2 = writeBehindDao.create(new Foo(2));
+		assertEquals(2, writeBehindDao.getPendingCount());
+		assertEquals(0, dao.countOf());
+		writeBehindDao.flush();
+		assertEquals(0, writeBehindDao.getPendingCount());
+		assertEquals(2, dao.countOf());
+		assertEquals(Integer.valueOf(1), future1.get());
+		assertEquals(Integer.valueOf(1), future2.get());
+		writeBehindDao.close();
+	}
+
+	@Test
+	public void testFlushThrowsWhenBatchFails() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		WriteBehindDao<Foo, Integer> writeBehindDao = new WriteBehindDao<Foo, Integer>(dao, 100, NEVER_MILLIS);
+		Future<Integer> future1 = writeBehindDao.create(new Foo(1));
+		// same id so the batch fails and is rolled back
+		Future<Integer> future2 = writeBehindDao.create(new Foo(1));
+		try {
+			writeBehindDao.flush();
+			fail("should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+		assertEquals(0, dao.countOf());
+		assertFailed(future1);
+		assertFailed(future2);
+		// the failure has been reported
+		writeBehindDao.flush();
+		writeBehindDao.close();
+	}
+
+	@Test
+	public void testCloseThrowsWhenBatchFails() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		WriteBehindDao<Foo, Integer> writeBehindDao = new WriteBehindDao<Foo, Integer>(dao, 100, NEVER_MILLIS);
+		writeBehindDao.create(new Foo(1));
+		writeBehindDao.create(new Foo(1));
+		try {
+			writeBehindDao.close();
+			fail("should have thrown");
+		} catch (IOException e) {
+			assertTrue(e.getCause() instanceof SQLException);
+		}
+		assertEquals(0, dao.countOf());
+	}
+
+	@Test
+	public void testFlushReportsBackgroundFailure() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		WriteBehindDao<Foo, Integer> writeBehindDao = new WriteBehindDao<Foo, Integer>(dao, 2, NEVER_MILLIS);
+		writeBehindDao.create(new Foo(1));
+		// reaching the batch size flushes in the background
+		Future<Integer> future = writeBehindDao.create(new Foo(1));
+		assertFailed(future);
+		try {
+			writeBehindDao.flush();
+			fail("should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+		writeBehindDao.close();
+	}
+
+	@Test
+	public void testCancel() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		WriteBehindDao<Foo, Integer> writeBehindDao = new WriteBehindDao<Foo, Integer>(dao, 100, NEVER_MILLIS);
+		Future<Integer> future1 = writeBehindDao.create(new Foo(1));
+		Future<Integer> future2 = writeBehindDao.create(new Foo(2));
+		assertTrue(future1.cancel(false));
+		assertTrue(future1.isCancelled());
+		assertEquals(1, writeBehindDao.getPendingCount());
+		writeBehindDao.flush();
+		assertEquals(1, dao.countOf());
+		assertEquals(null, dao.queryForId(1));
+		assertEquals(Integer.valueOf(1), future2.get());
+		// too late once it has been written
+		assertFalse(future2.cancel(false));
+		assertFalse(future2.isCancelled());
+		writeBehindDao.close();
+	}
+
+	private static void assertFailed(Future<Integer> future) throws InterruptedException {
+		try {
+			future.get(10, TimeUnit.SECONDS);
+			fail("should have thrown");
+		} catch (ExecutionException e) {
+			// expected
+		} catch (java.util.concurrent.TimeoutException e) {
+			fail("write was not flushed");
+		}
+	}
+
+	@DatabaseTable(tableName = "foo")
+	protected static class Foo {
+		@DatabaseField(id = true)
+		int id;
+
+		public Foo() {
+		}
+
+		public Foo(int id) {
+			this.id = id;
+		}
+	}
+}
@@ -0,0 +1,144 @@
+package com.j256.ormlite.field;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.EagerForeignCollection;
+import com.j256.ormlite.dao.ForeignCollection;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class EagerForeignCollectionBatchTest extends BaseCoreTest {
+
+	@Test
+	public void testGroupedByParent() throws Exception {
+		Dao<Parent, Integer> parentDao = createDao(Parent.class, true);
+		Dao<Child, Integer> childDao = createDao(Child.class, true);
+		for (int i = 0; i < 4; i++) {
+			Parent parent = new Parent();
+			parent.name = "parent" + i;
+			parentDao.create(parent);
+			// the last parent has no children
+			for (int j = 0; j < 3 - i; j++) {
+				Child child = new Child();
+				child.parent = parent;
+				// reverse order so the order-by column is not the insertion order
+				child.rank = 10 - j;
+				childDao.create(child);
+			}
+		}
+
+		getConnection().clearStatements();
+		List<Parent> parents = parentDao.queryBuilder().orderBy("id", true).query();
+		assertEquals(4, parents.size());
+		// the parents and one IN query for all of the children
+		assertEquals(getConnection().getStatements().toString(), 2, countSelects());
+
+		for (int i = 0; i < 4; i++) {
+			Parent parent = parents.get(i);
+			assertTrue(parent.children instanceof EagerForeignCollection);
+			List<Child> children = new ArrayList<Child>(parent.children);
+			assertEquals(3 - i, children.size());
+			int lastRank = Integer.MIN_VALUE;
+			for (Child child : children) {
+				// the item is assigned the parent that was read and not a new shell
+				assertSame(parent, child.parent);
+				assertTrue(child.rank > lastRank);
+				lastRank = child.rank;
+			}
+		}
+		assertEquals(0, parents.get(3).children.size());
+	}
+
+	@Test
+	public void testChunks() throws Exception {
+		Dao<Parent, Integer> parentDao = createDao(Parent.class, true);
+		Dao<Child, Integer> childDao = createDao(Child.class, true);
+		final int numParents = FieldType.FOREIGN_REFRESH_BATCH_SIZE + 10;
+		parentDao.callBatchTasks(new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				for (int i = 0; i < numParents; i++) {
+					Parent parent = new Parent();
+					parent.name = "parent" + i;
+					parentDao.create(parent);
+					Child child = new Child();
+					child.parent = parent;
+					child.rank = i;
+					childDao.create(child);
+				}
+				return null;
+			}
+		});
+
+		getConnection().clearStatements();
+		List<Parent> parents = parentDao.queryForAll();
+		assertEquals(numParents, parents.size());
+		// the parents and an IN query for each chunk of parent ids
+		assertEquals(3, countSelects());
+		for (Parent parent : parents) {
+			assertEquals(1, parent.children.size());
+			Child child = parent.children.iterator().next();
+			assertSame(parent, child.parent);
+			assertEquals("parent" + child.rank, parent.name);
+		}
+	}
+
+	@Test
+	public void testSingleParent() throws Exception {
+		Dao<Parent, Integer> parentDao = createDao(Parent.class, true);
+		Dao<Child, Integer> childDao = createDao(Child.class, true);
+		Parent parent = new Parent();
+		parent.name = "parent";
+		parentDao.create(parent);
+		Child child = new Child();
+		child.parent = parent;
+		childDao.create(child);
+
+		// not a list query so the collection is loaded as before
+		Parent result = parentDao.queryForId(parent.id);
+		assertNotNull(result);
+		assertEquals(1, result.children.size());
+		assertEquals(child.id, result.children.iterator().next().id);
+	}
+
+	private int countSelects() throws SQLException {
+		int count = 0;
+		for (String statement : getConnection().getStatements()) {
+			if (statement.startsWith("SELECT")) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@DatabaseTable(tableName = "batchparent")
+	protected static class Parent {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String name;
+		@ForeignCollectionField(eager = true, eagerBatch = true, orderColumnName = "rank")
+		ForeignCollection<Child> children;
+	}
+
+	@DatabaseTable(tableName = "batchchild")
+	protected static class Child {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(foreign = true)
+		Parent parent;
+		@DatabaseField
+		int rank;
+	}
+}
@@ -0,0 +1,181 @@
+package com.j256.ormlite.field;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.example.a073105.baiguiyi.bean.AuthorInfo;
+import com.example.a073105.baiguiyi.bean.Book;
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class ForeignRefreshBatchTest extends BaseCoreTest {
+
+	private static final int MAX_LEVEL = 2;
+	private static final int CHAIN_LENGTH = 6;
+
+	@Test
+	public void testBatchRequiresAutoRefresh() throws Exception {
+		try {
+			FieldType.createFieldType(connectionSource, "nobatch", NoAutoRefresh.class.getDeclaredField("other"),
+					NoAutoRefresh.class);
+			fail("should have thrown");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testBookAuthors() throws Exception {
+		Dao<AuthorInfo, Integer> authorDao = createDao(AuthorInfo.class, true);
+		Dao<Book, Integer> bookDao = createDao(Book.class, true);
+		for (int i = 0; i < 3; i++) {
+			AuthorInfo author = new AuthorInfo();
+			author.setName("author" + i);
+			author.setAge(30 + i);
+			authorDao.create(author);
+		}
+		for (int i = 0; i < 10; i++) {
+			Book book = new Book();
+			book.setName("book" + i);
+			// the last book has an author that is not in the table
+			AuthorInfo author = new AuthorInfo();
+			author.setName(i == 9 ? "unknown" : "author" + (i % 3));
+			book.setAuthorInfo(author);
+			bookDao.create(book);
+		}
+
+		getConnection().clearStatements();
+		List<Book> books = bookDao.queryBuilder().orderBy("id", true).query();
+		assertEquals(10, books.size());
+		for (int i = 0; i < 9; i++) {
+			AuthorInfo author = books.get(i).getAuthorInfo();
+			assertEquals("author" + (i % 3), author.getName());
+			// refreshed, not just the shell with the foreign column
+			assertEquals(30 + (i % 3), author.getAge());
+		}
+		assertNull(books.get(9).getAuthorInfo());
+		// the books and one IN query for all of the authors
+		assertEquals(getConnection().getStatements().toString(), 2, countSelects());
+	}
+
+	@Test
+	public void testMaxLevelChain() throws Exception {
+		Dao<BatchNode, Integer> batchDao = createDao(BatchNode.class, true);
+		Dao<RowNode, Integer> rowDao = createDao(RowNode.class, true);
+		// 1 -> 2 -> 3 -> 4 -> 5 -> 6
+		for (int i = CHAIN_LENGTH; i >= 1; i--) {
+			BatchNode batchNode = new BatchNode();
+			batchNode.id = i;
+			batchNode.name = "node" + i;
+			if (i < CHAIN_LENGTH) {
+				batchNode.next = new BatchNode();
+				batchNode.next.id = i + 1;
+			}
+			batchDao.create(batchNode);
+			RowNode rowNode = new RowNode();
+			rowNode.id = i;
+			rowNode.name = "node" + i;
+			if (i < CHAIN_LENGTH) {
+				rowNode.next = new RowNode();
+				rowNode.next.id = i + 1;
+			}
+			rowDao.create(rowNode);
+		}
+
+		List<BatchNode> batchNodes = batchDao.queryBuilder().orderBy("id", true).query();
+		List<RowNode> rowNodes = rowDao.queryBuilder().orderBy("id", true).query();
+		assertEquals(CHAIN_LENGTH, batchNodes.size());
+		for (int i = 0; i < CHAIN_LENGTH; i++) {
+			// each row and its first MAX_LEVEL foreign objects are loaded, the next one is an id-only shell
+			BatchNode batchNode = batchNodes.get(i);
+			RowNode rowNode = rowNodes.get(i);
+			for (int level = 0; batchNode != null; level++) {
+				assertEquals(rowNode.id, batchNode.id);
+				if (level <= MAX_LEVEL) {
+					assertEquals("node" + batchNode.id, batchNode.name);
+				} else {
+					assertNull(batchNode.name);
+					assertNull(batchNode.next);
+				}
+				assertEquals(rowNode.name, batchNode.name);
+				assertEquals(rowNode.next == null, batchNode.next == null);
+				batchNode = batchNode.next;
+				rowNode = rowNode.next;
+			}
+		}
+	}
+
+	@Test
+	public void testMaxLevelCycle() throws Exception {
+		Dao<BatchNode, Integer> dao = createDao(BatchNode.class, true);
+		// 1 -> 2 -> 1
+		BatchNode node1 = new BatchNode();
+		node1.id = 1;
+		node1.name = "node1";
+		node1.next = new BatchNode();
+		node1.next.id = 2;
+		dao.create(node1);
+		BatchNode node2 = new BatchNode();
+		node2.id = 2;
+		node2.name = "node2";
+		node2.next = node1;
+		dao.create(node2);
+
+		BatchNode result = dao.queryBuilder().where().eq("id", 1).queryForFirst();
+		assertEquals("node1", result.name);
+		assertEquals("node2", result.next.name);
+		assertEquals("node1", result.next.next.name);
+		// past the max level
+		BatchNode shell = result.next.next.next;
+		assertEquals(2, shell.id);
+		assertNull(shell.name);
+		assertNull(shell.next);
+	}
+
+	private int countSelects() throws SQLException {
+		int count = 0;
+		for (String statement : getConnection().getStatements()) {
+			if (statement.startsWith("SELECT")) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@DatabaseTable(tableName = "batchnode")
+	protected static class BatchNode {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField
+		String name;
+		@DatabaseField(foreign = true, foreignAutoRefresh = true, foreignAutoRefreshBatch = true,
+				maxForeignAutoRefreshLevel = MAX_LEVEL)
+		BatchNode next;
+	}
+
+	@DatabaseTable(tableName = "rownode")
+	protected static class RowNode {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField
+		String name;
+		@DatabaseField(foreign = true, foreignAutoRefresh = true, maxForeignAutoRefreshLevel = MAX_LEVEL)
+		RowNode next;
+	}
+
+	@DatabaseTable(tableName = "nobatch")
+	protected static class NoAutoRefresh {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField(foreign = true, foreignAutoRefreshBatch = true)
+		NoAutoRefresh other;
+	}
+}
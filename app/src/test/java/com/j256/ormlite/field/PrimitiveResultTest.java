@@ -0,0 +1,359 @@
+package com.j256.ormlite.field;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.support.DatabaseResults;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class PrimitiveResultTest extends BaseCoreTest {
+
+	private static final int ALLOCATION_CALL_COUNT = 100000;
+
+	@Test
+	public void testIsPrimitiveResult() throws Exception {
+		assertTrue(createFieldType(Foo.class, "intField").isPrimitiveResult());
+		assertTrue(createFieldType(Foo.class, "longField").isPrimitiveResult());
+		assertTrue(createFieldType(Foo.class, "doubleField").isPrimitiveResult());
+		assertTrue(createFieldType(PrivateFoo.class, "intField").isPrimitiveResult());
+		// ids, wrappers, and set methods without a generated accessor keep the boxed path
+		assertFalse(createFieldType(Foo.class, "id").isPrimitiveResult());
+		assertFalse(createFieldType(Foo.class, "boxedField").isPrimitiveResult());
+		assertFalse(createFieldType(PrivateFoo.class, "getSetField").isPrimitiveResult());
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo = new Foo();
+		foo.intField = 1000;
+		foo.longField = Long.MAX_VALUE;
+		foo.floatField = 1.5F;
+		foo.doubleField = -2.25D;
+		foo.shortField = Short.MIN_VALUE;
+		foo.byteField = 100;
+		foo.boxedField = 5;
+		assertEquals(1, dao.create(foo));
+		Foo result = dao.queryForId(foo.id);
+		assertEquals(foo.intField, result.intField);
+		assertEquals(foo.longField, result.longField);
+		assertEquals(foo.floatField, result.floatField, 0.0F);
+		assertEquals(foo.doubleField, result.doubleField, 0.0D);
+		assertEquals(foo.shortField, result.shortField);
+		assertEquals(foo.byteField, result.byteField);
+		assertEquals(foo.boxedField, result.boxedField);
+	}
+
+	@Test
+	public void testRoundTripReflection() throws Exception {
+		Dao<PrivateFoo, Integer> dao = createDao(PrivateFoo.class, true);
+		PrivateFoo foo = new PrivateFoo();
+		foo.intField = 1000;
+		foo.longField = Long.MIN_VALUE;
+		foo.doubleField = 0.5D;
+		foo.setGetSetField(7);
+		assertEquals(1, dao.create(foo));
+		PrivateFoo result = dao.queryForId(foo.id);
+		assertEquals(foo.intField, result.intField);
+		assertEquals(foo.longField, result.longField);
+		assertEquals(foo.doubleField, result.doubleField, 0.0D);
+		assertEquals(7, result.getGetSetField());
+	}
+
+	@Test
+	public void testNullBecomesZero() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.executeRaw("INSERT INTO foo (id) VALUES (1)");
+		Foo result = dao.queryForId(1);
+		assertEquals(0, result.intField);
+		assertEquals(0L, result.longField);
+		assertEquals(0.0F, result.floatField, 0.0F);
+		assertEquals(0.0D, result.doubleField, 0.0D);
+		assertEquals(0, result.shortField);
+		assertEquals(0, result.byteField);
+	}
+
+	@Test
+	public void testThrowIfNull() throws Exception {
+		Dao<ThrowFoo, Integer> dao = createDao(ThrowFoo.class, true);
+		dao.executeRaw("INSERT INTO throwfoo (id) VALUES (1)");
+		try {
+			dao.queryForId(1);
+			fail("should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+		dao.executeRaw("UPDATE throwfoo SET val = 3 WHERE id = 1");
+		assertEquals(3, dao.queryForId(1).val);
+	}
+
+	@Test
+	public void testAssignPrimitiveResultDoesNotAllocate() throws Exception {
+		Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threadBean =
+				(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+
+		FieldType intFieldType = createFieldType(Foo.class, "intField");
+		FieldType longFieldType = createFieldType(Foo.class, "longField");
+		FieldType doubleFieldType = createFieldType(Foo.class, "doubleField");
+		DatabaseResults results = new ConstantResults();
+		Foo foo = new Foo();
+		// warm up so the measured calls are compiled
+		assignPrimitives(foo, results, intFieldType, longFieldType, doubleFieldType);
+		assignBoxed(foo, results, intFieldType, longFieldType, doubleFieldType);
+
+		long threadId = Thread.currentThread().getId();
+		long start = threadBean.getThreadAllocatedBytes(threadId);
+		assignPrimitives(foo, results, intFieldType, longFieldType, doubleFieldType);
+		long primitiveBytes = threadBean.getThreadAllocatedBytes(threadId) - start;
+		start = threadBean.getThreadAllocatedBytes(threadId);
+		assignBoxed(foo, results, intFieldType, longFieldType, doubleFieldType);
+		long boxedBytes = threadBean.getThreadAllocatedBytes(threadId) - start;
+
+		assertEquals(ConstantResults.INT_VALUE, foo.intField);
+		// well under the 16+ bytes per boxed value
+		assertTrue("primitive path allocated " + primitiveBytes + " bytes", primitiveBytes < ALLOCATION_CALL_COUNT);
+		// the boxed path allocates a wrapper for each of the 3 fields on every call
+		long minBoxedBytes = 3L * 16 * ALLOCATION_CALL_COUNT;
+		assertTrue("boxed path allocated " + boxedBytes + " bytes, primitive " + primitiveBytes,
+				boxedBytes - primitiveBytes >= minBoxedBytes);
+	}
+
+	private static void assignPrimitives(Foo foo, DatabaseResults results, FieldType intFieldType,
+			FieldType longFieldType, FieldType doubleFieldType) throws SQLException {
+		for (int i = 0; i < ALLOCATION_CALL_COUNT; i++) {
+			intFieldType.assignPrimitiveResult(foo, results, 0);
+			longFieldType.assignPrimitiveResult(foo, results, 1);
+			doubleFieldType.assignPrimitiveResult(foo, results, 2);
+		}
+	}
+
+	private static void assignBoxed(Foo foo, DatabaseResults results, FieldType intFieldType,
+			FieldType longFieldType, FieldType doubleFieldType) throws SQLException {
+		for (int i = 0; i < ALLOCATION_CALL_COUNT; i++) {
+			intFieldType.assignField(foo, intFieldType.resultToJava(results, 0), false, null);
+			longFieldType.assignField(foo, longFieldType.resultToJava(results, 1), false, null);
+			doubleFieldType.assignField(foo, doubleFieldType.resultToJava(results, 2), false, null);
+		}
+	}
+
+	private FieldType createFieldType(Class<?> clazz, String fieldName) throws Exception {
+		return FieldType.createFieldType(connectionSource, "foo", clazz.getDeclaredField(fieldName), clazz);
+	}
+
+	@DatabaseTable(tableName = "foo")
+	protected static class Foo {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField
+		int intField;
+		@DatabaseField
+		long longField;
+		@DatabaseField
+		float floatField;
+		@DatabaseField
+		double doubleField;
+		@DatabaseField
+		short shortField;
+		@DatabaseField
+		byte byteField;
+		@DatabaseField
+		Integer boxedField;
+	}
+
+	/**
+	 * No generated accessor for a private class so the fields are set with reflection.
+	 */
+	@DatabaseTable(tableName = "privatefoo")
+	private static class PrivateFoo {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField
+		int intField;
+		@DatabaseField
+		long longField;
+		@DatabaseField
+		double doubleField;
+		@DatabaseField(useGetSet = true)
+		private int getSetField;
+
+		public int getGetSetField() {
+			return getSetField;
+		}
+
+		public void setGetSetField(int getSetField) {
+			this.getSetField = getSetField;
+		}
+	}
+
+	@DatabaseTable(tableName = "throwfoo")
+	protected static class ThrowFoo {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField(throwIfNull = true)
+		int val;
+	}
+
+	/**
+	 * Results with a single row of constant values which allocate nothing.
+	 */
+	private static class ConstantResults implements DatabaseResults {
+
+		/** outside of the Integer cache so boxing allocates */
+		static final int INT_VALUE = 1000000;
+
+		@Override
+		public int getColumnCount() {
+			return 3;
+		}
+
+		@Override
+		public String[] getColumnNames() {
+			return new String[] { "intField", "longField", "doubleField" };
+		}
+
+		@Override
+		public boolean first() {
+			return true;
+		}
+
+		@Override
+		public boolean previous() {
+			return false;
+		}
+
+		@Override
+		public boolean next() {
+			return false;
+		}
+
+		@Override
+		public boolean last() {
+			return true;
+		}
+
+		@Override
+		public boolean moveRelative(int offset) {
+			return false;
+		}
+
+		@Override
+		public boolean moveAbsolute(int position) {
+			return false;
+		}
+
+		@Override
+		public int findColumn(String columnName) {
+			return 0;
+		}
+
+		@Override
+		public String getString(int columnIndex) {
+			return null;
+		}
+
+		@Override
+		public boolean getBoolean(int columnIndex) {
+			return false;
+		}
+
+		@Override
+		public char getChar(int columnIndex) {
+			return 0;
+		}
+
+		@Override
+		public byte getByte(int columnIndex) {
+			return 0;
+		}
+
+		@Override
+		public byte[] getBytes(int columnIndex) {
+			return null;
+		}
+
+		@Override
+		public short getShort(int columnIndex) {
+			return 0;
+		}
+
+		@Override
+		public int getInt(int columnIndex) {
+			return INT_VALUE;
+		}
+
+		@Override
+		public long getLong(int columnIndex) {
+			return INT_VALUE * 1000L;
+		}
+
+		@Override
+		public float getFloat(int columnIndex) {
+			return 0;
+		}
+
+		@Override
+		public double getDouble(int columnIndex) {
+			return INT_VALUE / 3.0;
+		}
+
+		@Override
+		public Timestamp getTimestamp(int columnIndex) {
+			return null;
+		}
+
+		@Override
+		public InputStream getBlobStream(int columnIndex) {
+			return null;
+		}
+
+		@Override
+		public BigDecimal getBigDecimal(int columnIndex) {
+			return null;
+		}
+
+		@Override
+		public Object getObject(int columnIndex) {
+			return null;
+		}
+
+		@Override
+		public boolean wasNull(int columnIndex) {
+			return false;
+		}
+
+		@Override
+		public ObjectCache getObjectCacheForRetrieve() {
+			return null;
+		}
+
+		@Override
+		public ObjectCache getObjectCacheForStore() {
+			return null;
+		}
+
+		@Override
+		public void close() {
+		}
+
+		@Override
+		public void closeQuietly() {
+		}
+	}
+}
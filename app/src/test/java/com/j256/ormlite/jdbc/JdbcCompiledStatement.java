@@ -0,0 +1,95 @@
+package com.j256.ormlite.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+import com.j256.ormlite.support.CompiledStatement;
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Compiled statement over a JDBC prepared statement for the local unit tests.
+ */
+public class JdbcCompiledStatement implements CompiledStatement {
+
+	private final PreparedStatement preparedStatement;
+	private final StatementType type;
+	private final boolean cacheStore;
+
+	public JdbcCompiledStatement(PreparedStatement preparedStatement, StatementType type, boolean cacheStore) {
+		this.preparedStatement = preparedStatement;
+		this.type = type;
+		this.cacheStore = cacheStore;
+	}
+
+	@Override
+	public int getColumnCount() throws SQLException {
+		return preparedStatement.getMetaData().getColumnCount();
+	}
+
+	@Override
+	public String getColumnName(int column) throws SQLException {
+		return preparedStatement.getMetaData().getColumnName(column + 1);
+	}
+
+	@Override
+	public int runUpdate() throws SQLException {
+		if (!type.isOkForUpdate()) {
+			throw new IllegalArgumentException("Cannot call update on a " + type + " statement");
+		}
+		return preparedStatement.executeUpdate();
+	}
+
+	@Override
+	public DatabaseResults runQuery(ObjectCache objectCache) throws SQLException {
+		if (!type.isOkForQuery()) {
+			throw new IllegalArgumentException("Cannot call query on a " + type + " statement");
+		}
+		return new JdbcDatabaseResults(preparedStatement.executeQuery(), objectCache, cacheStore);
+	}
+
+	@Override
+	public int runExecute() throws SQLException {
+		if (!type.isOkForExecute()) {
+			throw new IllegalArgumentException("Cannot call execute on a " + type + " statement");
+		}
+		preparedStatement.execute();
+		return preparedStatement.getUpdateCount();
+	}
+
+	@Override
+	public void close() throws java.io.IOException {
+		closeQuietly();
+	}
+
+	@Override
+	public void closeQuietly() {
+		try {
+			preparedStatement.close();
+		} catch (SQLException e) {
+			// ignored
+		}
+	}
+
+	@Override
+	public void cancel() throws SQLException {
+		preparedStatement.cancel();
+	}
+
+	@Override
+	public void setObject(int parameterIndex, Object obj, SqlType sqlType) throws SQLException {
+		preparedStatement.setObject(parameterIndex + 1, obj);
+	}
+
+	@Override
+	public void setMaxRows(int max) throws SQLException {
+		preparedStatement.setMaxRows(max);
+	}
+
+	@Override
+	public void setQueryTimeout(long millis) throws SQLException {
+		preparedStatement.setQueryTimeout(Long.valueOf(millis).intValue() / 1000);
+	}
+}
@@ -0,0 +1,86 @@
+package com.j256.ormlite.jdbc;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.support.BaseConnectionSource;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+
+/**
+ * Connection source with a single JDBC connection, like the Android one, so that an in-memory sqlite database is seen
+ * by every DAO of a test.
+ */
+public class JdbcConnectionSource extends BaseConnectionSource implements ConnectionSource {
+
+	private static final Logger logger = LoggerFactory.getLogger(JdbcConnectionSource.class);
+
+	private final DatabaseType databaseType;
+	private final JdbcDatabaseConnection connection;
+
+	public JdbcConnectionSource(String url, DatabaseType databaseType) throws SQLException {
+		this.databaseType = databaseType;
+		databaseType.loadDriver();
+		this.connection = new JdbcDatabaseConnection(DriverManager.getConnection(url));
+	}
+
+	/**
+	 * Return the connection so tests can look at the statements it ran.
+	 */
+	public JdbcDatabaseConnection getConnection() {
+		return connection;
+	}
+
+	@Override
+	public DatabaseConnection getReadOnlyConnection(String tableName) {
+		return connection;
+	}
+
+	@Override
+	public DatabaseConnection getReadWriteConnection(String tableName) {
+		return connection;
+	}
+
+	@Override
+	public void releaseConnection(DatabaseConnection connection) {
+		// noop
+	}
+
+	@Override
+	public boolean saveSpecialConnection(DatabaseConnection connection) throws SQLException {
+		return saveSpecial(connection);
+	}
+
+	@Override
+	public void clearSpecialConnection(DatabaseConnection connection) {
+		clearSpecial(connection, logger);
+	}
+
+	@Override
+	public void close() {
+		connection.closeQuietly();
+	}
+
+	@Override
+	public void closeQuietly() {
+		close();
+	}
+
+	@Override
+	public DatabaseType getDatabaseType() {
+		return databaseType;
+	}
+
+	@Override
+	public boolean isOpen(String tableName) {
+		return true;
+	}
+
+	@Override
+	public boolean isSingleConnection(String tableName) {
+		return true;
+	}
+}
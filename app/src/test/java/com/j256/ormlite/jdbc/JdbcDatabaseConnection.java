@@ -0,0 +1,266 @@
+package com.j256.ormlite.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.stmt.GenericRowMapper;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+import com.j256.ormlite.support.CompiledStatement;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.support.GeneratedKeyHolder;
+
+/**
+ * Database connection over a JDBC connection for the local unit tests. It records the SQL of every statement it runs
+ * so tests can check what was sent to the database.
+ */
+public class JdbcDatabaseConnection implements DatabaseConnection {
+
+	private final Connection connection;
+	private final List<String> statements = new ArrayList<String>();
+	private volatile int lastResultFlags;
+
+	public JdbcDatabaseConnection(Connection connection) {
+		this.connection = connection;
+	}
+
+	/**
+	 * Return the SQL of the statements run since the last {@link #clearStatements()}.
+	 */
+	public List<String> getStatements() {
+		synchronized (statements) {
+			return new ArrayList<String>(statements);
+		}
+	}
+
+	public void clearStatements() {
+		synchronized (statements) {
+			statements.clear();
+		}
+	}
+
+	/**
+	 * Return the result flags passed to the last {@link #compileStatement}.
+	 */
+	public int getLastResultFlags() {
+		return lastResultFlags;
+	}
+
+	@Override
+	public boolean isAutoCommitSupported() {
+		return true;
+	}
+
+	@Override
+	public boolean isAutoCommit() throws SQLException {
+		return connection.getAutoCommit();
+	}
+
+	@Override
+	public void setAutoCommit(boolean autoCommit) throws SQLException {
+		connection.setAutoCommit(autoCommit);
+	}
+
+	@Override
+	public Savepoint setSavePoint(String savePointName) throws SQLException {
+		return connection.setSavepoint(savePointName);
+	}
+
+	@Override
+	public void commit(Savepoint savePoint) throws SQLException {
+		if (savePoint == null) {
+			connection.commit();
+		} else {
+			connection.releaseSavepoint(savePoint);
+		}
+	}
+
+	@Override
+	public void rollback(Savepoint savePoint) throws SQLException {
+		if (savePoint == null) {
+			connection.rollback();
+		} else {
+			connection.rollback(savePoint);
+		}
+	}
+
+	@Override
+	public void releaseSavePoint(Savepoint savePoint) throws SQLException {
+		if (savePoint != null) {
+			connection.releaseSavepoint(savePoint);
+		}
+	}
+
+	@Override
+	public int executeStatement(String statementStr, int resultFlags) throws SQLException {
+		record(statementStr);
+		Statement statement = connection.createStatement();
+		try {
+			if (statement.execute(statementStr)) {
+				return 0;
+			} else {
+				return statement.getUpdateCount();
+			}
+		} finally {
+			statement.close();
+		}
+	}
+
+	@Override
+	public CompiledStatement compileStatement(String statement, StatementType type, FieldType[] argFieldTypes,
+			int resultFlags, boolean cacheStore) throws SQLException {
+		record(statement);
+		lastResultFlags = resultFlags;
+		return new JdbcCompiledStatement(connection.prepareStatement(statement), type, cacheStore);
+	}
+
+	@Override
+	public int insert(String statement, Object[] args, FieldType[] argFieldTypes, GeneratedKeyHolder keyHolder)
+			throws SQLException {
+		record(statement);
+		PreparedStatement stmt;
+		if (keyHolder == null) {
+			stmt = connection.prepareStatement(statement);
+		} else {
+			stmt = connection.prepareStatement(statement, Statement.RETURN_GENERATED_KEYS);
+		}
+		try {
+			setArgs(stmt, args);
+			int rowN = stmt.executeUpdate();
+			if (keyHolder != null && rowN > 0) {
+				ResultSet keys = stmt.getGeneratedKeys();
+				try {
+					while (keys.next()) {
+						keyHolder.addKey(keys.getLong(1));
+					}
+				} finally {
+					keys.close();
+				}
+			}
+			return rowN;
+		} finally {
+			stmt.close();
+		}
+	}
+
+	@Override
+	public int update(String statement, Object[] args, FieldType[] argFieldTypes) throws SQLException {
+		record(statement);
+		PreparedStatement stmt = connection.prepareStatement(statement);
+		try {
+			setArgs(stmt, args);
+			return stmt.executeUpdate();
+		} finally {
+			stmt.close();
+		}
+	}
+
+	@Override
+	public int delete(String statement, Object[] args, FieldType[] argFieldTypes) throws SQLException {
+		return update(statement, args, argFieldTypes);
+	}
+
+	@Override
+	public <T> Object queryForOne(String statement, Object[] args, FieldType[] argFieldTypes,
+			GenericRowMapper<T> rowMapper, ObjectCache objectCache) throws SQLException {
+		record(statement);
+		PreparedStatement stmt = connection.prepareStatement(statement);
+		try {
+			setArgs(stmt, args);
+			JdbcDatabaseResults results = new JdbcDatabaseResults(stmt.executeQuery(), objectCache, true);
+			try {
+				if (!results.first()) {
+					return null;
+				}
+				T first = rowMapper.mapRow(results);
+				if (results.next()) {
+					return MORE_THAN_ONE;
+				} else {
+					return first;
+				}
+			} finally {
+				results.closeQuietly();
+			}
+		} finally {
+			stmt.close();
+		}
+	}
+
+	@Override
+	public long queryForLong(String statement) throws SQLException {
+		return queryForLong(statement, new Object[0], new FieldType[0]);
+	}
+
+	@Override
+	public long queryForLong(String statement, Object[] args, FieldType[] argFieldTypes) throws SQLException {
+		record(statement);
+		PreparedStatement stmt = connection.prepareStatement(statement);
+		try {
+			setArgs(stmt, args);
+			ResultSet resultSet = stmt.executeQuery();
+			try {
+				if (resultSet.next()) {
+					return resultSet.getLong(1);
+				} else {
+					throw new SQLException("No result found in queryForLong: " + statement);
+				}
+			} finally {
+				resultSet.close();
+			}
+		} finally {
+			stmt.close();
+		}
+	}
+
+	@Override
+	public void close() throws java.io.IOException {
+		try {
+			connection.close();
+		} catch (SQLException e) {
+			throw new java.io.IOException("could not close connection", e);
+		}
+	}
+
+	@Override
+	public void closeQuietly() {
+		try {
+			connection.close();
+		} catch (SQLException e) {
+			// ignored
+		}
+	}
+
+	@Override
+	public boolean isClosed() throws SQLException {
+		return connection.isClosed();
+	}
+
+	@Override
+	public boolean isTableExists(String tableName) throws SQLException {
+		ResultSet resultSet = connection.getMetaData().getTables(null, null, tableName, null);
+		try {
+			return resultSet.next();
+		} finally {
+			resultSet.close();
+		}
+	}
+
+	private void record(String statement) {
+		synchronized (statements) {
+			statements.add(statement);
+		}
+	}
+
+	private static void setArgs(PreparedStatement stmt, Object[] args) throws SQLException {
+		for (int i = 0; i < args.length; i++) {
+			stmt.setObject(i + 1, args[i]);
+		}
+	}
+}
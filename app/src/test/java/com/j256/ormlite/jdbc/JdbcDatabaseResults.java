@@ -0,0 +1,207 @@
+package com.j256.ormlite.jdbc;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * Results over a forward-only JDBC result set for the local unit tests. The column indexes are 0 based like the
+ * Android cursor.
+ */
+public class JdbcDatabaseResults implements DatabaseResults {
+
+	private final ResultSet resultSet;
+	private final ObjectCache objectCache;
+	private final boolean cacheStore;
+	private boolean first = true;
+
+	public JdbcDatabaseResults(ResultSet resultSet, ObjectCache objectCache, boolean cacheStore) {
+		this.resultSet = resultSet;
+		this.objectCache = objectCache;
+		this.cacheStore = cacheStore;
+	}
+
+	@Override
+	public int getColumnCount() throws SQLException {
+		return resultSet.getMetaData().getColumnCount();
+	}
+
+	@Override
+	public String[] getColumnNames() throws SQLException {
+		ResultSetMetaData metaData = resultSet.getMetaData();
+		String[] columnNames = new String[metaData.getColumnCount()];
+		for (int i = 0; i < columnNames.length; i++) {
+			columnNames[i] = metaData.getColumnName(i + 1);
+		}
+		return columnNames;
+	}
+
+	@Override
+	public boolean first() throws SQLException {
+		if (first) {
+			// a forward-only result set cannot be moved to the first row, but we are in front of it already
+			first = false;
+			return resultSet.next();
+		} else {
+			throw new SQLException("Cannot move back to the first row of a forward-only result set");
+		}
+	}
+
+	@Override
+	public boolean previous() throws SQLException {
+		throw new SQLException("Cannot move back in a forward-only result set");
+	}
+
+	@Override
+	public boolean next() throws SQLException {
+		first = false;
+		return resultSet.next();
+	}
+
+	@Override
+	public boolean last() throws SQLException {
+		throw new SQLException("Cannot move to the last row of a forward-only result set");
+	}
+
+	@Override
+	public boolean moveRelative(int offset) throws SQLException {
+		if (offset < 0) {
+			throw new SQLException("Cannot move back in a forward-only result set");
+		}
+		boolean result = true;
+		for (int i = 0; i < offset && result; i++) {
+			result = next();
+		}
+		return result;
+	}
+
+	@Override
+	public boolean moveAbsolute(int position) throws SQLException {
+		throw new SQLException("Cannot move to an absolute position in a forward-only result set");
+	}
+
+	@Override
+	public int findColumn(String columnName) throws SQLException {
+		return resultSet.findColumn(columnName) - 1;
+	}
+
+	@Override
+	public String getString(int columnIndex) throws SQLException {
+		return resultSet.getString(columnIndex + 1);
+	}
+
+	@Override
+	public boolean getBoolean(int columnIndex) throws SQLException {
+		return resultSet.getBoolean(columnIndex + 1);
+	}
+
+	@Override
+	public char getChar(int columnIndex) throws SQLException {
+		String string = resultSet.getString(columnIndex + 1);
+		if (string == null || string.length() == 0) {
+			return 0;
+		} else {
+			return string.charAt(0);
+		}
+	}
+
+	@Override
+	public byte getByte(int columnIndex) throws SQLException {
+		return resultSet.getByte(columnIndex + 1);
+	}
+
+	@Override
+	public byte[] getBytes(int columnIndex) throws SQLException {
+		return resultSet.getBytes(columnIndex + 1);
+	}
+
+	@Override
+	public short getShort(int columnIndex) throws SQLException {
+		return resultSet.getShort(columnIndex + 1);
+	}
+
+	@Override
+	public int getInt(int columnIndex) throws SQLException {
+		return resultSet.getInt(columnIndex + 1);
+	}
+
+	@Override
+	public long getLong(int columnIndex) throws SQLException {
+		return resultSet.getLong(columnIndex + 1);
+	}
+
+	@Override
+	public float getFloat(int columnIndex) throws SQLException {
+		return resultSet.getFloat(columnIndex + 1);
+	}
+
+	@Override
+	public double getDouble(int columnIndex) throws SQLException {
+		return resultSet.getDouble(columnIndex + 1);
+	}
+
+	@Override
+	public Timestamp getTimestamp(int columnIndex) throws SQLException {
+		return resultSet.getTimestamp(columnIndex + 1);
+	}
+
+	@Override
+	public InputStream getBlobStream(int columnIndex) throws SQLException {
+		byte[] bytes = resultSet.getBytes(columnIndex + 1);
+		if (bytes == null) {
+			return null;
+		} else {
+			return new ByteArrayInputStream(bytes);
+		}
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+		return resultSet.getBigDecimal(columnIndex + 1);
+	}
+
+	@Override
+	public Object getObject(int columnIndex) throws SQLException {
+		return resultSet.getObject(columnIndex + 1);
+	}
+
+	@Override
+	public boolean wasNull(int columnIndex) throws SQLException {
+		return resultSet.wasNull();
+	}
+
+	@Override
+	public ObjectCache getObjectCacheForRetrieve() {
+		return objectCache;
+	}
+
+	@Override
+	public ObjectCache getObjectCacheForStore() {
+		if (cacheStore) {
+			return objectCache;
+		} else {
+			return null;
+		}
+	}
+
+	@Override
+	public void close() throws java.io.IOException {
+		closeQuietly();
+	}
+
+	@Override
+	public void closeQuietly() {
+		try {
+			resultSet.close();
+		} catch (SQLException e) {
+			// ignored
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package com.j256.ormlite.jdbc;
+
+import com.j256.ormlite.db.BaseSqliteDatabaseType;
+
+/**
+ * Sqlite database type for running the local unit tests against the xerial sqlite-jdbc driver on the host.
+ */
+public class SqliteJdbcDatabaseType extends BaseSqliteDatabaseType {
+
+	private static final String DATABASE_URL_PORTION = "sqlite";
+	private static final String DRIVER_CLASS_NAME = "org.sqlite.JDBC";
+	private static final String DATABASE_NAME = "SQLite";
+
+	@Override
+	protected String getDriverClassName() {
+		return DRIVER_CLASS_NAME;
+	}
+
+	@Override
+	public boolean isDatabaseUrlThisType(String url, String dbTypePart) {
+		return DATABASE_URL_PORTION.equals(dbTypePart);
+	}
+
+	@Override
+	public String getDatabaseName() {
+		return DATABASE_NAME;
+	}
+
+	@Override
+	public boolean isBatchUseTransaction() {
+		// like the Android type so a failed batch is rolled back
+		return true;
+	}
+}
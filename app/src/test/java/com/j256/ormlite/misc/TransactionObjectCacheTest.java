@@ -0,0 +1,199 @@
+package com.j256.ormlite.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.ref.WeakReference;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.stmt.DeleteBuilder;
+import com.j256.ormlite.stmt.UpdateBuilder;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class TransactionObjectCacheTest extends BaseCoreTest {
+
+	@Test
+	public void testOffByDefault() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		final Foo foo = createFoo(dao, "foo");
+		assertFalse(TransactionManager.enableTransactionObjectCache());
+		TransactionManager.callInTransaction(connectionSource, new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				assertNull(TransactionManager.getTransactionObjectCache());
+				getConnection().clearStatements();
+				assertNotSame(dao.queryForId(foo.id), dao.queryForId(foo.id));
+				assertEquals(2, countSelects());
+				return null;
+			}
+		});
+	}
+
+	@Test
+	public void testSameInstanceUntilCommit() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		final Foo foo = createFoo(dao, "foo");
+		Foo inTransaction = TransactionManager.callInTransaction(connectionSource, new Callable<Foo>() {
+			@Override
+			public Foo call() throws Exception {
+				assertTrue(TransactionManager.enableTransactionObjectCache());
+				getConnection().clearStatements();
+				Foo result = dao.queryForId(foo.id);
+				assertSame(result, dao.queryForId(foo.id));
+				List<Foo> results = dao.queryForAll();
+				assertEquals(1, results.size());
+				assertSame(result, results.get(0));
+				// the second queryForId did not go to the database
+				assertEquals(getConnection().getStatements().toString(), 2, countSelects());
+				return result;
+			}
+		});
+		// discarded when the transaction ended
+		assertNull(TransactionManager.getTransactionObjectCache());
+		assertNotSame(inTransaction, dao.queryForId(foo.id));
+	}
+
+	@Test
+	public void testDiscardedOnNestedRollback() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		final Foo foo = createFoo(dao, "foo");
+		TransactionManager.callInTransaction(connectionSource, new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				TransactionManager.enableTransactionObjectCache();
+				final Foo result = dao.queryForId(foo.id);
+				try {
+					TransactionManager.callInTransaction(connectionSource, new Callable<Void>() {
+						@Override
+						public Void call() throws Exception {
+							assertSame(result, dao.queryForId(foo.id));
+							throw new SQLException("roll back");
+						}
+					});
+					fail("should have thrown");
+				} catch (SQLException e) {
+					// expected
+				}
+				// still turned on but the rows read before the rollback are gone
+				assertNotNull(TransactionManager.getTransactionObjectCache());
+				assertNotSame(result, dao.queryForId(foo.id));
+				return null;
+			}
+		});
+	}
+
+	@Test
+	public void testPartialColumnsNotStored() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		final Foo foo = createFoo(dao, "foo");
+		TransactionManager.callInTransaction(connectionSource, new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				TransactionManager.enableTransactionObjectCache();
+				Foo partial = dao.queryBuilder().selectColumns("id").queryForFirst();
+				assertNull(partial.name);
+				Foo result = dao.queryForId(foo.id);
+				assertNotSame(partial, result);
+				assertEquals("foo", result.name);
+				return null;
+			}
+		});
+	}
+
+	@Test
+	public void testClearedByBuilderAndRawStatements() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		final Foo foo = createFoo(dao, "foo");
+		TransactionManager.callInTransaction(connectionSource, new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				TransactionManager.enableTransactionObjectCache();
+				Foo result = dao.queryForId(foo.id);
+
+				UpdateBuilder<Foo, Integer> updateBuilder = dao.updateBuilder();
+				updateBuilder.updateColumnValue("name", "update");
+				assertEquals(1, dao.update(updateBuilder.prepare()));
+				result = assertReRead(dao, foo.id, result, "update");
+
+				assertEquals(1, dao.updateRaw("UPDATE transfoo SET name = ?", "updateRaw"));
+				result = assertReRead(dao, foo.id, result, "updateRaw");
+
+				assertEquals(1, dao.executeRaw("UPDATE transfoo SET name = 'executeRaw'"));
+				result = assertReRead(dao, foo.id, result, "executeRaw");
+
+				DeleteBuilder<Foo, Integer> deleteBuilder = dao.deleteBuilder();
+				deleteBuilder.where().idEq(foo.id);
+				assertEquals(1, dao.delete(deleteBuilder.prepare()));
+				assertNull(dao.queryForId(foo.id));
+				return null;
+			}
+		});
+	}
+
+	@Test
+	public void testObjectsNotHeldStrongly() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		final Foo foo = createFoo(dao, "foo");
+		TransactionManager.callInTransaction(connectionSource, new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				TransactionManager.enableTransactionObjectCache();
+				WeakReference<Foo> ref = new WeakReference<Foo>(dao.queryForId(foo.id));
+				for (int i = 0; i < 20 && ref.get() != null; i++) {
+					System.gc();
+					Thread.sleep(10);
+				}
+				assertNull(ref.get());
+				getConnection().clearStatements();
+				assertEquals("foo", dao.queryForId(foo.id).name);
+				assertEquals(1, countSelects());
+				return null;
+			}
+		});
+	}
+
+	private Foo assertReRead(Dao<Foo, Integer> dao, int id, Foo previous, String name) throws SQLException {
+		Foo result = dao.queryForId(id);
+		assertNotSame(previous, result);
+		assertEquals(name, result.name);
+		return result;
+	}
+
+	private Foo createFoo(Dao<Foo, Integer> dao, String name) throws SQLException {
+		Foo foo = new Foo();
+		foo.name = name;
+		assertEquals(1, dao.create(foo));
+		return foo;
+	}
+
+	private int countSelects() throws SQLException {
+		int count = 0;
+		for (String statement : getConnection().getStatements()) {
+			if (statement.startsWith("SELECT")) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@DatabaseTable(tableName = "transfoo")
+	protected static class Foo {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String name;
+	}
+}
@@ -0,0 +1,177 @@
+package com.j256.ormlite.stmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.example.a073105.baiguiyi.bean.Book;
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class ProjectionRowMapperTest extends BaseCoreTest {
+
+	@Test
+	public void testQueryColumn() throws Exception {
+		Dao<Foo, Integer> dao = createFoos();
+		int constructedBefore = Foo.constructedCount;
+		List<String> names = dao.queryBuilder().orderBy("id", true).queryColumn("name", String.class);
+		assertEquals(Arrays.asList("foo1", "foo2", "foo3"), names);
+		List<Integer> vals = dao.queryBuilder().where().gt("val", 10).queryColumn("val", int.class);
+		assertEquals(Arrays.asList(20, 30), vals);
+		// no entities were built
+		assertEquals(constructedBefore, Foo.constructedCount);
+	}
+
+	@Test
+	public void testQueryColumnWrongClass() throws Exception {
+		Dao<Foo, Integer> dao = createFoos();
+		try {
+			dao.queryBuilder().queryColumn("val", String.class);
+			fail("should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testQueryColumnUnknown() throws Exception {
+		Dao<Foo, Integer> dao = createFoos();
+		try {
+			dao.queryBuilder().queryColumn("unknown", String.class);
+			fail("should have thrown");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testQueryColumnRestoresSelectColumns() throws Exception {
+		Dao<Foo, Integer> dao = createFoos();
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.where().eq("name", "foo2");
+		assertEquals(Arrays.asList(20), qb.queryColumn("val", Integer.class));
+		Foo result = qb.queryForFirst();
+		assertEquals("foo2", result.name);
+		assertEquals(20, result.val);
+	}
+
+	@Test
+	public void testQueryProjection() throws Exception {
+		Dao<Foo, Integer> dao = createFoos();
+		List<FooDto> dtos = dao.queryBuilder().orderBy("id", true).queryProjection(FooDto.class, "name", "val",
+				"renamed_column", "other_id");
+		assertEquals(3, dtos.size());
+		FooDto dto = dtos.get(1);
+		assertEquals("foo2", dto.name);
+		assertEquals(20, dto.val);
+		// found by the column name since there is no field with the entity name
+		assertEquals("r2", dto.renamed_column);
+		// foreign fields are their id
+		assertEquals(Integer.valueOf(2), dto.other);
+		// no foreign object
+		assertNull(dtos.get(0).other);
+	}
+
+	@Test
+	public void testQueryProjectionNoField() throws Exception {
+		Dao<Foo, Integer> dao = createFoos();
+		try {
+			dao.queryBuilder().queryProjection(FooDto.class, "id");
+			fail("should have thrown");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testQueryProjectionNoConstructor() throws Exception {
+		Dao<Foo, Integer> dao = createFoos();
+		try {
+			dao.queryBuilder().queryProjection(NoConstructorDto.class, "name");
+			fail("should have thrown");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testBookPriceByName() throws Exception {
+		// same query as MyDataDao.queryPrice which filters on the book_name column
+		Dao<Book, Integer> dao = createDao(Book.class, true);
+		Book book = new Book();
+		book.setName("name1");
+		book.setPrice("12");
+		dao.create(book);
+		book = new Book();
+		book.setName("name2");
+		book.setPrice("13");
+		dao.create(book);
+		assertEquals(Arrays.asList("13"),
+				dao.queryBuilder().where().eq("book_name", "name2").queryColumn("price", String.class));
+	}
+
+	private Dao<Foo, Integer> createFoos() throws Exception {
+		createDao(Other.class, true);
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		for (int i = 1; i <= 3; i++) {
+			Foo foo = new Foo();
+			foo.name = "foo" + i;
+			foo.val = i * 10;
+			foo.renamed = "r" + i;
+			if (i > 1) {
+				foo.other = new Other();
+				foo.other.id = i;
+			}
+			dao.create(foo);
+		}
+		return dao;
+	}
+
+	@DatabaseTable(tableName = "foo")
+	protected static class Foo {
+		static int constructedCount;
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String name;
+		@DatabaseField
+		int val;
+		@DatabaseField(columnName = "renamed_column")
+		String renamed;
+		@DatabaseField(foreign = true, columnName = "other_id")
+		Other other;
+
+		public Foo() {
+			constructedCount++;
+		}
+	}
+
+	@DatabaseTable(tableName = "other")
+	protected static class Other {
+		@DatabaseField(id = true)
+		int id;
+	}
+
+	protected static class FooDto {
+		String name;
+		int val;
+		String renamed_column;
+		Integer other;
+	}
+
+	protected static class NoConstructorDto {
+		String name;
+
+		public NoConstructorDto(String name) {
+			this.name = name;
+		}
+	}
+}
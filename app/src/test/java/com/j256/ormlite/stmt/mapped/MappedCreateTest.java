@@ -0,0 +1,154 @@
+package com.j256.ormlite.stmt.mapped;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class MappedCreateTest extends BaseCoreTest {
+
+	@Test
+	public void testMultiRowInsertAssignsConsecutiveIds() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = createFoos(1200);
+		assertEquals(foos.size(), dao.create(foos));
+		for (int i = 0; i < foos.size(); i++) {
+			Foo foo = foos.get(i);
+			assertEquals(i + 1, foo.id);
+			Foo result = dao.queryForId(foo.id);
+			assertNotNull(result);
+			assertEquals(foo.name, result.name);
+		}
+		assertEquals(foos.size(), dao.countOf());
+	}
+
+	@Test
+	public void testMultiRowInsertStaysUnderArgumentLimit() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = createFoos(1200);
+		getConnection().clearStatements();
+		dao.create(foos);
+		int insertN = 0;
+		int rowN = 0;
+		for (String statement : getConnection().getStatements()) {
+			if (!statement.startsWith("INSERT")) {
+				continue;
+			}
+			insertN++;
+			int argN = countArgs(statement);
+			assertTrue("too many arguments: " + argN, argN <= databaseType.getMaxBoundArguments());
+			// 2 arguments per row because the generated id is not inserted
+			rowN += argN / 2;
+		}
+		// 999 / 2 arguments per row is 499 rows per statement
+		assertEquals(3, insertN);
+		assertEquals(foos.size(), rowN);
+	}
+
+	@Test
+	public void testExplicitIdInsertedSeparately() throws Exception {
+		Dao<AllowFoo, Integer> dao = createDao(AllowFoo.class, true);
+		List<AllowFoo> foos = new ArrayList<AllowFoo>();
+		for (int i = 0; i < 5; i++) {
+			AllowFoo foo = new AllowFoo();
+			foo.name = "foo" + i;
+			if (i == 2) {
+				foo.id = 100;
+			}
+			foos.add(foo);
+		}
+		getConnection().clearStatements();
+		assertEquals(foos.size(), dao.create(foos));
+		assertEquals(1, foos.get(0).id);
+		assertEquals(2, foos.get(1).id);
+		assertEquals(100, foos.get(2).id);
+		// sqlite continues after the largest rowid
+		assertEquals(101, foos.get(3).id);
+		assertEquals(102, foos.get(4).id);
+		for (AllowFoo foo : foos) {
+			assertEquals(foo.name, dao.queryForId(foo.id).name);
+		}
+		int insertN = 0;
+		for (String statement : getConnection().getStatements()) {
+			if (statement.startsWith("INSERT")) {
+				insertN++;
+			}
+		}
+		// the rows before the explicit id, the explicit id, and the rows after
+		assertEquals(3, insertN);
+	}
+
+	@Test
+	public void testMultiRowInsertSetsVersionDefaults() throws Exception {
+		Dao<VersionFoo, Integer> dao = createDao(VersionFoo.class, true);
+		List<VersionFoo> foos = new ArrayList<VersionFoo>();
+		for (int i = 0; i < 10; i++) {
+			foos.add(new VersionFoo());
+		}
+		foos.get(3).version = 5;
+		dao.create(foos);
+		for (VersionFoo foo : foos) {
+			VersionFoo result = dao.queryForId(foo.id);
+			assertEquals(foo.version, result.version);
+		}
+		assertEquals(Integer.valueOf(1), foos.get(0).version);
+		assertEquals(Integer.valueOf(5), foos.get(3).version);
+	}
+
+	private static List<Foo> createFoos(int num) {
+		List<Foo> foos = new ArrayList<Foo>(num);
+		for (int i = 0; i < num; i++) {
+			Foo foo = new Foo();
+			foo.name = "foo" + i;
+			foo.val = i;
+			foos.add(foo);
+		}
+		return foos;
+	}
+
+	private static int countArgs(String statement) {
+		int count = 0;
+		for (int i = 0; i < statement.length(); i++) {
+			if (statement.charAt(i) == '?') {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@DatabaseTable(tableName = "foo")
+	protected static class Foo {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String name;
+		@DatabaseField
+		int val;
+	}
+
+	@DatabaseTable(tableName = "allowfoo")
+	protected static class AllowFoo {
+		@DatabaseField(generatedId = true, allowGeneratedIdInsert = true)
+		int id;
+		@DatabaseField
+		String name;
+	}
+
+	@DatabaseTable(tableName = "versionfoo")
+	protected static class VersionFoo {
+		@DatabaseField(generatedId = true)
+		int id;
+		// an Integer so the row has no version until the insert sets the default
+		@DatabaseField(version = true)
+		Integer version;
+	}
+}
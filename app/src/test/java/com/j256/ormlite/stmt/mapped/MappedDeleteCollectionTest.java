@@ -0,0 +1,162 @@
+package com.j256.ormlite.stmt.mapped;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.jdbc.SqliteJdbcDatabaseType;
+import com.j256.ormlite.table.DatabaseTable;
+
+public class MappedDeleteCollectionTest extends BaseCoreTest {
+
+	@Test
+	public void testMaxBucketSize() {
+		// sqlite allows 999 arguments
+		assertEquals(MappedDeleteCollection.MAX_BUCKET_SIZE, MappedDeleteCollection.getMaxBucketSize(databaseType));
+		assertEquals(64, MappedDeleteCollection.getMaxBucketSize(new LimitedDatabaseType(100)));
+		assertEquals(128, MappedDeleteCollection.getMaxBucketSize(new LimitedDatabaseType(128)));
+		assertEquals(1, MappedDeleteCollection.getMaxBucketSize(new LimitedDatabaseType(1)));
+	}
+
+	@Test
+	public void testBucketsArePowersOfTwo() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		createFoos(dao, 20);
+		assertEquals(Arrays.asList(1), deleteAndCountArgs(dao, ids(1, 1)));
+		assertEquals(Arrays.asList(2), deleteAndCountArgs(dao, ids(2, 2)));
+		// 3 is padded to 4 and 5 to 8
+		assertEquals(Arrays.asList(4), deleteAndCountArgs(dao, ids(4, 3)));
+		assertEquals(Arrays.asList(8), deleteAndCountArgs(dao, ids(7, 5)));
+		assertEquals(Arrays.asList(8), deleteAndCountArgs(dao, ids(12, 8)));
+		assertEquals(Arrays.asList(1), deleteAndCountArgs(dao, ids(20, 1)));
+		assertEquals(0, dao.countOf());
+	}
+
+	@Test
+	public void testStatementReused() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		createFoos(dao, 10);
+		getConnection().clearStatements();
+		dao.deleteIds(ids(1, 3));
+		dao.deleteIds(ids(4, 4));
+		List<String> statements = getConnection().getStatements();
+		assertEquals(2, statements.size());
+		// both use the cached statement for the bucket of 4
+		assertEquals(statements.get(0), statements.get(1));
+	}
+
+	@Test
+	public void testPaddingDoesNotDeleteOtherRows() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = createFoos(dao, 10);
+		// 5 objects so the last one is repeated 3 times to fill the bucket of 8
+		assertEquals(5, dao.delete(foos.subList(2, 7)));
+		assertEquals(5, dao.countOf());
+		for (int i = 0; i < foos.size(); i++) {
+			if (i >= 2 && i < 7) {
+				assertNull(dao.queryForId(foos.get(i).id));
+			} else {
+				assertNotNull(dao.queryForId(foos.get(i).id));
+			}
+		}
+	}
+
+	@Test
+	public void testMoreThanMaxBucketSize() throws Exception {
+		final Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		final int numFoos = MappedDeleteCollection.MAX_BUCKET_SIZE * 2 + 276;
+		dao.callBatchTasks(new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				createFoos(dao, numFoos);
+				return null;
+			}
+		});
+		// ask for some ids that are not in the table
+		List<Integer> ids = ids(1, numFoos + 10);
+		List<Integer> argCounts = deleteAndCountArgs(dao, ids);
+		assertEquals(Arrays.asList(512, 512, 512), argCounts);
+		for (int argCount : argCounts) {
+			assertTrue(argCount <= databaseType.getMaxBoundArguments());
+		}
+		assertEquals(0, dao.countOf());
+	}
+
+	@Test
+	public void testUnknownIds() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		createFoos(dao, 3);
+		assertEquals(1, dao.deleteIds(Arrays.asList(3, 100, 101)));
+		assertEquals(2, dao.countOf());
+	}
+
+	/**
+	 * Delete the ids and return the number of arguments in each of the DELETE statements.
+	 */
+	private List<Integer> deleteAndCountArgs(Dao<Foo, Integer> dao, List<Integer> ids) throws SQLException {
+		getConnection().clearStatements();
+		dao.deleteIds(ids);
+		List<Integer> argCounts = new ArrayList<Integer>();
+		for (String statement : getConnection().getStatements()) {
+			if (statement.startsWith("DELETE")) {
+				int argCount = 0;
+				for (int i = 0; i < statement.length(); i++) {
+					if (statement.charAt(i) == '?') {
+						argCount++;
+					}
+				}
+				argCounts.add(argCount);
+			}
+		}
+		return argCounts;
+	}
+
+	private List<Integer> ids(int start, int count) {
+		List<Integer> ids = new ArrayList<Integer>(count);
+		for (int i = 0; i < count; i++) {
+			ids.add(start + i);
+		}
+		return ids;
+	}
+
+	private List<Foo> createFoos(Dao<Foo, Integer> dao, int count) throws SQLException {
+		List<Foo> foos = new ArrayList<Foo>(count);
+		for (int i = 0; i < count; i++) {
+			Foo foo = new Foo();
+			assertEquals(1, dao.create(foo));
+			foos.add(foo);
+		}
+		return foos;
+	}
+
+	private static class LimitedDatabaseType extends SqliteJdbcDatabaseType {
+		private final int maxBoundArguments;
+
+		public LimitedDatabaseType(int maxBoundArguments) {
+			this.maxBoundArguments = maxBoundArguments;
+		}
+
+		@Override
+		public int getMaxBoundArguments() {
+			return maxBoundArguments;
+		}
+	}
+
+	@DatabaseTable(tableName = "deletefoo")
+	protected static class Foo {
+		@DatabaseField(generatedId = true)
+		int id;
+	}
+}
@@ -0,0 +1,47 @@
+package com.j256.ormlite.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.jdbc.JdbcCompiledStatement;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+
+public class InstrumentingDatabaseConnectionProxyTest extends BaseCoreTest {
+
+	private static final String SELECT = "SELECT 1";
+
+	@Test
+	public void testCompiledStatementRecorded() throws Exception {
+		SqlStatistics statistics = new SqlStatistics();
+		InstrumentingDatabaseConnectionProxy proxy = new InstrumentingDatabaseConnectionProxy(getConnection(),
+				statistics);
+		CompiledStatement compiledStatement = proxy.compileStatement(SELECT, StatementType.SELECT,
+				new FieldType[0], DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+		assertFalse(compiledStatement instanceof JdbcCompiledStatement);
+		DatabaseResults results = compiledStatement.runQuery(null);
+		assertTrue(results.first());
+		assertEquals(1, results.getInt(0));
+		results.closeQuietly();
+		compiledStatement.closeQuietly();
+		assertEquals(1, statistics.getStatementSnapshot(SELECT).getCallCount());
+	}
+
+	@Test
+	public void testUnwrap() throws Exception {
+		InstrumentingDatabaseConnectionProxy proxy = new InstrumentingDatabaseConnectionProxy(getConnection(),
+				new SqlStatistics());
+		CompiledStatement compiledStatement = proxy.compileStatement(SELECT, StatementType.SELECT,
+				new FieldType[0], DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+		// as the cursor loaders need to cast to the database specific statement
+		assertTrue(InstrumentingDatabaseConnectionProxy.unwrap(compiledStatement) instanceof JdbcCompiledStatement);
+		CompiledStatement unwrapped = InstrumentingDatabaseConnectionProxy.unwrap(compiledStatement);
+		assertSame(unwrapped, InstrumentingDatabaseConnectionProxy.unwrap(unwrapped));
+		compiledStatement.closeQuietly();
+	}
+}
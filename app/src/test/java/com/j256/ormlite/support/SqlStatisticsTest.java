@@ -0,0 +1,120 @@
+package com.j256.ormlite.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.j256.ormlite.support.SqlStatistics.Snapshot;
+
+public class SqlStatisticsTest {
+
+	@Test
+	public void testLiteralsShareKey() {
+		SqlStatistics statistics = new SqlStatistics();
+		statistics.record("SELECT * FROM `foo` WHERE `id` = 1 AND `name` = 'bob'", 1000, -1, false);
+		statistics.record("SELECT * FROM `foo` WHERE `id` = 22  AND `name` = 'it''s'", 1000, -1, false);
+		statistics.record("SELECT * FROM `foo` WHERE `id` = 3.5 AND `name` = ''", 1000, -1, true);
+
+		List<Snapshot> snapshots = statistics.getStatementSnapshots();
+		assertEquals(1, snapshots.size());
+		Snapshot snapshot = snapshots.get(0);
+		assertEquals("SELECT * FROM `foo` WHERE `id` = ? AND `name` = ?", snapshot.getKey());
+		assertEquals(3, snapshot.getCallCount());
+		assertEquals(1, snapshot.getErrorCount());
+		// looking up by any of the raw statements finds the same entry
+		assertEquals(3, statistics.getStatementSnapshot("SELECT * FROM `foo` WHERE `id` = 99 AND `name` = 'x'")
+				.getCallCount());
+		assertEquals(3, statistics.getTableSnapshot("foo").getCallCount());
+	}
+
+	@Test
+	public void testArgumentListsShareKey() {
+		SqlStatistics statistics = new SqlStatistics();
+		statistics.record("DELETE FROM foo WHERE id IN (1, 2, 3)", 1000, 3, false);
+		statistics.record("DELETE FROM foo WHERE id IN (4,5)", 1000, 2, false);
+		statistics.record("INSERT INTO foo (a, b) VALUES (?, ?), (?, ?), (?, ?)", 1000, 3, false);
+		statistics.record("INSERT INTO foo (a, b) VALUES (?,?),(?,?)", 1000, 2, false);
+
+		assertEquals(2, statistics.getStatementSnapshots().size());
+		Snapshot delete = statistics.getStatementSnapshot("DELETE FROM foo WHERE id IN (7, 8)");
+		assertEquals("DELETE FROM foo WHERE id IN (?, ...)", delete.getKey());
+		assertEquals(2, delete.getCallCount());
+		assertEquals(5, delete.getRowCount());
+		Snapshot insert = statistics.getStatementSnapshot("INSERT INTO foo (a, b) VALUES (?, ?), (?, ?), (?, ?), (?, ?)");
+		assertEquals("INSERT INTO foo (a, b) VALUES (?, ...), ...", insert.getKey());
+		assertEquals(2, insert.getCallCount());
+		assertEquals(5, insert.getRowCount());
+
+		Snapshot table = statistics.getTableSnapshot("foo");
+		assertEquals(4, table.getCallCount());
+		assertEquals(10, table.getRowCount());
+		assertNull(statistics.getTableSnapshot("bar"));
+	}
+
+	@Test
+	public void testPercentilesFromBuckets() {
+		SqlStatistics statistics = new SqlStatistics();
+		String sql = "SELECT * FROM foo";
+		// 90 fast calls in the [4, 8) microsecond bucket and 10 slow ones in [512, 1024)
+		for (int i = 0; i < 90; i++) {
+			statistics.record(sql, TimeUnit.MICROSECONDS.toNanos(5), -1, false);
+		}
+		for (int i = 0; i < 10; i++) {
+			statistics.record(sql, TimeUnit.MICROSECONDS.toNanos(1000), -1, false);
+		}
+
+		Snapshot snapshot = statistics.getStatementSnapshot(sql);
+		long[] bucketCounts = snapshot.getBucketCounts();
+		assertEquals(SqlStatistics.NUM_BUCKETS, bucketCounts.length);
+		assertEquals(90, bucketCounts[3]);
+		assertEquals(10, bucketCounts[10]);
+		assertEquals(100, snapshot.getCallCount());
+		assertEquals(TimeUnit.MICROSECONDS.toNanos(90 * 5 + 10 * 1000), snapshot.getTotalNanos());
+		assertEquals(TimeUnit.MICROSECONDS.toNanos(1000), snapshot.getMaxNanos());
+
+		assertEquals(8, snapshot.getPercentileMicros(50));
+		assertEquals(8, snapshot.getPercentileMicros(90));
+		assertEquals(1024, snapshot.getPercentileMicros(91));
+		assertEquals(1024, snapshot.getPercentileMicros(99));
+		assertEquals(1024, snapshot.getPercentileMicros(100));
+	}
+
+	@Test
+	public void testBucketEdges() {
+		SqlStatistics statistics = new SqlStatistics();
+		String sql = "SELECT * FROM foo";
+		// under a microsecond
+		statistics.record(sql, 999, -1, false);
+		// exactly one microsecond
+		statistics.record(sql, 1000, -1, false);
+		// far past the last bucket
+		statistics.record(sql, TimeUnit.DAYS.toNanos(1), -1, false);
+
+		long[] bucketCounts = statistics.getStatementSnapshot(sql).getBucketCounts();
+		assertEquals(1, bucketCounts[0]);
+		assertEquals(1, bucketCounts[1]);
+		assertEquals(1, bucketCounts[SqlStatistics.NUM_BUCKETS - 1]);
+	}
+
+	@Test
+	public void testSortedByTotalTime() {
+		SqlStatistics statistics = new SqlStatistics();
+		statistics.record("SELECT * FROM fast", 1000, -1, false);
+		statistics.record("SELECT * FROM slow", 5000, -1, false);
+		statistics.record("SELECT * FROM fast", 1000, -1, false);
+
+		List<Snapshot> snapshots = statistics.getStatementSnapshots();
+		assertEquals("SELECT * FROM slow", snapshots.get(0).getKey());
+		assertEquals("SELECT * FROM fast", snapshots.get(1).getKey());
+
+		statistics.reset();
+		assertEquals(0, statistics.getStatementSnapshots().size());
+		assertNull(statistics.getStatementSnapshot("SELECT * FROM slow"));
+		assertSame(SqlStatistics.UNKNOWN_TABLE, SqlStatistics.extractTableName("PRAGMA foreign_keys"));
+	}
+}
@@ -0,0 +1,248 @@
+package com.j256.ormlite.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.Dao.CreateOrUpdateStatus;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+
+public class DirtyTrackerTest extends BaseCoreTest {
+
+	@Test
+	public void testOffByDefault() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		assertFalse(dao.isDirtyTracking());
+		Foo foo = createFoo(dao, 1);
+		getConnection().clearStatements();
+		assertEquals(1, dao.update(foo));
+		// every column is written
+		assertUpdatedColumns("name", "count", "data");
+	}
+
+	@Test
+	public void testOnlyChangedColumns() throws Exception {
+		Dao<Foo, Integer> dao = createTrackingDao();
+		createFoo(dao, 1);
+		Foo foo = dao.queryForId(1);
+		foo.count = 100;
+		getConnection().clearStatements();
+		assertEquals(1, dao.update(foo));
+		assertUpdatedColumns("count");
+		String countUpdate = getConnection().getStatements().get(0);
+
+		foo.name = "changed";
+		// a byte array changed in place is seen
+		foo.data[0] = 9;
+		getConnection().clearStatements();
+		assertEquals(1, dao.update(foo));
+		assertUpdatedColumns("name", "data");
+
+		Foo result = dao.queryForId(1);
+		assertEquals("changed", result.name);
+		assertEquals(100, result.count);
+		assertEquals(9, result.data[0]);
+
+		// the statement for a column mask is reused
+		result.count = 200;
+		getConnection().clearStatements();
+		assertEquals(1, dao.update(result));
+		assertEquals(countUpdate, getConnection().getStatements().get(0));
+	}
+
+	@Test
+	public void testUnchangedSkipped() throws Exception {
+		Dao<Foo, Integer> dao = createTrackingDao();
+		// created objects are snapshotted too
+		Foo foo = createFoo(dao, 1);
+		getConnection().clearStatements();
+		assertEquals(1, dao.update(foo));
+		assertEquals(0, getConnection().getStatements().size());
+
+		// an object that was never read or written has no snapshot so all of the columns are written
+		Foo other = new Foo();
+		other.id = 1;
+		other.name = "other";
+		other.data = new byte[] { 1 };
+		getConnection().clearStatements();
+		assertEquals(1, dao.update(other));
+		assertUpdatedColumns("name", "count", "data");
+	}
+
+	@Test
+	public void testCreateOrUpdateAfterDelete() throws Exception {
+		Dao<Foo, Integer> dao = createTrackingDao();
+		Foo foo = createFoo(dao, 1);
+		assertEquals(1, dao.delete(foo));
+		CreateOrUpdateStatus status = dao.createOrUpdate(foo);
+		assertTrue(status.isCreated());
+		assertFalse(status.isUpdated());
+		assertEquals(1, dao.countOf());
+
+		// unchanged but the update still runs to see that the row exists
+		getConnection().clearStatements();
+		status = dao.createOrUpdate(foo);
+		assertTrue(status.isUpdated());
+		assertEquals(1, status.getNumLinesChanged());
+		assertEquals(1, getConnection().getStatements().size());
+	}
+
+	@Test
+	public void testForgottenAfterDeletes() throws Exception {
+		Dao<Foo, Integer> dao = createTrackingDao();
+		Foo byId = createFoo(dao, 1);
+		Foo byIds = createFoo(dao, 2);
+		Foo byCollection = createFoo(dao, 3);
+
+		assertEquals(1, dao.deleteById(1));
+		assertEquals(1, dao.deleteIds(Arrays.asList(2)));
+		assertEquals(1, dao.delete(Arrays.asList(byCollection)));
+		// the rows are gone so the updates change nothing instead of being skipped
+		for (Foo foo : Arrays.asList(byId, byIds, byCollection)) {
+			assertEquals(0, dao.update(foo));
+		}
+	}
+
+	@Test
+	public void testForgottenAfterUpdateId() throws Exception {
+		Dao<Foo, Integer> dao = createTrackingDao();
+		Foo foo = createFoo(dao, 1);
+		assertEquals(1, dao.updateId(foo, 2));
+		assertEquals(2, foo.id);
+		getConnection().clearStatements();
+		assertEquals(1, dao.update(foo));
+		assertUpdatedColumns("name", "count", "data");
+	}
+
+	@Test
+	public void testNoIdField() throws Exception {
+		Dao<NoId, Void> dao = createDao(NoId.class, true);
+		try {
+			dao.setDirtyTracking(true);
+			fail("should have thrown");
+		} catch (SQLException e) {
+			// expected
+		}
+		assertFalse(dao.isDirtyTracking());
+	}
+
+	@Test
+	public void testFindDirtyFields() throws Exception {
+		Dao<Foo, Integer> dao = createTrackingDao();
+		Foo foo = createFoo(dao, 1);
+		TableInfo<Foo, Integer> tableInfo = new TableInfo<Foo, Integer>(connectionSource, null, Foo.class);
+		DirtyTracker<Foo, Integer> tracker = new DirtyTracker<Foo, Integer>(tableInfo);
+		assertNull(tracker.findDirtyFields(foo));
+		tracker.snapshot(foo);
+		assertTrue(tracker.findDirtyFields(foo).isEmpty());
+		// the id is never dirty
+		foo.id = 10;
+		assertTrue(tracker.findDirtyFields(foo).isEmpty());
+		foo.name = null;
+		assertEquals(1, tracker.findDirtyFields(foo).cardinality());
+		tracker.forgetIds(Arrays.asList(1));
+		assertNull(tracker.findDirtyFields(foo));
+	}
+
+	@Test
+	public void testGeneratedId() throws Exception {
+		Dao<GeneratedFoo, Integer> dao = createDao(GeneratedFoo.class, true);
+		dao.setDirtyTracking(true);
+		GeneratedFoo foo = new GeneratedFoo();
+		foo.name = "foo";
+		assertEquals(1, dao.create(foo));
+		getConnection().clearStatements();
+		assertEquals(1, dao.update(foo));
+		assertEquals(0, getConnection().getStatements().size());
+
+		TableInfo<GeneratedFoo, Integer> tableInfo =
+				new TableInfo<GeneratedFoo, Integer>(connectionSource, null, GeneratedFoo.class);
+		DirtyTracker<GeneratedFoo, Integer> tracker = new DirtyTracker<GeneratedFoo, Integer>(tableInfo);
+		tracker.snapshot(foo);
+		// the generated id is never dirty
+		int id = foo.id;
+		foo.id = id + 10;
+		assertTrue(tracker.findDirtyFields(foo).isEmpty());
+		foo.id = id;
+		foo.name = "changed";
+		foo.count = 10;
+		// the id is not one of the fields that can be updated
+		assertTrue(tracker.isAllFields(tracker.findDirtyFields(foo)));
+
+		assertEquals(1, dao.update(foo));
+		GeneratedFoo result = dao.queryForId(id);
+		assertEquals("changed", result.name);
+		assertEquals(10, result.count);
+	}
+
+	private Dao<Foo, Integer> createTrackingDao() throws SQLException {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setDirtyTracking(true);
+		assertTrue(dao.isDirtyTracking());
+		return dao;
+	}
+
+	private Foo createFoo(Dao<Foo, Integer> dao, int id) throws SQLException {
+		Foo foo = new Foo();
+		foo.id = id;
+		foo.name = "foo" + id;
+		foo.count = id;
+		foo.data = new byte[] { 1, 2, 3 };
+		assertEquals(1, dao.create(foo));
+		return foo;
+	}
+
+	/**
+	 * Assert that the one statement run was an update of the columns.
+	 */
+	private void assertUpdatedColumns(String... columnNames) throws SQLException {
+		List<String> statements = getConnection().getStatements();
+		assertEquals(statements.toString(), 1, statements.size());
+		String statement = statements.get(0);
+		assertTrue(statement, statement.startsWith("UPDATE "));
+		String setClause = statement.substring(statement.indexOf(" SET "), statement.indexOf(" WHERE "));
+		for (String columnName : new String[] { "name", "count", "data" }) {
+			boolean expected = Arrays.asList(columnNames).contains(columnName);
+			assertEquals(statement, expected, setClause.contains("`" + columnName + "`"));
+		}
+	}
+
+	@DatabaseTable(tableName = "dirtyfoo")
+	protected static class Foo {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField
+		String name;
+		@DatabaseField
+		int count;
+		@DatabaseField(dataType = DataType.BYTE_ARRAY)
+		byte[] data;
+	}
+
+	@DatabaseTable(tableName = "dirtygenerated")
+	protected static class GeneratedFoo {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String name;
+		@DatabaseField
+		int count;
+	}
+
+	@DatabaseTable(tableName = "dirtynoid")
+	protected static class NoId {
+		@DatabaseField
+		String name;
+	}
+}
@@ -0,0 +1,168 @@
+package com.j256.ormlite.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.field.DatabaseFieldConfig;
+import com.j256.ormlite.field.FieldAccessor;
+
+public class GeneratedTableAccessorsTest extends BaseCoreTest {
+
+	@Test
+	public void testLookup() {
+		GeneratedTableAccessor<Foo> accessor = GeneratedTableAccessors.lookup(Foo.class);
+		assertNotNull(accessor);
+		assertTrue(accessor.newInstance() instanceof Foo);
+		assertNotNull(accessor.getTableConfig());
+		assertEquals("foo", accessor.getTableConfig().getTableName());
+		// the same accessor is cached
+		assertTrue(accessor == GeneratedTableAccessors.lookup(Foo.class));
+	}
+
+	@Test
+	public void testNoAccessor() {
+		// private classes cannot be reached from generated code
+		assertNull(GeneratedTableAccessors.lookup(PrivateFoo.class));
+		assertNull(GeneratedTableAccessors.lookupField(PrivateFoo.class, "id"));
+		assertNull(GeneratedTableAccessors.lookupTableConfig(PrivateFoo.class));
+		assertNull(GeneratedTableAccessors.lookup(String.class));
+	}
+
+	@Test
+	public void testFieldAccessors() {
+		FieldAccessor valAccessor = GeneratedTableAccessors.lookupField(Foo.class, "val");
+		assertNotNull(valAccessor);
+		Foo foo = new Foo();
+		valAccessor.setInt(foo, 12);
+		assertEquals(12, foo.val);
+		valAccessor.set(foo, 13);
+		assertEquals(13, valAccessor.get(foo));
+
+		// private field without useGetSet is left to reflection
+		assertNull(GeneratedTableAccessors.lookupField(Foo.class, "hidden"));
+
+		FieldAccessor nameAccessor = GeneratedTableAccessors.lookupField(Foo.class, "name");
+		assertNotNull(nameAccessor);
+		nameAccessor.set(foo, "bar");
+		assertEquals(1, foo.setNameCount);
+		assertEquals("bar", nameAccessor.get(foo));
+		assertEquals(1, foo.getNameCount);
+	}
+
+	@Test
+	public void testDaoUsesAccessors() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo = new Foo();
+		foo.val = 1;
+		foo.setHidden("hidden");
+		foo.setName("name");
+		assertEquals(1, dao.create(foo));
+		Foo result = dao.queryForId(foo.id);
+		assertEquals(foo.val, result.val);
+		assertEquals("hidden", result.getHidden());
+		assertEquals("name", result.getName());
+		// the generated accessor goes through the set method
+		assertEquals(1, result.setNameCount);
+	}
+
+	@Test
+	public void testConfigMatchesAnnotations() throws Exception {
+		DatabaseTableConfig<Configured> tableConfig = GeneratedTableAccessors.lookupTableConfig(Configured.class);
+		assertNotNull(tableConfig);
+		assertEquals(Configured.class.getDeclaredFields().length, tableConfig.getFieldConfigs().size());
+		for (DatabaseFieldConfig generated : tableConfig.getFieldConfigs()) {
+			Field field = Configured.class.getDeclaredField(generated.getFieldName());
+			DatabaseFieldConfig expected = DatabaseFieldConfig.fromDatabaseField(databaseType,
+					tableConfig.getTableName(), field, field.getAnnotation(DatabaseField.class));
+			assertSameSettings(field.getName(), expected, generated);
+		}
+	}
+
+	private void assertSameSettings(String fieldName, DatabaseFieldConfig expected, DatabaseFieldConfig generated)
+			throws Exception {
+		for (Method method : DatabaseFieldConfig.class.getMethods()) {
+			String name = method.getName();
+			if (method.getParameterTypes().length != 0 || Modifier.isStatic(method.getModifiers())
+					|| method.getDeclaringClass() != DatabaseFieldConfig.class
+					|| !(name.startsWith("get") || name.startsWith("is"))) {
+				continue;
+			}
+			Object expectedValue = method.invoke(expected);
+			Object generatedValue = method.invoke(generated);
+			assertTrue(fieldName + "." + name + "() expected " + expectedValue + " but was " + generatedValue,
+					Arrays.deepEquals(new Object[] { expectedValue }, new Object[] { generatedValue }));
+		}
+	}
+
+	@DatabaseTable(tableName = "foo")
+	protected static class Foo {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		int val;
+		@DatabaseField
+		private String hidden;
+		@DatabaseField(useGetSet = true)
+		private String name;
+		int getNameCount;
+		int setNameCount;
+
+		public String getHidden() {
+			return hidden;
+		}
+
+		public void setHidden(String hidden) {
+			this.hidden = hidden;
+		}
+
+		public String getName() {
+			getNameCount++;
+			return name;
+		}
+
+		public void setName(String name) {
+			setNameCount++;
+			this.name = name;
+		}
+	}
+
+	@DatabaseTable(tableName = "configured")
+	protected static class Configured {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(defaultValue = "")
+		String emptyDefault;
+		@DatabaseField(defaultValue = "none")
+		String withDefault;
+		@DatabaseField(columnName = "renamed", canBeNull = false)
+		String noDefault;
+		@DatabaseField(foreign = true)
+		Foo plainForeign;
+		@DatabaseField(foreign = true, foreignAutoRefresh = true)
+		Foo autoRefresh;
+		@DatabaseField(foreign = true, maxForeignAutoRefreshLevel = DatabaseField.DEFAULT_MAX_FOREIGN_AUTO_REFRESH_LEVEL)
+		Foo defaultLevel;
+		@DatabaseField(foreign = true, maxForeignAutoRefreshLevel = 3)
+		Foo customLevel;
+		@DatabaseField(foreign = true, foreignAutoRefresh = true, maxForeignAutoRefreshLevel = 5)
+		Foo autoRefreshLevel;
+	}
+
+	@DatabaseTable(tableName = "privatefoo")
+	private static class PrivateFoo {
+		@DatabaseField(id = true)
+		int id;
+	}
+}
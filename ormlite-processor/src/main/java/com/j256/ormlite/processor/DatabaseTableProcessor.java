@@ -0,0 +1,683 @@
+package com.j256.ormlite.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.SimpleAnnotationValueVisitor8;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+
+/**
+ * Annotation processor which generates a reflection-free accessor class for each {@code @DatabaseTable} entity. The
+ * generated class is named after the entity with {@code $$OrmLiteAccessor} appended and implements
+ * {@code com.j256.ormlite.table.GeneratedTableAccessor}. ORMLite finds it by name at runtime and uses it instead of
+ * {@code Constructor.newInstance()}, {@code Field.get/set}, and {@code Method.invoke}. It also builds the
+ * {@code DatabaseTableConfig} from the annotations as plain Java which {@code DaoManager} registers with
+ * {@code addCachedDatabaseConfigs(...)} so the annotations do not have to be read at startup.
+ *
+ * <p>
+ * Fields which are not private are read and written directly. Fields with {@code useGetSet = true} go through their
+ * getX/isX and setX methods, as ORMLite would at runtime. Private fields without {@code useGetSet}, and fields whose
+ * methods cannot be found, are left to reflection. The annotations are matched by name so this module does not depend on ORMLite.
+ * </p>
+ *
+ * 为每个@DatabaseTable实体生成不使用反射的访问器类。
+ */
+public class DatabaseTableProcessor extends AbstractProcessor {
+
+	static final String DATABASE_TABLE = "com.j256.ormlite.table.DatabaseTable";
+	static final String DATABASE_FIELD = "com.j256.ormlite.field.DatabaseField";
+	static final String FOREIGN_COLLECTION_FIELD = "com.j256.ormlite.field.ForeignCollectionField";
+	static final String ACCESSOR_SUFFIX = "$$OrmLiteAccessor";
+	static final String JAVAX_PERSISTENCE_PREFIX = "javax.persistence.";
+	/** DatabaseField.DEFAULT_STRING which means no default value */
+	static final String NO_DEFAULT_VALUE = "__ormlite__ no default value string was specified";
+	/** DatabaseField.DEFAULT_MAX_FOREIGN_AUTO_REFRESH_LEVEL */
+	static final int DEFAULT_MAX_FOREIGN_AUTO_REFRESH_LEVEL = 2;
+	/** primitives that FieldAccessor can set without boxing */
+	static final TypeKind[] PRIMITIVE_SET_KINDS =
+			{ TypeKind.INT, TypeKind.LONG, TypeKind.SHORT, TypeKind.BYTE, TypeKind.FLOAT, TypeKind.DOUBLE };
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Collections.singleton(DATABASE_TABLE);
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (element.getKind() != ElementKind.CLASS) {
+					continue;
+				}
+				TypeElement entity = (TypeElement) element;
+				if (!isReachable(entity)) {
+					processingEnv.getMessager().printMessage(Kind.NOTE,
+							"ORMLite accessor not generated, class is private or non-static inner, using reflection",
+							entity);
+					continue;
+				}
+				try {
+					writeAccessor(entity);
+				} catch (IOException e) {
+					processingEnv.getMessager().printMessage(Kind.ERROR,
+							"Could not write ORMLite accessor: " + e.getMessage(), entity);
+				}
+			}
+		}
+		// let other processors see @DatabaseTable as well
+		return false;
+	}
+
+	private void writeAccessor(TypeElement entity) throws IOException {
+		String packageName = getPackageName(entity);
+		String accessorName = getBinarySimpleName(entity) + ACCESSOR_SUFFIX;
+		String entityName = getEntityTypeName(entity);
+		List<FieldAccess> fields = findFieldAccesses(entity);
+
+		StringBuilder sb = new StringBuilder(2048);
+		sb.append("// Generated by ").append(getClass().getSimpleName()).append(", do not edit.\n");
+		if (packageName.length() > 0) {
+			sb.append("package ").append(packageName).append(";\n\n");
+		}
+		sb.append("import com.j256.ormlite.field.DatabaseFieldConfig;\n");
+		sb.append("import com.j256.ormlite.field.FieldAccessor;\n");
+		sb.append("import com.j256.ormlite.table.DatabaseTableConfig;\n");
+		sb.append("import com.j256.ormlite.table.GeneratedTableAccessor;\n\n");
+		sb.append("@SuppressWarnings({ \"unchecked\", \"rawtypes\" })\n");
+		sb.append("public final class ").append(accessorName);
+		sb.append(" implements GeneratedTableAccessor<").append(entityName).append("> {\n\n");
+
+		sb.append("\tprivate static final FieldAccessor[] ACCESSORS = {");
+		for (int i = 0; i < fields.size(); i++) {
+			sb.append(i == 0 ? " " : ", ").append("new Accessor(").append(i).append(')');
+		}
+		sb.append(" };\n\n");
+
+		sb.append("\t@Override\n");
+		sb.append("\tpublic ").append(entityName).append(" newInstance() {\n");
+		if (hasNoArgConstructor(entity)) {
+			sb.append("\t\treturn new ").append(entityName).append("();\n");
+		} else {
+			sb.append("\t\treturn null;\n");
+		}
+		sb.append("\t}\n\n");
+
+		sb.append("\t@Override\n");
+		sb.append("\tpublic FieldAccessor getFieldAccessor(String fieldName) {\n");
+		sb.append("\t\tswitch (fieldName) {\n");
+		for (int i = 0; i < fields.size(); i++) {
+			sb.append("\t\t\tcase \"").append(fields.get(i).name).append("\":\n");
+			sb.append("\t\t\t\treturn ACCESSORS[").append(i).append("];\n");
+		}
+		sb.append("\t\t\tdefault:\n");
+		sb.append("\t\t\t\treturn null;\n");
+		sb.append("\t\t}\n");
+		sb.append("\t}\n\n");
+
+		sb.append("\t@Override\n");
+		sb.append("\tpublic DatabaseTableConfig<").append(entityName).append("> getTableConfig() {\n");
+		appendTableConfig(sb, entity, entityName);
+		sb.append("\t}\n\n");
+
+		sb.append("\tprivate static final class Accessor implements FieldAccessor {\n\n");
+		sb.append("\t\tprivate final int index;\n\n");
+		sb.append("\t\tAccessor(int index) {\n");
+		sb.append("\t\t\tthis.index = index;\n");
+		sb.append("\t\t}\n\n");
+		sb.append("\t\t@Override\n");
+		sb.append("\t\tpublic Object get(Object data) {\n");
+		sb.append("\t\t\t").append(entityName).append(" entity = (").append(entityName).append(") data;\n");
+		sb.append("\t\t\tswitch (index) {\n");
+		for (int i = 0; i < fields.size(); i++) {
+			sb.append("\t\t\t\tcase ").append(i).append(":\n");
+			sb.append("\t\t\t\t\treturn ").append(fields.get(i).getExpression("entity")).append(";\n");
+		}
+		sb.append("\t\t\t\tdefault:\n");
+		sb.append("\t\t\t\t\tthrow new IllegalStateException(\"Unknown field index \" + index);\n");
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t}\n\n");
+		sb.append("\t\t@Override\n");
+		sb.append("\t\tpublic void set(Object data, Object val) {\n");
+		sb.append("\t\t\t").append(entityName).append(" entity = (").append(entityName).append(") data;\n");
+		sb.append("\t\t\tswitch (index) {\n");
+		for (int i = 0; i < fields.size(); i++) {
+			sb.append("\t\t\t\tcase ").append(i).append(":\n");
+			FieldAccess field = fields.get(i);
+			sb.append("\t\t\t\t\t").append(field.setStatement("entity", "(" + field.castType + ") val")).append(";\n");
+			sb.append("\t\t\t\t\tbreak;\n");
+		}
+		sb.append("\t\t\t\tdefault:\n");
+		sb.append("\t\t\t\t\tthrow new IllegalStateException(\"Unknown field index \" + index);\n");
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t}\n");
+		for (TypeKind kind : PRIMITIVE_SET_KINDS) {
+			appendPrimitiveSet(sb, entityName, fields, kind);
+		}
+		sb.append("\t}\n");
+		sb.append("}\n");
+
+		String qualifiedName = (packageName.length() == 0 ? accessorName : packageName + "." + accessorName);
+		JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, entity);
+		Writer writer = file.openWriter();
+		try {
+			writer.write(sb.toString());
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Append a setInt(...), setLong(...), etc. method which assigns the primitive without boxing it. Fields of other
+	 * types fall back to boxing through set(...) which will throw if the type does not fit.
+	 */
+	private void appendPrimitiveSet(StringBuilder sb, String entityName, List<FieldAccess> fields, TypeKind kind) {
+		String typeName = kind.name().toLowerCase(Locale.ENGLISH);
+		sb.append("\n\t\t@Override\n");
+		sb.append("\t\tpublic void set").append(capitalize(typeName)).append("(Object data, ").append(typeName);
+		sb.append(" val) {\n");
+		sb.append("\t\t\tswitch (index) {\n");
+		for (int i = 0; i < fields.size(); i++) {
+			FieldAccess field = fields.get(i);
+			if (field.kind != kind) {
+				continue;
+			}
+			sb.append("\t\t\t\tcase ").append(i).append(":\n");
+			sb.append("\t\t\t\t\t").append(field.setStatement("((" + entityName + ") data)", "val"));
+			sb.append(";\n");
+			sb.append("\t\t\t\t\tbreak;\n");
+		}
+		sb.append("\t\t\t\tdefault:\n");
+		sb.append("\t\t\t\t\tset(data, val);\n");
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t}\n");
+	}
+
+	/**
+	 * Append the body of the getTableConfig() method. This mirrors DatabaseTableConfig.fromClass(...) and
+	 * DatabaseFieldConfig.fromField(...) but with the annotation values resolved at compile time.
+	 */
+	private void appendTableConfig(StringBuilder sb, TypeElement entity, String entityName) {
+		List<VariableElement> fields = new ArrayList<VariableElement>();
+		for (TypeElement type = entity; type != null; type = getSuperclass(type)) {
+			for (Element element : type.getEnclosedElements()) {
+				if (element.getKind() != ElementKind.FIELD) {
+					continue;
+				}
+				if (hasJavaxPersistence(element)) {
+					// we don't mirror the javax.persistence configurer so let it be read at runtime
+					sb.append("\t\t// javax.persistence annotations are used so the config is built at runtime\n");
+					sb.append("\t\treturn null;\n");
+					return;
+				}
+				if (findAnnotation(element, DATABASE_FIELD) != null
+						|| findAnnotation(element, FOREIGN_COLLECTION_FIELD) != null) {
+					fields.add((VariableElement) element);
+				}
+			}
+		}
+		if (hasJavaxPersistence(entity)) {
+			sb.append("\t\t// javax.persistence annotations are used so the config is built at runtime\n");
+			sb.append("\t\treturn null;\n");
+			return;
+		}
+
+		sb.append("\t\tjava.util.List<DatabaseFieldConfig> fieldConfigs =\n");
+		sb.append("\t\t\t\tnew java.util.ArrayList<DatabaseFieldConfig>(").append(fields.size()).append(");\n");
+		sb.append("\t\tDatabaseFieldConfig config;\n");
+		for (VariableElement field : fields) {
+			AnnotationMirror databaseField = findAnnotation(field, DATABASE_FIELD);
+			if (databaseField != null) {
+				appendDatabaseFieldConfig(sb, field, databaseField);
+			} else {
+				appendForeignCollectionConfig(sb, field, findAnnotation(field, FOREIGN_COLLECTION_FIELD));
+			}
+		}
+		sb.append("\t\treturn new DatabaseTableConfig<").append(entityName).append(">(").append(entityName);
+		sb.append(".class, ").append(quote(getTableName(entity))).append(", fieldConfigs);\n");
+	}
+
+	private void appendDatabaseFieldConfig(StringBuilder sb, VariableElement field, AnnotationMirror databaseField) {
+		Map<String, AnnotationValue> values = getValues(databaseField);
+		AnnotationValue persisted = values.get("persisted");
+		if (persisted != null && Boolean.FALSE.equals(persisted.getValue())) {
+			return;
+		}
+		sb.append("\t\tconfig = new DatabaseFieldConfig(").append(quote(field.getSimpleName().toString()));
+		sb.append(");\n");
+		for (Map.Entry<String, AnnotationValue> entry : values.entrySet()) {
+			String name = entry.getKey();
+			AnnotationValue value = entry.getValue();
+			if (name.equals("persisted") || name.equals("maxForeignAutoRefreshLevel")) {
+				// handled separately
+				continue;
+			}
+			if (value.getValue() instanceof String) {
+				String str = (String) value.getValue();
+				if (name.equals("defaultValue")) {
+					// an empty default value is a real default, only the marker means none
+					if (str.equals(NO_DEFAULT_VALUE)) {
+						continue;
+					}
+				} else if (str.length() == 0) {
+					continue;
+				}
+			}
+			if (name.equals("unknownEnumName")) {
+				String enumName = (String) value.getValue();
+				if (!isEnumConstant(field.asType(), enumName)) {
+					processingEnv.getMessager().printMessage(Kind.ERROR,
+							"Unknown enum value '" + enumName + "' for unknownEnumName", field);
+					continue;
+				}
+				sb.append("\t\tconfig.setUnknownEnumValue(");
+				sb.append(processingEnv.getTypeUtils().erasure(field.asType())).append('.').append(enumName);
+				sb.append(");\n");
+				continue;
+			}
+			sb.append("\t\tconfig.set").append(capitalize(name)).append('(').append(toLiteral(value)).append(");\n");
+		}
+		// same logic as DatabaseFieldConfig.fromDatabaseField(...)
+		AnnotationValue level = values.get("maxForeignAutoRefreshLevel");
+		int levelValue = (level == null ? DEFAULT_MAX_FOREIGN_AUTO_REFRESH_LEVEL : (Integer) level.getValue());
+		if (getBooleanValue(databaseField, "foreignAutoRefresh")
+				|| levelValue != DEFAULT_MAX_FOREIGN_AUTO_REFRESH_LEVEL) {
+			sb.append("\t\tconfig.setMaxForeignAutoRefreshLevel(").append(levelValue).append(");\n");
+		}
+		sb.append("\t\tfieldConfigs.add(config);\n");
+	}
+
+	private void appendForeignCollectionConfig(StringBuilder sb, VariableElement field, AnnotationMirror collection) {
+		sb.append("\t\tconfig = new DatabaseFieldConfig(").append(quote(field.getSimpleName().toString()));
+		sb.append(");\n");
+		sb.append("\t\tconfig.setForeignCollection(true);\n");
+		for (Map.Entry<String, AnnotationValue> entry : getValues(collection).entrySet()) {
+			String name = entry.getKey();
+			Object value = entry.getValue().getValue();
+			if (value instanceof String && ((String) value).length() == 0) {
+				continue;
+			}
+			String literal = toLiteral(entry.getValue());
+			if (name.equals("columnName")) {
+				sb.append("\t\tconfig.setColumnName(").append(literal).append(");\n");
+				sb.append("\t\tconfig.setForeignCollectionColumnName(").append(literal).append(");\n");
+			} else if (name.equals("eager")) {
+				sb.append("\t\tconfig.setForeignCollectionEager(").append(literal).append(");\n");
+			} else if (name.equals("eagerBatch")) {
+				sb.append("\t\tconfig.setForeignCollectionEagerBatch(").append(literal).append(");\n");
+			} else if (name.equals("countCached")) {
+				sb.append("\t\tconfig.setForeignCollectionCountCached(").append(literal).append(");\n");
+			} else if (name.equals("maxEagerLevel")) {
+				sb.append("\t\tconfig.setForeignCollectionMaxEagerLevel(").append(literal).append(");\n");
+			} else if (name.equals("orderColumnName")) {
+				sb.append("\t\tconfig.setForeignCollectionOrderColumnName(").append(literal).append(");\n");
+			} else if (name.equals("orderAscending")) {
+				sb.append("\t\tconfig.setForeignCollectionOrderAscending(").append(literal).append(");\n");
+			} else if (name.equals("foreignFieldName")) {
+				sb.append("\t\tconfig.setForeignCollectionForeignFieldName(").append(literal).append(");\n");
+			}
+		}
+		sb.append("\t\tfieldConfigs.add(config);\n");
+	}
+
+	private String getTableName(TypeElement entity) {
+		AnnotationMirror databaseTable = findAnnotation(entity, DATABASE_TABLE);
+		if (databaseTable != null) {
+			AnnotationValue tableName = getValues(databaseTable).get("tableName");
+			if (tableName != null && ((String) tableName.getValue()).length() > 0) {
+				return (String) tableName.getValue();
+			}
+		}
+		// same as DatabaseTableConfig.extractTableName(...)
+		return entity.getSimpleName().toString().toLowerCase(Locale.ENGLISH);
+	}
+
+	private boolean isEnumConstant(TypeMirror type, String name) {
+		Element element = processingEnv.getTypeUtils().asElement(type);
+		if (element == null || element.getKind() != ElementKind.ENUM) {
+			return false;
+		}
+		for (Element enclosed : element.getEnclosedElements()) {
+			if (enclosed.getKind() == ElementKind.ENUM_CONSTANT && enclosed.getSimpleName().contentEquals(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private TypeElement getSuperclass(TypeElement type) {
+		TypeMirror superclass = type.getSuperclass();
+		if (superclass.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+		TypeElement superElement = (TypeElement) processingEnv.getTypeUtils().asElement(superclass);
+		if (superElement.getQualifiedName().contentEquals("java.lang.Object")) {
+			return null;
+		}
+		return superElement;
+	}
+
+	private static boolean hasJavaxPersistence(Element element) {
+		for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+			TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+			if (annotationType.getQualifiedName().toString().startsWith(JAVAX_PERSISTENCE_PREFIX)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Map<String, AnnotationValue> getValues(AnnotationMirror mirror) {
+		Map<String, AnnotationValue> values = new LinkedHashMap<String, AnnotationValue>();
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues()
+				.entrySet()) {
+			values.put(entry.getKey().getSimpleName().toString(), entry.getValue());
+		}
+		return values;
+	}
+
+	/**
+	 * Return the annotation value as a Java expression.
+	 */
+	private String toLiteral(AnnotationValue value) {
+		return value.accept(new SimpleAnnotationValueVisitor8<String, Void>() {
+			@Override
+			public String visitString(String str, Void param) {
+				return quote(str);
+			}
+
+			@Override
+			public String visitType(TypeMirror type, Void param) {
+				return processingEnv.getTypeUtils().erasure(type) + ".class";
+			}
+
+			@Override
+			public String visitEnumConstant(VariableElement constant, Void param) {
+				return processingEnv.getTypeUtils().erasure(constant.asType()) + "." + constant.getSimpleName();
+			}
+
+			@Override
+			protected String defaultAction(Object obj, Void param) {
+				return value.toString();
+			}
+		}, null);
+	}
+
+	private static String quote(String str) {
+		StringBuilder sb = new StringBuilder(str.length() + 2);
+		sb.append('"');
+		for (int i = 0; i < str.length(); i++) {
+			char ch = str.charAt(i);
+			if (ch == '"' || ch == '\\') {
+				sb.append('\\').append(ch);
+			} else if (ch < ' ') {
+				// not a unicode escape since those are translated before parsing and a newline would end the literal
+				sb.append(String.format("\\%03o", (int) ch));
+			} else if (ch > '~') {
+				sb.append(String.format("\\u%04x", (int) ch));
+			} else {
+				sb.append(ch);
+			}
+		}
+		return sb.append('"').toString();
+	}
+
+	/**
+	 * Find all of the persisted fields declared in the entity that we can reach without reflection.
+	 */
+	private List<FieldAccess> findFieldAccesses(TypeElement entity) {
+		List<FieldAccess> fields = new ArrayList<FieldAccess>();
+		for (Element element : entity.getEnclosedElements()) {
+			if (element.getKind() != ElementKind.FIELD) {
+				continue;
+			}
+			VariableElement field = (VariableElement) element;
+			Set<Modifier> modifiers = field.getModifiers();
+			if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL)) {
+				continue;
+			}
+			AnnotationMirror databaseField = findAnnotation(field, DATABASE_FIELD);
+			if (databaseField == null && findAnnotation(field, FOREIGN_COLLECTION_FIELD) == null) {
+				continue;
+			}
+			String name = field.getSimpleName().toString();
+			String castType = getCastType(field.asType());
+			boolean useGetSet = (databaseField != null && getBooleanValue(databaseField, "useGetSet"));
+			if (!useGetSet) {
+				if (modifiers.contains(Modifier.PRIVATE)) {
+					// like FieldType, without useGetSet the field itself is used so leave it to reflection
+					processingEnv.getMessager().printMessage(Kind.NOTE,
+							"Private ORMLite field without useGetSet, using reflection", field);
+				} else {
+					fields.add(new FieldAccess(name, field.asType().getKind(), castType, null, null));
+				}
+				continue;
+			}
+			ExecutableElement getMethod = findGetMethod(entity, field);
+			ExecutableElement setMethod = findSetMethod(entity, field);
+			if (getMethod == null || setMethod == null) {
+				processingEnv.getMessager().printMessage(Kind.NOTE,
+						"No accessible get/set methods for ORMLite field, using reflection", field);
+				continue;
+			}
+			fields.add(new FieldAccess(name, field.asType().getKind(), castType, getMethod.getSimpleName().toString(),
+					setMethod.getSimpleName().toString()));
+		}
+		return fields;
+	}
+
+	private ExecutableElement findGetMethod(TypeElement entity, VariableElement field) {
+		String capitalized = capitalize(field.getSimpleName().toString());
+		TypeMirror fieldType = field.asType();
+		for (ExecutableElement method : findMethods(entity)) {
+			String methodName = method.getSimpleName().toString();
+			boolean nameMatches = methodName.equals("get" + capitalized)
+					|| (fieldType.getKind() == TypeKind.BOOLEAN && methodName.equals("is" + capitalized));
+			if (nameMatches && method.getParameters().isEmpty()
+					&& processingEnv.getTypeUtils().isSameType(method.getReturnType(), fieldType)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	private ExecutableElement findSetMethod(TypeElement entity, VariableElement field) {
+		String methodName = "set" + capitalize(field.getSimpleName().toString());
+		for (ExecutableElement method : findMethods(entity)) {
+			if (method.getSimpleName().contentEquals(methodName) && method.getParameters().size() == 1
+					&& processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(),
+							field.asType())) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	private List<ExecutableElement> findMethods(TypeElement entity) {
+		List<ExecutableElement> methods = new ArrayList<ExecutableElement>();
+		for (Element element : entity.getEnclosedElements()) {
+			if (element.getKind() == ElementKind.METHOD && !element.getModifiers().contains(Modifier.PRIVATE)
+					&& !element.getModifiers().contains(Modifier.STATIC)) {
+				methods.add((ExecutableElement) element);
+			}
+		}
+		return methods;
+	}
+
+	private boolean hasNoArgConstructor(TypeElement entity) {
+		if (entity.getModifiers().contains(Modifier.ABSTRACT)) {
+			return false;
+		}
+		for (Element element : entity.getEnclosedElements()) {
+			if (element.getKind() == ElementKind.CONSTRUCTOR
+					&& ((ExecutableElement) element).getParameters().isEmpty()) {
+				return !element.getModifiers().contains(Modifier.PRIVATE);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * The generated class lives in the entity's package so the entity, and any class it is nested in, must not be
+	 * private and nested classes must be static.
+	 */
+	private boolean isReachable(TypeElement entity) {
+		if (!entity.getTypeParameters().isEmpty()) {
+			return false;
+		}
+		Element element = entity;
+		while (element.getKind().isClass() || element.getKind().isInterface()) {
+			TypeElement type = (TypeElement) element;
+			if (type.getModifiers().contains(Modifier.PRIVATE)) {
+				return false;
+			}
+			if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+				return false;
+			}
+			if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+				return false;
+			}
+			element = type.getEnclosingElement();
+		}
+		return true;
+	}
+
+	static AnnotationMirror findAnnotation(Element element, String annotationName) {
+		for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+			TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+			if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+				return mirror;
+			}
+		}
+		return null;
+	}
+
+	static boolean getBooleanValue(AnnotationMirror mirror, String name) {
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues()
+				.entrySet()) {
+			if (entry.getKey().getSimpleName().contentEquals(name)) {
+				return Boolean.TRUE.equals(entry.getValue().getValue());
+			}
+		}
+		return false;
+	}
+
+	String getPackageName(TypeElement entity) {
+		return processingEnv.getElementUtils().getPackageOf(entity).getQualifiedName().toString();
+	}
+
+	/**
+	 * Return the binary name without the package such as Outer$Inner.
+	 */
+	String getBinarySimpleName(TypeElement entity) {
+		String binaryName = processingEnv.getElementUtils().getBinaryName(entity).toString();
+		String packageName = getPackageName(entity);
+		if (packageName.length() == 0) {
+			return binaryName;
+		} else {
+			return binaryName.substring(packageName.length() + 1);
+		}
+	}
+
+	/**
+	 * Return the name of the entity as it can be referred to from the same package such as Outer.Inner.
+	 */
+	String getEntityTypeName(TypeElement entity) {
+		String qualifiedName = entity.getQualifiedName().toString();
+		String packageName = getPackageName(entity);
+		if (packageName.length() == 0) {
+			return qualifiedName;
+		} else {
+			return qualifiedName.substring(packageName.length() + 1);
+		}
+	}
+
+	private String getCastType(TypeMirror type) {
+		switch (type.getKind()) {
+			case BOOLEAN:
+				return "Boolean";
+			case BYTE:
+				return "Byte";
+			case CHAR:
+				return "Character";
+			case SHORT:
+				return "Short";
+			case INT:
+				return "Integer";
+			case LONG:
+				return "Long";
+			case FLOAT:
+				return "Float";
+			case DOUBLE:
+				return "Double";
+			default:
+				return processingEnv.getTypeUtils().erasure(type).toString();
+		}
+	}
+
+	private static String capitalize(String name) {
+		return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+	}
+
+	/**
+	 * How a single field is read and written from the generated code.
+	 */
+	private static class FieldAccess {
+
+		final String name;
+		final TypeKind kind;
+		final String castType;
+		final String getMethod;
+		final String setMethod;
+
+		FieldAccess(String name, TypeKind kind, String castType, String getMethod, String setMethod) {
+			this.name = name;
+			this.kind = kind;
+			this.castType = castType;
+			this.getMethod = getMethod;
+			this.setMethod = setMethod;
+		}
+
+		String getExpression(String entityVar) {
+			if (getMethod == null) {
+				return entityVar + "." + name;
+			} else {
+				return entityVar + "." + getMethod + "()";
+			}
+		}
+
+		String setStatement(String entityExpr, String valExpr) {
+			if (setMethod == null) {
+				return entityExpr + "." + name + " = " + valExpr;
+			} else {
+				return entityExpr + "." + setMethod + "(" + valExpr + ")";
+			}
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package com.j256.ormlite.processor;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DatabaseTableProcessorTest {
+
+	/** the processor matches the annotations by name so these stand in for the ORMLite ones */
+	private static final String DATABASE_TABLE_SOURCE = "package com.j256.ormlite.table;\n"
+			+ "public @interface DatabaseTable { String tableName() default \"\"; }\n";
+	private static final String DATABASE_FIELD_SOURCE = "package com.j256.ormlite.field;\n"
+			+ "public @interface DatabaseField { boolean id() default false; boolean useGetSet() default false; }\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testFieldAccess() throws Exception {
+		String accessor = generate("foo.Foo", "package foo;\n" //
+				+ "import com.j256.ormlite.field.DatabaseField;\n" //
+				+ "import com.j256.ormlite.table.DatabaseTable;\n" //
+				+ "@DatabaseTable(tableName = \"foo\")\n" //
+				+ "public class Foo {\n" //
+				+ "  @DatabaseField(id = true) int id;\n" //
+				+ "  @DatabaseField private String hidden;\n" //
+				+ "  @DatabaseField(useGetSet = true) private String name;\n" //
+				+ "  @DatabaseField(useGetSet = true) long count;\n" //
+				+ "  public String getHidden() { return hidden; }\n" //
+				+ "  public void setHidden(String hidden) { this.hidden = hidden; }\n" //
+				+ "  public String getName() { return name; }\n" //
+				+ "  public void setName(String name) { this.name = name; }\n" //
+				+ "  public long getCount() { return count; }\n" //
+				+ "  public void setCount(long count) { this.count = count; }\n" //
+				+ "}\n");
+		// package field without useGetSet is used directly
+		assertTrue(accessor.contains("return entity.id;"));
+		assertTrue(accessor.contains("case \"id\":"));
+		// private field without useGetSet is left to reflection even though it has get/set methods
+		assertFalse(accessor.contains("case \"hidden\":"));
+		assertFalse(accessor.contains("getHidden()"));
+		// useGetSet goes through the methods, private or not
+		assertTrue(accessor.contains("return entity.getName();"));
+		assertTrue(accessor.contains("entity.setName((java.lang.String) val);"));
+		assertTrue(accessor.contains("return entity.getCount();"));
+		assertTrue(accessor.contains("((Foo) data).setCount(val);"));
+		// the table config still has all of the fields
+		assertTrue(accessor.contains("new DatabaseFieldConfig(\"hidden\")"));
+	}
+
+	@Test
+	public void testUseGetSetWithoutMethods() throws Exception {
+		String accessor = generate("foo.Bar", "package foo;\n" //
+				+ "import com.j256.ormlite.field.DatabaseField;\n" //
+				+ "import com.j256.ormlite.table.DatabaseTable;\n" //
+				+ "@DatabaseTable\n" //
+				+ "public class Bar {\n" //
+				+ "  @DatabaseField(id = true) int id;\n" //
+				+ "  @DatabaseField(useGetSet = true) String name;\n" //
+				+ "}\n");
+		assertTrue(accessor.contains("case \"id\":"));
+		assertFalse(accessor.contains("case \"name\":"));
+	}
+
+	/**
+	 * Run the processor over the entity and return the source of the generated accessor.
+	 */
+	private String generate(String entityName, String entitySource) throws Exception {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+		File outputDir = folder.newFolder();
+		fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singleton(outputDir));
+		fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singleton(outputDir));
+		List<JavaFileObject> sources = new ArrayList<JavaFileObject>();
+		sources.add(new StringSource("com.j256.ormlite.table.DatabaseTable", DATABASE_TABLE_SOURCE));
+		sources.add(new StringSource("com.j256.ormlite.field.DatabaseField", DATABASE_FIELD_SOURCE));
+		sources.add(new StringSource(entityName, entitySource));
+		CompilationTask task =
+				compiler.getTask(null, fileManager, diagnostics, Arrays.asList("-proc:only"), null, sources);
+		task.setProcessors(Collections.singleton(new DatabaseTableProcessor()));
+		task.call();
+		fileManager.close();
+		// the generated code does not resolve without ORMLite on the classpath so only look at our sources
+		for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+			if (diagnostic.getSource() instanceof StringSource) {
+				assertFalse(diagnostic.toString(), diagnostic.getKind() == Diagnostic.Kind.ERROR);
+			}
+		}
+		File generated = new File(outputDir,
+				entityName.replace('.', File.separatorChar) + DatabaseTableProcessor.ACCESSOR_SUFFIX + ".java");
+		assertTrue(generated.exists());
+		return new String(Files.readAllBytes(generated.toPath()), Charset.forName("UTF-8"));
+	}
+
+	private static class StringSource extends SimpleJavaFileObject {
+
+		private final String source;
+
+		public StringSource(String className, String source) {
+			super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+			this.source = source;
+		}
+
+		@Override
+		public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+			return source;
+		}
+	}
+}